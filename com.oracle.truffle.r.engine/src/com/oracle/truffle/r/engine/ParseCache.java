@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.engine;
+
+import java.io.IOException;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.r.nodes.RASTUtils;
+import com.oracle.truffle.r.runtime.RLogger;
+import com.oracle.truffle.r.runtime.RSerialize;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RExpression;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
+
+/**
+ * On-disk cache of parse results of R sources loaded from files, e.g., the base package, enabled by
+ * {@link FastROptions#ParseCacheDir}. The parsed statements are stored as an {@link RExpression}
+ * in the XDR serialization format, and the cache file is keyed by the hash of the source text, so
+ * that the cache can be shared between FastR processes and does not need to be invalidated when
+ * the source changes. Unserialization builds the AST directly from the language objects, which
+ * avoids running the ANTLR parser on warm starts.
+ *
+ * The statements obtained from the cache have no source sections, i.e., the cache is not used
+ * when the source is meant to be debugged or inspected.
+ *
+ * The key also includes the {@link #getBuildId() build} of FastR, since the language objects are
+ * turned into nodes that may change from one build to another. If the build cannot be identified,
+ * the cache is not used.
+ *
+ * Apart from {@link #getCacheFile(RContext, Source)}, which consults the option, the methods are
+ * public so that the cache can be tested without starting FastR with the option set.
+ */
+public final class ParseCache {
+
+    private static final TruffleLogger LOGGER = RLogger.getLogger(ParseCache.class.getName());
+
+    /**
+     * Should be incremented whenever the format of the cache files changes.
+     */
+    private static final int FORMAT_VERSION = 1;
+    private static final String SUFFIX = ".fastrparse";
+
+    /**
+     * Classes of the FastR jars whose code determines how the cached language objects are
+     * serialized and turned into nodes.
+     */
+    private static final Class<?>[] BUILD_CLASSES = {ParseCache.class, RASTUtils.class, RSerialize.class};
+
+    private static String buildId;
+
+    private ParseCache() {
+        // no instances
+    }
+
+    /**
+     * Returns the cache file for given source or {@code null} if the cache is disabled or the
+     * source is not eligible for caching.
+     */
+    @TruffleBoundary
+    static TruffleFile getCacheFile(RContext context, Source source) {
+        String dir = context.getOption(FastROptions.ParseCacheDir);
+        if (dir == null || dir.isEmpty() || source.getPath() == null || source.isInteractive() || getBuildId() == null) {
+            return null;
+        }
+        try {
+            return getCacheFile(context.getSafeTruffleFile(dir), source);
+        } catch (SecurityException | UnsupportedOperationException ex) {
+            LOGGER.log(Level.FINE, "parse cache directory is not accessible", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the file in the cache directory {@code dir} that holds the entry for the text of
+     * given source.
+     */
+    @TruffleBoundary
+    public static TruffleFile getCacheFile(TruffleFile dir, Source source) {
+        return dir.resolve(computeKey(source) + SUFFIX);
+    }
+
+    /**
+     * Reads the statements from the cache file, returns {@code null} if there is no valid entry.
+     */
+    @TruffleBoundary
+    public static List<RSyntaxNode> read(TruffleFile cacheFile) {
+        if (!cacheFile.isRegularFile()) {
+            return null;
+        }
+        try (SeekableByteChannel channel = cacheFile.newByteChannel(Collections.singleton(StandardOpenOption.READ))) {
+            InputStream in;
+            if (channel instanceof FileChannel) {
+                FileChannel fileChannel = (FileChannel) channel;
+                in = new ByteBufferInputStream(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()));
+            } else {
+                in = Channels.newInputStream(channel);
+            }
+            Object value = RSerialize.unserialize(in);
+            if (!(value instanceof RExpression)) {
+                return null;
+            }
+            RExpression expr = (RExpression) value;
+            List<RSyntaxNode> result = new ArrayList<>(expr.getLength());
+            for (int i = 0; i < expr.getLength(); i++) {
+                result.add(RASTUtils.createSyntaxNodeForRValue(expr.getDataAt(i)));
+            }
+            return result;
+        } catch (IOException | RuntimeException ex) {
+            // a corrupted or incompatible entry is not fatal, the source is parsed again
+            LOGGER.log(Level.FINE, "could not read parse cache entry " + cacheFile, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the statements to the cache file. The file is written under a temporary name first
+     * and then atomically moved, so that concurrent processes never see a partial entry.
+     */
+    @TruffleBoundary
+    public static void write(RContext context, TruffleFile cacheFile, List<RSyntaxNode> statements) {
+        Object[] data = new Object[statements.size()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = RASTUtils.createLanguageElement(statements.get(i));
+        }
+        TruffleFile tmpFile = null;
+        try {
+            byte[] serialized = RSerialize.serialize(context, RDataFactory.createExpression(data), RSerialize.XDR, RSerialize.DEFAULT_VERSION, null);
+            TruffleFile dir = cacheFile.getParent();
+            dir.createDirectories();
+            tmpFile = context.getEnv().createTempFile(dir, cacheFile.getName(), ".tmp");
+            try (OutputStream out = tmpFile.newOutputStream()) {
+                out.write(serialized);
+            }
+            tmpFile.move(cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(Level.FINE, "could not write parse cache entry " + cacheFile, ex);
+            if (tmpFile != null && tmpFile.exists()) {
+                try {
+                    tmpFile.delete();
+                } catch (IOException ignored) {
+                    // nothing to do
+                }
+            }
+        }
+    }
+
+    /**
+     * Identifies the FastR build by the size and modification time of the jars or class files of
+     * the {@link #BUILD_CLASSES}, returns {@code null} if some of them is not loaded from a file,
+     * e.g., in a native image.
+     */
+    @TruffleBoundary
+    public static synchronized String getBuildId() {
+        if (buildId == null) {
+            StringBuilder sb = new StringBuilder();
+            for (Class<?> clazz : BUILD_CLASSES) {
+                File file = getCodeSourceFile(clazz);
+                if (file == null) {
+                    return null;
+                }
+                sb.append(file.getName()).append(':').append(file.length()).append(':').append(file.lastModified()).append(';');
+            }
+            buildId = sb.toString();
+        }
+        return buildId;
+    }
+
+    /**
+     * Returns the jar file that contains the class or the class file itself if it is loaded from a
+     * directory.
+     */
+    private static File getCodeSourceFile(Class<?> clazz) {
+        try {
+            URL location = clazz.getResource(clazz.getSimpleName() + ".class");
+            if (location != null && "jar".equals(location.getProtocol())) {
+                String path = location.getPath();
+                int separator = path.indexOf("!/");
+                location = new URL(separator < 0 ? path : path.substring(0, separator));
+            }
+            if (location == null || !"file".equals(location.getProtocol())) {
+                return null;
+            }
+            File file = new File(location.toURI());
+            return file.exists() ? file : null;
+        } catch (MalformedURLException | URISyntaxException | SecurityException | IllegalArgumentException ex) {
+            LOGGER.log(Level.FINE, "could not locate the code of " + clazz.getName(), ex);
+            return null;
+        }
+    }
+
+    private static String computeKey(Source source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((FORMAT_VERSION + ":" + getBuildId() + ":").getBytes(StandardCharsets.UTF_8));
+            digest.update(source.getCharacters().toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b & 0xff));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new UnsupportedOperationException(ex);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
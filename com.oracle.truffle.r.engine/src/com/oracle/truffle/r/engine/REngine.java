@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,6 +22,8 @@
  */
 package com.oracle.truffle.r.engine;
 
+import static com.oracle.truffle.r.runtime.context.FastROptions.BackEnd;
+import static com.oracle.truffle.r.runtime.context.FastROptions.FFIProfile;
 import static com.oracle.truffle.r.runtime.context.FastROptions.LoadProfiles;
 
 import java.io.BufferedReader;
@@ -38,6 +40,7 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
 import com.oracle.truffle.api.frame.Frame;
@@ -110,6 +113,8 @@ import com.oracle.truffle.r.runtime.data.nodes.ShareObjectNode;
 import com.oracle.truffle.r.runtime.data.nodes.UnShareObjectNode;
 import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
+import com.oracle.truffle.r.runtime.ffi.RFFIBackendSelector;
+import com.oracle.truffle.r.runtime.ffi.RFFIProfiler;
 import com.oracle.truffle.r.runtime.interop.Foreign2R;
 import com.oracle.truffle.r.runtime.interop.R2Foreign;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
@@ -182,6 +187,12 @@ final class REngine implements Engine, Engine.Timings {
         MaterializedFrame baseFrame = RRuntime.createNonFunctionFrame("base");
         REnvironment.baseInitialize(baseFrame, globalFrame);
         context.getStateRFFI().initializeVariables(context);
+        if (context.getOption(FFIProfile)) {
+            RFFIProfiler.setEnabled(true);
+        }
+        if ("auto".equals(context.getOption(BackEnd))) {
+            RFFIBackendSelector.setEnabled(true);
+        }
         RBuiltinPackages.loadBase(context, baseFrame);
         RGraphics.initialize(context);
         if (context.getOption(LoadProfiles)) {
@@ -269,7 +280,7 @@ final class REngine implements Engine, Engine.Timings {
 
     @Override
     public Object parseAndEval(Source source, MaterializedFrame frame, boolean printResult) throws ParseException {
-        List<RSyntaxNode> list = parseSource(source);
+        List<RSyntaxNode> list = parseSourceCached(source);
         try {
             Object lastValue = RNull.instance;
             for (RSyntaxNode node : list) {
@@ -302,16 +313,44 @@ final class REngine implements Engine, Engine.Timings {
         return parser.script(source, new RASTBuilder(true), context.getLanguage());
     }
 
+    /**
+     * Like {@link #parseSource(Source)}, but uses the {@link ParseCache} if it is enabled.
+     */
+    private List<RSyntaxNode> parseSourceCached(Source source) throws ParseException {
+        TruffleFile cacheFile = ParseCache.getCacheFile(context, source);
+        if (cacheFile == null) {
+            return parseSource(source);
+        }
+        List<RSyntaxNode> cached = ParseCache.read(cacheFile);
+        if (cached != null) {
+            return cached;
+        }
+        List<RSyntaxNode> result = parseSource(source);
+        ParseCache.write(context, cacheFile, result);
+        return result;
+    }
+
     @Override
     public ParsedExpression parse(Source source, boolean keepSource) throws ParseException {
         RParserFactory.Parser parser = RParserFactory.getParser();
+        if (!keepSource) {
+            // data, e.g., the output of dput, can be parsed without the generated parser
+            List<RSyntaxNode> script = parser.simpleScript(source, new RASTBuilder(false));
+            if (script != null) {
+                return new ParsedExpression(createExpression(script), null);
+            }
+        }
         RASTBuilder builder = new RASTBuilder(true);
         List<RSyntaxNode> script = parser.script(source, builder, context.getLanguage());
+        return new ParsedExpression(createExpression(script), builder.getParseData());
+    }
+
+    private static RExpression createExpression(List<RSyntaxNode> script) {
         Object[] data = new Object[script.size()];
         for (int i = 0; i < script.size(); i++) {
             data[i] = RASTUtils.createLanguageElement(script.get(i));
         }
-        return new ParsedExpression(RDataFactory.createExpression(data), builder.getParseData());
+        return RDataFactory.createExpression(data);
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -2799,6 +2799,16 @@ public abstract class JavaUpCallsRFFIImpl implements UpCallsRFFI {
         throw implementedAsNode();
     }
 
+    @Override
+    public long FASTR_INTEGER_ELT_REGION(Object x, long fromIdx, long size, Object buffer) {
+        throw implementedAsNode();
+    }
+
+    @Override
+    public long FASTR_REAL_ELT_REGION(Object x, long fromIdx, long size, Object buffer) {
+        throw implementedAsNode();
+    }
+
     @Override
     public Object FASTR_GlobalVarAlloc(RContext context) {
         return GlobalNativeVarContext.allocGlobalVarDescr();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -190,6 +190,14 @@ public final class TruffleMixed_Context extends RFFIContext {
         }
     }
 
+    @Override
+    public Object beforeConcurrentDowncall(MaterializedFrame frame, Type rffiType) {
+        if (rffiType == Type.NFI) {
+            return nfiContext.beforeConcurrentDowncall(frame, rffiType);
+        }
+        return beforeDowncall(frame, rffiType);
+    }
+
     @Override
     public void afterDowncall(Object before, Type rffiType, AfterDownCallProfiles profiles) {
         switch (rffiType) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -34,11 +34,13 @@ import com.oracle.truffle.r.ffi.impl.mixed.TruffleMixed_DLLFactory.TruffleMixed_
 import com.oracle.truffle.r.ffi.impl.mixed.TruffleMixed_DLLFactory.TruffleMixed_DLSymNodeGen;
 import com.oracle.truffle.r.ffi.impl.nfi.TruffleNFI_DLL;
 import com.oracle.truffle.r.ffi.impl.nfi.TruffleNFI_DLL.NFIHandle;
+import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.ffi.DLL;
 import com.oracle.truffle.r.runtime.ffi.DLL.SymbolHandle;
 import com.oracle.truffle.r.runtime.ffi.DLLRFFI;
+import com.oracle.truffle.r.runtime.ffi.RFFIBackendSelector;
 
 public class TruffleMixed_DLL implements DLLRFFI {
 
@@ -85,7 +87,18 @@ public class TruffleMixed_DLL implements DLLRFFI {
 
             LibHandle nfiLibHandle = nfiDllOpenNode.execute(path, local, now);
             if (useLLVM) {
-                LLVM_Handle llvmLibHandle = (LLVM_Handle) llvmDllOpenNode.execute(path, local, now);
+                LLVM_Handle llvmLibHandle;
+                try {
+                    llvmLibHandle = (LLVM_Handle) llvmDllOpenNode.execute(path, local, now);
+                } catch (RuntimeException | UnsatisfiedLinkError e) {
+                    if (!"auto".equals(context.getOption(FastROptions.BackEnd))) {
+                        throw e;
+                    }
+                    // the package was chosen for LLVM by RFFIBackendSelector, but it cannot be
+                    // loaded that way
+                    RFFIBackendSelector.setLLVMUnavailable(libPath);
+                    return nfiLibHandle;
+                }
                 return new MixedLLVM_Handle(llvmLibHandle, nfiLibHandle);
             } else {
                 return nfiLibHandle;
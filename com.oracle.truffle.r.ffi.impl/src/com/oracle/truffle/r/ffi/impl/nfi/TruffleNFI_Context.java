@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -48,12 +48,14 @@ import com.oracle.truffle.r.ffi.impl.common.LibPaths;
 import com.oracle.truffle.r.ffi.impl.mixed.TruffleMixed_DLL;
 import com.oracle.truffle.r.ffi.impl.nfi.TruffleNFI_DLL.NFIHandle;
 import com.oracle.truffle.r.ffi.impl.upcalls.Callbacks;
+import com.oracle.truffle.r.runtime.Collections;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RLogger;
 import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
 import com.oracle.truffle.r.runtime.context.RContext.ContextState;
+import com.oracle.truffle.r.runtime.data.NativeDataAccess;
 import com.oracle.truffle.r.runtime.ffi.AfterDownCallProfiles;
 import com.oracle.truffle.r.runtime.ffi.AltrepRFFI;
 import com.oracle.truffle.r.runtime.ffi.BaseRFFI;
@@ -74,9 +76,17 @@ import com.oracle.truffle.r.runtime.ffi.StatsRFFI;
 import com.oracle.truffle.r.runtime.ffi.ToolsRFFI;
 import com.oracle.truffle.r.runtime.ffi.ZipRFFI;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory;
+import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.ElementType;
 
 public class TruffleNFI_Context extends RFFIContext {
 
+    /**
+     * Serializes the down-calls of all contexts, except those to packages whose native code is
+     * declared reentrant (see {@link #beforeConcurrentDowncall(MaterializedFrame, Type)}). The
+     * up-calls made from such down-calls only touch the state of their own context and the
+     * thread-safe global tables of native mirrors and {@code CHARSXP}s, and the native side keeps
+     * its state in thread locals.
+     */
     private static ReentrantLock accessLock;
 
     public TruffleNFI_Context() {
@@ -96,6 +106,60 @@ public class TruffleNFI_Context extends RFFIContext {
         // forward constructor
     }
 
+    /**
+     * The stack of {@code PROTECT} and {@code UNPROTECT} in native memory, which the C side
+     * manipulates without up-calls (see {@code Rinternals_truffle_common.h} for its layout). The
+     * objects on the stack are kept alive by {@link #roots}, which is brought up to date by
+     * {@link #scan()} whenever GNU R could run its GC, i.e., before the objects registered by
+     * {@link RFFIContext#registerReferenceUsedInNative(Object)} are released. Until then, the
+     * objects pushed since the last scan are kept alive by that list and the popped ones by
+     * {@link #roots}, which is exactly the GNU R semantics. Only the entries from the lowest index
+     * that the C side has popped or overwritten since the last scan are looked up again.
+     */
+    private static final class ProtectStack {
+        // R_PPSSIZE in GNU R
+        private static final int SIZE = 50000;
+        private static final int TOP = 0;
+        private static final int STACK_SIZE = 1;
+        private static final int DIRTY = 2;
+        // the number of times the objects used by native code were released, see R_CHAR
+        private static final int RELEASES = 3;
+        private static final int DATA = 4;
+
+        final long address;
+        private final Collections.ArrayListObj<Object> roots = new Collections.ArrayListObj<>(256);
+
+        ProtectStack() {
+            address = NativeMemory.allocate((DATA + SIZE) * (long) Long.BYTES, "protect stack");
+            NativeMemory.putLong(address, TOP, 0);
+            NativeMemory.putLong(address, STACK_SIZE, SIZE);
+            NativeMemory.putLong(address, DIRTY, 0);
+            NativeMemory.putLong(address, RELEASES, 0);
+        }
+
+        @TruffleBoundary
+        void scan() {
+            long top = NativeMemory.getLong(address, TOP);
+            long dirty = Math.min(NativeMemory.getLong(address, DIRTY), top);
+            while (roots.size() > dirty) {
+                roots.pop();
+            }
+            for (long i = roots.size(); i < top; i++) {
+                long handle = NativeMemory.getLong(address, DATA + i);
+                roots.add(handle == 0 ? null : NativeDataAccess.lookup(handle));
+            }
+            NativeMemory.putLong(address, DIRTY, top);
+        }
+
+        void released() {
+            NativeMemory.putLong(address, RELEASES, NativeMemory.getLong(address, RELEASES) + 1);
+        }
+
+        void free() {
+            NativeMemory.free(address, "protect stack");
+        }
+    }
+
     /**
      * Last yet unhandled exception that happened during an up-call.
      */
@@ -238,8 +302,12 @@ public class TruffleNFI_Context extends RFFIContext {
 
     private void initCallbacks(RContext context) {
         if (context.getKind() == ContextKind.SHARE_NOTHING) {
-            // create and fill a new callbacks table
-            callbacks = NativeMemory.allocate(Callbacks.values().length * (long) Long.BYTES, "callbacks");
+            // create and fill a new callbacks table, the slot after the callbacks holds the address
+            // of the protect stack
+            int callbacksCount = Callbacks.values().length;
+            callbacks = NativeMemory.allocate((callbacksCount + 1) * (long) Long.BYTES, "callbacks");
+            protectStack = new ProtectStack();
+            NativeMemory.putLong(callbacks, callbacksCount, protectStack.address);
             InteropLibrary interop = InteropLibrary.getFactory().getUncached();
             SignatureLibrary signatures = SignatureLibrary.getUncached();
             Object addCallback;
@@ -257,13 +325,25 @@ public class TruffleNFI_Context extends RFFIContext {
             } catch (InteropException ex) {
                 throw RInternalError.shouldNotReachHere(ex);
             }
+        } else if (context.getKind() == ContextKind.SHARE_ALL) {
+            // runs on its own thread and may call concurrent native code while the parent does, so
+            // it copies the parent's callbacks and gets a protect stack of its own
+            TruffleNFI_Context parent = context.getParent().getStateRFFI().as(TruffleNFI_Context.class);
+            int callbacksCount = Callbacks.values().length;
+            callbacks = NativeMemory.allocate((callbacksCount + 1) * (long) Long.BYTES, "callbacks");
+            NativeMemory.copyMemory(parent.callbacks, callbacks, ElementType.LONG, callbacksCount);
+            protectStack = new ProtectStack();
+            NativeMemory.putLong(callbacks, callbacksCount, protectStack.address);
         } else {
             // reuse the parent's callbacks table
-            callbacks = context.getParent().getStateRFFI().as(TruffleNFI_Context.class).callbacks;
+            TruffleNFI_Context parent = context.getParent().getStateRFFI().as(TruffleNFI_Context.class);
+            callbacks = parent.callbacks;
+            protectStack = parent.protectStack;
         }
     }
 
     private long callbacks;
+    private ProtectStack protectStack;
     @CompilationFinal private boolean singleThreadOnly = true;
     @CompilationFinal private long callbacksAddressThread;
     @CompilationFinal private long callbacksAddress;
@@ -311,7 +391,8 @@ public class TruffleNFI_Context extends RFFIContext {
         }
         assert !singleThreadOnly || NativeMemory.getLong(callbacksAddress) == callbacks : "invalid nesting of native calling contexts";
         assert singleThreadOnly || NativeMemory.getLong(lastCallbacksAddress) == callbacks : "invalid nesting of native calling contexts";
-        NativeMemory.putLong(callbacksAddress, beforeValue);
+        // restore the thread local of the current thread, which pushCallbacks has written
+        NativeMemory.putLong(callbacksAddressThread == Thread.currentThread().getId() ? callbacksAddress : lastCallbacksAddress, beforeValue);
     }
 
     protected void addLibRToDLLContextState(RContext context, DLLInfo libR) {
@@ -376,9 +457,10 @@ public class TruffleNFI_Context extends RFFIContext {
     public void beforeDispose(RContext context) {
         switch (context.getKind()) {
             case SHARE_NOTHING:
+            case SHARE_ALL:
                 NativeMemory.free(callbacks, "callbacks");
+                protectStack.free();
                 break;
-            case SHARE_ALL:
             case SHARE_PARENT_RO:
             case SHARE_PARENT_RW:
                 // these stay on the same thread
@@ -415,7 +497,16 @@ public class TruffleNFI_Context extends RFFIContext {
         Object tokenFromSuper = super.beforeDowncall(frame, RFFIFactory.Type.NFI);
         addTransientAllocationsFrame();
         acquireLock();
-        return new Object[]{tokenFromSuper, pushCallbacks()};
+        return new Object[]{tokenFromSuper, pushCallbacks(), true};
+    }
+
+    @Override
+    public Object beforeConcurrentDowncall(MaterializedFrame frame, RFFIFactory.Type rffiType) {
+        // the vectors passed to the down-call are nativized under their lock only then
+        assert NativeDataAccess.isConcurrentNative() : "concurrent down-call to a library loaded as non-concurrent";
+        Object tokenFromSuper = super.beforeDowncall(frame, RFFIFactory.Type.NFI);
+        addTransientAllocationsFrame();
+        return new Object[]{tokenFromSuper, pushCallbacks(), false};
     }
 
     @TruffleBoundary
@@ -431,6 +522,15 @@ public class TruffleNFI_Context extends RFFIContext {
         context.gcTorture.runGC();
     }
 
+    @Override
+    protected void beforeCooperativeGc() {
+        if (protectStack != null) {
+            protectStack.scan();
+            // the objects released now may be collected and their native data freed
+            protectStack.released();
+        }
+    }
+
     @Override
     public void afterDowncall(Object beforeValue, Type rffiType, AfterDownCallProfiles profiles) {
         Object[] tokens = (Object[]) beforeValue;
@@ -439,7 +539,9 @@ public class TruffleNFI_Context extends RFFIContext {
         freeCurrentTransientAllocations();
         RuntimeException lastUpCallEx = getLastUpCallException();
         setLastUpCallException(null);
-        releaseLock();
+        if ((boolean) tokens[2]) {
+            releaseLock();
+        }
         if (lastUpCallEx != null) {
             CompilerDirectives.transferToInterpreter();
             throw lastUpCallEx;
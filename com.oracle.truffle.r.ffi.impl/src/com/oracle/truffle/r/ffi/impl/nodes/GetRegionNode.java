@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -37,6 +37,13 @@ abstract class GetRegionNode extends FFIUpCallNode.Arg4 {
         }
     }
 
+    /**
+     * Returns the number of elements of the region that lie within data of the given length.
+     */
+    protected static int regionSize(int length, long fromIdx, long size) {
+        return fromIdx < 0 || fromIdx >= length ? 0 : (int) Math.min(size, length - fromIdx);
+    }
+
     protected static long bufferToNative(Object buffer, InteropLibrary bufferInterop) {
         bufferInterop.toNative(buffer);
         try {
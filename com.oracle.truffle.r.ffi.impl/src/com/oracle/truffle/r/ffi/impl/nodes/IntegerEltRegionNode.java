@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.ffi.impl.nodes;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.r.runtime.DSLConfig;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
+import com.oracle.truffle.r.runtime.data.model.RAbstractAtomicVector;
+import com.oracle.truffle.r.runtime.ffi.util.NativeArrayWrapper;
+
+/**
+ * Fills the region cache of {@code INTEGER_ELT} in the native code, see
+ * {@code Rinternals_truffle_common.h}. Copies up to {@code size} elements starting at
+ * {@code fromIdx} like {@link IntegerGetRegionNode} if the data of the vector cannot be written in
+ * place, e.g., compact sequences, closures or ALTREP vectors whose data pointer has not been taken.
+ * Otherwise, only the element at {@code fromIdx} is copied and {@code -1} is returned, which tells
+ * the native code not to cache it. Returns {@code 0} if {@code fromIdx} is out of bounds.
+ */
+@ImportStatic(DSLConfig.class)
+@GenerateUncached
+public abstract class IntegerEltRegionNode extends GetRegionNode {
+
+    public static IntegerEltRegionNode create() {
+        return IntegerEltRegionNodeGen.create();
+    }
+
+    @Specialization(limit = "getGenericDataLibraryCacheSize()")
+    protected long doIt(RAbstractAtomicVector vec, long fromIdx, long size, Object buffer,
+                    @CachedLibrary("vec.getData()") VectorDataLibrary dataLibrary,
+                    @CachedLibrary(limit = "1") InteropLibrary bufferInterop,
+                    @CachedLibrary(limit = "1") InteropLibrary bufferWrapperInterop,
+                    @Cached ConditionProfile writeableProfile) {
+        validateArguments(fromIdx, size);
+        Object data = vec.getData();
+        int count = regionSize(dataLibrary.getLength(data), fromIdx, size);
+        if (count <= 0) {
+            return 0;
+        }
+        boolean writeable = writeableProfile.profile(dataLibrary.isWriteable(data));
+        if (writeable) {
+            count = 1;
+        }
+        long bufferAddr = bufferToNative(buffer, bufferInterop);
+        Object bufferWrapper = NativeArrayWrapper.createIntWrapper(bufferAddr, count);
+        dataLibrary.getIntRegion(data, (int) fromIdx, count, bufferWrapper, bufferWrapperInterop);
+        return writeable ? -1 : count;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -29,7 +29,7 @@ import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RError.Message;
-import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.NativeAllocationProfile;
 import com.oracle.truffle.r.runtime.gnur.SEXPTYPE;
 
 @GenerateUncached
@@ -48,7 +48,8 @@ public abstract class RfAllocVectorNode extends FFIUpCallNode.Arg2 {
 
     @Specialization(guards = "mode == type.code", limit = "SEXPTYPE_COUNT")
     protected static Object doIt(@SuppressWarnings("unused") int mode, long n,
-                    @Cached(value = "getType(mode)", allowUncached = true) SEXPTYPE type) {
+                    @Cached(value = "getType(mode)", allowUncached = true) SEXPTYPE type,
+                    @Cached(value = "create()", uncached = "getUncached()") NativeAllocationProfile allocationProfile) {
         CompilerAsserts.compilationConstant(type);
         if (n > Integer.MAX_VALUE) {
             CompilerDirectives.transferToInterpreter();
@@ -56,15 +57,11 @@ public abstract class RfAllocVectorNode extends FFIUpCallNode.Arg2 {
         }
         int ni = (int) n;
         try {
-            return allocate(type, ni);
+            return allocationProfile.createEmptyVector(type, ni);
         } catch (OutOfMemoryError ex) {
             CompilerDirectives.transferToInterpreter();
             String msg = String.format("Cannot allocate new vector of type %s and size %d: not enough memory.", type.toString(), n);
             throw RError.error(RError.NO_CALLER, Message.GENERIC, msg);
         }
     }
-
-    private static Object allocate(SEXPTYPE type, int ni) {
-        return RDataFactory.createEmptyVectorFromSEXPType(type, ni);
-    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -63,7 +63,7 @@ public abstract class UnprotectNode extends FFIUpCallNode.Arg1 {
         try {
             popProtectedObject(ctx, rffiCtx, stacks, registerNativeRefNopProfile, registerNativeRefProfile);
         } catch (IndexOutOfBoundsException e) {
-            debugWarning("mismatched protect/unprotect (unprotect with empty protect stack)");
+            throw underflow(0);
         }
         return RNull.instance;
     }
@@ -77,12 +77,13 @@ public abstract class UnprotectNode extends FFIUpCallNode.Arg1 {
                     @CachedLibrary(limit = "1") StackLibrary stacks) {
         RContext ctx = RContext.getInstance(this);
         RFFIContext rffiCtx = ctx.getRFFI();
+        int i = 0;
         try {
-            for (int i = 0; i < nCached; i++) {
+            for (; i < nCached; i++) {
                 popProtectedObject(ctx, rffiCtx, stacks, registerNativeRefNopProfile, registerNativeRefProfile);
             }
         } catch (IndexOutOfBoundsException e) {
-            debugWarning("mismatched protect/unprotect (unprotect with empty protect stack)");
+            throw underflow(i);
         }
         return RNull.instance;
     }
@@ -94,12 +95,13 @@ public abstract class UnprotectNode extends FFIUpCallNode.Arg1 {
                     @CachedLibrary(limit = "1") StackLibrary stacks) {
         RContext ctx = RContext.getInstance(this);
         RFFIContext rffiCtx = ctx.getRFFI();
+        int i = 0;
         try {
-            for (int i = 0; i < n; i++) {
+            for (; i < n; i++) {
                 popProtectedObject(ctx, rffiCtx, stacks, registerNativeRefNopProfile, registerNativeRefProfile);
             }
         } catch (IndexOutOfBoundsException e) {
-            debugWarning("mismatched protect/unprotect (unprotect with empty protect stack)");
+            throw underflow(i);
         }
         return RNull.instance;
     }
@@ -114,10 +116,13 @@ public abstract class UnprotectNode extends FFIUpCallNode.Arg1 {
         }
     }
 
-    private static boolean debugWarning(String message) {
+    /**
+     * Reports the same error as GNU R when more objects are unprotected than were protected, the
+     * given number of objects has already been popped.
+     */
+    private static RError underflow(int protectedCount) {
         CompilerDirectives.transferToInterpreter();
-        RError.warning(RError.SHOW_CALLER, RError.Message.GENERIC, message);
-        return true;
+        throw RError.error(RError.SHOW_CALLER, RError.Message.GENERIC, "unprotect(): only " + protectedCount + " protected items");
     }
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -24,6 +24,8 @@ package com.oracle.truffle.r.ffi.impl.upcalls;
 
 import com.oracle.truffle.r.ffi.impl.nodes.FASTR_DATAPTRNode;
 import com.oracle.truffle.r.ffi.impl.nodes.FASTR_serializeNode;
+import com.oracle.truffle.r.ffi.impl.nodes.IntegerEltRegionNode;
+import com.oracle.truffle.r.ffi.impl.nodes.RealEltRegionNode;
 import com.oracle.truffle.r.ffi.processor.RFFICpointer;
 import com.oracle.truffle.r.ffi.processor.RFFIInject;
 import com.oracle.truffle.r.ffi.processor.RFFIUpCallNode;
@@ -64,6 +66,18 @@ public interface FastRUpCalls {
     @RFFIUpCallNode(FASTR_DATAPTRNode.class)
     Object FASTR_DATAPTR(Object x);
 
+    /**
+     * Fills the region cache of {@code INTEGER_ELT}, see {@link IntegerEltRegionNode}.
+     */
+    @RFFIUpCallNode(IntegerEltRegionNode.class)
+    long FASTR_INTEGER_ELT_REGION(Object x, long fromIdx, long size, @RFFICpointer Object buffer);
+
+    /**
+     * Fills the region cache of {@code REAL_ELT}, see {@link RealEltRegionNode}.
+     */
+    @RFFIUpCallNode(RealEltRegionNode.class)
+    long FASTR_REAL_ELT_REGION(Object x, long fromIdx, long size, @RFFICpointer Object buffer);
+
     // Global Var API
 
     /**
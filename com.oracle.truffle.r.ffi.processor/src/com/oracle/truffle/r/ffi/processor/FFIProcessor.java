@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -313,6 +313,7 @@ public final class FFIProcessor extends AbstractProcessor {
         }
         w.append("import com.oracle.truffle.r.runtime.ffi.RFFIContext;\n");
         w.append("import com.oracle.truffle.r.runtime.ffi.RFFILog;\n");
+        w.append("import com.oracle.truffle.r.runtime.ffi.RFFIProfiler;\n");
         w.append("import com.oracle.truffle.api.interop.InteropLibrary;\n");
         w.append("import com.oracle.truffle.api.library.ExportLibrary;\n");
         w.append("import com.oracle.truffle.api.library.ExportMessage;\n");
@@ -419,6 +420,7 @@ public final class FFIProcessor extends AbstractProcessor {
             w.append("        Object registerRObj;\n");
         }
         w.append("        UpCallsRFFI impl = upCallProfile.profile(upCallsImpl);\n");
+        w.append("        long profileStart = RFFIProfiler.upCallStart();\n");
         w.append("        rffiCtx.beforeUpcall(ctx, " + canRunGc + ", impl.getRFFIType());\n");
         w.append(unwrappedArgs);
         w.append("        try {\n");
@@ -468,6 +470,11 @@ public final class FFIProcessor extends AbstractProcessor {
         w.append("            RFFILog.logException(ex);\n");
         w.append("            handleExceptionNode.execute(ex);\n");
         appendCreateDummyResultObj(returnKind, needsReturnWrap, w);
+        w.append("        } finally {\n");
+        // the handling of an exception may rethrow it
+        w.append("            if (profileStart != 0) {\n");
+        w.append("                RFFIProfiler.upCallEnd(\"" + name + "\", profileStart);\n");
+        w.append("            }\n");
         w.append("        }\n");
         w.append("        rffiCtx.afterUpcall(" + canRunGc + ", impl.getRFFIType());\n");
         if (returnKind == TypeKind.VOID) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -163,7 +163,7 @@ public final class RMain extends AbstractLanguageLauncher implements Closeable {
         boolean isLLVMBackEnd = false;
         boolean debugLLVMLibs = false;
         for (String rArg : this.rArguments) {
-            if (rArg.startsWith("--R.BackEnd=llvm") || rArg.startsWith("--R.BackEndLLVM=")) {
+            if (rArg.startsWith("--R.BackEnd=llvm") || rArg.startsWith("--R.BackEnd=auto") || rArg.startsWith("--R.BackEndLLVM=")) {
                 isLLVMBackEnd = true;
                 continue;
             }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -202,6 +202,8 @@ typedef int (*call_REAL_NO_NA)(SEXP x);
 typedef int (*call_LOGICAL_NO_NA)(SEXP x);
 typedef int (*call_STRING_NO_NA)(SEXP x);
 typedef void *(*call_FASTR_DATAPTR)(SEXP x);
+typedef R_xlen_t (*call_FASTR_INTEGER_ELT_REGION)(SEXP x, R_xlen_t start_idx, R_xlen_t size, int *buffer);
+typedef R_xlen_t (*call_FASTR_REAL_ELT_REGION)(SEXP x, R_xlen_t start_idx, R_xlen_t size, double *buffer);
 typedef const void *(*call_DATAPTR_OR_NULL)(SEXP x);
 typedef Rbyte *(*call_RAW)(SEXP x);
 typedef Rbyte (*call_RAW_ELT)(SEXP x, R_xlen_t i);
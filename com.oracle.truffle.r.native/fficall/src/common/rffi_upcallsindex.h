@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -63,426 +63,428 @@
 #define FASTR_GlobalVarSetInt_x 34
 #define FASTR_GlobalVarSetPtr_x 35
 #define FASTR_GlobalVarSetSEXP_x 36
-#define FASTR_getConnectionChar_x 37
-#define FASTR_getSerializeVersion_x 38
-#define FASTR_serialize_x 39
-#define FORMALS_x 40
-#define GetRNGstate_x 41
-#define INTEGER_x 42
-#define INTEGER_ELT_x 43
-#define INTEGER_GET_REGION_x 44
-#define INTEGER_IS_SORTED_x 45
-#define INTEGER_NO_NA_x 46
-#define IS_GROWABLE_x 47
-#define IS_S4_OBJECT_x 48
-#define LENGTH_x 49
-#define LEVELS_x 50
-#define LOGICAL_x 51
-#define LOGICAL_ELT_x 52
-#define LOGICAL_GET_REGION_x 53
-#define LOGICAL_IS_SORTED_x 54
-#define LOGICAL_NO_NA_x 55
-#define NAMED_x 56
-#define OBJECT_x 57
-#define PRCODE_x 58
-#define PRENV_x 59
-#define PRINTNAME_x 60
-#define PRSEEN_x 61
-#define PRVALUE_x 62
-#define PutRNGstate_x 63
-#define RAW_x 64
-#define RAW_ELT_x 65
-#define RAW_GET_REGION_x 66
-#define RDEBUG_x 67
-#define REAL_x 68
-#define REAL_ELT_x 69
-#define REAL_GET_REGION_x 70
-#define REAL_IS_SORTED_x 71
-#define REAL_NO_NA_x 72
-#define RSTEP_x 73
-#define R_BaseEnv_x 74
-#define R_BaseNamespace_x 75
-#define R_BindingIsLocked_x 76
-#define R_CHAR_x 77
-#define R_CleanUp_x 78
-#define R_ExternalPtrAddr_x 79
-#define R_ExternalPtrProtected_x 80
-#define R_ExternalPtrTag_x 81
-#define R_FindNamespace_x 82
-#define R_GetConnection_x 83
-#define R_GlobalContext_x 84
-#define R_GlobalEnv_x 85
-#define R_Home_x 86
-#define R_HomeDir_x 87
-#define R_Interactive_x 88
-#define R_LockBinding_x 89
-#define R_MakeActiveBinding_x 90
-#define R_MakeExternalPtr_x 91
-#define R_MakeWeakRef_x 92
-#define R_MakeWeakRefC_x 93
-#define R_MethodsNamespace_x 94
-#define R_NamespaceRegistry_x 95
-#define R_NewHashedEnv_x 96
-#define R_ParseVector_x 97
-#define R_PreserveObject_x 98
-#define R_PromiseExpr_x 99
-#define R_ProtectWithIndex_x 100
-#define R_ReadConnection_x 101
-#define R_ReleaseObject_x 102
-#define R_Reprotect_x 103
-#define R_SetExternalPtrAddr_x 104
-#define R_SetExternalPtrProtected_x 105
-#define R_SetExternalPtrTag_x 106
-#define R_TempDir_x 107
-#define R_ToplevelExec_x 108
-#define R_WeakRefKey_x 109
-#define R_WeakRefValue_x 110
-#define R_WriteConnection_x 111
-#define R_alloc_x 112
-#define R_altrep_data1_x 113
-#define R_altrep_data2_x 114
-#define R_altrep_inherits_x 115
-#define R_compute_identical_x 116
-#define R_do_MAKE_CLASS_x 117
-#define R_do_new_object_x 118
-#define R_do_slot_x 119
-#define R_do_slot_assign_x 120
-#define R_forceAndCall_x 121
-#define R_getClassDef_x 122
-#define R_getContextCall_x 123
-#define R_getContextEnv_x 124
-#define R_getContextFun_x 125
-#define R_getContextSrcRef_x 126
-#define R_getGlobalFunctionContext_x 127
-#define R_getParentFunctionContext_x 128
-#define R_has_slot_x 129
-#define R_insideBrowser_x 130
-#define R_isEqual_x 131
-#define R_isGlobal_x 132
-#define R_lsInternal3_x 133
-#define R_make_altcomplex_class_x 134
-#define R_make_altinteger_class_x 135
-#define R_make_altlogical_class_x 136
-#define R_make_altraw_class_x 137
-#define R_make_altreal_class_x 138
-#define R_make_altstring_class_x 139
-#define R_nchar_x 140
-#define R_new_altrep_x 141
-#define R_new_custom_connection_x 142
-#define R_removeVarFromFrame_x 143
-#define R_set_altcomplex_Elt_method_x 144
-#define R_set_altcomplex_Get_region_method_x 145
-#define R_set_altinteger_Elt_method_x 146
-#define R_set_altinteger_Get_region_method_x 147
-#define R_set_altinteger_Is_sorted_method_x 148
-#define R_set_altinteger_Max_method_x 149
-#define R_set_altinteger_Min_method_x 150
-#define R_set_altinteger_No_NA_method_x 151
-#define R_set_altinteger_Sum_method_x 152
-#define R_set_altlogical_Elt_method_x 153
-#define R_set_altlogical_Get_region_method_x 154
-#define R_set_altlogical_Is_sorted_method_x 155
-#define R_set_altlogical_No_NA_method_x 156
-#define R_set_altlogical_Sum_method_x 157
-#define R_set_altraw_Elt_method_x 158
-#define R_set_altraw_Get_region_method_x 159
-#define R_set_altreal_Elt_method_x 160
-#define R_set_altreal_Get_region_method_x 161
-#define R_set_altreal_Is_sorted_method_x 162
-#define R_set_altreal_Max_method_x 163
-#define R_set_altreal_Min_method_x 164
-#define R_set_altreal_No_NA_method_x 165
-#define R_set_altreal_Sum_method_x 166
-#define R_set_altrep_Coerce_method_x 167
-#define R_set_altrep_DuplicateEX_method_x 168
-#define R_set_altrep_Duplicate_method_x 169
-#define R_set_altrep_Inspect_method_x 170
-#define R_set_altrep_Length_method_x 171
-#define R_set_altrep_Serialized_state_method_x 172
-#define R_set_altrep_UnserializeEX_method_x 173
-#define R_set_altrep_Unserialize_method_x 174
-#define R_set_altrep_data1_x 175
-#define R_set_altrep_data2_x 176
-#define R_set_altstring_Elt_method_x 177
-#define R_set_altstring_Is_sorted_method_x 178
-#define R_set_altstring_No_NA_method_x 179
-#define R_set_altstring_Set_elt_method_x 180
-#define R_set_altvec_Dataptr_method_x 181
-#define R_set_altvec_Dataptr_or_null_method_x 182
-#define R_set_altvec_Extract_subset_method_x 183
-#define R_tryEval_x 184
-#define R_unLockBinding_x 185
-#define Rf_GetOption1_x 186
-#define Rf_NonNullStringMatch_x 187
-#define Rf_PairToVectorList_x 188
-#define Rf_PrintValue_x 189
-#define Rf_ScalarComplex_x 190
-#define Rf_ScalarInteger_x 191
-#define Rf_ScalarLogical_x 192
-#define Rf_ScalarRaw_x 193
-#define Rf_ScalarReal_x 194
-#define Rf_ScalarString_x 195
-#define Rf_VectorToPairList_x 196
-#define Rf_allocArray_x 197
-#define Rf_allocList_x 198
-#define Rf_allocMatrix_x 199
-#define Rf_allocSExp_x 200
-#define Rf_allocVector_x 201
-#define Rf_any_duplicated_x 202
-#define Rf_any_duplicated3_x 203
-#define Rf_asChar_x 204
-#define Rf_asCharacterFactor_x 205
-#define Rf_asInteger_x 206
-#define Rf_asLogical_x 207
-#define Rf_asReal_x 208
-#define Rf_asS4_x 209
-#define Rf_bessel_i_x 210
-#define Rf_bessel_i_ex_x 211
-#define Rf_bessel_j_x 212
-#define Rf_bessel_j_ex_x 213
-#define Rf_bessel_k_x 214
-#define Rf_bessel_k_ex_x 215
-#define Rf_bessel_y_x 216
-#define Rf_bessel_y_ex_x 217
-#define Rf_beta_x 218
-#define Rf_choose_x 219
-#define Rf_classgets_x 220
-#define Rf_coerceVector_x 221
-#define Rf_cons_x 222
-#define Rf_copyListMatrix_x 223
-#define Rf_copyMatrix_x 224
-#define Rf_copyMostAttrib_x 225
-#define Rf_cospi_x 226
-#define Rf_dbeta_x 227
-#define Rf_dbinom_x 228
-#define Rf_dcauchy_x 229
-#define Rf_dchisq_x 230
-#define Rf_defineVar_x 231
-#define Rf_dexp_x 232
-#define Rf_df_x 233
-#define Rf_dgamma_x 234
-#define Rf_dgeom_x 235
-#define Rf_dhyper_x 236
-#define Rf_digamma_x 237
-#define Rf_dlnorm_x 238
-#define Rf_dlogis_x 239
-#define Rf_dnbeta_x 240
-#define Rf_dnbinom_x 241
-#define Rf_dnbinom_mu_x 242
-#define Rf_dnchisq_x 243
-#define Rf_dnf_x 244
-#define Rf_dnorm4_x 245
-#define Rf_dnt_x 246
-#define Rf_dpois_x 247
-#define Rf_dpsifn_x 248
-#define Rf_dsignrank_x 249
-#define Rf_dt_x 250
-#define Rf_dunif_x 251
-#define Rf_duplicate_x 252
-#define Rf_duplicated_x 253
-#define Rf_dweibull_x 254
-#define Rf_dwilcox_x 255
-#define Rf_error_x 256
-#define Rf_errorcall_x 257
-#define Rf_eval_x 258
-#define Rf_findFun_x 259
-#define Rf_findVar_x 260
-#define Rf_findVarInFrame_x 261
-#define Rf_findVarInFrame3_x 262
-#define Rf_fprec_x 263
-#define Rf_ftrunc_x 264
-#define Rf_gammafn_x 265
-#define Rf_getAttrib_x 266
-#define Rf_gsetVar_x 267
-#define Rf_inherits_x 268
-#define Rf_install_x 269
-#define Rf_installChar_x 270
-#define Rf_isNull_x 271
-#define Rf_isObject_x 272
-#define Rf_isString_x 273
-#define Rf_lbeta_x 274
-#define Rf_lchoose_x 275
-#define Rf_lengthgets_x 276
-#define Rf_lgamma1p_x 277
-#define Rf_lgammafn_x 278
-#define Rf_lgammafn_sign_x 279
-#define Rf_log1pexp_x 280
-#define Rf_log1pmx_x 281
-#define Rf_logspace_add_x 282
-#define Rf_logspace_sub_x 283
-#define Rf_mkCharLenCE_x 284
-#define Rf_namesgets_x 285
-#define Rf_ncols_x 286
-#define Rf_nrows_x 287
-#define Rf_pbeta_x 288
-#define Rf_pbinom_x 289
-#define Rf_pcauchy_x 290
-#define Rf_pchisq_x 291
-#define Rf_pentagamma_x 292
-#define Rf_pexp_x 293
-#define Rf_pf_x 294
-#define Rf_pgamma_x 295
-#define Rf_pgeom_x 296
-#define Rf_phyper_x 297
-#define Rf_plnorm_x 298
-#define Rf_plogis_x 299
-#define Rf_pnbeta_x 300
-#define Rf_pnbinom_x 301
-#define Rf_pnbinom_mu_x 302
-#define Rf_pnchisq_x 303
-#define Rf_pnf_x 304
-#define Rf_pnorm5_x 305
-#define Rf_pnorm_both_x 306
-#define Rf_pnt_x 307
-#define Rf_ppois_x 308
-#define Rf_protect_x 309
-#define Rf_psigamma_x 310
-#define Rf_psignrank_x 311
-#define Rf_pt_x 312
-#define Rf_ptukey_x 313
-#define Rf_punif_x 314
-#define Rf_pweibull_x 315
-#define Rf_pwilcox_x 316
-#define Rf_qbeta_x 317
-#define Rf_qbinom_x 318
-#define Rf_qcauchy_x 319
-#define Rf_qchisq_x 320
-#define Rf_qexp_x 321
-#define Rf_qf_x 322
-#define Rf_qgamma_x 323
-#define Rf_qgeom_x 324
-#define Rf_qhyper_x 325
-#define Rf_qlnorm_x 326
-#define Rf_qlogis_x 327
-#define Rf_qnbeta_x 328
-#define Rf_qnbinom_x 329
-#define Rf_qnbinom_mu_x 330
-#define Rf_qnchisq_x 331
-#define Rf_qnf_x 332
-#define Rf_qnorm5_x 333
-#define Rf_qnt_x 334
-#define Rf_qpois_x 335
-#define Rf_qsignrank_x 336
-#define Rf_qt_x 337
-#define Rf_qtukey_x 338
-#define Rf_qunif_x 339
-#define Rf_qweibull_x 340
-#define Rf_qwilcox_x 341
-#define Rf_rbeta_x 342
-#define Rf_rbinom_x 343
-#define Rf_rcauchy_x 344
-#define Rf_rchisq_x 345
-#define Rf_rexp_x 346
-#define Rf_rf_x 347
-#define Rf_rgamma_x 348
-#define Rf_rgeom_x 349
-#define Rf_rhyper_x 350
-#define Rf_rlnorm_x 351
-#define Rf_rlogis_x 352
-#define Rf_rmultinom_x 353
-#define Rf_rnbinom_x 354
-#define Rf_rnbinom_mu_x 355
-#define Rf_rnchisq_x 356
-#define Rf_rnorm_x 357
-#define Rf_rpois_x 358
-#define Rf_rsignrank_x 359
-#define Rf_rt_x 360
-#define Rf_runif_x 361
-#define Rf_rweibull_x 362
-#define Rf_rwilcox_x 363
-#define Rf_setAttrib_x 364
-#define Rf_setVar_x 365
-#define Rf_sign_x 366
-#define Rf_sinpi_x 367
-#define Rf_str2type_x 368
-#define Rf_tanpi_x 369
-#define Rf_tetragamma_x 370
-#define Rf_trigamma_x 371
-#define Rf_unprotect_x 372
-#define Rf_unprotect_ptr_x 373
-#define Rf_warning_x 374
-#define Rf_warningcall_x 375
-#define Rprintf_x 376
-#define SETCAD4R_x 377
-#define SETCADDDR_x 378
-#define SETCADDR_x 379
-#define SETCADR_x 380
-#define SETCAR_x 381
-#define SETCDR_x 382
-#define SETLENGTH_x 383
-#define SETLEVELS_x 384
-#define SET_ATTRIB_x 385
-#define SET_BODY_x 386
-#define SET_CLOENV_x 387
-#define SET_ENCLOS_x 388
-#define SET_FORMALS_x 389
-#define SET_GROWABLE_BIT_x 390
-#define SET_NAMED_FASTR_x 391
-#define SET_OBJECT_x 392
-#define SET_PRCODE_x 393
-#define SET_PRENV_x 394
-#define SET_PRVALUE_x 395
-#define SET_RDEBUG_x 396
-#define SET_RSTEP_x 397
-#define SET_S4_OBJECT_x 398
-#define SET_STRING_ELT_x 399
-#define SET_SYMVALUE_x 400
-#define SET_TAG_x 401
-#define SET_TRUELENGTH_x 402
-#define SET_TYPEOF_x 403
-#define SET_VECTOR_ELT_x 404
-#define STRING_ELT_x 405
-#define STRING_IS_SORTED_x 406
-#define STRING_NO_NA_x 407
-#define SYMVALUE_x 408
-#define TAG_x 409
-#define TRUELENGTH_x 410
-#define TYPEOF_x 411
-#define UNSET_S4_OBJECT_x 412
-#define VECTOR_ELT_x 413
-#define exp_rand_x 414
-#define forceSymbols_x 415
-#define gdActivate_x 416
-#define gdCircle_x 417
-#define gdClip_x 418
-#define gdClose_x 419
-#define gdDeactivate_x 420
-#define gdFlush_x 421
-#define gdHold_x 422
-#define gdLine_x 423
-#define gdLocator_x 424
-#define gdMetricInfo_x 425
-#define gdMode_x 426
-#define gdNewPage_x 427
-#define gdOpen_x 428
-#define gdPath_x 429
-#define gdPolygon_x 430
-#define gdPolyline_x 431
-#define gdRaster_x 432
-#define gdRect_x 433
-#define gdSize_x 434
-#define gdText_x 435
-#define gdcSetColor_x 436
-#define gdcSetFill_x 437
-#define gdcSetFont_x 438
-#define gdcSetLine_x 439
-#define getCCallable_x 440
-#define getConnectionClassString_x 441
-#define getEmbeddingDLLInfo_x 442
-#define getOpenModeString_x 443
-#define getStrWidth_x 444
-#define getSummaryDescription_x 445
-#define isSeekable_x 446
-#define match5_x 447
-#define norm_rand_x 448
-#define octsize_x 449
-#define registerCCallable_x 450
-#define registerRoutines_x 451
-#define restoreHandlerStacks_x 452
-#define setDotSymbolValues_x 453
-#define unif_rand_x 454
-#define useDynamicSymbols_x 455
+#define FASTR_INTEGER_ELT_REGION_x 37
+#define FASTR_REAL_ELT_REGION_x 38
+#define FASTR_getConnectionChar_x 39
+#define FASTR_getSerializeVersion_x 40
+#define FASTR_serialize_x 41
+#define FORMALS_x 42
+#define GetRNGstate_x 43
+#define INTEGER_x 44
+#define INTEGER_ELT_x 45
+#define INTEGER_GET_REGION_x 46
+#define INTEGER_IS_SORTED_x 47
+#define INTEGER_NO_NA_x 48
+#define IS_GROWABLE_x 49
+#define IS_S4_OBJECT_x 50
+#define LENGTH_x 51
+#define LEVELS_x 52
+#define LOGICAL_x 53
+#define LOGICAL_ELT_x 54
+#define LOGICAL_GET_REGION_x 55
+#define LOGICAL_IS_SORTED_x 56
+#define LOGICAL_NO_NA_x 57
+#define NAMED_x 58
+#define OBJECT_x 59
+#define PRCODE_x 60
+#define PRENV_x 61
+#define PRINTNAME_x 62
+#define PRSEEN_x 63
+#define PRVALUE_x 64
+#define PutRNGstate_x 65
+#define RAW_x 66
+#define RAW_ELT_x 67
+#define RAW_GET_REGION_x 68
+#define RDEBUG_x 69
+#define REAL_x 70
+#define REAL_ELT_x 71
+#define REAL_GET_REGION_x 72
+#define REAL_IS_SORTED_x 73
+#define REAL_NO_NA_x 74
+#define RSTEP_x 75
+#define R_BaseEnv_x 76
+#define R_BaseNamespace_x 77
+#define R_BindingIsLocked_x 78
+#define R_CHAR_x 79
+#define R_CleanUp_x 80
+#define R_ExternalPtrAddr_x 81
+#define R_ExternalPtrProtected_x 82
+#define R_ExternalPtrTag_x 83
+#define R_FindNamespace_x 84
+#define R_GetConnection_x 85
+#define R_GlobalContext_x 86
+#define R_GlobalEnv_x 87
+#define R_Home_x 88
+#define R_HomeDir_x 89
+#define R_Interactive_x 90
+#define R_LockBinding_x 91
+#define R_MakeActiveBinding_x 92
+#define R_MakeExternalPtr_x 93
+#define R_MakeWeakRef_x 94
+#define R_MakeWeakRefC_x 95
+#define R_MethodsNamespace_x 96
+#define R_NamespaceRegistry_x 97
+#define R_NewHashedEnv_x 98
+#define R_ParseVector_x 99
+#define R_PreserveObject_x 100
+#define R_PromiseExpr_x 101
+#define R_ProtectWithIndex_x 102
+#define R_ReadConnection_x 103
+#define R_ReleaseObject_x 104
+#define R_Reprotect_x 105
+#define R_SetExternalPtrAddr_x 106
+#define R_SetExternalPtrProtected_x 107
+#define R_SetExternalPtrTag_x 108
+#define R_TempDir_x 109
+#define R_ToplevelExec_x 110
+#define R_WeakRefKey_x 111
+#define R_WeakRefValue_x 112
+#define R_WriteConnection_x 113
+#define R_alloc_x 114
+#define R_altrep_data1_x 115
+#define R_altrep_data2_x 116
+#define R_altrep_inherits_x 117
+#define R_compute_identical_x 118
+#define R_do_MAKE_CLASS_x 119
+#define R_do_new_object_x 120
+#define R_do_slot_x 121
+#define R_do_slot_assign_x 122
+#define R_forceAndCall_x 123
+#define R_getClassDef_x 124
+#define R_getContextCall_x 125
+#define R_getContextEnv_x 126
+#define R_getContextFun_x 127
+#define R_getContextSrcRef_x 128
+#define R_getGlobalFunctionContext_x 129
+#define R_getParentFunctionContext_x 130
+#define R_has_slot_x 131
+#define R_insideBrowser_x 132
+#define R_isEqual_x 133
+#define R_isGlobal_x 134
+#define R_lsInternal3_x 135
+#define R_make_altcomplex_class_x 136
+#define R_make_altinteger_class_x 137
+#define R_make_altlogical_class_x 138
+#define R_make_altraw_class_x 139
+#define R_make_altreal_class_x 140
+#define R_make_altstring_class_x 141
+#define R_nchar_x 142
+#define R_new_altrep_x 143
+#define R_new_custom_connection_x 144
+#define R_removeVarFromFrame_x 145
+#define R_set_altcomplex_Elt_method_x 146
+#define R_set_altcomplex_Get_region_method_x 147
+#define R_set_altinteger_Elt_method_x 148
+#define R_set_altinteger_Get_region_method_x 149
+#define R_set_altinteger_Is_sorted_method_x 150
+#define R_set_altinteger_Max_method_x 151
+#define R_set_altinteger_Min_method_x 152
+#define R_set_altinteger_No_NA_method_x 153
+#define R_set_altinteger_Sum_method_x 154
+#define R_set_altlogical_Elt_method_x 155
+#define R_set_altlogical_Get_region_method_x 156
+#define R_set_altlogical_Is_sorted_method_x 157
+#define R_set_altlogical_No_NA_method_x 158
+#define R_set_altlogical_Sum_method_x 159
+#define R_set_altraw_Elt_method_x 160
+#define R_set_altraw_Get_region_method_x 161
+#define R_set_altreal_Elt_method_x 162
+#define R_set_altreal_Get_region_method_x 163
+#define R_set_altreal_Is_sorted_method_x 164
+#define R_set_altreal_Max_method_x 165
+#define R_set_altreal_Min_method_x 166
+#define R_set_altreal_No_NA_method_x 167
+#define R_set_altreal_Sum_method_x 168
+#define R_set_altrep_Coerce_method_x 169
+#define R_set_altrep_DuplicateEX_method_x 170
+#define R_set_altrep_Duplicate_method_x 171
+#define R_set_altrep_Inspect_method_x 172
+#define R_set_altrep_Length_method_x 173
+#define R_set_altrep_Serialized_state_method_x 174
+#define R_set_altrep_UnserializeEX_method_x 175
+#define R_set_altrep_Unserialize_method_x 176
+#define R_set_altrep_data1_x 177
+#define R_set_altrep_data2_x 178
+#define R_set_altstring_Elt_method_x 179
+#define R_set_altstring_Is_sorted_method_x 180
+#define R_set_altstring_No_NA_method_x 181
+#define R_set_altstring_Set_elt_method_x 182
+#define R_set_altvec_Dataptr_method_x 183
+#define R_set_altvec_Dataptr_or_null_method_x 184
+#define R_set_altvec_Extract_subset_method_x 185
+#define R_tryEval_x 186
+#define R_unLockBinding_x 187
+#define Rf_GetOption1_x 188
+#define Rf_NonNullStringMatch_x 189
+#define Rf_PairToVectorList_x 190
+#define Rf_PrintValue_x 191
+#define Rf_ScalarComplex_x 192
+#define Rf_ScalarInteger_x 193
+#define Rf_ScalarLogical_x 194
+#define Rf_ScalarRaw_x 195
+#define Rf_ScalarReal_x 196
+#define Rf_ScalarString_x 197
+#define Rf_VectorToPairList_x 198
+#define Rf_allocArray_x 199
+#define Rf_allocList_x 200
+#define Rf_allocMatrix_x 201
+#define Rf_allocSExp_x 202
+#define Rf_allocVector_x 203
+#define Rf_any_duplicated_x 204
+#define Rf_any_duplicated3_x 205
+#define Rf_asChar_x 206
+#define Rf_asCharacterFactor_x 207
+#define Rf_asInteger_x 208
+#define Rf_asLogical_x 209
+#define Rf_asReal_x 210
+#define Rf_asS4_x 211
+#define Rf_bessel_i_x 212
+#define Rf_bessel_i_ex_x 213
+#define Rf_bessel_j_x 214
+#define Rf_bessel_j_ex_x 215
+#define Rf_bessel_k_x 216
+#define Rf_bessel_k_ex_x 217
+#define Rf_bessel_y_x 218
+#define Rf_bessel_y_ex_x 219
+#define Rf_beta_x 220
+#define Rf_choose_x 221
+#define Rf_classgets_x 222
+#define Rf_coerceVector_x 223
+#define Rf_cons_x 224
+#define Rf_copyListMatrix_x 225
+#define Rf_copyMatrix_x 226
+#define Rf_copyMostAttrib_x 227
+#define Rf_cospi_x 228
+#define Rf_dbeta_x 229
+#define Rf_dbinom_x 230
+#define Rf_dcauchy_x 231
+#define Rf_dchisq_x 232
+#define Rf_defineVar_x 233
+#define Rf_dexp_x 234
+#define Rf_df_x 235
+#define Rf_dgamma_x 236
+#define Rf_dgeom_x 237
+#define Rf_dhyper_x 238
+#define Rf_digamma_x 239
+#define Rf_dlnorm_x 240
+#define Rf_dlogis_x 241
+#define Rf_dnbeta_x 242
+#define Rf_dnbinom_x 243
+#define Rf_dnbinom_mu_x 244
+#define Rf_dnchisq_x 245
+#define Rf_dnf_x 246
+#define Rf_dnorm4_x 247
+#define Rf_dnt_x 248
+#define Rf_dpois_x 249
+#define Rf_dpsifn_x 250
+#define Rf_dsignrank_x 251
+#define Rf_dt_x 252
+#define Rf_dunif_x 253
+#define Rf_duplicate_x 254
+#define Rf_duplicated_x 255
+#define Rf_dweibull_x 256
+#define Rf_dwilcox_x 257
+#define Rf_error_x 258
+#define Rf_errorcall_x 259
+#define Rf_eval_x 260
+#define Rf_findFun_x 261
+#define Rf_findVar_x 262
+#define Rf_findVarInFrame_x 263
+#define Rf_findVarInFrame3_x 264
+#define Rf_fprec_x 265
+#define Rf_ftrunc_x 266
+#define Rf_gammafn_x 267
+#define Rf_getAttrib_x 268
+#define Rf_gsetVar_x 269
+#define Rf_inherits_x 270
+#define Rf_install_x 271
+#define Rf_installChar_x 272
+#define Rf_isNull_x 273
+#define Rf_isObject_x 274
+#define Rf_isString_x 275
+#define Rf_lbeta_x 276
+#define Rf_lchoose_x 277
+#define Rf_lengthgets_x 278
+#define Rf_lgamma1p_x 279
+#define Rf_lgammafn_x 280
+#define Rf_lgammafn_sign_x 281
+#define Rf_log1pexp_x 282
+#define Rf_log1pmx_x 283
+#define Rf_logspace_add_x 284
+#define Rf_logspace_sub_x 285
+#define Rf_mkCharLenCE_x 286
+#define Rf_namesgets_x 287
+#define Rf_ncols_x 288
+#define Rf_nrows_x 289
+#define Rf_pbeta_x 290
+#define Rf_pbinom_x 291
+#define Rf_pcauchy_x 292
+#define Rf_pchisq_x 293
+#define Rf_pentagamma_x 294
+#define Rf_pexp_x 295
+#define Rf_pf_x 296
+#define Rf_pgamma_x 297
+#define Rf_pgeom_x 298
+#define Rf_phyper_x 299
+#define Rf_plnorm_x 300
+#define Rf_plogis_x 301
+#define Rf_pnbeta_x 302
+#define Rf_pnbinom_x 303
+#define Rf_pnbinom_mu_x 304
+#define Rf_pnchisq_x 305
+#define Rf_pnf_x 306
+#define Rf_pnorm5_x 307
+#define Rf_pnorm_both_x 308
+#define Rf_pnt_x 309
+#define Rf_ppois_x 310
+#define Rf_protect_x 311
+#define Rf_psigamma_x 312
+#define Rf_psignrank_x 313
+#define Rf_pt_x 314
+#define Rf_ptukey_x 315
+#define Rf_punif_x 316
+#define Rf_pweibull_x 317
+#define Rf_pwilcox_x 318
+#define Rf_qbeta_x 319
+#define Rf_qbinom_x 320
+#define Rf_qcauchy_x 321
+#define Rf_qchisq_x 322
+#define Rf_qexp_x 323
+#define Rf_qf_x 324
+#define Rf_qgamma_x 325
+#define Rf_qgeom_x 326
+#define Rf_qhyper_x 327
+#define Rf_qlnorm_x 328
+#define Rf_qlogis_x 329
+#define Rf_qnbeta_x 330
+#define Rf_qnbinom_x 331
+#define Rf_qnbinom_mu_x 332
+#define Rf_qnchisq_x 333
+#define Rf_qnf_x 334
+#define Rf_qnorm5_x 335
+#define Rf_qnt_x 336
+#define Rf_qpois_x 337
+#define Rf_qsignrank_x 338
+#define Rf_qt_x 339
+#define Rf_qtukey_x 340
+#define Rf_qunif_x 341
+#define Rf_qweibull_x 342
+#define Rf_qwilcox_x 343
+#define Rf_rbeta_x 344
+#define Rf_rbinom_x 345
+#define Rf_rcauchy_x 346
+#define Rf_rchisq_x 347
+#define Rf_rexp_x 348
+#define Rf_rf_x 349
+#define Rf_rgamma_x 350
+#define Rf_rgeom_x 351
+#define Rf_rhyper_x 352
+#define Rf_rlnorm_x 353
+#define Rf_rlogis_x 354
+#define Rf_rmultinom_x 355
+#define Rf_rnbinom_x 356
+#define Rf_rnbinom_mu_x 357
+#define Rf_rnchisq_x 358
+#define Rf_rnorm_x 359
+#define Rf_rpois_x 360
+#define Rf_rsignrank_x 361
+#define Rf_rt_x 362
+#define Rf_runif_x 363
+#define Rf_rweibull_x 364
+#define Rf_rwilcox_x 365
+#define Rf_setAttrib_x 366
+#define Rf_setVar_x 367
+#define Rf_sign_x 368
+#define Rf_sinpi_x 369
+#define Rf_str2type_x 370
+#define Rf_tanpi_x 371
+#define Rf_tetragamma_x 372
+#define Rf_trigamma_x 373
+#define Rf_unprotect_x 374
+#define Rf_unprotect_ptr_x 375
+#define Rf_warning_x 376
+#define Rf_warningcall_x 377
+#define Rprintf_x 378
+#define SETCAD4R_x 379
+#define SETCADDDR_x 380
+#define SETCADDR_x 381
+#define SETCADR_x 382
+#define SETCAR_x 383
+#define SETCDR_x 384
+#define SETLENGTH_x 385
+#define SETLEVELS_x 386
+#define SET_ATTRIB_x 387
+#define SET_BODY_x 388
+#define SET_CLOENV_x 389
+#define SET_ENCLOS_x 390
+#define SET_FORMALS_x 391
+#define SET_GROWABLE_BIT_x 392
+#define SET_NAMED_FASTR_x 393
+#define SET_OBJECT_x 394
+#define SET_PRCODE_x 395
+#define SET_PRENV_x 396
+#define SET_PRVALUE_x 397
+#define SET_RDEBUG_x 398
+#define SET_RSTEP_x 399
+#define SET_S4_OBJECT_x 400
+#define SET_STRING_ELT_x 401
+#define SET_SYMVALUE_x 402
+#define SET_TAG_x 403
+#define SET_TRUELENGTH_x 404
+#define SET_TYPEOF_x 405
+#define SET_VECTOR_ELT_x 406
+#define STRING_ELT_x 407
+#define STRING_IS_SORTED_x 408
+#define STRING_NO_NA_x 409
+#define SYMVALUE_x 410
+#define TAG_x 411
+#define TRUELENGTH_x 412
+#define TYPEOF_x 413
+#define UNSET_S4_OBJECT_x 414
+#define VECTOR_ELT_x 415
+#define exp_rand_x 416
+#define forceSymbols_x 417
+#define gdActivate_x 418
+#define gdCircle_x 419
+#define gdClip_x 420
+#define gdClose_x 421
+#define gdDeactivate_x 422
+#define gdFlush_x 423
+#define gdHold_x 424
+#define gdLine_x 425
+#define gdLocator_x 426
+#define gdMetricInfo_x 427
+#define gdMode_x 428
+#define gdNewPage_x 429
+#define gdOpen_x 430
+#define gdPath_x 431
+#define gdPolygon_x 432
+#define gdPolyline_x 433
+#define gdRaster_x 434
+#define gdRect_x 435
+#define gdSize_x 436
+#define gdText_x 437
+#define gdcSetColor_x 438
+#define gdcSetFill_x 439
+#define gdcSetFont_x 440
+#define gdcSetLine_x 441
+#define getCCallable_x 442
+#define getConnectionClassString_x 443
+#define getEmbeddingDLLInfo_x 444
+#define getOpenModeString_x 445
+#define getStrWidth_x 446
+#define getSummaryDescription_x 447
+#define isSeekable_x 448
+#define match5_x 449
+#define norm_rand_x 450
+#define octsize_x 451
+#define registerCCallable_x 452
+#define registerRoutines_x 453
+#define restoreHandlerStacks_x 454
+#define setDotSymbolValues_x 455
+#define unif_rand_x 456
+#define useDynamicSymbols_x 457
 
-#define UPCALLS_TABLE_SIZE 456
+#define UPCALLS_TABLE_SIZE 458
 
 #endif // RFFI_UPCALLSINDEX_H
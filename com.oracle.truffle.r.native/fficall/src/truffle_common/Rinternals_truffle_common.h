@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -82,6 +82,160 @@ SEXP R_MakeExternalPtrFn(DL_FUNC p, SEXP tag, SEXP prot) {
     return R_MakeExternalPtr((void *) p, tag, prot);
 }
 
+#ifdef FASTR_NFI
+/*
+ * Cache of regions of vectors read by INTEGER_ELT and REAL_ELT. Without it, a C loop over a vector
+ * whose data are not materialized, e.g. a compact sequence or an ALTREP, does one up-call per
+ * element. On a miss, a block of elements is fetched with one up-call. The block size doubles, up to
+ * ELT_REGION_MAX_BLOCK, as long as the vector is read sequentially. The Java side refuses to fill
+ * the cache for vectors whose data may be written in place (see IntegerEltRegionNode), so the
+ * cached values can only change by evaluation of R code or by taking a data pointer. The up-calls
+ * that may evaluate R code, e.g. Rf_eval, Rf_findFun (forces promises), R_forceAndCall, R_tryEval
+ * or Rf_warning (calling handlers), invalidate all the entries when they return, the data pointer
+ * accessors before they return the pointer, and so does every down-call (see DO_CALL). The LLVM
+ * backend does not need the cache, its up-calls are cheap.
+ */
+#define ELT_REGION_ENTRIES 4
+#define ELT_REGION_MIN_BLOCK 64
+#define ELT_REGION_MAX_BLOCK 4096
+
+typedef struct {
+    SEXP x;
+    int upcall;
+    // 0 if the entry only holds the last element read from a vector that must not be cached
+    int cacheable;
+    unsigned int epoch;
+    R_xlen_t start;
+    R_xlen_t end;
+    R_xlen_t block;
+    union {
+        int i[ELT_REGION_MAX_BLOCK];
+        double d[ELT_REGION_MAX_BLOCK];
+    } data;
+} EltRegion;
+
+static __thread EltRegion eltRegions[ELT_REGION_ENTRIES];
+static __thread unsigned int eltRegionNext;
+static __thread unsigned int eltRegionEpoch = 1;
+
+void invalidateEltRegions() {
+    eltRegionEpoch++;
+}
+
+// returns the cached region of the vector that contains the element, or NULL
+static EltRegion *findEltRegion(SEXP x, R_xlen_t i, int upcall) {
+    for (int k = 0; k < ELT_REGION_ENTRIES; k++) {
+        EltRegion *r = &eltRegions[k];
+        if (r->x == x && r->upcall == upcall && r->cacheable && r->epoch == eltRegionEpoch && i >= r->start && i < r->end) {
+            return r;
+        }
+    }
+    return NULL;
+}
+
+// fetches the block of elements starting at the given element, or just that element if the vector must
+// not be cached; returns NULL if the index is out of bounds, the caller then reports the error
+static EltRegion *fillEltRegion(SEXP x, R_xlen_t i, int upcall) {
+    EltRegion *r = NULL;
+    for (int k = 0; k < ELT_REGION_ENTRIES; k++) {
+        if (eltRegions[k].x == x && eltRegions[k].upcall == upcall) {
+            r = &eltRegions[k];
+            break;
+        }
+    }
+    R_xlen_t block = ELT_REGION_MIN_BLOCK;
+    if (r == NULL) {
+        r = &eltRegions[eltRegionNext++ % ELT_REGION_ENTRIES];
+    } else if (i == r->end) {
+        // sequential access
+        block = r->block < ELT_REGION_MAX_BLOCK ? r->block * 2 : ELT_REGION_MAX_BLOCK;
+    } else if (i > r->start && i < r->end) {
+        // the previous block was invalidated before it was used up
+        block = r->block > 1 ? r->block / 2 : 1;
+    }
+    r->x = NULL;
+    R_xlen_t n;
+    if (upcall == FASTR_INTEGER_ELT_REGION_x) {
+        n = ((call_FASTR_INTEGER_ELT_REGION) callbacks[FASTR_INTEGER_ELT_REGION_x])(x, i, block, r->data.i);
+    } else {
+        n = ((call_FASTR_REAL_ELT_REGION) callbacks[FASTR_REAL_ELT_REGION_x])(x, i, block, r->data.d);
+    }
+    checkExitCall();
+    if (n == 0) {
+        return NULL;
+    }
+    r->x = x;
+    r->upcall = upcall;
+    r->cacheable = n > 0;
+    r->epoch = eltRegionEpoch;
+    r->start = i;
+    r->end = i + (n > 0 ? n : 1);
+    r->block = block;
+    return r;
+}
+
+/*
+ * Cache of the results of R_CHAR. The Java side keeps one CHARSXP per distinct string and its native
+ * buffer lives as long as the CHARSXP, whose contents never change. The buffer is freed when the
+ * CHARSXP is collected, which may happen as soon as the Java side releases the objects that native
+ * code got from up-calls. The entries are therefore only valid until the next such release, counted
+ * in the PROTECT stack (see below), and within one down-call (see DO_CALL). This saves an up-call per
+ * element in loops like CHAR(STRING_ELT(x, i)).
+ */
+#define CHAR_CACHE_ENTRIES 1024
+
+typedef struct {
+    SEXP x;
+    const char *chars;
+    unsigned int epoch;
+    long releases;
+} CharCacheEntry;
+
+static __thread CharCacheEntry charCache[CHAR_CACHE_ENTRIES];
+static __thread unsigned int charCacheEpoch = 1;
+
+#define CHAR_CACHE_ENTRY(x) (&charCache[(((unsigned long) (x)) >> 1) & (CHAR_CACHE_ENTRIES - 1)])
+
+void invalidateCharCache() {
+    charCacheEpoch++;
+}
+
+/*
+ * The PROTECT stack lives in native memory allocated by TruffleNFI_Context, its address is stored in
+ * the slot that follows the up-calls in the callbacks table. PROTECT and UNPROTECT only move the
+ * top. The Java side looks up the protected objects whenever GNU R could run its GC, i.e., before it
+ * releases the objects that native code got from the last up-calls. It only looks up the entries
+ * from "dirty" on, which is the lowest index overwritten or popped since the last scan. It counts
+ * the releases in "releases".
+ */
+typedef struct {
+    long top;
+    long size;
+    long dirty;
+    long releases;
+    SEXP data[];
+} ProtectStack;
+
+#define PROTECT_STACK ((ProtectStack *) callbacks[UPCALLS_TABLE_SIZE])
+
+long getProtectStackTop() {
+    return callbacks != NULL ? PROTECT_STACK->top : 0;
+}
+
+// drops the objects protected by a down-call that was left by an error
+void resetProtectStack(long top) {
+    ProtectStack *stack = PROTECT_STACK;
+    if (top < stack->top) {
+        stack->top = top;
+        if (top < stack->dirty) {
+            stack->dirty = top;
+        }
+    }
+}
+#else
+#define invalidateEltRegions()
+#endif
+
 // R_GlobalEnv et al are not a variables in FASTR as they are RContext specific
 SEXP FASTR_R_GlobalEnv() {
     TRACE0();
@@ -441,6 +595,8 @@ void Rf_warningcall(SEXP x, const char *format, ...) {
     Rvsnprintf(buf, BUFSIZE - 1, format, ap);
     va_end(ap);
     ((call_Rf_warningcall) callbacks[Rf_warningcall_x])(x, ensure_string(buf));
+    // calling handlers may have run
+    invalidateEltRegions();
 }
 
 void Rf_warning(const char *format, ...) {
@@ -451,6 +607,8 @@ void Rf_warning(const char *format, ...) {
     Rvsnprintf(buf, BUFSIZE - 1, format, ap);
     va_end(ap);
     ((call_Rf_warning) callbacks[Rf_warning_x])(ensure_string(buf));
+    // calling handlers may have run
+    invalidateEltRegions();
 }
 
 void Rprintf(const char *format, ...) {
@@ -616,6 +774,7 @@ SEXP Rf_dimnamesgets(SEXP x, SEXP y) {
 SEXP Rf_eval(SEXP expr, SEXP env) {
     TRACE0();
     SEXP result = ((call_Rf_eval) callbacks[Rf_eval_x])(expr, env);
+    invalidateEltRegions();
     checkExitCall();
     return result;
 }
@@ -623,6 +782,8 @@ SEXP Rf_eval(SEXP expr, SEXP env) {
 SEXP Rf_findFun(SEXP symbol, SEXP rho) {
     TRACE0();
     SEXP result = ((call_Rf_findFun) callbacks[Rf_findFun_x])(symbol, rho);
+    // the lookup forces promises
+    invalidateEltRegions();
     checkExitCall();
     return result;
 }
@@ -733,6 +894,7 @@ Rboolean Rf_isObject(SEXP s) {
 void Rf_PrintValue(SEXP x) {
     TRACE0();
     ((call_Rf_PrintValue) callbacks[Rf_PrintValue_x])(x);
+    invalidateEltRegions();
     checkExitCall();
 }
 
@@ -805,6 +967,63 @@ int Rf_nrows(SEXP x) {
     return result;
 }
 
+#ifdef FASTR_NFI
+SEXP Rf_protect(SEXP x) {
+    TRACE1(x);
+    ProtectStack *stack = PROTECT_STACK;
+    if (stack->top == stack->size) {
+        Rf_error("protect(): protection stack overflow");
+    }
+    stack->data[stack->top++] = x;
+    return x;
+}
+
+void Rf_unprotect(int x) {
+    TRACE("%d", x);
+    ProtectStack *stack = PROTECT_STACK;
+    if (x > stack->top) {
+        Rf_error("unprotect(): only %d protected items", (int) stack->top);
+    }
+    stack->top -= x;
+    if (stack->top < stack->dirty) {
+        stack->dirty = stack->top;
+    }
+}
+
+void R_ProtectWithIndex(SEXP x, PROTECT_INDEX *y) {
+    TRACE1(x);
+    *y = (PROTECT_INDEX) PROTECT_STACK->top;
+    Rf_protect(x);
+}
+
+void R_Reprotect(SEXP x, PROTECT_INDEX y) {
+    TRACE("%p %i", x, y);
+    ProtectStack *stack = PROTECT_STACK;
+    if (y < 0 || y >= stack->top) {
+        Rf_error("R_Reprotect: only %ld protected items, can't reprotect index %d", stack->top, y);
+    }
+    stack->data[y] = x;
+    if (y < stack->dirty) {
+        stack->dirty = y;
+    }
+}
+
+void Rf_unprotect_ptr(SEXP x) {
+    TRACE1(x);
+    ProtectStack *stack = PROTECT_STACK;
+    for (long i = stack->top - 1; i >= 0; i--) {
+        if (stack->data[i] == x) {
+            memmove(&stack->data[i], &stack->data[i + 1], (stack->top - i - 1) * sizeof(SEXP));
+            stack->top--;
+            if (i < stack->dirty) {
+                stack->dirty = i;
+            }
+            return;
+        }
+    }
+    Rf_error("unprotect_ptr: pointer not found");
+}
+#else
 SEXP Rf_protect(SEXP x) {
     TRACE1(x);
     SEXP result = ((call_Rf_protect) callbacks[Rf_protect_x])(x);
@@ -835,6 +1054,7 @@ void Rf_unprotect_ptr(SEXP x) {
     ((call_Rf_unprotect_ptr) callbacks[Rf_unprotect_ptr_x])(x);
     checkExitCall();
 }
+#endif
 
 void R_FlushConsole(void) {
     TRACE0();
@@ -1306,6 +1526,7 @@ int SETLEVELS(SEXP x, int gpbits) {
 
 int *FASTR_DATAPTR(SEXP x) {
     TRACE(TARGp, x);
+    invalidateEltRegions();
     int *result = ((call_FASTR_DATAPTR) callbacks[FASTR_DATAPTR_x])(x);
     checkExitCall();
     return result;
@@ -1313,6 +1534,7 @@ int *FASTR_DATAPTR(SEXP x) {
 
 const void *DATAPTR_OR_NULL(SEXP x) {
     TRACE1(x);
+    invalidateEltRegions();
     const void *result = ((call_DATAPTR_OR_NULL) callbacks[DATAPTR_OR_NULL_x])(x);
     checkExitCall();
     return result;
@@ -1320,6 +1542,7 @@ const void *DATAPTR_OR_NULL(SEXP x) {
 
 int *FASTR_INTEGER(SEXP x) {
     TRACE(TARGp, x);
+    invalidateEltRegions();
     int *result = ((call_INTEGER) callbacks[INTEGER_x])(x);
     checkExitCall();
     return result;
@@ -1327,6 +1550,15 @@ int *FASTR_INTEGER(SEXP x) {
 
 int INTEGER_ELT(SEXP x, R_xlen_t i) {
     TRACE0();
+#ifdef FASTR_NFI
+    EltRegion *r = findEltRegion(x, i, FASTR_INTEGER_ELT_REGION_x);
+    if (r == NULL) {
+        r = fillEltRegion(x, i, FASTR_INTEGER_ELT_REGION_x);
+    }
+    if (r != NULL) {
+        return r->data.i[i - r->start];
+    }
+#endif
     int result = ((call_INTEGER_ELT) callbacks[INTEGER_ELT_x])(x, i);
     checkExitCall();
     return result;
@@ -1338,6 +1570,7 @@ void SET_INTEGER_ELT(SEXP x, R_xlen_t i, int v) {
 
 double *FASTR_REAL(SEXP x){
     TRACE(TARGp, x);
+    invalidateEltRegions();
     double *result = ((call_REAL) callbacks[REAL_x])(x);
     checkExitCall();
     return result;
@@ -1345,6 +1578,15 @@ double *FASTR_REAL(SEXP x){
 
 double REAL_ELT(SEXP x, R_xlen_t i) {
     TRACE0();
+#ifdef FASTR_NFI
+    EltRegion *r = findEltRegion(x, i, FASTR_REAL_ELT_REGION_x);
+    if (r == NULL) {
+        r = fillEltRegion(x, i, FASTR_REAL_ELT_REGION_x);
+    }
+    if (r != NULL) {
+        return r->data.d[i - r->start];
+    }
+#endif
     double result = ((call_REAL_ELT) callbacks[REAL_ELT_x])(x, i);
     checkExitCall();
     return result;
@@ -1402,8 +1644,22 @@ Rbyte *RAW0(SEXP x) {
 
 const char * R_CHAR(SEXP x) {
     TRACE0();
+#ifdef FASTR_NFI
+    CharCacheEntry *entry = CHAR_CACHE_ENTRY(x);
+    if (entry->x == x && x != NULL && entry->epoch == charCacheEpoch && entry->releases == PROTECT_STACK->releases) {
+        return entry->chars;
+    }
+#endif
     SEXP result = ((call_R_CHAR) callbacks[R_CHAR_x])(x);
     checkExitCall();
+#ifdef FASTR_NFI
+    if (result != NULL) {
+        entry->x = x;
+        entry->chars = (const char *) result;
+        entry->epoch = charCacheEpoch;
+        entry->releases = PROTECT_STACK->releases;
+    }
+#endif
     return (const char *) result;
 }
 
@@ -1715,7 +1971,9 @@ static SEXP R_tryEvalInternal(SEXP x, SEXP y, int *ErrorOccurred, int silent) {
     if (ErrorOccurred) {
        *ErrorOccurred = 0;
     }
-    return ((call_R_tryEval) callbacks[R_tryEval_x])(x, y, ErrorOccurred, silent);
+    SEXP result = ((call_R_tryEval) callbacks[R_tryEval_x])(x, y, ErrorOccurred, silent);
+    invalidateEltRegions();
+    return result;
 }
 
 SEXP R_tryEval(SEXP x, SEXP y, int *ErrorOccurred) {
@@ -1794,6 +2052,7 @@ SEXP R_forceAndCall(SEXP e, int n, SEXP rho) {
     }
 
 	SEXP res = ((call_R_forceAndCall) callbacks[R_forceAndCall_x])(e, fun, n, rho);
+    invalidateEltRegions();
 
 	UNPROTECT(1);
 
@@ -1939,6 +2198,8 @@ int R_has_slot(SEXP obj, SEXP name) {
 SEXP R_do_MAKE_CLASS(const char *what) {
     TRACE0();
     SEXP result = ((call_R_do_MAKE_CLASS) callbacks[R_do_MAKE_CLASS_x])(what);
+    // calls methods::getClass
+    invalidateEltRegions();
     checkExitCall();
     return result;
 }
@@ -1946,6 +2207,8 @@ SEXP R_do_MAKE_CLASS(const char *what) {
 SEXP R_getClassDef (const char *what) {
     TRACE(TARGs, what);
     SEXP result = ((call_R_getClassDef) callbacks[R_getClassDef_x])(what);
+    // calls methods::getClass
+    invalidateEltRegions();
     checkExitCall();
     return result;
 }
@@ -1953,6 +2216,7 @@ SEXP R_getClassDef (const char *what) {
 SEXP R_do_new_object(SEXP class_def) {
     TRACE0();
     SEXP result = ((call_R_do_new_object) callbacks[R_do_new_object_x])(class_def);
+    invalidateEltRegions();
     checkExitCall();
     return result;
 }
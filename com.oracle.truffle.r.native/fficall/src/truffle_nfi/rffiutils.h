@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -31,22 +31,40 @@
 #include <Rinternals.h>
 #include <trufflenfi.h>
 
+// the R code evaluated before and after a down-call may change the vectors cached by INTEGER_ELT and
+// REAL_ELT, and the CHARSXPs cached by R_CHAR may be collected in between, see
+// Rinternals_truffle_common.h
+// the PROTECT stack is unwound when the call is left by an error, like the R_PPStackTop in GNU R
 #define DO_CALL_VOID(call)          \
     jmp_buf error_jmpbuf;           \
+    invalidateEltRegions();         \
+    invalidateCharCache();          \
+    long protect_top = getProtectStackTop(); \
     pushJmpBuf(&error_jmpbuf);      \
     if (!setjmp(error_jmpbuf)) {    \
         call;                       \
+    } else {                        \
+        resetProtectStack(protect_top); \
     }                               \
-    popJmpBuf();
+    popJmpBuf();                    \
+    invalidateEltRegions();         \
+    invalidateCharCache();
 
 #define DO_CALL(call)               \
     jmp_buf error_jmpbuf;           \
+    invalidateEltRegions();         \
+    invalidateCharCache();          \
+    long protect_top = getProtectStackTop(); \
     pushJmpBuf(&error_jmpbuf);      \
     SEXP result = R_NilValue;       \
     if (!setjmp(error_jmpbuf)) {    \
         result = call;              \
+    } else {                        \
+        resetProtectStack(protect_top); \
     }                               \
     popJmpBuf();                    \
+    invalidateEltRegions();         \
+    invalidateCharCache();          \
     return result;
 
 extern int initEventLoop(char* fifoInPathParam, char* fifoOutPathParam);
@@ -75,6 +93,17 @@ void checkExitCall();
 // invoked from Java to set the exit call flag
 void set_exception_flag();
 
+// invalidates the cache of INTEGER_ELT and REAL_ELT
+void invalidateEltRegions();
+
+// invalidates the cache of R_CHAR
+void invalidateCharCache();
+
+// the height of the PROTECT stack, see Rinternals_truffle_common.h
+long getProtectStackTop();
+
+void resetProtectStack(long top);
+
 
 void pushJmpBuf(jmp_buf *buf);
 
@@ -100,11 +100,17 @@ import com.oracle.truffle.r.nodes.builtin.base.infix.WhileBuiltin;
 import com.oracle.truffle.r.nodes.builtin.base.infix.WhileBuiltinNodeGen;
 import com.oracle.truffle.r.nodes.builtin.base.system.SystemFunction;
 import com.oracle.truffle.r.nodes.builtin.base.system.SystemFunctionNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRCompile;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRCompileNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContext;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContextFactory;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRDebug;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRDebugNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRDispatchNativeHandlers;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRFFIBackends;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRFFIBackendsNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRFFIProfile;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRFFIProfileNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRGDSetGraphics;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRGDSetGraphicsNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRGetExecutor;
@@ -132,6 +138,8 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRInteropFactory.FastRInterop
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRInteropFactory.FastRInteropGetExceptionNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRInteropFactory.FastRInteropTryNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRJavaGDResize;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRLazyLoad;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRLazyLoadFactory;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRLibPaths;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRLibPathsNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastROptionBuiltin;
@@ -142,6 +150,8 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRPkgSourceNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPrintError;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPrintErrorNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRRCallerTrace;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRRDS;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRRDSFactory;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRRefCountInfo;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRRefCountInfoNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRRegisterFunctions;
@@ -535,6 +545,13 @@ public class BasePackage extends RBuiltinPackage {
         add(FastRPkgSource.class, FastRPkgSourceNodeGen::create);
         add(FastRPrintError.class, FastRPrintErrorNodeGen::create);
         add(FastRRCallerTrace.class, FastRRCallerTrace::create);
+        add(FastRRDS.FastRReadRDS.class, FastRRDSFactory.FastRReadRDSNodeGen::create);
+        add(FastRRDS.FastRSaveRDS.class, FastRRDSFactory.FastRSaveRDSNodeGen::create);
+        add(FastRLazyLoad.FastRLazyLoadFile.class, FastRLazyLoadFactory.FastRLazyLoadFileNodeGen::create);
+        add(FastRLazyLoad.FastRLazyLoadFetch.class, FastRLazyLoadFactory.FastRLazyLoadFetchNodeGen::create);
+        add(FastRFFIProfile.class, FastRFFIProfileNodeGen::create);
+        add(FastRFFIBackends.class, FastRFFIBackendsNodeGen::create);
+        add(FastRCompile.class, FastRCompileNodeGen::create);
         add(FastRSourceInfo.class, FastRSourceInfoNodeGen::create);
         add(FastRSetConsoleHandler.class, FastRSetConsoleHandlerNodeGen::create);
         add(FastRSetToolchain.class, FastRSetToolchainNodeGen::create);
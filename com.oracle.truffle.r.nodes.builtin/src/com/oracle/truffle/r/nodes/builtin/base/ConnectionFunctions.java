@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -56,7 +56,6 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.DoubleBuffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
 import java.nio.channels.ByteChannel;
@@ -105,8 +104,10 @@ import com.oracle.truffle.r.runtime.conn.URLConnections.URLRConnection;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RComplexVector;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleArrayVectorData;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RExpression;
+import com.oracle.truffle.r.runtime.data.RIntArrayVectorData;
 import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RList;
 import com.oracle.truffle.r.runtime.data.RLogicalVector;
@@ -976,13 +977,12 @@ public abstract class ConnectionFunctions {
             int[] data = new int[nInts];
             boolean complete = RDataFactory.COMPLETE_VECTOR;
             if (size == 4) {
-                IntBuffer intBuffer = buffer.asIntBuffer();
+                buffer.asIntBuffer().get(data);
                 for (int i = 0; i < nInts; i++) {
-                    int d = intBuffer.get();
-                    if (RRuntime.isNA(d)) {
+                    if (RRuntime.isNA(data[i])) {
                         complete = RDataFactory.INCOMPLETE_VECTOR;
+                        break;
                     }
-                    data[i] = d;
                 }
             } else if (size == 1) {
                 for (int i = 0; i < nInts; i++) {
@@ -1002,34 +1002,31 @@ public abstract class ConnectionFunctions {
 
         private static RDoubleVector readDouble(RConnection con, int n, boolean swap) throws IOException {
             ByteBuffer buffer = fillBuffer(con, swap, n * 8);
-            DoubleBuffer doubleBuffer = buffer.asDoubleBuffer();
             int nDoubles = buffer.limit() / 8;
             boolean complete = RDataFactory.COMPLETE_VECTOR;
             double[] data = new double[nDoubles];
+            // bulk get from the view converts the byte order while copying
+            buffer.asDoubleBuffer().get(data);
             for (int i = 0; i < nDoubles; i++) {
-                double d = doubleBuffer.get();
-                if (RRuntime.isNA(d)) {
+                if (RRuntime.isNA(data[i])) {
                     complete = RDataFactory.INCOMPLETE_VECTOR;
+                    break;
                 }
-                data[i] = d;
             }
             return RDataFactory.createDoubleVector(data, complete);
         }
 
         private static RComplexVector readComplex(RConnection con, int n, boolean swap) throws IOException {
             ByteBuffer buffer = fillBuffer(con, swap, n * 16);
-            DoubleBuffer doubleBuffer = buffer.asDoubleBuffer();
             int nComplex = buffer.limit() / 16;
             boolean complete = RDataFactory.COMPLETE_VECTOR;
             double[] data = new double[nComplex * 2];
-            for (int i = 0; i < nComplex; i++) {
-                double re = doubleBuffer.get();
-                double im = doubleBuffer.get();
-                if (RRuntime.isNA(re) || RRuntime.isNA(im)) {
+            buffer.asDoubleBuffer().get(data);
+            for (int i = 0; i < data.length; i++) {
+                if (RRuntime.isNA(data[i])) {
                     complete = RDataFactory.INCOMPLETE_VECTOR;
+                    break;
                 }
-                data[2 * i] = re;
-                data[2 * i + 1] = im;
             }
             return RDataFactory.createComplexVector(data, complete);
         }
@@ -1130,6 +1127,46 @@ public abstract class ConnectionFunctions {
             return s.getBytes(StandardCharsets.UTF_8);
         }
 
+        protected static boolean hasArrayData(RDoubleVector object) {
+            return object.getData() instanceof RDoubleArrayVectorData;
+        }
+
+        protected static boolean hasArrayData(RIntVector object) {
+            return object.getData() instanceof RIntArrayVectorData;
+        }
+
+        /**
+         * Copies the backing array of a vector with managed data to the buffer in one bulk
+         * operation, which also converts the byte order if needed.
+         */
+        @Specialization(guards = "hasArrayData(object)")
+        protected ByteBuffer writeArray(RDoubleVector object, @SuppressWarnings("unused") int size, boolean swap, @SuppressWarnings("unused") boolean useBytes) {
+            return putArray(((RDoubleArrayVectorData) object.getData()).getReadonlyDoubleData(), object.getLength(), swap);
+        }
+
+        @Specialization(guards = "hasArrayData(object)")
+        protected ByteBuffer writeArray(RIntVector object, @SuppressWarnings("unused") int size, boolean swap, @SuppressWarnings("unused") boolean useBytes) {
+            return putArray(((RIntArrayVectorData) object.getData()).getReadonlyIntData(), object.getLength(), swap);
+        }
+
+        @TruffleBoundary
+        private static ByteBuffer putArray(double[] data, int length, boolean swap) {
+            ByteBuffer buffer = allocate(8 * length, swap);
+            buffer.asDoubleBuffer().put(data, 0, length);
+            // the views have their own positions
+            buffer.position(buffer.capacity());
+            return buffer;
+        }
+
+        @TruffleBoundary
+        private static ByteBuffer putArray(int[] data, int length, boolean swap) {
+            ByteBuffer buffer = allocate(4 * length, swap);
+            buffer.asIntBuffer().put(data, 0, length);
+            // the views have their own positions
+            buffer.position(buffer.capacity());
+            return buffer;
+        }
+
         @Specialization(guards = "objectAccess.supports(object)", limit = "getVectorAccessCacheSize()")
         protected ByteBuffer write(RAbstractVector object, @SuppressWarnings("unused") int size, boolean swap, @SuppressWarnings("unused") boolean useBytes,
                         @Cached("object.access()") VectorAccess objectAccess) {
@@ -1455,14 +1492,17 @@ public abstract class ConnectionFunctions {
             Casts casts = new Casts(SockSelect.class);
             casts.arg("socklist").defaultError(Message.NOT_A_LIST_OF_SOCKETS).mustNotBeMissing().mustNotBeNull().asIntegerVector();
             casts.arg("write").mustNotBeMissing().mustBe(logicalValue()).asLogicalVector().findFirst().map(toBoolean());
-            casts.arg("timeout").mustNotBeMissing().asIntegerVector().findFirst();
+            casts.arg("timeout").mustNotBeMissing().asDoubleVector().findFirst();
         }
 
         @Specialization
-        protected RLogicalVector selectMultiple(RIntVector socklist, boolean write, int timeout) {
+        protected RLogicalVector selectMultiple(RIntVector socklist, boolean write, double timeout) {
             RSocketConnection[] socketConnections = getSocketConnections(socklist);
+            // the timeout is given in seconds, a negative value (NULL at the R level) or NA means
+            // waiting without a time limit
+            long millis = RRuntime.isNA(timeout) || timeout < 0 ? -1 : (long) (timeout * 1000);
             try {
-                byte[] selected = RSocketConnection.select(socketConnections, write, timeout * 1000L);
+                byte[] selected = RSocketConnection.select(socketConnections, write, millis);
                 return RDataFactory.createLogicalVector(selected, true);
             } catch (IOException e) {
                 CompilerDirectives.transferToInterpreter();
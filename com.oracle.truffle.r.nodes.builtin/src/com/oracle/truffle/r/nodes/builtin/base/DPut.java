@@ -52,9 +52,10 @@ public abstract class DPut extends RBuiltinNode.Arg3 {
     @Specialization
     @TruffleBoundary
     protected Object dput(Object x, int file, int opts) {
-        String string = RDeparse.deparse(x, RDeparse.DEFAULT_CUTOFF, true, opts, -1);
         try (RConnection openConn = RConnection.fromIndex(file).forceOpen("wt")) {
-            openConn.writeString(string, true);
+            // large objects are written in chunks as they are deparsed
+            RDeparse.deparse(x, RDeparse.DEFAULT_CUTOFF, true, opts, -1, chunk -> openConn.writeString(chunk, false));
+            openConn.writeString("", true);
         } catch (IOException ex) {
             throw error(RError.Message.GENERIC, ex.getMessage());
         }
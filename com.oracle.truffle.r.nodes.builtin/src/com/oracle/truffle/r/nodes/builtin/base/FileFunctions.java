@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1995-2012, The R Core Team
  * Copyright (c) 2003, The R Foundation
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -37,7 +37,6 @@ import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.nio.file.CopyOption;
 import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.DirectoryStream;
@@ -51,14 +50,13 @@ import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.function.BiFunction;
-import java.util.function.Predicate;
+import java.util.function.BiPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -91,6 +89,32 @@ import com.oracle.truffle.r.runtime.data.nodes.attributes.SpecialAttributesFunct
 
 public class FileFunctions {
 
+    /**
+     * Vectors of at least this many paths are examined in parallel by {@code file.info} and
+     * {@code file.exists}.
+     */
+    private static final int PARALLEL_STAT_THRESHOLD = 256;
+
+    private static IntStream statIndices(int length) {
+        IntStream indices = IntStream.range(0, length);
+        return length >= PARALLEL_STAT_THRESHOLD ? indices.parallel() : indices;
+    }
+
+    /**
+     * Resolves the paths on the current thread, so that the files can then be examined on other
+     * threads. NA and empty paths give {@code null}.
+     */
+    private static TruffleFile[] getFiles(RContext context, RStringVector paths) {
+        TruffleFile[] files = new TruffleFile[paths.getLength()];
+        for (int i = 0; i < files.length; i++) {
+            String path = paths.getDataAt(i);
+            if (!RRuntime.isNA(path) && !path.isEmpty()) {
+                files[i] = context.getSafeTruffleFile(path);
+            }
+        }
+        return files;
+    }
+
     @RBuiltin(name = "file.access", kind = INTERNAL, parameterNames = {"names", "mode"}, behavior = IO)
     public abstract static class FileAccess extends RBuiltinNode.Arg2 {
         private static final int EXECUTE = 1;
@@ -291,9 +315,8 @@ public class FileFunctions {
              * dataframe and sets the row.names attributes to the paths in vec. It also updates the
              * mtime, ctime, atime fields using .POSIXct.
              *
-             * We try to use the JDK classes, even though they provide a more abstract interface
-             * than R. In particular there seems to be no way to get the uid/gid values. We might be
-             * better off justing using a native call.
+             * The attributes of each file are read with a single call, see FileStat, and the files
+             * of long vectors are examined in parallel.
              *
              * TODO implement extras_cols=FALSE
              */
@@ -304,43 +327,23 @@ public class FileFunctions {
                 data[n] = createColumnData(Column.VALUES[n], vecLength);
                 complete[n] = RDataFactory.COMPLETE_VECTOR; // optimistic
             }
+            TruffleFile[] files = getFiles(getRContext(), vec);
+            FileStat[] stats = new FileStat[vecLength];
+            statIndices(vecLength).forEach(i -> stats[i] = FileStat.of(files[i]));
             for (int i = 0; i < vecLength; i++) {
-                String vecPath = vec.getDataAt(i);
-                TruffleFile file = getRContext().getSafeTruffleFile(vecPath);
+                FileStat stat = stats[i];
                 // missing defaults to NA
-                if (file.exists()) {
-                    double size = RRuntime.DOUBLE_NA;
-                    byte isdir = RRuntime.LOGICAL_NA;
-                    int mode = RRuntime.INT_NA;
-                    int mtime = RRuntime.INT_NA;
-                    int atime = RRuntime.INT_NA;
-                    int ctime = RRuntime.INT_NA;
-                    int uid = RRuntime.INT_NA;
-                    int gid = RRuntime.INT_NA;
-                    String uname = RRuntime.STRING_NA;
-                    String grname = RRuntime.STRING_NA;
-                    try {
-                        size = file.size();
-                        isdir = RRuntime.asLogical(file.isDirectory());
-                        mtime = Utils.getTimeInSecs(file.getLastModifiedTime());
-                        ctime = Utils.getTimeInSecs(file.getCreationTime());
-                        atime = Utils.getTimeInSecs(file.getLastAccessTime());
-                        mode = Utils.intFilePermissions(file.getPosixPermissions());
-                        uname = file.getOwner().getName();
-                        grname = file.getGroup().getName();
-                    } catch (IOException ex) {
-                        // ok, NA value is used
-                    }
-                    setColumnValue(Column.size, data, complete, i, size);
-                    setColumnValue(Column.isdir, data, complete, i, isdir);
-                    setColumnValue(Column.mode, data, complete, i, mode);
-                    setColumnValue(Column.mtime, data, complete, i, mtime);
-                    setColumnValue(Column.ctime, data, complete, i, ctime);
-                    setColumnValue(Column.atime, data, complete, i, atime);
-                    setColumnValue(Column.uid, data, complete, i, uid);
-                    setColumnValue(Column.gid, data, complete, i, gid);
-                    setColumnValue(Column.uname, data, complete, i, uname);
-                    setColumnValue(Column.grname, data, complete, i, grname);
+                if (stat != null) {
+                    setColumnValue(Column.size, data, complete, i, stat.size);
+                    setColumnValue(Column.isdir, data, complete, i, stat.isdir);
+                    setColumnValue(Column.mode, data, complete, i, stat.mode);
+                    setColumnValue(Column.mtime, data, complete, i, stat.mtime);
+                    setColumnValue(Column.ctime, data, complete, i, stat.ctime);
+                    setColumnValue(Column.atime, data, complete, i, stat.atime);
+                    setColumnValue(Column.uid, data, complete, i, stat.uid);
+                    setColumnValue(Column.gid, data, complete, i, stat.gid);
+                    setColumnValue(Column.uname, data, complete, i, stat.uname);
+                    setColumnValue(Column.grname, data, complete, i, stat.grname);
                 } else {
                     for (int n = 0; n < Column.VALUES.length; n++) {
                         setNA(Column.VALUES[n], data, i);
@@ -354,6 +357,61 @@ public class FileFunctions {
             return RDataFactory.createList(data, NAMES_VECTOR);
         }
 
+        /**
+         * The attributes of one file, read with a single {@link TruffleFile#getAttributes} call.
+         */
+        private static final class FileStat {
+            private static final List<TruffleFile.AttributeDescriptor<?>> BASIC_ATTRIBUTES = Arrays.asList(TruffleFile.SIZE, TruffleFile.IS_DIRECTORY, TruffleFile.LAST_MODIFIED_TIME,
+                            TruffleFile.LAST_ACCESS_TIME, TruffleFile.CREATION_TIME);
+            private static final List<TruffleFile.AttributeDescriptor<?>> UNIX_ATTRIBUTES = Arrays.asList(TruffleFile.SIZE, TruffleFile.IS_DIRECTORY, TruffleFile.LAST_MODIFIED_TIME,
+                            TruffleFile.LAST_ACCESS_TIME, TruffleFile.UNIX_CTIME, TruffleFile.UNIX_PERMISSIONS, TruffleFile.UNIX_UID, TruffleFile.UNIX_GID, TruffleFile.UNIX_OWNER,
+                            TruffleFile.UNIX_GROUP);
+
+            double size = RRuntime.DOUBLE_NA;
+            byte isdir = RRuntime.LOGICAL_NA;
+            int mode = RRuntime.INT_NA;
+            int mtime = RRuntime.INT_NA;
+            int atime = RRuntime.INT_NA;
+            int ctime = RRuntime.INT_NA;
+            int uid = RRuntime.INT_NA;
+            int gid = RRuntime.INT_NA;
+            String uname = RRuntime.STRING_NA;
+            String grname = RRuntime.STRING_NA;
+
+            /**
+             * Returns {@code null} if the file does not exist or cannot be examined.
+             */
+            static FileStat of(TruffleFile file) {
+                if (file == null) {
+                    return null;
+                }
+                FileStat stat = new FileStat();
+                TruffleFile.Attributes attrs;
+                try {
+                    try {
+                        attrs = file.getAttributes(UNIX_ATTRIBUTES);
+                        stat.ctime = Utils.getTimeInSecs(attrs.get(TruffleFile.UNIX_CTIME));
+                        stat.mode = Utils.intFilePermissions(attrs.get(TruffleFile.UNIX_PERMISSIONS));
+                        stat.uid = attrs.get(TruffleFile.UNIX_UID);
+                        stat.gid = attrs.get(TruffleFile.UNIX_GID);
+                        stat.uname = attrs.get(TruffleFile.UNIX_OWNER).getName();
+                        stat.grname = attrs.get(TruffleFile.UNIX_GROUP).getName();
+                    } catch (UnsupportedOperationException ex) {
+                        // not a POSIX file system, the remaining columns are NA
+                        attrs = file.getAttributes(BASIC_ATTRIBUTES);
+                        stat.ctime = Utils.getTimeInSecs(attrs.get(TruffleFile.CREATION_TIME));
+                    }
+                } catch (IOException | SecurityException ex) {
+                    return null;
+                }
+                stat.size = attrs.get(TruffleFile.SIZE);
+                stat.isdir = RRuntime.asLogical(attrs.get(TruffleFile.IS_DIRECTORY));
+                stat.mtime = Utils.getTimeInSecs(attrs.get(TruffleFile.LAST_MODIFIED_TIME));
+                stat.atime = Utils.getTimeInSecs(attrs.get(TruffleFile.LAST_ACCESS_TIME));
+                return stat;
+            }
+        }
+
         private static Object createColumnData(Column column, int vecLength) {
             // @formatter:off
             switch(column) {
@@ -592,33 +650,32 @@ public class FileFunctions {
         @Specialization
         @TruffleBoundary
         protected Object doFileExists(RStringVector vec) {
-            byte[] status = new byte[vec.getLength()];
-            for (int i = 0; i < status.length; i++) {
-                String path = vec.getDataAt(i);
-                if (RRuntime.isNA(path) || path.isEmpty()) {
-                    status[i] = RRuntime.LOGICAL_FALSE;
-                } else {
-                    TruffleFile f = getRContext().getSafeTruffleFile(path);
-                    // TODO R's notion of exists may not match Java - check
-                    if (f.exists()) {
-                        try {
-                            status[i] = f.getCanonicalFile().exists() ? RRuntime.LOGICAL_TRUE : RRuntime.LOGICAL_FALSE;
-                        } catch (NoSuchFileException ex) {
-                            // e.g. /dirExists/dirDoesNotExist/..")
-                            // technicaly speaking the file exists,
-                            // but getCanonicalFile() seems to be in accord with GNUR on this
-                            // see also .getSafeTruffleFile()
-                            status[i] = RRuntime.LOGICAL_FALSE;
-                        } catch (IOException ex) {
-                            throw RInternalError.shouldNotReachHere();
-                        }
-                    } else {
-                        status[i] = RRuntime.LOGICAL_FALSE;
-                    }
-                }
-            }
+            TruffleFile[] files = getFiles(getRContext(), vec);
+            byte[] status = new byte[files.length];
+            statIndices(files.length).forEach(i -> status[i] = RRuntime.asLogical(exists(files[i], vec.getDataAt(i))));
             return RDataFactory.createLogicalVector(status, RDataFactory.COMPLETE_VECTOR);
         }
+
+        private static boolean exists(TruffleFile f, String path) {
+            // TODO R's notion of exists may not match Java - check
+            if (f == null || !f.exists()) {
+                return false;
+            }
+            if (!path.contains("..")) {
+                return true;
+            }
+            try {
+                return f.getCanonicalFile().exists();
+            } catch (NoSuchFileException ex) {
+                // e.g. /dirExists/dirDoesNotExist/..")
+                // technicaly speaking the file exists,
+                // but getCanonicalFile() seems to be in accord with GNUR on this
+                // see also .getSafeTruffleFile()
+                return false;
+            } catch (IOException ex) {
+                throw RInternalError.shouldNotReachHere();
+            }
+        }
     }
 
     // TODO Implement all the options
@@ -691,42 +748,36 @@ public class FileFunctions {
                     // File.exists() returns false for "" but TF gives true
                     continue;
                 }
-                try (Stream<TruffleFile> stream = FileSystemUtils.find(root, recursive ? Integer.MAX_VALUE : 1, new FileMatcher(pattern, allFiles, includeDirs))) {
-                    Iterator<TruffleFile> iter = stream.iterator();
-                    while (iter.hasNext()) {
-                        TruffleFile file = iter.next();
-                        if (file.equals(root)) {
-                            continue;
-                        }
-                        file = root.relativize(file);
-                        String p = file.getPath();
-                        if (isPathPrefixOf(p, vecPathString)) {
-                            p = p.substring(vecPathString.length());
-                            if (p.startsWith("/")) {
-                                p = p.substring(1);
-                            }
-                        }
-                        if (fullNames) {
-                            p = p.isEmpty() ? vecPathString : vecPathString + context.getEnv().getFileNameSeparator() + p;
-                            files.add(p);
-                        } else {
-                            files.add(p);
-                        }
+                for (TruffleFile file : FileSystemUtils.findParallel(root, recursive ? Integer.MAX_VALUE : 1, new FileMatcher(pattern, allFiles, includeDirs))) {
+                    if (file.equals(root)) {
+                        continue;
                     }
-                    /*
-                     * Annoyingly "." and ".." are never visited by Files.find, so we have to
-                     * process them manually.
-                     */
-                    if (!recursive && allFiles && !noDotDot) {
-                        if (pattern == null || pattern.matcher(DOT).find()) {
-                            files.add(fullNames ? context.getSafeTruffleFile(vecPathString).resolve(DOT).getPath() : DOT);
-                        }
-                        if (pattern == null || pattern.matcher(DOTDOT).find()) {
-                            files.add(fullNames ? context.getSafeTruffleFile(vecPathString).resolve(DOTDOT).getPath() : DOTDOT);
+                    file = root.relativize(file);
+                    String p = file.getPath();
+                    if (isPathPrefixOf(p, vecPathString)) {
+                        p = p.substring(vecPathString.length());
+                        if (p.startsWith("/")) {
+                            p = p.substring(1);
                         }
                     }
-                } catch (IOException | UncheckedIOException ex) {
-                    // ignored
+                    if (fullNames) {
+                        p = p.isEmpty() ? vecPathString : vecPathString + context.getEnv().getFileNameSeparator() + p;
+                        files.add(p);
+                    } else {
+                        files.add(p);
+                    }
+                }
+                /*
+                 * Annoyingly "." and ".." are never visited by the walk, so we have to process
+                 * them manually.
+                 */
+                if (!recursive && allFiles && !noDotDot) {
+                    if (pattern == null || pattern.matcher(DOT).find()) {
+                        files.add(fullNames ? context.getSafeTruffleFile(vecPathString).resolve(DOT).getPath() : DOT);
+                    }
+                    if (pattern == null || pattern.matcher(DOTDOT).find()) {
+                        files.add(fullNames ? context.getSafeTruffleFile(vecPathString).resolve(DOTDOT).getPath() : DOTDOT);
+                    }
                 }
             }
             if (files.size() == 0) {
@@ -768,7 +819,7 @@ public class FileFunctions {
             }
         }
 
-        private static class FileMatcher implements Predicate<TruffleFile> {
+        private static class FileMatcher implements BiPredicate<TruffleFile, BasicFileAttributes> {
             final Pattern pattern;
             final boolean includeDirs;
             final boolean allFiles;
@@ -780,8 +831,8 @@ public class FileFunctions {
             }
 
             @Override
-            public boolean test(TruffleFile f) {
-                if (f.isDirectory() && !includeDirs) {
+            public boolean test(TruffleFile f, BasicFileAttributes attrs) {
+                if (attrs.isDirectory() && !includeDirs) {
                     return false;
                 }
                 // Note: getName on "/" causes NPE
@@ -820,24 +871,18 @@ public class FileFunctions {
                 if (!root.exists()) {
                     continue;
                 }
-                try (Stream<TruffleFile> stream = FileSystemUtils.find(root, recursive ? Integer.MAX_VALUE : 1, new FileMatcher())) {
-                    Iterator<TruffleFile> iter = stream.iterator();
-                    while (iter.hasNext()) {
-                        TruffleFile dir = iter.next();
-                        if (!recursive && dir.equals(root)) {
-                            continue;
-                        }
-                        dir = root.relativize(dir);
-                        if (fullNames) {
-                            String p = dir.getPath();
-                            p = p.isEmpty() ? vecPathString : vecPathString + context.getEnv().getFileNameSeparator() + p;
-                            dirList.add(p);
-                        } else {
-                            dirList.add(dir.getPath());
-                        }
+                for (TruffleFile dir : FileSystemUtils.findParallel(root, recursive ? Integer.MAX_VALUE : 1, (f, attrs) -> attrs.isDirectory())) {
+                    if (!recursive && dir.equals(root)) {
+                        continue;
+                    }
+                    dir = root.relativize(dir);
+                    if (fullNames) {
+                        String p = dir.getPath();
+                        p = p.isEmpty() ? vecPathString : vecPathString + context.getEnv().getFileNameSeparator() + p;
+                        dirList.add(p);
+                    } else {
+                        dirList.add(dir.getPath());
                     }
-                } catch (IOException ex) {
-                    // ignored
                 }
             }
             String[] data = new String[dirList.size()];
@@ -845,14 +890,6 @@ public class FileFunctions {
             Arrays.sort(data);
             return RDataFactory.createStringVector(data, RDataFactory.COMPLETE_VECTOR);
         }
-
-        private static class FileMatcher implements Predicate<TruffleFile> {
-            @Override
-            public boolean test(TruffleFile f) {
-                boolean result = f.isDirectory();
-                return result;
-            }
-        }
     }
 
     // TODO handle the general case, which is similar to paste, dispatch to as.character S3
@@ -27,6 +27,7 @@ import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.Frame;
@@ -34,7 +35,8 @@ import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlotTypeException;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.LoopNode;
-import com.oracle.truffle.api.profiles.LoopConditionProfile;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RepeatingNode;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.r.nodes.access.variables.ReadVariableNode;
@@ -60,6 +62,7 @@ import com.oracle.truffle.r.runtime.data.RFunction;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.data.nodes.attributes.SpecialAttributesFunctions.ExtractNamesAttributeNode;
 import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
+import com.oracle.truffle.r.runtime.env.frame.RFrameSlot;
 import com.oracle.truffle.r.runtime.nodes.InternalRSyntaxNodeChildren;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
 import com.oracle.truffle.r.runtime.nodes.RNode;
@@ -70,9 +73,10 @@ import com.oracle.truffle.r.runtime.nodes.RSyntaxLookup;
 import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
 
 /**
- * The {@code lapply} builtin. {@code lapply} is an important implicit iterator in R. This
- * implementation handles the general case, but there are opportunities for "specializations" that
- * rewrite simple uses directly down to, e.g. explicit loops using, for example, a {@link LoopNode}.
+ * The {@code lapply} builtin. {@code lapply} is an important implicit iterator in R. The elements
+ * are processed by a {@link LoopNode}, i.e., the same way as explicit {@code for} loops, and the
+ * element argument {@code X[[i]]} is evaluated eagerly, see
+ * {@link ExtractElementInternal#forceEagerEvaluation()}.
  *
  * See the comment in {@link VApply} regarding "...".
  */
@@ -175,31 +179,57 @@ public abstract class Lapply extends RBuiltinNode.Arg2 {
             }
         }
 
+        protected static int findOrCreateResultFrameIndex(Frame frame) {
+            return FrameSlotChangeMonitor.findOrAddAuxiliaryFrameSlot(frame.getFrameDescriptor(), RFrameSlot.LapplyResult);
+        }
+
+        protected static int findOrCreateFunctionFrameIndex(Frame frame) {
+            return FrameSlotChangeMonitor.findOrAddAuxiliaryFrameSlot(frame.getFrameDescriptor(), RFrameSlot.LapplyFunction);
+        }
+
+        /**
+         * The first element is processed by a separate call node so that the call site used for
+         * the remaining elements sees only the steady state. The remaining elements are processed
+         * by a {@link LoopNode}, which allows on-stack replacement of long running {@code lapply}
+         * loops in the same way as for explicit {@code for} loops. The loop state is kept in the
+         * frame, so that the node is reentrant, e.g., for recursive {@code lapply} calls.
+         */
         @Specialization
         protected Object[] cachedLApply(VirtualFrame frame, Object vector, RFunction function,
                         @Cached("findOrCreateIndexFrameIndex(frame)") int indexFrameIndex,
                         @Cached("findOrCreateVectorFrameIndex(frame)") int vectorFrameIndex,
+                        @Cached("findOrCreateResultFrameIndex(frame)") int resultFrameIndex,
+                        @Cached("findOrCreateFunctionFrameIndex(frame)") int functionFrameIndex,
                         @Cached("create()") RLengthNode lengthNode,
-                        @Cached("createCountingProfile()") LoopConditionProfile loop,
                         @Cached("createCallNode(vectorFrameIndex, indexFrameIndex)") RCallBaseNode firstCallNode,
-                        @Cached("createCallNode(vectorFrameIndex, indexFrameIndex)") RCallBaseNode callNode) {
+                        @Cached("createLoopNode(vectorFrameIndex, indexFrameIndex, resultFrameIndex, functionFrameIndex)") LoopNode loop) {
             // TODO: R switches to double if x.getLength() is greater than 2^31-1
             FrameSlotChangeMonitor.setObject(frame, vectorFrameIndex, vector);
             int length = lengthNode.executeInteger(vector);
             Object[] result = new Object[length];
             if (length > 0) {
                 reportWork(this, length);
-                loop.profileCounted(length);
                 FrameSlotChangeMonitor.setInt(frame, indexFrameIndex, 1);
                 result[0] = firstCallNode.execute(frame, function);
-                for (int i = 2; loop.inject(i <= length); i++) {
-                    FrameSlotChangeMonitor.setInt(frame, indexFrameIndex, i);
-                    result[i - 1] = callNode.execute(frame, function);
+                if (length > 1) {
+                    FrameSlotChangeMonitor.setObject(frame, resultFrameIndex, result);
+                    FrameSlotChangeMonitor.setObject(frame, functionFrameIndex, function);
+                    try {
+                        loop.execute(frame);
+                    } finally {
+                        // do not keep the values alive longer than necessary
+                        FrameSlotChangeMonitor.setObject(frame, resultFrameIndex, null);
+                        FrameSlotChangeMonitor.setObject(frame, functionFrameIndex, null);
+                    }
                 }
             }
             return result;
         }
 
+        protected LoopNode createLoopNode(int vectorFrameIndex, int indexFrameIndex, int resultFrameIndex, int functionFrameIndex) {
+            return Truffle.getRuntime().createLoopNode(new LapplyRepeatingNode(createCallNode(vectorFrameIndex, indexFrameIndex), indexFrameIndex, resultFrameIndex, functionFrameIndex));
+        }
+
         /**
          * Creates the {@link RCallNode} for this target and {@code varArgs}.
          */
@@ -214,6 +244,42 @@ public abstract class Lapply extends RBuiltinNode.Arg2 {
         }
     }
 
+    /**
+     * Executes {@code FUN(X[[i]], ...)} for the elements {@code 2..length(X)}, the index, the result
+     * array and the function are read from the frame.
+     */
+    private static final class LapplyRepeatingNode extends Node implements RepeatingNode {
+
+        @Child private RCallBaseNode callNode;
+        private final int indexFrameIndex;
+        private final int resultFrameIndex;
+        private final int functionFrameIndex;
+
+        LapplyRepeatingNode(RCallBaseNode callNode, int indexFrameIndex, int resultFrameIndex, int functionFrameIndex) {
+            this.callNode = callNode;
+            this.indexFrameIndex = indexFrameIndex;
+            this.resultFrameIndex = resultFrameIndex;
+            this.functionFrameIndex = functionFrameIndex;
+        }
+
+        @Override
+        public boolean executeRepeating(VirtualFrame frame) {
+            try {
+                Object[] result = (Object[]) FrameSlotChangeMonitor.getObject(frame, resultFrameIndex);
+                int i = FrameSlotChangeMonitor.getInt(frame, indexFrameIndex) + 1;
+                if (i > result.length) {
+                    return false;
+                }
+                FrameSlotChangeMonitor.setInt(frame, indexFrameIndex, i);
+                result[i - 1] = callNode.execute(frame, FrameSlotChangeMonitor.getObject(frame, functionFrameIndex));
+                return true;
+            } catch (FrameSlotTypeException e) {
+                CompilerDirectives.transferToInterpreter();
+                throw RInternalError.shouldNotReachHere("frame type mismatch in lapply");
+            }
+        }
+    }
+
     static SourceSection createCallSourceSection() {
         return CALL_SOURCE.createSection(0, CALL_SOURCE.getLength());
     }
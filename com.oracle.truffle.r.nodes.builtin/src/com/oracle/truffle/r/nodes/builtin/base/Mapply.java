@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,13 +28,19 @@ import static com.oracle.truffle.r.runtime.builtins.RBehavior.COMPLEX;
 import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
 
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameSlotTypeException;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RepeatingNode;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.r.nodes.access.WriteVariableNode;
 import com.oracle.truffle.r.nodes.access.WriteVariableNode.Mode;
@@ -50,6 +56,7 @@ import com.oracle.truffle.r.nodes.function.call.RExplicitCallNode;
 import com.oracle.truffle.r.runtime.AnonymousFrameVariable;
 import com.oracle.truffle.r.runtime.ArgumentsSignature;
 import com.oracle.truffle.r.runtime.DSLConfig;
+import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
@@ -60,13 +67,17 @@ import com.oracle.truffle.r.runtime.data.RFunction;
 import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.data.model.RAbstractListVector;
+import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
+import com.oracle.truffle.r.runtime.env.frame.RFrameSlot;
+import com.oracle.truffle.r.runtime.nodes.RBaseNode;
 import com.oracle.truffle.r.runtime.nodes.InternalRSyntaxNodeChildren;
 import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
 
 /**
  * Multivariate lapply. Essentially invokes
  * {@code fun(dots[0][X], dots[1][X], , dots[N][X], MoreArgs)} for {@code X=1..M} where {@code M} is
- * the longest vector, with the usual recycling rule.
+ * the longest vector, with the usual recycling rule. Like in {@link Lapply}, the elements are
+ * processed by a {@link LoopNode} in the cached case.
  */
 @RBuiltin(name = "mapply", kind = INTERNAL, parameterNames = {"FUN", "dots", "MoreArgs"}, splitCaller = true, behavior = COMPLEX)
 public abstract class Mapply extends RBuiltinNode.Arg3 {
@@ -112,6 +123,64 @@ public abstract class Mapply extends RBuiltinNode.Arg3 {
         return mApply(frame, fun, dots, RDataFactory.createList());
     }
 
+    /**
+     * The state of a cached {@code mapply} loop, kept in the frame of the calling closure so that
+     * the loop body can be executed by a {@link RepeatingNode}.
+     */
+    private static final class MapplyState {
+        private final RAbstractListVector dots;
+        private final int[] lengths;
+        private final RFunction function;
+        private final Object[] result;
+        private int index;
+
+        MapplyState(RAbstractListVector dots, int[] lengths, RFunction function, Object[] result) {
+            this.dots = dots;
+            this.lengths = lengths;
+            this.function = function;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Stores the elements of the vectors for the next index into the frame and calls the function.
+     */
+    private static final class MapplyRepeatingNode extends Node implements RepeatingNode {
+
+        @Children private final ElementNode[] elementNodes;
+        @Child private RCallBaseNode callNode;
+        private final int dotsLength;
+        private final int stateFrameIndex;
+
+        MapplyRepeatingNode(ElementNode[] elementNodes, RCallBaseNode callNode, int dotsLength, int stateFrameIndex) {
+            this.elementNodes = elementNodes;
+            this.callNode = callNode;
+            this.dotsLength = dotsLength;
+            this.stateFrameIndex = stateFrameIndex;
+        }
+
+        @Override
+        public boolean executeRepeating(VirtualFrame frame) {
+            MapplyState state;
+            try {
+                state = (MapplyState) FrameSlotChangeMonitor.getObject(frame, stateFrameIndex);
+            } catch (FrameSlotTypeException e) {
+                CompilerDirectives.transferToInterpreter();
+                throw RInternalError.shouldNotReachHere("frame type mismatch in mapply");
+            }
+            int i = state.index;
+            if (i >= state.result.length) {
+                return false;
+            }
+            /* Evaluate and store the arguments */
+            MapplyInternalNode.prepareElements(frame, state.dots, dotsLength, elementNodes, state.lengths, i);
+            /* Now call the function */
+            state.result[i] = callNode.execute(frame, state.function);
+            state.index = i + 1;
+            return true;
+        }
+    }
+
     @ImportStatic(DSLConfig.class)
     public abstract static class MapplyInternalNode extends Node implements InternalRSyntaxNodeChildren {
 
@@ -143,21 +212,35 @@ public abstract class Mapply extends RBuiltinNode.Arg3 {
                         @Cached("moreArgs.getLength()") int moreArgsLength,
                         @SuppressWarnings("unused") @Cached(value = "extractNames(dots)", dimensions = 1) String[] cachedDotsNames,
                         @SuppressWarnings("unused") @Cached(value = "extractNames(moreArgs)", dimensions = 1) String[] cachedMoreArgsNames,
-                        @Cached("createElementNodeArray(dotsLength, moreArgsLength, cachedDotsNames, cachedMoreArgsNames)") ElementNode[] cachedElementNodeArray,
-                        @Cached("createCallNode(cachedElementNodeArray)") RCallBaseNode callNode) {
+                        @Cached("findOrCreateStateFrameIndex(frame)") int stateFrameIndex,
+                        @Cached("createLoopNode(dotsLength, moreArgsLength, cachedDotsNames, cachedMoreArgsNames, stateFrameIndex)") LoopNode loop) {
+            MapplyRepeatingNode body = (MapplyRepeatingNode) loop.getRepeatingNode();
             int[] lengths = new int[dotsLength];
-            int maxLength = getDotsLengths(dots, dotsLength, cachedElementNodeArray, lengths);
-            storeAdditionalArguments(frame, moreArgs, dotsLength, moreArgsLength, cachedElementNodeArray);
+            int maxLength = getDotsLengths(dots, dotsLength, body.elementNodes, lengths);
+            storeAdditionalArguments(frame, moreArgs, dotsLength, moreArgsLength, body.elementNodes);
             Object[] result = new Object[maxLength];
-            for (int i = 0; i < maxLength; i++) {
-                /* Evaluate and store the arguments */
-                prepareElements(frame, dots, dotsLength, cachedElementNodeArray, lengths, i);
-                /* Now call the function */
-                result[i] = callNode.execute(frame, function);
+            if (maxLength > 0) {
+                RBaseNode.reportWork(this, maxLength);
+                FrameSlotChangeMonitor.setObject(frame, stateFrameIndex, new MapplyState(dots, lengths, function, result));
+                try {
+                    loop.execute(frame);
+                } finally {
+                    // do not keep the values alive longer than necessary
+                    FrameSlotChangeMonitor.setObject(frame, stateFrameIndex, null);
+                }
             }
             return result;
         }
 
+        protected static int findOrCreateStateFrameIndex(Frame frame) {
+            return FrameSlotChangeMonitor.findOrAddAuxiliaryFrameSlot(frame.getFrameDescriptor(), RFrameSlot.MapplyState);
+        }
+
+        protected LoopNode createLoopNode(int dotsLength, int moreArgsLength, String[] cachedDotsNames, String[] cachedMoreArgsNames, int stateFrameIndex) {
+            ElementNode[] elementNodes = createElementNodeArray(dotsLength, moreArgsLength, cachedDotsNames, cachedMoreArgsNames);
+            return Truffle.getRuntime().createLoopNode(new MapplyRepeatingNode(elementNodes, createCallNode(elementNodes), dotsLength, stateFrameIndex));
+        }
+
         @ExplodeLoop
         private static void prepareElements(VirtualFrame frame, RAbstractListVector dots, int dotsLength, ElementNode[] cachedElementNodeArray, int[] lengths, int i) {
             for (int listIndex = 0; listIndex < dotsLength; listIndex++) {
@@ -255,11 +338,11 @@ public abstract class Mapply extends RBuiltinNode.Arg3 {
             int length = dotsLength + moreArgsLength;
             ElementNode[] elementNodes = new ElementNode[length];
             for (int i = 0; i < dotsLength; i++) {
-                elementNodes[i] = insert(new ElementNode(VECTOR_ELEMENT_PREFIX + (i + 1), cachedDotsNames == null ? null : (cachedDotsNames[i].isEmpty() ? null : cachedDotsNames[i])));
+                elementNodes[i] = new ElementNode(VECTOR_ELEMENT_PREFIX + (i + 1), cachedDotsNames == null ? null : (cachedDotsNames[i].isEmpty() ? null : cachedDotsNames[i]));
             }
             for (int i = 0; i < moreArgsLength; i++) {
-                elementNodes[i + dotsLength] = insert(
-                                new ElementNode(VECTOR_ELEMENT_PREFIX + (i + 1 + dotsLength), cachedMoreArgsNames == null ? null : cachedMoreArgsNames[i].isEmpty() ? null : cachedMoreArgsNames[i]));
+                elementNodes[i + dotsLength] = new ElementNode(VECTOR_ELEMENT_PREFIX + (i + 1 + dotsLength),
+                                cachedMoreArgsNames == null ? null : cachedMoreArgsNames[i].isEmpty() ? null : cachedMoreArgsNames[i]);
             }
             return elementNodes;
         }
@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1995, 1996, Robert Gentleman and Ross Ihaka
  * Copyright (c) 1998-2013, The R Core Team
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -37,6 +37,7 @@ import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashMap;
 
@@ -52,6 +53,8 @@ import com.oracle.truffle.r.runtime.RError.Message;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.conn.ConnectionSupport;
+import com.oracle.truffle.r.runtime.conn.ConnectionSupport.BaseRConnection;
 import com.oracle.truffle.r.runtime.conn.RConnection;
 import com.oracle.truffle.r.runtime.conn.RConnection.ReadLineWarning;
 import com.oracle.truffle.r.runtime.conn.StdConnections;
@@ -106,6 +109,13 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
         boolean atStart = false;
         boolean embedWarn = false;
         boolean skipNull = false;
+        /*
+         * Lines read from the connection in advance, the ones at index >= linesPos have not been
+         * consumed yet. Lines are read one by one if readAhead is false.
+         */
+        String[] lines = null;
+        int linesPos = 0;
+        boolean readAhead = false;
     }
 
     private static class GetQuotedItemsResult {
@@ -206,20 +216,81 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
 
         data.save = 0;
 
+        // lines read in advance are only returned to a connection that stays open after scan
+        boolean wasOpen = data.con.isOpen();
         try (RConnection openConn = data.con.forceOpen("r")) {
             if (nskip > 0) {
                 openConn.readLines(nskip, EnumSet.of(ReadLineWarning.EMBEDDED_NUL), skipNull);
             }
-            if (what instanceof RList) {
-                return scanFrame((RList) what, nmax, nlines, flush, fill, strip == RRuntime.LOGICAL_TRUE, blSkip, multiLine, data);
-            } else {
-                return scanVector(what, nmax, nlines, flush, strip == RRuntime.LOGICAL_TRUE, blSkip, data);
+            data.readAhead = canReadAhead(data.con);
+            try {
+                if (what instanceof RList) {
+                    return scanFrame((RList) what, nmax, nlines, flush, fill, strip == RRuntime.LOGICAL_TRUE, blSkip, multiLine, data);
+                } else {
+                    return scanVector(what, nmax, nlines, flush, strip == RRuntime.LOGICAL_TRUE, blSkip, data);
+                }
+            } finally {
+                if (wasOpen) {
+                    pushBackUnread(data);
+                }
             }
         } catch (IOException x) {
             throw error(RError.Message.CANNOT_READ_CONNECTION);
         }
     }
 
+    /**
+     * Reading lines in blocks is only safe if it cannot block on data that scan does not need (e.g.
+     * from the console, a socket or a file connection to a FIFO), and if the lines that end up
+     * unused can be pushed back in the right order, i.e., there is no pending push back that a
+     * block read could leave partially consumed.
+     */
+    private static boolean canReadAhead(RConnection con) {
+        BaseRConnection base = ConnectionSupport.getBaseConnection(con);
+        if (base.pushBackLength() != 0) {
+            return false;
+        }
+        switch (base.getConnectionClass()) {
+            case File:
+            case GZFile:
+            case BZFile:
+            case XZFile:
+                return base.readsRegularFile();
+            case Text:
+            case RAW:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String readLine(LocalData data) throws IOException {
+        if (data.lines == null || data.linesPos == data.lines.length) {
+            String[] lines = data.con.readLines(data.readAhead ? SCAN_BLOCKSIZE : 1, EnumSet.of(ReadLineWarning.EMBEDDED_NUL), false);
+            if (lines == null || lines.length == 0) {
+                data.lines = null;
+                return null;
+            }
+            data.lines = lines;
+            data.linesPos = 0;
+        }
+        return data.lines[data.linesPos++];
+    }
+
+    /**
+     * Returns the lines read in advance but not consumed by scan to the connection, so that they
+     * are seen by its subsequent readers. This must not be done when the connection was only
+     * opened for the scan: closing it does not drop the push back, and the next reader, which
+     * opens the connection again and starts at its beginning, would see the stale lines first.
+     */
+    private static void pushBackUnread(LocalData data) {
+        if (data.lines != null && data.linesPos < data.lines.length) {
+            String[] unread = Arrays.copyOfRange(data.lines, data.linesPos, data.lines.length);
+            data.lines = null;
+            data.con.pushBack(RDataFactory.createStringVector(unread, RDataFactory.COMPLETE_VECTOR), true);
+        }
+    }
+
     private static int skipWhitespace(String s, int start) {
         int pos = start;
         while (pos < s.length() && (s.charAt(pos) == ' ' || s.charAt(pos) == '\t')) {
@@ -237,6 +308,10 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
         return false;
     }
 
+    private static boolean isSeparator(char ch, char sepchar) {
+        return sepchar == 0 ? (ch == ' ' || ch == '\t') : ch == sepchar;
+    }
+
     private static GetQuotedItemsResult getQuotedItems(LocalData data, int maxItems, String s) {
         ArrayList<String> items = new ArrayList<>();
 
@@ -284,8 +359,12 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
                     }
                 }
             } else {
-                str.append(ch);
-                pos++;
+                // copy the whole unquoted run at once, a quote can only start a field
+                int start = pos++;
+                while (pos < length && !isSeparator(s.charAt(pos), sepchar)) {
+                    pos++;
+                }
+                str.append(s, start, pos);
             }
         } while (pos < s.length() && (maxItems <= 0 || items.size() < maxItems));
         if (str.length() > 0) {
@@ -296,16 +375,16 @@ public abstract class Scan extends RBuiltinNode.Arg19 {
 
     private static String[] getItems(LocalData data, int maxItems, boolean blSkip) throws IOException {
         while (true) {
-            String[] str = data.con.readLines(1, EnumSet.of(ReadLineWarning.EMBEDDED_NUL), false);
-            if (str == null || str.length == 0) {
+            String line = readLine(data);
+            if (line == null) {
                 return null;
             } else {
-                GetQuotedItemsResult res = getQuotedItems(data, maxItems, str[0]);
+                GetQuotedItemsResult res = getQuotedItems(data, maxItems, line);
                 String[] items = res.items;
                 if (!blSkip || items.length != 0) {
-                    if (res.pos < str[0].length()) {
-                        RStringVector remainder = RDataFactory.createStringVectorFromScalar(str[0].substring(res.pos));
-                        data.con.pushBack(remainder, true);
+                    if (res.pos < line.length()) {
+                        // the remainder is the next line to be read
+                        data.lines[--data.linesPos] = line.substring(res.pos);
                     }
                     return items.length == 0 ? new String[]{""} : items;
                 }
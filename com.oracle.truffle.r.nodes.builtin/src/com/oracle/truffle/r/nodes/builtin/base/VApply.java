@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -77,6 +77,10 @@ import com.oracle.truffle.r.runtime.ops.na.NACheck;
  * specialization signature without the "...", which means we have to fish the optional arguments
  * out of the frame for the closure.
  *
+ * The typed result array is allocated once the length of {@code X} is known. Results that are
+ * scalars of the type of {@code FUN.VALUE}, which is the common case of {@code FUN.VALUE} of length
+ * one, are stored into it directly without being cast to a vector first.
+ *
  * TODO Set dimnames on result if necessary.
  */
 @RBuiltin(name = "vapply", kind = INTERNAL, parameterNames = {"X", "FUN", "FUN.VALUE", "USE.NAMES"}, splitCaller = true, behavior = COMPLEX)
@@ -85,6 +89,7 @@ public abstract class VApply extends RBuiltinNode.Arg4 {
     private final ConditionProfile useNamesProfile = ConditionProfile.createBinaryProfile();
     private final ConditionProfile dimsProfile = ConditionProfile.createBinaryProfile();
     private final ConditionProfile zeroLengthProfile = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile scalarResultProfile = ConditionProfile.createBinaryProfile();
     private final NACheck naCheck = NACheck.create();
 
     @Child private LapplyInternalNode doApply = LapplyInternalNodeGen.create();
@@ -256,6 +261,12 @@ public abstract class VApply extends RBuiltinNode.Arg4 {
         double[] newArray = new double[values.length * len];
         int ind = 0;
         for (int i = 0; i < values.length; i++) {
+            if (scalarResultProfile.profile(len == 1 && values[i] instanceof Double)) {
+                double val = (double) values[i];
+                naCheck.check(val);
+                newArray[ind++] = val;
+                continue;
+            }
             RDoubleVector v = (RDoubleVector) castDouble(values[i]);
             checkValueLength(v, i, len);
             for (int j = 0; j < v.getLength(); j++) {
@@ -271,6 +282,12 @@ public abstract class VApply extends RBuiltinNode.Arg4 {
         int[] newArray = new int[values.length * len];
         int ind = 0;
         for (int i = 0; i < values.length; i++) {
+            if (scalarResultProfile.profile(len == 1 && values[i] instanceof Integer)) {
+                int val = (int) values[i];
+                naCheck.check(val);
+                newArray[ind++] = val;
+                continue;
+            }
             RIntVector v = (RIntVector) castInteger(values[i]);
             checkValueLength(v, i, len);
             for (int j = 0; j < v.getLength(); j++) {
@@ -286,6 +303,12 @@ public abstract class VApply extends RBuiltinNode.Arg4 {
         byte[] newArray = new byte[values.length * len];
         int ind = 0;
         for (int i = 0; i < values.length; i++) {
+            if (scalarResultProfile.profile(len == 1 && values[i] instanceof Byte)) {
+                byte val = (byte) values[i];
+                naCheck.check(val);
+                newArray[ind++] = val;
+                continue;
+            }
             RLogicalVector v = (RLogicalVector) castLogical(values[i]);
             checkValueLength(v, i, len);
             for (int j = 0; j < v.getLength(); j++) {
@@ -301,6 +324,12 @@ public abstract class VApply extends RBuiltinNode.Arg4 {
         String[] newArray = new String[values.length * len];
         int ind = 0;
         for (int i = 0; i < values.length; i++) {
+            if (scalarResultProfile.profile(len == 1 && values[i] instanceof String)) {
+                String val = (String) values[i];
+                naCheck.check(val);
+                newArray[ind++] = val;
+                continue;
+            }
             RStringVector v = (RStringVector) castString(values[i]);
             checkValueLength(v, i, len);
             for (int j = 0; j < v.getLength(); j++) {
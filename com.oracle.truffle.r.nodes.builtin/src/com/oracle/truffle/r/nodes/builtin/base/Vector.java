@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -37,6 +37,7 @@ import com.oracle.truffle.r.runtime.DSLConfig;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.NativeAllocationProfile;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.gnur.SEXPTYPE;
 
@@ -65,23 +66,24 @@ public abstract class Vector extends RBuiltinNode.Arg2 {
     @Specialization(guards = {"mode == cachedMode"}, limit = "getCacheSize(CACHED_MODES_LIMIT)")
     Object vectorCached(@SuppressWarnings("unused") String mode, int length,
                     @SuppressWarnings("unused") @Cached("mode") String cachedMode,
-                    @Cached("modeToType(mode)") RType type) {
-        return createType(type, length);
+                    @Cached("modeToType(mode)") RType type,
+                    @Cached("create()") NativeAllocationProfile allocationProfile) {
+        return createType(type, length, allocationProfile);
     }
 
     @Specialization(replaces = "vectorCached")
     @TruffleBoundary
     protected Object vector(String mode, int length) {
-        return createType(modeToType(mode), length);
+        return createType(modeToType(mode), length, NativeAllocationProfile.getUncached());
     }
 
     // Note: we have to handle RPairList separately. In other circumstances it is not seen as a
     // vector, e.g. is.vector(vector('pairlist',1)) is FALSE, so we cannot just turn it into
     // RAbstractVector. Note2: pair list of size == 0 is RNull -> we have to return Object.
-    private static Object createType(RType type, int length) {
+    private static Object createType(RType type, int length, NativeAllocationProfile allocationProfile) {
         if (type == RType.PairList) {
             return RDataFactory.createPairList(length, SEXPTYPE.LISTSXP);
         }
-        return type.create(length, false);
+        return allocationProfile.createEmptyVector(type, length);
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gte0;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.instanceOf;
+import static com.oracle.truffle.r.runtime.RVisibility.OFF;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.COMPLEX;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.nodes.function.call.RExplicitCallNode;
+import com.oracle.truffle.r.runtime.ArgumentsSignature;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.RArgsValuesAndNames;
+import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.data.RMissing;
+import com.oracle.truffle.r.runtime.data.RNull;
+
+/**
+ * Warms up a closure by calling it repeatedly with the given example arguments, so that its call
+ * target gets hot right away and, once the Truffle runtime compiles it, is compiled with the
+ * specializations exercised by the examples, instead of when the application first uses it
+ * heavily. The function is called for its side effects as many times as requested, so the
+ * examples should be cheap and harmless. Without example arguments, this is a no-op. Used by
+ * {@code compiler::cmpfun}.
+ */
+@RBuiltin(name = ".fastr.compile", visibility = OFF, kind = PRIMITIVE, parameterNames = {"f", "args", "iterations"}, behavior = COMPLEX)
+public abstract class FastRCompile extends RBuiltinNode.Arg3 {
+
+    /**
+     * The number of calls made with the example arguments if {@code iterations} is not given. It
+     * is not derived from the compilation thresholds of the Truffle runtime, which depend on its
+     * configuration, e.g., on the compilation tiers, so the calls may not be enough to get the
+     * closure compiled.
+     */
+    private static final int DEFAULT_ITERATIONS = 1000;
+
+    @Child private RExplicitCallNode callNode = RExplicitCallNode.create();
+
+    @Override
+    public Object[] getDefaultParameterValues() {
+        return new Object[]{RMissing.instance, RNull.instance, DEFAULT_ITERATIONS};
+    }
+
+    static {
+        Casts casts = new Casts(FastRCompile.class);
+        casts.arg("f").mustBe(instanceOf(RFunction.class));
+        casts.arg("args").allowNull().mustBe(instanceOf(RList.class));
+        casts.arg("iterations").asIntegerVector().findFirst().mustBe(gte0());
+    }
+
+    @Specialization
+    protected RFunction compile(RFunction f, @SuppressWarnings("unused") RNull args, @SuppressWarnings("unused") int iterations) {
+        return f;
+    }
+
+    @Specialization
+    protected RFunction compile(VirtualFrame frame, RFunction f, RList args, int iterations) {
+        if (f.isBuiltin()) {
+            return f;
+        }
+        ArgumentsSignature signature = ArgumentsSignature.fromNamesAttribute(args.getNames());
+        Object[] values = args.getDataCopy();
+        for (int i = 0; i < iterations; i++) {
+            RArgsValuesAndNames callArgs = new RArgsValuesAndNames(values.clone(), signature == null ? ArgumentsSignature.empty(values.length) : signature);
+            callNode.call(frame, f, callArgs);
+        }
+        return f;
+    }
+}
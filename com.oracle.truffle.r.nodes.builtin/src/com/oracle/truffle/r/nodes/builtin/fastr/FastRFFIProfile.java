@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.toBoolean;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.COMPLEX;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.ffi.RFFIProfiler;
+
+/**
+ * Returns the data collected by {@link RFFIProfiler} so far as a data frame and then, if
+ * {@code enable} is not {@code NA}, starts or stops the profiler. With {@code reset = TRUE}, the
+ * collected data are discarded after they have been returned.
+ */
+@RBuiltin(name = ".fastr.ffi.profile", kind = PRIMITIVE, parameterNames = {"enable", "reset"}, behavior = COMPLEX)
+public abstract class FastRFFIProfile extends RBuiltinNode.Arg2 {
+
+    @Override
+    public Object[] getDefaultParameterValues() {
+        return new Object[]{RRuntime.LOGICAL_NA, RRuntime.LOGICAL_FALSE};
+    }
+
+    static {
+        Casts casts = new Casts(FastRFFIProfile.class);
+        casts.arg("enable").asLogicalVector().findFirst();
+        casts.arg("reset").asLogicalVector().findFirst().mustNotBeNA().map(toBoolean());
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected RList profile(byte enable, boolean reset) {
+        RList report = RFFIProfiler.getReport();
+        if (reset) {
+            RFFIProfiler.reset();
+        }
+        if (!RRuntime.isNA(enable)) {
+            RFFIProfiler.setEnabled(RRuntime.fromLogical(enable));
+        }
+        return report;
+    }
+}
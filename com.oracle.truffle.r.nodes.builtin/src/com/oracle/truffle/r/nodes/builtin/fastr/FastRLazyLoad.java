@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.instanceOf;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.stringValue;
+import static com.oracle.truffle.r.runtime.RVisibility.OFF;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.COMPLEX;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.IO;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import java.io.IOException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.RASTUtils;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.ArgumentsSignature;
+import com.oracle.truffle.r.runtime.RDataIndex;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.Closure;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RExternalPtr;
+import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.data.RPromise.PromiseState;
+import com.oracle.truffle.r.runtime.env.REnvironment;
+import com.oracle.truffle.r.runtime.env.REnvironment.PutException;
+import com.oracle.truffle.r.runtime.ffi.DLL;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
+
+/**
+ * Lazy variant of {@code load}, see {@link RDataIndex}.
+ */
+public class FastRLazyLoad {
+
+    /**
+     * Binds every object saved in an uncompressed {@code .RData} file to a promise in
+     * {@code envir} that unserializes the object when it is first accessed, and returns the names
+     * like {@code load}. Other files, e.g. compressed ones, are loaded eagerly by {@code load}. The
+     * file must not change until all of its objects have been accessed.
+     */
+    @RBuiltin(name = ".fastr.lazyLoad", visibility = OFF, kind = PRIMITIVE, parameterNames = {"file", "envir"}, behavior = COMPLEX)
+    public abstract static class FastRLazyLoadFile extends RBuiltinNode.Arg2 {
+
+        static {
+            Casts casts = new Casts(FastRLazyLoadFile.class);
+            casts.arg("file").mustBe(stringValue()).asStringVector().findFirst().mustNotBeNA();
+            casts.arg("envir").mustNotBeNull(RError.Message.USE_NULL_ENV_DEFUNCT).mustBe(instanceOf(REnvironment.class));
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected Object lazyLoad(String file, REnvironment envir) {
+            TruffleFile path = getRContext().getSafeTruffleFile(file);
+            RDataIndex index;
+            try {
+                index = RDataIndex.create(path);
+            } catch (IOException ex) {
+                throw error(RError.Message.CANNOT_OPEN_FILE, file, ex.getMessage());
+            }
+            if (index == null) {
+                Object load = RContext.getRRuntimeASTAccess().forcePromise("load", REnvironment.baseEnv().findFunction("load"));
+                return RContext.getEngine().evalFunction((RFunction) load, null, null, true, null, file, envir);
+            }
+            RFunction fetch = getRContext().lookupBuiltin(".fastr.lazyLoadFetch");
+            RExternalPtr indexPtr = RDataFactory.createExternalPtr(new DLL.SymbolHandle(0L), index, RNull.instance, RNull.instance);
+            String[] names = new String[index.size()];
+            try {
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = index.getName(i);
+                    RSyntaxNode call = RASTUtils.createCall(fetch, false, ArgumentsSignature.empty(2), RContext.getASTBuilder().constant(RSyntaxNode.SOURCE_UNAVAILABLE, indexPtr),
+                                    RContext.getASTBuilder().constant(RSyntaxNode.SOURCE_UNAVAILABLE, i + 1));
+                    envir.put(names[i], RDataFactory.createPromise(PromiseState.Explicit, Closure.createPromiseClosure(call.asRNode()), envir.getFrame()));
+                }
+            } catch (PutException ex) {
+                throw error(ex);
+            }
+            return RDataFactory.createStringVector(names, RDataFactory.COMPLETE_VECTOR);
+        }
+    }
+
+    /**
+     * Unserializes one object of a lazily loaded file, used by the promises created by
+     * {@code .fastr.lazyLoad}.
+     */
+    @RBuiltin(name = ".fastr.lazyLoadFetch", kind = PRIMITIVE, parameterNames = {"index", "i"}, behavior = IO)
+    public abstract static class FastRLazyLoadFetch extends RBuiltinNode.Arg2 {
+
+        static {
+            Casts casts = new Casts(FastRLazyLoadFetch.class);
+            casts.arg("index").mustBe(instanceOf(RExternalPtr.class));
+            casts.arg("i").asIntegerVector().findFirst().mustNotBeNA();
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected Object fetch(RExternalPtr indexPtr, int i) {
+            if (!(indexPtr.getExternalObject() instanceof RDataIndex)) {
+                throw error(RError.Message.GENERIC, "invalid lazy load index");
+            }
+            RDataIndex index = (RDataIndex) indexPtr.getExternalObject();
+            if (i < 1 || i > index.size()) {
+                throw error(RError.Message.SUBSCRIPT_BOUNDS);
+            }
+            try {
+                return index.get(i - 1);
+            } catch (IOException ex) {
+                throw error(RError.Message.ERROR_READING_CONNECTION, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gte;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.lte;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.stringValue;
+import static com.oracle.truffle.r.runtime.RVisibility.OFF;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.IO;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import java.io.IOException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.ChunkedRDS;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.data.RMissing;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+
+/**
+ * Builtins for the FastR specific serialization container, see {@link ChunkedRDS}.
+ */
+public class FastRRDS {
+
+    @RBuiltin(name = ".fastr.saveRDS", visibility = OFF, kind = PRIMITIVE, parameterNames = {"object", "file", "compress"}, behavior = IO)
+    public abstract static class FastRSaveRDS extends RBuiltinNode.Arg3 {
+
+        @Override
+        public Object[] getDefaultParameterValues() {
+            return new Object[]{RMissing.instance, RMissing.instance, 6};
+        }
+
+        static {
+            Casts casts = new Casts(FastRSaveRDS.class);
+            casts.arg("file").mustBe(stringValue()).asStringVector().findFirst().mustNotBeNA();
+            casts.arg("compress").asIntegerVector().findFirst().mustNotBeNA().mustBe(gte(0).and(lte(9)));
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected RNull save(Object object, String file, int compress) {
+            TruffleFile path = getRContext().getSafeTruffleFile(file);
+            try {
+                ChunkedRDS.write(getRContext(), object, path, compress);
+            } catch (IOException ex) {
+                throw error(RError.Message.CANNOT_OPEN_FILE, file, ex.getMessage());
+            }
+            return RNull.instance;
+        }
+    }
+
+    /**
+     * Reads an object saved by {@code .fastr.saveRDS} or, as a fallback, by {@code saveRDS}. The
+     * optional {@code which} selects the (one-based) elements of a saved list to be read; only
+     * these elements are decompressed and unserialized from a FastR container.
+     */
+    @RBuiltin(name = ".fastr.readRDS", kind = PRIMITIVE, parameterNames = {"file", "which"}, behavior = IO)
+    public abstract static class FastRReadRDS extends RBuiltinNode.Arg2 {
+
+        @Override
+        public Object[] getDefaultParameterValues() {
+            return new Object[]{RMissing.instance, RNull.instance};
+        }
+
+        static {
+            Casts casts = new Casts(FastRReadRDS.class);
+            casts.arg("file").mustBe(stringValue()).asStringVector().findFirst().mustNotBeNA();
+            casts.arg("which").allowNull().asIntegerVector();
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected Object read(String file, @SuppressWarnings("unused") RNull which) {
+            return read(file, (int[]) null);
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected Object read(String file, RIntVector which) {
+            int[] indices = new int[which.getLength()];
+            for (int i = 0; i < indices.length; i++) {
+                int index = which.getDataAt(i);
+                if (RRuntime.isNA(index)) {
+                    throw error(RError.Message.SUBSCRIPT_BOUNDS);
+                }
+                indices[i] = index - 1;
+            }
+            return read(file, indices);
+        }
+
+        private Object read(String file, int[] which) {
+            TruffleFile path = getRContext().getSafeTruffleFile(file);
+            try {
+                if (ChunkedRDS.isChunkedRDS(path)) {
+                    return ChunkedRDS.read(path, which);
+                }
+                Object result = ChunkedRDS.readStandard(path);
+                return which == null ? result : select(result, which);
+            } catch (IOException ex) {
+                throw error(RError.Message.CANNOT_OPEN_FILE, file, ex.getMessage());
+            }
+        }
+
+        private Object select(Object value, int[] which) {
+            if (!(value instanceof RList)) {
+                throw error(RError.Message.SUBSCRIPT_BOUNDS);
+            }
+            RList list = (RList) value;
+            RStringVector listNames = list.getNames();
+            Object[] elements = new Object[which.length];
+            String[] names = listNames == null ? null : new String[which.length];
+            for (int i = 0; i < which.length; i++) {
+                if (which[i] < 0 || which[i] >= list.getLength()) {
+                    throw error(RError.Message.SUBSCRIPT_BOUNDS);
+                }
+                elements[i] = list.getDataAt(which[i]);
+                if (names != null) {
+                    names[i] = listNames.getDataAt(which[i]);
+                }
+            }
+            return names == null ? RDataFactory.createList(elements) : RDataFactory.createList(elements, RDataFactory.createStringVector(names, RDataFactory.COMPLETE_VECTOR));
+        }
+    }
+}
@@ -164,6 +164,11 @@ public class DefaultRParserFactory extends RParserFactory {
             }
         }
 
+        @Override
+        public List<RSyntaxNode> simpleScript(Source source, RCodeBuilder<RSyntaxNode> builder) {
+            return SimpleExpressionParser.parse(source, builder);
+        }
+
         @Override
         public List<RSyntaxNode> statements(Source source, Source fullSource, int startLine, RCodeBuilder<RSyntaxNode> builder, TruffleRLanguage language) throws ParseException {
             RContext context = RContext.getInstance();
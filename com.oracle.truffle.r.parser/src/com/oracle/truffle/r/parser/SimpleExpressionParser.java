@@ -0,0 +1,466 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.RComplex;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.nodes.RCodeBuilder;
+import com.oracle.truffle.r.runtime.nodes.RCodeBuilder.Argument;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
+
+/**
+ * Hand-written parser for the subset of R that is typically produced by {@code dput} or
+ * {@code deparse} of data: numeric, logical and string literals, symbols, calls of named functions
+ * like {@code c(...)}, {@code list(...)} or {@code structure(...)} with optionally named
+ * arguments, unary {@code +}/{@code -} and the {@code :} operator.
+ *
+ * For the inputs it accepts, this parser produces exactly the same AST (including source
+ * sections) as the ANTLR generated {@link RParser}, but it does not report tokens to the builder,
+ * i.e., it cannot be used when parse metadata is needed. Whenever it encounters anything else,
+ * including comments and syntax errors, it gives up and the caller falls back to {@link RParser},
+ * which also takes care of reporting the errors.
+ */
+final class SimpleExpressionParser {
+
+    private static final int MAX_DEPTH = 256;
+
+    private static final class UnsupportedSyntaxException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedSyntaxException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final UnsupportedSyntaxException UNSUPPORTED = new UnsupportedSyntaxException();
+
+    private final Source source;
+    private final String text;
+    private final RCodeBuilder<RSyntaxNode> builder;
+
+    private int pos;
+    /**
+     * End offset of the last consumed token.
+     */
+    private int lastEnd;
+    /**
+     * The nesting level of parentheses, line breaks are ignored while it is larger than zero.
+     */
+    private int nesting;
+    private int depth;
+
+    private SimpleExpressionParser(Source source, RCodeBuilder<RSyntaxNode> builder) {
+        this.source = source;
+        this.text = source.getCharacters().toString();
+        this.builder = builder;
+    }
+
+    /**
+     * Parses the whole source, returns {@code null} if it contains unsupported syntax.
+     */
+    static List<RSyntaxNode> parse(Source source, RCodeBuilder<RSyntaxNode> builder) {
+        try {
+            return new SimpleExpressionParser(source, builder).script();
+        } catch (UnsupportedSyntaxException e) {
+            return null;
+        }
+    }
+
+    private List<RSyntaxNode> script() {
+        List<RSyntaxNode> result = new ArrayList<>();
+        skipLineBreaks();
+        while (pos < text.length()) {
+            result.add(expr());
+            skipWhitespace();
+            if (pos == text.length()) {
+                break;
+            }
+            char c = text.charAt(pos);
+            if (c == ';') {
+                pos++;
+                skipLineBreaks();
+            } else if (isLineBreak(c)) {
+                skipLineBreaks();
+            } else {
+                throw UNSUPPORTED;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Corresponds to the {@code colon_expr} rule, any operator with lower precedence makes the
+     * caller give up.
+     */
+    private RSyntaxNode expr() {
+        enter();
+        skipWhitespace();
+        int start = pos;
+        RSyntaxNode value = unary();
+        while (true) {
+            skipWhitespace();
+            if (peek(0) != ':' || peek(1) == ':' || peek(1) == '=') {
+                break;
+            }
+            int opStart = pos++;
+            lastEnd = pos;
+            skipLineBreaks();
+            RSyntaxNode rhs = unary();
+            value = builder.call(section(start, lastEnd), builder.specialLookup(section(opStart, opStart + 1), ":", true), value, rhs);
+        }
+        depth--;
+        return value;
+    }
+
+    private RSyntaxNode unary() {
+        skipWhitespace();
+        char c = peek(0);
+        if ((c == '-' && peek(1) != '>') || c == '+') {
+            enter();
+            int opStart = pos++;
+            lastEnd = pos;
+            skipLineBreaks();
+            RSyntaxNode operand = unary();
+            depth--;
+            return builder.call(section(opStart, lastEnd), builder.specialLookup(section(opStart, opStart + 1), String.valueOf(c), true), operand);
+        }
+        return basic();
+    }
+
+    private RSyntaxNode basic() {
+        skipWhitespace();
+        int start = pos;
+        char c = peek(0);
+        RSyntaxNode result;
+        if (isDigit(c)) {
+            result = number();
+        } else if (c == '"' || c == '\'') {
+            pos = stringEnd();
+            lastEnd = pos;
+            result = builder.constant(section(start, pos), string(start, pos));
+        } else if (isIdentifierStart(c)) {
+            String name = identifier();
+            int end = pos;
+            lastEnd = pos;
+            Object constant = constant(name);
+            if (constant != null) {
+                result = builder.constant(section(start, end), constant);
+            } else if (isReserved(name)) {
+                throw UNSUPPORTED;
+            } else {
+                skipWhitespace();
+                if (peek(0) == '(') {
+                    result = call(start, name, end);
+                } else {
+                    result = builder.lookup(section(start, end), name, false);
+                }
+            }
+        } else {
+            throw UNSUPPORTED;
+        }
+        skipWhitespace();
+        switch (peek(0)) {
+            case '(':
+            case '[':
+            case '$':
+            case '@':
+            case '^':
+            case '*':
+                // postfix operators and operators with higher precedence than unary minus
+                throw UNSUPPORTED;
+            default:
+                return result;
+        }
+    }
+
+    private RSyntaxNode call(int start, String name, int nameEnd) {
+        RSyntaxNode function = builder.lookup(section(start, nameEnd), name, true);
+        List<Argument<RSyntaxNode>> args = new ArrayList<>();
+        pos++;
+        nesting++;
+        skipWhitespace();
+        if (peek(0) != ')') {
+            while (true) {
+                args.add(argument());
+                skipWhitespace();
+                char c = peek(0);
+                if (c == ')') {
+                    break;
+                } else if (c != ',') {
+                    throw UNSUPPORTED;
+                }
+                pos++;
+                skipWhitespace();
+                if (peek(0) == ',' || peek(0) == ')') {
+                    // empty arguments
+                    throw UNSUPPORTED;
+                }
+            }
+        }
+        pos++;
+        nesting--;
+        lastEnd = pos;
+        return builder.call(section(start, lastEnd), function, args);
+    }
+
+    private Argument<RSyntaxNode> argument() {
+        int start = pos;
+        char c = peek(0);
+        String name = null;
+        if (c == '"' || c == '\'') {
+            int end = stringEnd();
+            pos = end;
+            skipWhitespace();
+            if (isAssign()) {
+                name = string(start, end);
+            }
+        } else if (isIdentifierStart(c)) {
+            name = identifier();
+            skipWhitespace();
+            if (!isAssign() || constant(name) != null || isReserved(name)) {
+                name = null;
+            }
+        }
+        if (name == null) {
+            pos = start;
+            RSyntaxNode value = expr();
+            return RCodeBuilder.argument(section(start, lastEnd), null, value);
+        }
+        if (name.isEmpty()) {
+            throw UNSUPPORTED;
+        }
+        pos++;
+        skipWhitespace();
+        if (peek(0) == ',' || peek(0) == ')') {
+            // missing value, e.g. "alist(x = )"
+            throw UNSUPPORTED;
+        }
+        RSyntaxNode value = expr();
+        return RCodeBuilder.argument(section(start, lastEnd), name, value);
+    }
+
+    /**
+     * Scans a number with the same syntax as the {@code INTEGER} and {@code DOUBLE} lexer rules,
+     * except for hexadecimal numbers and integer literals that would produce a warning.
+     */
+    private RSyntaxNode number() {
+        int start = pos;
+        boolean isDouble = false;
+        skipDigits();
+        if (peek(0) == '.') {
+            pos++;
+            skipDigits();
+            isDouble = true;
+        }
+        if (peek(0) == 'e' || peek(0) == 'E') {
+            pos++;
+            if (peek(0) == '+' || peek(0) == '-') {
+                pos++;
+            }
+            if (!isDigit(peek(0))) {
+                throw UNSUPPORTED;
+            }
+            skipDigits();
+            isDouble = true;
+        }
+        String literal = text.substring(start, pos);
+        Object value;
+        if (peek(0) == 'L') {
+            pos++;
+            double d = RRuntime.string2doubleNoCheck(literal);
+            if (isDouble || d != (int) d) {
+                throw UNSUPPORTED;
+            }
+            value = (int) d;
+        } else {
+            value = RRuntime.string2doubleNoCheck(literal);
+        }
+        if (isIdentifierPart(peek(0))) {
+            // e.g. complex or hexadecimal numbers
+            throw UNSUPPORTED;
+        }
+        lastEnd = pos;
+        return builder.constant(section(start, pos), value);
+    }
+
+    /**
+     * Returns the end offset of the string literal starting at the current position. Only the
+     * simple escape sequences are supported.
+     */
+    private int stringEnd() {
+        char quote = text.charAt(pos);
+        int i = pos + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == quote) {
+                return i + 1;
+            } else if (c == '\\') {
+                if (i + 1 >= text.length() || "tnavrbf\"`' \\".indexOf(text.charAt(i + 1)) < 0) {
+                    throw UNSUPPORTED;
+                }
+                i += 2;
+            } else {
+                i++;
+            }
+        }
+        throw UNSUPPORTED;
+    }
+
+    private String string(int start, int end) {
+        return RLexer.parseString(text.substring(start, end));
+    }
+
+    private String identifier() {
+        int start = pos;
+        while (isIdentifierPart(peek(0))) {
+            pos++;
+        }
+        if (pos < text.length() && Character.isLetterOrDigit(text.charAt(pos))) {
+            // non-ASCII identifiers
+            throw UNSUPPORTED;
+        }
+        return text.substring(start, pos);
+    }
+
+    private static Object constant(String name) {
+        switch (name) {
+            case "TRUE":
+                return RRuntime.LOGICAL_TRUE;
+            case "FALSE":
+                return RRuntime.LOGICAL_FALSE;
+            case "NA":
+                return RRuntime.LOGICAL_NA;
+            case "NULL":
+                return RNull.instance;
+            case "Inf":
+                return Double.POSITIVE_INFINITY;
+            case "NaN":
+                return Double.NaN;
+            case "NA_integer_":
+                return RRuntime.INT_NA;
+            case "NA_real_":
+                return RRuntime.DOUBLE_NA;
+            case "NA_character_":
+                return RRuntime.STRING_NA;
+            case "NA_complex_":
+                return RComplex.createNA();
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isReserved(String name) {
+        switch (name) {
+            case "function":
+            case "while":
+            case "for":
+            case "repeat":
+            case "in":
+            case "if":
+            case "else":
+            case "next":
+            case "break":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isAssign() {
+        return peek(0) == '=' && peek(1) != '=';
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw UNSUPPORTED;
+        }
+    }
+
+    private SourceSection section(int start, int end) {
+        return source.createSection(start, end - start);
+    }
+
+    private char peek(int offset) {
+        int i = pos + offset;
+        return i < text.length() ? text.charAt(i) : '\0';
+    }
+
+    private void skipDigits() {
+        while (isDigit(peek(0))) {
+            pos++;
+        }
+    }
+
+    /**
+     * Skips whitespace and, inside of parentheses, also line breaks.
+     */
+    private void skipWhitespace() {
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c == ' ' || c == '\t' || c == '\u00A0' || (nesting > 0 && isLineBreak(c))) {
+                pos++;
+            } else if (c == '#') {
+                throw UNSUPPORTED;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void skipLineBreaks() {
+        while (pos < text.length()) {
+            skipWhitespace();
+            if (pos < text.length() && isLineBreak(text.charAt(pos))) {
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\f';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private boolean isIdentifierStart(char c) {
+        return isLetter(c) || (c == '.' && isLetter(peek(1)));
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isLetter(c) || isDigit(c) || c == '.' || c == '_';
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import org.tukaani.xz.XZInputStream;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+
+/**
+ * A FastR specific container for serialized objects, written by {@code .fastr.saveRDS} and read by
+ * {@code .fastr.readRDS}, meant for large lists of vectors, e.g., model artifacts.
+ *
+ * The elements of a non-empty list are serialized separately from the list itself (whose elements
+ * are replaced by {@code NULL} for this purpose), and every serialized entry is split into blocks
+ * of {@link #BLOCK_SIZE} bytes that are deflated independently. This allows to compress and
+ * decompress the blocks in parallel and to read only the selected elements of the list. Other
+ * objects are stored as a single entry. Since the elements are serialized separately, values shared
+ * by several elements, e.g., environments, are stored and restored once per element.
+ *
+ * The layout of the file is the {@link #MAGIC} string, the format version, the size of the index
+ * in bytes, the index, and the compressed blocks of all entries in order. The index consists of
+ * the number of entries and, for every entry, its uncompressed size, the number of its blocks and
+ * the compressed size of every block. All numbers are big-endian 32-bit integers.
+ */
+public final class ChunkedRDS {
+
+    private static final byte[] MAGIC = "FastR-RDS\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int FORMAT_VERSION = 1;
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    private ChunkedRDS() {
+        // no instances
+    }
+
+    /**
+     * Returns {@code true} iff the file starts with the header of this container.
+     */
+    @TruffleBoundary
+    public static boolean isChunkedRDS(TruffleFile file) throws IOException {
+        try (InputStream in = file.newInputStream()) {
+            byte[] header = new byte[MAGIC.length];
+            return in.readNBytes(header, 0, header.length) == header.length && Arrays.equals(header, MAGIC);
+        }
+    }
+
+    @TruffleBoundary
+    public static void write(RContext context, Object object, TruffleFile file, int level) throws IOException {
+        byte[][] entries;
+        if (object instanceof RList && ((RList) object).getLength() > 0) {
+            RList list = (RList) object;
+            RList skeleton = (RList) list.copy();
+            entries = new byte[list.getLength() + 1][];
+            for (int i = 0; i < list.getLength(); i++) {
+                skeleton.setDataAt(i, RNull.instance);
+                entries[i + 1] = RSerialize.serialize(context, list.getDataAt(i), RSerialize.XDR, RSerialize.DEFAULT_VERSION, null);
+            }
+            entries[0] = RSerialize.serialize(context, skeleton, RSerialize.XDR, RSerialize.DEFAULT_VERSION, null);
+        } else {
+            entries = new byte[][]{RSerialize.serialize(context, object, RSerialize.XDR, RSerialize.DEFAULT_VERSION, null)};
+        }
+
+        int[] firstBlock = new int[entries.length + 1];
+        for (int i = 0; i < entries.length; i++) {
+            firstBlock[i + 1] = firstBlock[i] + blockCount(entries[i].length);
+        }
+        int[] blockEntry = new int[firstBlock[entries.length]];
+        for (int i = 0; i < entries.length; i++) {
+            Arrays.fill(blockEntry, firstBlock[i], firstBlock[i + 1], i);
+        }
+        byte[][] blocks = new byte[blockEntry.length][];
+        IntStream.range(0, blocks.length).parallel().forEach(b -> {
+            byte[] entry = entries[blockEntry[b]];
+            int offset = (b - firstBlock[blockEntry[b]]) * BLOCK_SIZE;
+            blocks[b] = deflate(entry, offset, Math.min(BLOCK_SIZE, entry.length - offset), level);
+        });
+
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+        indexOut.writeInt(entries.length);
+        for (int i = 0; i < entries.length; i++) {
+            indexOut.writeInt(entries[i].length);
+            indexOut.writeInt(firstBlock[i + 1] - firstBlock[i]);
+            for (int b = firstBlock[i]; b < firstBlock[i + 1]; b++) {
+                indexOut.writeInt(blocks[b].length);
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.newOutputStream()))) {
+            out.write(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(index.size());
+            index.writeTo(out);
+            for (byte[] block : blocks) {
+                out.write(block);
+            }
+        }
+    }
+
+    /**
+     * Reads the object from the container. If {@code which} is not {@code null}, the object must be
+     * a list and only its elements with given (zero-based) indices are read; the result is then a
+     * list of these elements, with the corresponding names.
+     */
+    @TruffleBoundary
+    public static Object read(TruffleFile file, int[] which) throws IOException {
+        try (SeekableByteChannel channel = file.newByteChannel(Collections.singleton(StandardOpenOption.READ))) {
+            ByteBuffer header = readFully(channel, MAGIC.length, 8);
+            if (header.getInt() != FORMAT_VERSION) {
+                throw new IOException("unsupported FastR-RDS format version");
+            }
+            int indexSize = header.getInt();
+            ByteBuffer index = readFully(channel, MAGIC.length + 8, indexSize);
+            int entryCount = index.getInt();
+            int[] sizes = new int[entryCount];
+            int[][] blockSizes = new int[entryCount][];
+            long[] offsets = new long[entryCount];
+            long offset = MAGIC.length + 8 + indexSize;
+            for (int i = 0; i < entryCount; i++) {
+                sizes[i] = index.getInt();
+                blockSizes[i] = new int[index.getInt()];
+                offsets[i] = offset;
+                for (int b = 0; b < blockSizes[i].length; b++) {
+                    blockSizes[i][b] = index.getInt();
+                    offset += blockSizes[i][b];
+                }
+            }
+
+            int[] selected;
+            if (which == null) {
+                selected = IntStream.range(0, entryCount).toArray();
+            } else {
+                selected = new int[which.length + 1];
+                for (int i = 0; i < which.length; i++) {
+                    if (entryCount == 1 || which[i] < 0 || which[i] >= entryCount - 1) {
+                        throw RError.error(RError.SHOW_CALLER, RError.Message.SUBSCRIPT_BOUNDS);
+                    }
+                    selected[i + 1] = which[i] + 1;
+                }
+            }
+            byte[][] data = inflateEntries(channel, selected, sizes, blockSizes, offsets);
+
+            Object skeleton = RSerialize.unserialize(data[0], null, null, null);
+            if (entryCount == 1) {
+                return skeleton;
+            }
+            RList list = (RList) skeleton;
+            if (which == null) {
+                for (int i = 1; i < selected.length; i++) {
+                    list.setDataAt(i - 1, RSerialize.unserialize(data[i], null, null, null));
+                }
+                return list;
+            }
+            Object[] elements = new Object[which.length];
+            RStringVector listNames = list.getNames();
+            String[] names = listNames == null ? null : new String[which.length];
+            for (int i = 0; i < which.length; i++) {
+                elements[i] = RSerialize.unserialize(data[i + 1], null, null, null);
+                if (names != null) {
+                    names[i] = listNames.getDataAt(which[i]);
+                }
+            }
+            return names == null ? RDataFactory.createList(elements) : RDataFactory.createList(elements, RDataFactory.createStringVector(names, RDataFactory.COMPLETE_VECTOR));
+        }
+    }
+
+    /**
+     * Reads a standard RDS file, compressed by any of the methods supported by {@code gzfile}.
+     */
+    @TruffleBoundary
+    public static Object readStandard(TruffleFile file) throws IOException {
+        switch (RCompression.getCompressionType(file)) {
+            case GZIP:
+                try (InputStream in = new GZIPInputStream(file.newInputStream())) {
+                    return RSerialize.unserialize(in);
+                }
+            case XZ:
+                try (InputStream in = new XZInputStream(file.newInputStream())) {
+                    return RSerialize.unserialize(in);
+                }
+            case BZIP2:
+                return RSerialize.unserialize(new ByteArrayInputStream(RCompression.bzipUncompressFromFile(file)));
+            default:
+                try (InputStream in = file.newInputStream()) {
+                    return RSerialize.unserialize(in);
+                }
+        }
+    }
+
+    private static int blockCount(int size) {
+        return Math.max(1, (size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    }
+
+    private static byte[][] inflateEntries(SeekableByteChannel channel, int[] selected, int[] sizes, int[][] blockSizes, long[] offsets) throws IOException {
+        // the compressed blocks are read sequentially and inflated in parallel
+        int blockCount = 0;
+        for (int entry : selected) {
+            blockCount += blockSizes[entry].length;
+        }
+        byte[][] compressed = new byte[blockCount][];
+        int[] blockEntry = new int[blockCount];
+        int[] blockIndex = new int[blockCount];
+        byte[][] data = new byte[selected.length][];
+        int b = 0;
+        for (int i = 0; i < selected.length; i++) {
+            int entry = selected[i];
+            data[i] = new byte[sizes[entry]];
+            long offset = offsets[entry];
+            for (int j = 0; j < blockSizes[entry].length; j++) {
+                compressed[b] = readFully(channel, offset, blockSizes[entry][j]).array();
+                blockEntry[b] = i;
+                blockIndex[b] = j;
+                offset += blockSizes[entry][j];
+                b++;
+            }
+        }
+        try {
+            IntStream.range(0, blockCount).parallel().forEach(k -> {
+                byte[] target = data[blockEntry[k]];
+                int start = blockIndex[k] * BLOCK_SIZE;
+                inflate(compressed[k], target, start, Math.min(BLOCK_SIZE, target.length - start));
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        return data;
+    }
+
+    private static ByteBuffer readFully(SeekableByteChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        channel.position(position);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("premature end of FastR-RDS file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static byte[] deflate(byte[] data, int offset, int length, int level) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(data, offset, length);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length / 4));
+            byte[] buffer = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void inflate(byte[] compressed, byte[] target, int offset, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int n = 0;
+            while (n < length) {
+                int read = inflater.inflate(target, offset + n, length - n);
+                if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("corrupted FastR-RDS block");
+                }
+                n += read;
+            }
+        } catch (DataFormatException | IOException ex) {
+            throw new UncheckedIOException(ex instanceof IOException ? (IOException) ex : new IOException(ex));
+        } finally {
+            inflater.end();
+        }
+    }
+}
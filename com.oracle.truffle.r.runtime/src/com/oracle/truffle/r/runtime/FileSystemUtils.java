@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -45,6 +45,9 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 import java.util.regex.PatternSyntaxException;
 import java.util.stream.Stream;
@@ -132,6 +135,66 @@ public class FileSystemUtils {
         }
     }
 
+    /**
+     * Finds the files in the file tree rooted at {@code start}, including {@code start} itself,
+     * like {@link #find(TruffleFile, int, Predicate)}. The matcher gets the attributes collected
+     * while walking the tree, so that it does not need to access the file system again, and the
+     * subdirectories are walked in parallel, therefore the order of the result is unspecified.
+     * Directories that cannot be read are skipped.
+     */
+    @TruffleBoundary
+    public static List<TruffleFile> findParallel(TruffleFile start, int maxDepth, BiPredicate<TruffleFile, BasicFileAttributes> matcher) {
+        List<TruffleFile> result = new ArrayList<>();
+        boolean isDirectory = start.isDirectory();
+        if (matcher.test(start, new Event(EventType.ENTRY, start, isDirectory))) {
+            result.add(start);
+        }
+        if (isDirectory && maxDepth > 0) {
+            result.addAll(ForkJoinPool.commonPool().invoke(new FindTask(start, 1, maxDepth, matcher)));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("serial")
+    private static final class FindTask extends RecursiveTask<List<TruffleFile>> {
+        private final TruffleFile dir;
+        private final int depth;
+        private final int maxDepth;
+        private final BiPredicate<TruffleFile, BasicFileAttributes> matcher;
+
+        FindTask(TruffleFile dir, int depth, int maxDepth, BiPredicate<TruffleFile, BasicFileAttributes> matcher) {
+            this.dir = dir;
+            this.depth = depth;
+            this.maxDepth = maxDepth;
+            this.matcher = matcher;
+        }
+
+        @Override
+        protected List<TruffleFile> compute() {
+            List<TruffleFile> result = new ArrayList<>();
+            List<FindTask> subtasks = new ArrayList<>();
+            try (DirectoryStream<TruffleFile> stream = dir.newDirectoryStream()) {
+                for (TruffleFile entry : stream) {
+                    boolean isDirectory = entry.isDirectory();
+                    if (matcher.test(entry, new Event(EventType.ENTRY, entry, isDirectory))) {
+                        result.add(entry);
+                    }
+                    if (isDirectory && depth < maxDepth) {
+                        FindTask task = new FindTask(entry, depth + 1, maxDepth, matcher);
+                        task.fork();
+                        subtasks.add(task);
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException | SecurityException ex) {
+                // unreadable directory, skipped
+            }
+            for (FindTask task : subtasks) {
+                result.addAll(task.join());
+            }
+            return result;
+        }
+    }
+
     public static Stream<TruffleFile> walk(TruffleFile start, int maxDepth)
                     throws IOException {
         FileTreeIterator iterator = new FileTreeIterator(start, maxDepth);
@@ -384,11 +447,23 @@ public class FileSystemUtils {
         private final EventType type;
         private final TruffleFile file;
         private final IOException ioe;
+        /**
+         * Whether the file is a directory if already known, {@code null} otherwise.
+         */
+        private final Boolean directory;
 
         private Event(EventType type, TruffleFile file, IOException ioe) {
             this.type = type;
             this.file = file;
             this.ioe = ioe;
+            this.directory = null;
+        }
+
+        Event(EventType type, TruffleFile file, boolean directory) {
+            this.type = type;
+            this.file = file;
+            this.ioe = null;
+            this.directory = directory;
         }
 
         Event(EventType type, TruffleFile file) {
@@ -441,7 +516,7 @@ public class FileSystemUtils {
 
         @Override
         public boolean isDirectory() {
-            return file.isDirectory();
+            return directory != null ? directory : file.isDirectory();
         }
 
         @Override
@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.gnur.SEXPTYPE;
+
+/**
+ * Index of the top-level objects of an uncompressed {@code .RData} file in XDR format, which allows
+ * to unserialize the objects one at a time on first access instead of all of them in
+ * {@code load}. Used by {@code .fastr.lazyLoad}.
+ *
+ * The file is scanned once without creating any R objects, the payload of vectors is skipped. The
+ * serialization format shares symbols, environments and a few other objects through a table of
+ * references that spans the whole stream, so the index also records which reference each object
+ * defines. A symbol defined by another object is created from its recorded name, an environment is
+ * taken from the object that defines it, which is unserialized first if necessary, so that objects
+ * share environments as they do after an eager {@code load}.
+ */
+public final class RDataIndex {
+
+    private static final String XDR_HEADER2 = "RDX2\n";
+    private static final String XDR_HEADER3 = "RDX3\n";
+
+    private static final int TYPE_MASK = 255;
+    private static final int HAS_ATTR_BIT_MASK = 1 << 9;
+    private static final int HAS_TAG_BIT_MASK = 1 << 10;
+    private static final int IS_ACTIVE_BINDING_MASK = 1 << (15 + 12);
+
+    private final TruffleFile file;
+    private final long fileSize;
+    private final String[] names;
+    /**
+     * The position of each object in the file.
+     */
+    private final long[] offsets;
+    /**
+     * The number of references defined before each object.
+     */
+    private final int[] refBases;
+    /**
+     * The name of each reference that is a symbol, {@code null} for other references.
+     */
+    private final String[] refSymbols;
+    /**
+     * The object that defines each reference that is not a symbol, {@code -1} for symbols.
+     */
+    private final int[] refOwners;
+    private final Object[] refValues;
+    /**
+     * Objects that have been unserialized to resolve a reference but have not been fetched yet.
+     */
+    private final Object[] pending;
+
+    private RDataIndex(TruffleFile file, long fileSize, Scanner scanner) {
+        this.file = file;
+        this.fileSize = fileSize;
+        this.names = scanner.names.toArray(new String[scanner.names.size()]);
+        this.offsets = Arrays.copyOf(scanner.offsets, names.length);
+        this.refBases = Arrays.copyOf(scanner.refBases, names.length);
+        this.refSymbols = Arrays.copyOf(scanner.refSymbols, scanner.refCount);
+        this.refOwners = Arrays.copyOf(scanner.refOwners, scanner.refCount);
+        this.refValues = new Object[scanner.refCount];
+        this.pending = new Object[names.length];
+    }
+
+    /**
+     * Scans the given file and returns its index, or {@code null} if the file cannot be indexed,
+     * e.g. because it is compressed or contains byte code, in which case it has to be loaded
+     * eagerly.
+     */
+    @TruffleBoundary
+    public static RDataIndex create(TruffleFile file) throws IOException {
+        try (SeekableByteChannel channel = file.newByteChannel(EnumSet.of(StandardOpenOption.READ))) {
+            Scanner scanner = new Scanner(channel);
+            if (!scanner.scan()) {
+                return null;
+            }
+            return new RDataIndex(file, channel.size(), scanner);
+        } catch (NotIndexableException ex) {
+            return null;
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Unserializes the object with the given index. Every object is meant to be fetched once.
+     */
+    @TruffleBoundary
+    public Object get(int index) throws IOException {
+        Object value = pending[index];
+        if (value != null) {
+            pending[index] = null;
+            return value;
+        }
+        return unserialize(index);
+    }
+
+    private Object unserialize(int index) throws IOException {
+        try (SeekableByteChannel channel = file.newByteChannel(EnumSet.of(StandardOpenOption.READ))) {
+            if (channel.size() != fileSize) {
+                throw new IOException("file '" + file.getName() + "' has changed since it was lazily loaded");
+            }
+            channel.position(offsets[index]);
+            return RSerialize.unserializeItem(Channels.newInputStream(channel), refs, refBases[index]);
+        }
+    }
+
+    private final RSerialize.ItemRefs refs = new RSerialize.ItemRefs() {
+
+        @Override
+        public Object get(int index) {
+            Object value = refValues[index - 1];
+            if (value == null) {
+                String symbol = refSymbols[index - 1];
+                if (symbol != null) {
+                    value = RDataFactory.createSymbolInterned(symbol);
+                    refValues[index - 1] = value;
+                } else {
+                    int owner = refOwners[index - 1];
+                    try {
+                        pending[owner] = unserialize(owner);
+                    } catch (IOException ex) {
+                        throw RError.error(RError.NO_CALLER, RError.Message.ERROR_READING_CONNECTION, ex.getMessage());
+                    }
+                    value = refValues[index - 1];
+                    RInternalError.guarantee(value != null, "reference not defined by its object");
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public void define(int index, Object value) {
+            // an object fetched again gets fresh environments, the shared ones are kept
+            if (refValues[index - 1] == null) {
+                refValues[index - 1] = value;
+            }
+        }
+    };
+
+    @SuppressWarnings("serial")
+    private static final class NotIndexableException extends Exception {
+        private static final NotIndexableException INSTANCE = new NotIndexableException();
+
+        private NotIndexableException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Walks the serialized stream like {@code RSerialize.Input}, defining references in the same
+     * order, without creating the objects.
+     */
+    private static final class Scanner {
+        private final SeekableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+        private final ArrayList<String> names = new ArrayList<>();
+        private long[] offsets = new long[16];
+        private int[] refBases = new int[16];
+        private String[] refSymbols = new String[128];
+        private int[] refOwners = new int[128];
+        private int refCount;
+        private int owner = -1;
+
+        Scanner(SeekableByteChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        private long position() throws IOException {
+            return channel.position() - buffer.remaining();
+        }
+
+        private void ensure(int n) throws IOException {
+            if (buffer.remaining() < n) {
+                buffer.compact();
+                while (buffer.position() < n) {
+                    if (channel.read(buffer) < 0) {
+                        throw new IOException("premature end of file");
+                    }
+                }
+                buffer.flip();
+            }
+        }
+
+        private int readInt() throws IOException {
+            ensure(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        private String readString(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            int pos = 0;
+            while (pos < length) {
+                ensure(1);
+                int n = Math.min(length - pos, buffer.remaining());
+                buffer.get(bytes, pos, n);
+                pos += n;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void skip(long n) throws IOException {
+            if (n <= buffer.remaining()) {
+                buffer.position(buffer.position() + (int) n);
+            } else {
+                channel.position(position() + n);
+                buffer.clear();
+                buffer.flip();
+            }
+        }
+
+        private int readLength() throws IOException, NotIndexableException {
+            int length = readInt();
+            if (length < 0) {
+                // long vectors are not supported by RSerialize either
+                throw NotIndexableException.INSTANCE;
+            }
+            return length;
+        }
+
+        private void defineRef(String symbol) {
+            if (refCount == refSymbols.length) {
+                refSymbols = Arrays.copyOf(refSymbols, refCount * 2);
+                refOwners = Arrays.copyOf(refOwners, refCount * 2);
+            }
+            refSymbols[refCount] = symbol;
+            refOwners[refCount] = owner;
+            refCount++;
+        }
+
+        /**
+         * Reads the header and the top-level pair list of the file and returns {@code false} if it
+         * is not an uncompressed {@code .RData} file in XDR format.
+         */
+        boolean scan() throws IOException, NotIndexableException {
+            if (channel.size() < XDR_HEADER2.length() + 2) {
+                return false;
+            }
+            String magic = readString(XDR_HEADER2.length());
+            if (!(magic.equals(XDR_HEADER2) || magic.equals(XDR_HEADER3)) || !readString(2).equals("X\n")) {
+                return false;
+            }
+            int version = readInt();
+            readInt(); // writer version
+            readInt(); // minimal reader version
+            if (version == 3) {
+                skip(readLength()); // native encoding
+            } else if (version != 2) {
+                return false;
+            }
+            int flags = readInt();
+            while (type(flags) == SEXPTYPE.LISTSXP) {
+                if ((flags & HAS_ATTR_BIT_MASK) != 0 || (flags & HAS_TAG_BIT_MASK) == 0 || (flags & IS_ACTIVE_BINDING_MASK) != 0) {
+                    throw NotIndexableException.INSTANCE;
+                }
+                String name = scanTag();
+                int index = names.size();
+                if (index == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    refBases = Arrays.copyOf(refBases, refBases.length * 2);
+                }
+                names.add(name);
+                offsets[index] = position();
+                refBases[index] = refCount;
+                owner = index;
+                scanItem(readInt());
+                owner = -1;
+                flags = readInt();
+            }
+            if (type(flags) != SEXPTYPE.NILVALUE_SXP) {
+                throw NotIndexableException.INSTANCE;
+            }
+            return true;
+        }
+
+        private static SEXPTYPE type(int flags) throws NotIndexableException {
+            SEXPTYPE type = SEXPTYPE.mapInt(flags & TYPE_MASK);
+            if (type == null) {
+                throw NotIndexableException.INSTANCE;
+            }
+            return type;
+        }
+
+        private String scanTag() throws IOException, NotIndexableException {
+            int flags = readInt();
+            switch (type(flags)) {
+                case SYMSXP:
+                    return scanSymbol(flags);
+                case REFSXP: {
+                    int index = flags >> 8 == 0 ? readInt() : flags >> 8;
+                    if (index <= 0 || index > refCount || refSymbols[index - 1] == null) {
+                        throw NotIndexableException.INSTANCE;
+                    }
+                    return refSymbols[index - 1];
+                }
+                default:
+                    throw NotIndexableException.INSTANCE;
+            }
+        }
+
+        private String scanSymbol(int flags) throws IOException, NotIndexableException {
+            int charFlags = readInt();
+            if (type(charFlags) != SEXPTYPE.CHARSXP) {
+                throw NotIndexableException.INSTANCE;
+            }
+            int length = readInt();
+            String name;
+            if (length == -1) {
+                name = RRuntime.STRING_NA;
+            } else {
+                name = readString(length);
+                if ((charFlags & HAS_ATTR_BIT_MASK) != 0) {
+                    scanItem(readInt());
+                }
+            }
+            defineRef(name);
+            if ((flags & HAS_ATTR_BIT_MASK) != 0) {
+                scanItem(readInt());
+            }
+            return name;
+        }
+
+        private void scanStringVec() throws IOException, NotIndexableException {
+            readInt();
+            int length = readLength();
+            for (int i = 0; i < length; i++) {
+                scanItem(readInt());
+            }
+        }
+
+        private void scanItem(int flagsArg) throws IOException, NotIndexableException {
+            int flags = flagsArg;
+            while (true) {
+                switch (type(flags)) {
+                    case NILVALUE_SXP:
+                    case EMPTYENV_SXP:
+                    case BASEENV_SXP:
+                    case GLOBALENV_SXP:
+                    case MISSINGARG_SXP:
+                    case BASENAMESPACE_SXP:
+                        return;
+                    case REFSXP:
+                        if (flags >> 8 == 0) {
+                            readInt();
+                        }
+                        return;
+                    case NAMESPACESXP:
+                    case PACKAGESXP:
+                        scanStringVec();
+                        defineRef(null);
+                        return;
+                    case ALTREP_SXP:
+                        // info, state and attributes
+                        scanItem(readInt());
+                        scanItem(readInt());
+                        scanItem(readInt());
+                        return;
+                    case ENVSXP:
+                        readInt(); // locked
+                        defineRef(null);
+                        // enclosing environment, frame, hash table and attributes
+                        scanItem(readInt());
+                        scanItem(readInt());
+                        scanItem(readInt());
+                        scanItem(readInt());
+                        return;
+                    case CLOSXP:
+                    case LANGSXP:
+                    case LISTSXP:
+                    case PROMSXP:
+                    case DOTSXP:
+                        if ((flags & HAS_ATTR_BIT_MASK) != 0) {
+                            scanItem(readInt());
+                        }
+                        if ((flags & HAS_TAG_BIT_MASK) != 0) {
+                            scanItem(readInt());
+                        }
+                        scanItem(readInt());
+                        // iterate over the cdr instead of recursing
+                        flags = readInt();
+                        continue;
+                    case EXPRSXP:
+                    case VECSXP:
+                    case STRSXP: {
+                        int length = readLength();
+                        for (int i = 0; i < length; i++) {
+                            scanItem(readInt());
+                        }
+                        break;
+                    }
+                    case INTSXP:
+                    case LGLSXP:
+                        skip(4L * readLength());
+                        break;
+                    case REALSXP:
+                        skip(8L * readLength());
+                        break;
+                    case CPLXSXP:
+                        skip(16L * readLength());
+                        break;
+                    case RAWSXP:
+                    case SPECIALSXP:
+                    case BUILTINSXP:
+                        skip(readLength());
+                        break;
+                    case CHARSXP: {
+                        int length = readInt();
+                        if (length != -1) {
+                            skip(length);
+                            if ((flags & HAS_ATTR_BIT_MASK) != 0) {
+                                scanItem(readInt());
+                            }
+                        }
+                        return;
+                    }
+                    case SYMSXP:
+                        scanSymbol(flags);
+                        return;
+                    case EXTPTRSXP:
+                        // protected value and tag
+                        scanItem(readInt());
+                        scanItem(readInt());
+                        defineRef(null);
+                        break;
+                    case S4SXP:
+                    case UNBOUNDVALUE_SXP:
+                        break;
+                    default:
+                        // byte code, persistent names and weak references are loaded eagerly
+                        throw NotIndexableException.INSTANCE;
+                }
+                if ((flags & HAS_ATTR_BIT_MASK) != 0) {
+                    scanItem(readInt());
+                }
+                return;
+            }
+        }
+    }
+}
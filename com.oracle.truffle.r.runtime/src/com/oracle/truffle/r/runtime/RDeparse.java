@@ -19,6 +19,7 @@
  */
 package com.oracle.truffle.r.runtime;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -264,8 +265,35 @@ public class RDeparse {
         }
     }
 
+    /**
+     * Receives the deparsed text in chunks, see
+     * {@link RDeparse#deparse(Object, int, boolean, int, int, Sink)}.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void write(String chunk) throws IOException;
+    }
+
+    private static final class SinkException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        SinkException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+
     private static final class DeparseVisitor {
 
+        /**
+         * The size of the buffer after which the complete lines are passed to the {@link #sink}.
+         */
+        private static final int FLUSH_THRESHOLD = 64 * 1024;
+
         private final Visitor visitor = new Visitor();
 
         private final StringBuilder sb = new StringBuilder();
@@ -284,6 +312,9 @@ public class RDeparse {
         private int lastLineStart = 0;
         private int curLine = 1;
 
+        private Sink sink;
+        private boolean flushed;
+
         DeparseVisitor(boolean storeSource, int cutoff, boolean backtick, int opts, int nlines) {
             this(storeSource, cutoff, backtick, opts, nlines, -1);
         }
@@ -300,7 +331,7 @@ public class RDeparse {
         public String getContents() {
             // strip surplus newlines
             int length = sb.length();
-            while (length > 1) {
+            while (length > (flushed ? 0 : 1)) {
                 char c = sb.charAt(length - 1);
                 if (c != '\n' && c != ' ') {
                     break;
@@ -409,6 +440,9 @@ public class RDeparse {
         private void printline() {
             sb.append("\n");
             curLine++;
+            if (sink != null && sb.length() > FLUSH_THRESHOLD) {
+                flush();
+            }
             lastLineStart = sb.length();
             if (nlines > 0 && curLine >= nlines) {
                 throw new MaxLinesReachedException();
@@ -418,6 +452,27 @@ public class RDeparse {
             }
         }
 
+        /**
+         * Passes the contents of the buffer to the {@link #sink}, except for the trailing
+         * whitespace, which may still be stripped by {@link #getContents()}.
+         */
+        private void flush() {
+            assert sources == null && debugCutoff < 0;
+            int length = sb.length();
+            while (length > 0 && (sb.charAt(length - 1) == '\n' || sb.charAt(length - 1) == ' ')) {
+                length--;
+            }
+            if (length > 0) {
+                try {
+                    sink.write(sb.substring(0, length));
+                } catch (IOException e) {
+                    throw new SinkException(e);
+                }
+                sb.delete(0, length);
+                flushed = true;
+            }
+        }
+
         private static boolean isSequence(RSyntaxElement element) {
             if (element instanceof RSyntaxCall) {
                 RSyntaxElement lhs = ((RSyntaxCall) element).getSyntaxLHS();
@@ -1019,8 +1074,8 @@ public class RDeparse {
                     // TODO COMPAT?
                     append("c(");
 
+                    RStringVector names = vec.getNames();
                     for (int i = 0; i < len; i++) {
-                        RStringVector names = vec.getNames();
                         if (names != null) {
                             String name = names.getDataAt(i);
                             if (name.equals(RRuntime.NA_HEADER)) {
@@ -1284,6 +1339,23 @@ public class RDeparse {
         return new DeparseVisitor(false, cutoff, backtick, opts, nlines, debugCutoff).appendValue(expr).getContents();
     }
 
+    /**
+     * Like {@link #deparse(Object, int, boolean, int, int)}, but passes the result to {@code sink}
+     * in chunks as the deparsing progresses, so that the text of large objects is never held in
+     * memory as a whole. The chunks are split at line breaks, but they do not necessarily end with
+     * a line break.
+     */
+    @TruffleBoundary
+    public static void deparse(Object expr, int cutoff, boolean backtick, int opts, int nlines, Sink sink) throws IOException {
+        DeparseVisitor visitor = new DeparseVisitor(false, cutoff, backtick, opts, nlines);
+        visitor.sink = sink;
+        try {
+            sink.write(visitor.appendValue(expr).getContents());
+        } catch (SinkException e) {
+            throw e.getCause();
+        }
+    }
+
     /**
      * Ensure that {@code node} has a {@link SourceSection} by deparsing if necessary.
      */
@@ -289,12 +289,11 @@ public class RErrorHandling {
         CompilerAsserts.neverPartOfCompilation();
         Object oldStack = getHandlerStack();
         Object newStack = oldStack;
-        RList result = RDataFactory.createList(new Object[]{RNull.instance, RNull.instance, RNull.instance});
         int n = handlers.getLength();
         for (int i = n - 1; i >= 0; i--) {
             String klass = classes.getDataAt(i);
             Object handler = handlers.getDataAt(i);
-            RList entry = mkHandlerEntry(klass, parentEnv, handler, target, result, calling);
+            RList entry = mkHandlerEntry(klass, parentEnv, handler, target, calling);
             newStack = RDataFactory.createPairList(entry, newStack);
         }
         getRErrorHandlingState().handlerStack = newStack;
@@ -311,13 +310,20 @@ public class RErrorHandling {
     private static final int RESULT_CALL = 1;
     private static final int RESULT_HANDLER = 2;
 
-    private static RList mkHandlerEntry(String klass, REnvironment parentEnv, Object handler, Object rho, RList result, byte calling) {
+    /**
+     * Unlike GnuR, the result list (see {@link #ENTRY_RETURN_RESULT}) is not allocated when the
+     * handler is established, but only in {@link #gotoExitingHandler} once the handler is actually
+     * taken. At most one exiting handler of a single {@code .addCondHands} call can ever be taken,
+     * so sharing the result list between the entries is not necessary, and the common case of
+     * {@code tryCatch} without any condition does not pay for it.
+     */
+    private static RList mkHandlerEntry(String klass, REnvironment parentEnv, Object handler, Object rho, byte calling) {
         Object[] data = new Object[5];
         data[ENTRY_CLASS] = klass;
         data[ENTRY_CALLING_ENVIR] = parentEnv;
         data[ENTRY_HANDLER] = handler;
         data[ENTRY_TARGET_ENVIR] = rho;
-        data[ENTRY_RETURN_RESULT] = result;
+        data[ENTRY_RETURN_RESULT] = RNull.instance;
         RList entry = RDataFactory.createList(data);
         entry.setGPBits(calling);
         return entry;
@@ -437,13 +443,21 @@ public class RErrorHandling {
      *
      */
     static void signalError(RBaseNode callObj, Message msg, Object... args) {
-        Object call = findCaller(callObj);
-        String fMsg = formatMessage(msg, args);
         ContextStateImpl errorHandlingState = getRErrorHandlingState();
         Object oldStack = errorHandlingState.handlerStack;
+        if (oldStack == RNull.instance) {
+            // no handlers: the caller is going to be looked up by the default error handler
+            return;
+        }
+        // the caller lookup walks the stack, so it is only done once a handler is found
+        Object call = null;
+        String fMsg = formatMessage(msg, args);
         try {
             RPairList pList;
             while ((pList = findSimpleErrorHandler()) != null) {
+                if (call == null) {
+                    call = findCaller(callObj);
+                }
                 RList entry = (RList) pList.car();
                 errorHandlingState.handlerStack = pList.cdr();
                 errorHandlingState.errMsg = fMsg;
@@ -468,20 +482,30 @@ public class RErrorHandling {
 
     private static ReturnException gotoExitingHandler(Object cond, Object call, RList entry) throws ReturnException {
         REnvironment rho = (REnvironment) entry.getDataAt(ENTRY_TARGET_ENVIR);
-        RList result = (RList) entry.getDataAt(ENTRY_RETURN_RESULT);
-        result.setDataAt(RESULT_COND, cond);
-        result.setDataAt(RESULT_CALL, call);
-        result.setDataAt(RESULT_HANDLER, entry.getDataAt(ENTRY_HANDLER));
+        Object[] resultData = new Object[3];
+        resultData[RESULT_COND] = cond;
+        resultData[RESULT_CALL] = call;
+        resultData[RESULT_HANDLER] = entry.getDataAt(ENTRY_HANDLER);
+        RList result = RDataFactory.createList(resultData);
+        entry.setDataAt(ENTRY_RETURN_RESULT, result);
         throw new ReturnException(result, RArguments.getCall(rho.getFrame()));
     }
 
     private static RPairList findSimpleErrorHandler() {
-        Object list = getHandlerStack();
+        return findSimpleHandler(getHandlerStack(), "simpleError", "error");
+    }
+
+    private static RPairList findSimpleWarningHandler(RContext context) {
+        return findSimpleHandler(getHandlerStack(context), "simpleWarning", "warning");
+    }
+
+    private static RPairList findSimpleHandler(Object handlerStack, String simpleClass, String baseClass) {
+        Object list = handlerStack;
         while (list != RNull.instance) {
             RPairList pList = (RPairList) list;
             RList entry = (RList) pList.car();
-            String klass = (String) entry.getDataAt(0);
-            if (klass.equals("simpleError") || klass.equals("error") || klass.equals("condition")) {
+            String klass = (String) entry.getDataAt(ENTRY_CLASS);
+            if (klass.equals(simpleClass) || klass.equals(baseClass) || klass.equals("condition")) {
                 return pList;
             }
             list = pList.cdr();
@@ -490,9 +514,12 @@ public class RErrorHandling {
     }
 
     private static RPairList findConditionHandler(RList cond) {
+        Object list = getHandlerStack();
+        if (list == RNull.instance) {
+            return null;
+        }
         // GnuR checks whether this is a string vector - in FastR it's statically typed to be
         RStringVector classes = RContext.getRRuntimeASTAccess().getClassHierarchy(cond);
-        Object list = getHandlerStack();
         while (list != RNull.instance) {
             RPairList pList = (RPairList) list;
             RList entry = (RList) pList.car();
@@ -763,10 +790,19 @@ public class RErrorHandling {
          * Warnings generally do not prevent results being printed. However, this call into R will
          * destroy any visibility setting made by the calling builtin prior to this call.
          */
-        ContextStateImpl errorHandlingState = getRErrorHandlingState();
+        ContextStateImpl errorHandlingState = getRErrorHandlingState(context);
         RFunction f = errorHandlingState.getDotSignalSimpleWarning();
         if (f != null) {
-            RContext.getRRuntimeASTAccess().callback(f, context, new Object[]{warningMessage, call});
+            if (findSimpleWarningHandler(context) == null) {
+                /*
+                 * Nobody can observe the warning condition nor invoke the "muffleWarning" restart,
+                 * so .signalSimpleWarning would end up just calling .dfltWarn. Doing that directly
+                 * avoids creating the condition object and setting up the restart in R code.
+                 */
+                warningcallDfltWithCall(fromCall(call), Message.GENERIC, warningMessage.getDataAt(0));
+            } else {
+                RContext.getRRuntimeASTAccess().callback(f, context, new Object[]{warningMessage, call});
+            }
         }
         // otherwise the subsystem is not initialized yet - no warning
     }
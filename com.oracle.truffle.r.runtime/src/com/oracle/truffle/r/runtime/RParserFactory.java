@@ -38,6 +38,16 @@ public abstract class RParserFactory {
         List<RSyntaxNode> script(Source source, RCodeBuilder<RSyntaxNode> builder, TruffleRLanguage language) throws ParseException;
 
         List<RSyntaxNode> statements(Source source, Source fullSource, int startLine, RCodeBuilder<RSyntaxNode> builder, TruffleRLanguage language) throws ParseException;
+
+        /**
+         * Parses the source with a parser specialized for simple data expressions, such as the
+         * output of {@code dput}, that does not report any tokens to the builder. Returns
+         * {@code null} if the source contains other syntax, in which case the caller is
+         * expected to use {@link #script}.
+         */
+        default List<RSyntaxNode> simpleScript(@SuppressWarnings("unused") Source source, @SuppressWarnings("unused") RCodeBuilder<RSyntaxNode> builder) {
+            return null;
+        }
     }
 
     static {
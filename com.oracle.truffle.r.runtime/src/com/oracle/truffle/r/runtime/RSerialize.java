@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1995-2012, The R Core Team
  * Copyright (c) 2003, The R Foundation
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
@@ -400,6 +401,15 @@ public class RSerialize {
         }
     }
 
+    /**
+     * Unserializes from an arbitrary stream, e.g., from a memory mapped file.
+     */
+    @TruffleBoundary
+    public static Object unserialize(InputStream is) throws IOException {
+        Input instance = trace() ? new TracingInput(is, null, null, null) : new Input(is, null, null, null);
+        return instance.unserialize();
+    }
+
     /**
      * This variant exists for the {@code lazyLoadDBFetch} function. In certain cases, when
      * {@link Input#persistentRestore} is called, an R function needs to be evaluated with an
@@ -415,6 +425,33 @@ public class RSerialize {
         return result;
     }
 
+    /**
+     * Provides the references of a serialized stream that is unserialized item by item, see
+     * {@link #unserializeItem}.
+     */
+    public interface ItemRefs {
+        /**
+         * Returns the object of the reference with the given one-based index.
+         */
+        Object get(int index);
+
+        /**
+         * Records the object of the reference with the given one-based index, which is defined by
+         * the item being unserialized.
+         */
+        void define(int index, Object value);
+    }
+
+    /**
+     * Unserializes a single item of an XDR stream starting at the current position of {@code is},
+     * without a stream header. {@code refBase} is the number of references defined by the stream
+     * before the item, references are looked up in and defined through {@code refs}.
+     */
+    @TruffleBoundary
+    public static Object unserializeItem(InputStream is, ItemRefs refs, int refBase) throws IOException {
+        return new ItemInput(is, refs, refBase).readItem();
+    }
+
     private static class Input extends Common {
 
         protected final PInputStream stream;
@@ -445,6 +482,12 @@ public class RSerialize {
             this(input, null, null, null);
         }
 
+        private Input(PInputStream stream) {
+            super(null);
+            this.stream = stream;
+            this.packageName = null;
+        }
+
         private Input(InputStream is, CallHook hook, String packageName, String functionName) throws IOException {
             super(hook);
             this.packageName = packageName;
@@ -864,13 +907,13 @@ public class RSerialize {
                 case INTSXP: {
                     int len = stream.readInt();
                     int[] data = new int[len];
+                    stream.readInts(data);
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
                     for (int i = 0; i < len; i++) {
-                        int intVal = stream.readInt();
-                        if (intVal == RRuntime.INT_NA) {
+                        if (data[i] == RRuntime.INT_NA) {
                             complete = false;
+                            break;
                         }
-                        data[i] = intVal;
                     }
                     result = RDataFactory.createIntVector(data, complete);
                     break;
@@ -896,13 +939,13 @@ public class RSerialize {
                 case REALSXP: {
                     int len = stream.readInt();
                     double[] data = new double[len];
+                    stream.readDoubles(data);
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
                     for (int i = 0; i < len; i++) {
-                        double doubleVal = stream.readDouble();
-                        if (RRuntime.isNA(doubleVal)) {
+                        if (RRuntime.isNA(data[i])) {
                             complete = false;
+                            break;
                         }
-                        data[i] = doubleVal;
                     }
                     result = RDataFactory.createDoubleVector(data, complete);
                     break;
@@ -911,23 +954,18 @@ public class RSerialize {
                 case CPLXSXP: {
                     int len = stream.readInt();
                     double[] data = new double[2 * len];
+                    stream.readDoubles(data);
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
                     for (int i = 0; i < len; i++) {
                         int ix = 2 * i;
-                        double reVal = stream.readDouble();
-                        if (RRuntime.isNA(reVal)) {
-                            complete = false;
-                        }
-                        double imVal = stream.readDouble();
-                        if (RRuntime.isNA(imVal)) {
+                        double reVal = data[ix];
+                        double imVal = data[ix + 1];
+                        if (RRuntime.isNA(reVal) || RRuntime.isNA(imVal)) {
                             complete = false;
                         }
                         if (RRuntime.isNA(reVal) && RRuntime.isNA(imVal)) {
                             data[ix] = RRuntime.COMPLEX_NA_REAL_PART;
                             data[ix + 1] = RRuntime.COMPLEX_NA_IMAGINARY_PART;
-                        } else {
-                            data[ix] = reVal;
-                            data[ix + 1] = imVal;
                         }
                     }
                     result = RDataFactory.createComplexVector(data, complete);
@@ -1239,6 +1277,16 @@ public class RSerialize {
 
         abstract void readRaw(byte[] data) throws IOException;
 
+        /**
+         * Reads {@code data.length} ints, equivalent to calling {@link #readInt()} for each.
+         */
+        abstract void readInts(int[] data) throws IOException;
+
+        /**
+         * Reads {@code data.length} doubles, equivalent to calling {@link #readDouble()} for each.
+         */
+        abstract void readDoubles(double[] data) throws IOException;
+
     }
 
     @SuppressWarnings("unused")
@@ -1379,6 +1427,35 @@ public class RSerialize {
             ensureData(data.length).readRaw(data);
         }
 
+        /*
+         * Vectors are decoded in chunks that fit into the default buffer through big-endian (i.e.,
+         * XDR) buffer views, which convert whole arrays at once.
+         */
+
+        @Override
+        void readInts(int[] data) throws IOException {
+            int pos = 0;
+            while (pos < data.length) {
+                int n = Math.min(data.length - pos, defaultBuffer.buf.length / 4);
+                Buffer buffer = ensureData(n * 4);
+                ByteBuffer.wrap(buffer.buf, buffer.offset, n * 4).asIntBuffer().get(data, pos, n);
+                buffer.offset += n * 4;
+                pos += n;
+            }
+        }
+
+        @Override
+        void readDoubles(double[] data) throws IOException {
+            int pos = 0;
+            while (pos < data.length) {
+                int n = Math.min(data.length - pos, defaultBuffer.buf.length / 8);
+                Buffer buffer = ensureData(n * 8);
+                ByteBuffer.wrap(buffer.buf, buffer.offset, n * 8).asDoubleBuffer().get(data, pos, n);
+                buffer.offset += n * 8;
+                pos += n;
+            }
+        }
+
         private Buffer ensureData(int n) throws IOException {
             Buffer usedBuffer;
             if (n > defaultBuffer.buf.length) {
@@ -1412,6 +1489,32 @@ public class RSerialize {
         }
     }
 
+    /**
+     * Reads an item in the middle of a stream, see {@link #unserializeItem}.
+     */
+    private static final class ItemInput extends Input {
+        private final ItemRefs refs;
+        private final int refBase;
+
+        private ItemInput(InputStream is, ItemRefs refs, int refBase) {
+            super(new XdrInputFormat(is));
+            this.refs = refs;
+            this.refBase = refBase;
+        }
+
+        @Override
+        protected Object addReadRef(Object item) {
+            super.addReadRef(item);
+            refs.define(refBase + refTableIndex, item);
+            return item;
+        }
+
+        @Override
+        protected Object getReadRef(int index) {
+            return index <= refBase ? refs.get(index) : super.getReadRef(index - refBase);
+        }
+    }
+
     /**
      * Traces the items read for debugging.
      */
@@ -1474,17 +1577,33 @@ public class RSerialize {
 
         abstract void writeRaw(byte value) throws IOException;
 
+        /**
+         * Writes the first {@code length} elements of {@code values}, equivalent to calling
+         * {@link #writeInt(int)} for each.
+         */
+        abstract void writeInts(int[] values, int length) throws IOException;
+
+        /**
+         * Writes the first {@code length} elements of {@code values}, equivalent to calling
+         * {@link #writeDouble(double)} for each.
+         */
+        abstract void writeDoubles(double[] values, int length) throws IOException;
+
+        abstract void writeRaws(byte[] values, int length) throws IOException;
+
         abstract void flush() throws IOException;
 
     }
 
     private static class XdrOutputFormat extends POutputStream {
+        private static final int WRITE_BUFFER_SIZE = 32 * 1024;
+
         private final byte[] buf;
         private int offset;
 
         XdrOutputFormat(OutputStream os) {
             super(os);
-            buf = new byte[8192];
+            buf = new byte[WRITE_BUFFER_SIZE];
             buf[offset++] = 'X';
             buf[offset++] = '\n';
         }
@@ -1552,6 +1671,42 @@ public class RSerialize {
             buf[offset++] = (byte) (valueBits & 0xff);
         }
 
+        @Override
+        void writeInts(int[] values, int length) throws IOException {
+            int pos = 0;
+            while (pos < length) {
+                ensureSpace(4);
+                int n = Math.min(length - pos, (buf.length - offset) / 4);
+                ByteBuffer.wrap(buf, offset, n * 4).asIntBuffer().put(values, pos, n);
+                offset += n * 4;
+                pos += n;
+            }
+        }
+
+        @Override
+        void writeDoubles(double[] values, int length) throws IOException {
+            int pos = 0;
+            while (pos < length) {
+                ensureSpace(8);
+                int n = Math.min(length - pos, (buf.length - offset) / 8);
+                ByteBuffer.wrap(buf, offset, n * 8).asDoubleBuffer().put(values, pos, n);
+                offset += n * 8;
+                pos += n;
+            }
+        }
+
+        @Override
+        void writeRaws(byte[] values, int length) throws IOException {
+            if (length > buf.length) {
+                flushBuffer();
+                os.write(values, 0, length);
+            } else {
+                ensureSpace(length);
+                System.arraycopy(values, 0, buf, offset, length);
+                offset += length;
+            }
+        }
+
         private void ensureSpace(int n) throws IOException {
             if (offset + n > buf.length) {
                 flushBuffer();
@@ -1787,6 +1942,12 @@ public class RSerialize {
                             case LGLSXP: {
                                 // logicals are written as ints
                                 RAbstractVector vector = (RAbstractVector) obj;
+                                int[] data = obj instanceof RIntVector && vector.isMaterialized() ? ((RIntVector) obj).getInternalManagedData() : null;
+                                if (data != null) {
+                                    stream.writeInt(vector.getLength());
+                                    stream.writeInts(data, vector.getLength());
+                                    break;
+                                }
                                 VectorAccess access = vector.slowPathAccess();
                                 SequentialIterator iter = access.access(vector);
                                 stream.writeInt(access.getLength(iter));
@@ -1798,6 +1959,12 @@ public class RSerialize {
 
                             case REALSXP: {
                                 RDoubleVector vector = (RDoubleVector) obj;
+                                double[] data = vector.isMaterialized() ? vector.getInternalManagedData() : null;
+                                if (data != null) {
+                                    stream.writeInt(vector.getLength());
+                                    stream.writeDoubles(data, vector.getLength());
+                                    break;
+                                }
                                 VectorAccess access = vector.slowPathAccess();
                                 SequentialIterator iter = access.access(vector);
                                 stream.writeInt(access.getLength(iter));
@@ -1838,6 +2005,12 @@ public class RSerialize {
 
                             case RAWSXP: {
                                 RRawVector vector = (RRawVector) obj;
+                                byte[] data = vector.isMaterialized() ? vector.getInternalManagedData() : null;
+                                if (data != null) {
+                                    stream.writeInt(vector.getLength());
+                                    stream.writeRaws(data, vector.getLength());
+                                    break;
+                                }
                                 VectorAccess access = vector.slowPathAccess();
                                 SequentialIterator iter = access.access(vector);
                                 stream.writeInt(access.getLength(iter));
@@ -0,0 +1,476 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.conn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.ffi.util.ResourcesCleaner.ReleasableWeakReference;
+
+/**
+ * Streams that move the I/O, including (de)compression, of file connections to a worker thread,
+ * enabled by {@link FastROptions#AsyncConnectionIO}. The worker and the R evaluation thread
+ * exchange blocks of {@link #BLOCK_SIZE} bytes through a queue of at most {@link #QUEUE_CAPACITY}
+ * blocks, so that at most this much data is read ahead or waits to be written. An error on the
+ * worker thread is reported by the next operation on the stream.
+ *
+ * The worker threads are system threads of the context, which do not enter it. A worker is stopped
+ * when its stream is closed, when the stream becomes unreachable without being closed (e.g. a
+ * connection that is never closed), or at the latest when the context is disposed.
+ */
+final class AsyncStreams {
+
+    private static final int BLOCK_SIZE = 256 * 1024;
+    private static final int QUEUE_CAPACITY = 4;
+
+    private AsyncStreams() {
+        // no instances
+    }
+
+    private static boolean isEnabled() {
+        return RContext.getInstance().getOption(FastROptions.AsyncConnectionIO);
+    }
+
+    /**
+     * Wraps the stream into a {@link ReadAheadInputStream} if asynchronous I/O is enabled.
+     */
+    static InputStream readAhead(InputStream in) {
+        return isEnabled() ? new ReadAheadInputStream(in) : in;
+    }
+
+    /**
+     * Wraps the stream into a {@link WriteBehindOutputStream} if asynchronous I/O is enabled.
+     */
+    static OutputStream writeBehind(OutputStream out) {
+        return isEnabled() ? new WriteBehindOutputStream(out) : out;
+    }
+
+    /**
+     * Closes the streams of a context that is being disposed and stops their workers.
+     */
+    static void closeAll(Set<StreamReference> streams) {
+        for (StreamReference ref : new ArrayList<>(streams)) {
+            Closeable stream = ref.get();
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException ex) {
+                    // ignore
+                }
+            }
+            ref.release();
+        }
+    }
+
+    private static final class Block {
+        static final Block END = new Block(null, -1);
+
+        final byte[] data;
+        final int length;
+        final IOException error;
+        final CountDownLatch flushed;
+
+        Block(byte[] data, int length) {
+            this(data, length, null, null);
+        }
+
+        private Block(byte[] data, int length, IOException error, CountDownLatch flushed) {
+            this.data = data;
+            this.length = length;
+            this.error = error;
+            this.flushed = flushed;
+        }
+
+        static Block error(IOException error) {
+            return new Block(null, -1, error, null);
+        }
+
+        static Block flush() {
+            return new Block(null, 0, null, new CountDownLatch(1));
+        }
+    }
+
+    /**
+     * The part of an asynchronous stream that is shared with its worker thread. It must not refer
+     * to the stream itself, so that an unreachable stream can be detected and its worker stopped.
+     */
+    private abstract static class Worker implements Runnable {
+        final BlockingQueue<Block> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private Thread thread;
+
+        /**
+         * Closes the wrapped stream once the worker has finished.
+         */
+        abstract void closeStream() throws IOException;
+
+        final void start(String name) {
+            thread = RContext.getInstance().getEnv().createSystemThread(this);
+            thread.setName(name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        final void join() throws InterruptedException {
+            thread.join();
+        }
+
+        /**
+         * Stops the worker, dropping any data that have not been processed, and closes the wrapped
+         * stream. Does nothing if the worker has already been stopped.
+         */
+        final void shutdown() {
+            boolean interrupted = false;
+            thread.interrupt();
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            try {
+                closeStream();
+            } catch (IOException ex) {
+                // ignore
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Registers an asynchronous stream with the context and stops its worker when the stream
+     * becomes unreachable.
+     */
+    static final class StreamReference extends ReleasableWeakReference<Closeable> {
+        private final Worker worker;
+        private final Set<StreamReference> streams;
+
+        private StreamReference(Closeable stream, Worker worker) {
+            super(stream);
+            this.worker = worker;
+            this.streams = ConnectionSupport.getAsyncStreams();
+            streams.add(this);
+        }
+
+        /**
+         * Unregisters a stream closed regularly, i.e., one whose worker has finished.
+         */
+        void closed() {
+            streams.remove(this);
+            clear();
+        }
+
+        @Override
+        public void release() {
+            clear();
+            if (streams.remove(this)) {
+                worker.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Reads the wrapped stream, e.g. a decompressing stream, on a worker thread ahead of the
+     * consumer. The stream is not seekable.
+     */
+    static final class ReadAheadInputStream extends InputStream {
+        private final Prefetcher worker;
+        private final StreamReference ref;
+        private Block current;
+        private int pos;
+        private boolean closed;
+
+        ReadAheadInputStream(InputStream in) {
+            this.worker = new Prefetcher(in);
+            worker.start("FastR connection read-ahead");
+            this.ref = new StreamReference(this, worker);
+        }
+
+        private static final class Prefetcher extends Worker {
+            private final InputStream in;
+
+            Prefetcher(InputStream in) {
+                this.in = in;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    while (true) {
+                        byte[] data = new byte[BLOCK_SIZE];
+                        int length = 0;
+                        int n;
+                        while (length < data.length && (n = in.read(data, length, data.length - length)) > 0) {
+                            length += n;
+                        }
+                        if (length == 0) {
+                            queue.put(Block.END);
+                            return;
+                        }
+                        queue.put(new Block(data, length));
+                    }
+                } catch (IOException ex) {
+                    try {
+                        queue.put(Block.error(ex));
+                    } catch (InterruptedException ie) {
+                        // closed
+                    }
+                } catch (InterruptedException ex) {
+                    // closed
+                }
+            }
+
+            @Override
+            void closeStream() throws IOException {
+                queue.clear();
+                in.close();
+            }
+        }
+
+        /**
+         * Makes the next block current, returns {@code false} at the end of the stream.
+         */
+        private boolean nextBlock() throws IOException {
+            if (closed) {
+                throw new IOException("stream closed");
+            }
+            if (current != null && pos < current.length) {
+                return true;
+            }
+            if (current == Block.END) {
+                return false;
+            }
+            try {
+                current = worker.queue.take();
+            } catch (InterruptedException ex) {
+                throw new InterruptedIOException();
+            }
+            pos = 0;
+            if (current.error != null) {
+                IOException error = current.error;
+                current = Block.END;
+                throw error;
+            }
+            return current != Block.END;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!nextBlock()) {
+                return -1;
+            }
+            return current.data[pos++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!nextBlock()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length - pos);
+            System.arraycopy(current.data, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return current == null || current == Block.END ? 0 : current.length - pos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // the data read ahead are not needed, shutdown also closes the wrapped stream
+            ref.release();
+        }
+    }
+
+    /**
+     * Writes to the wrapped stream, e.g. a compressing stream, on a worker thread. {@link #flush()}
+     * returns once all data written so far have been passed to the wrapped stream, {@link #close()}
+     * also waits for the wrapped stream to be closed.
+     */
+    static final class WriteBehindOutputStream extends OutputStream {
+        private final Drainer worker;
+        private final StreamReference ref;
+        private byte[] block = new byte[BLOCK_SIZE];
+        private int count;
+        private boolean endQueued;
+        private boolean closed;
+
+        WriteBehindOutputStream(OutputStream out) {
+            this.worker = new Drainer(out);
+            worker.start("FastR connection write-behind");
+            this.ref = new StreamReference(this, worker);
+        }
+
+        private static final class Drainer extends Worker {
+            private final OutputStream out;
+            private volatile IOException error;
+
+            Drainer(OutputStream out) {
+                this.out = out;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    while (true) {
+                        Block b = queue.take();
+                        if (b == Block.END) {
+                            return;
+                        }
+                        if (b.flushed != null) {
+                            b.flushed.countDown();
+                        } else if (error == null) {
+                            try {
+                                out.write(b.data, 0, b.length);
+                            } catch (IOException ex) {
+                                // the remaining blocks are dropped, the error is reported to the
+                                // writer
+                                error = ex;
+                            }
+                        }
+                    }
+                } catch (InterruptedException ex) {
+                    // closed
+                }
+            }
+
+            @Override
+            void closeStream() throws IOException {
+                out.close();
+            }
+        }
+
+        private void checkError() throws IOException {
+            IOException ex = worker.error;
+            if (ex != null) {
+                throw ex;
+            }
+        }
+
+        private void enqueue(Block b) throws IOException {
+            try {
+                worker.queue.put(b);
+            } catch (InterruptedException ex) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        private void enqueueBlock() throws IOException {
+            if (count > 0) {
+                enqueue(new Block(block, count));
+                block = new byte[BLOCK_SIZE];
+                count = 0;
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed || endQueued) {
+                throw new IOException("stream closed");
+            }
+            checkError();
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                int n = Math.min(remaining, block.length - count);
+                System.arraycopy(b, offset, block, count, n);
+                count += n;
+                offset += n;
+                remaining -= n;
+                if (count == block.length) {
+                    enqueueBlock();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (closed || endQueued) {
+                return;
+            }
+            enqueueBlock();
+            Block marker = Block.flush();
+            enqueue(marker);
+            try {
+                marker.flushed.await();
+            } catch (InterruptedException ex) {
+                throw new InterruptedIOException();
+            }
+            checkError();
+        }
+
+        /**
+         * Hands the remaining data over to the worker and closes the wrapped stream once the worker
+         * has written them. If this is interrupted, the stream stays open and the worker keeps
+         * running until {@link #close()} is called again or the context is disposed.
+         */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            if (!endQueued) {
+                enqueueBlock();
+                enqueue(Block.END);
+                endQueued = true;
+            }
+            try {
+                worker.join();
+            } catch (InterruptedException ex) {
+                throw new InterruptedIOException();
+            }
+            closed = true;
+            ref.closed();
+            worker.closeStream();
+            checkError();
+        }
+    }
+}
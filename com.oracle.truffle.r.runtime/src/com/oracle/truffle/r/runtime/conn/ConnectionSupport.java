@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -38,6 +38,8 @@ import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -80,6 +82,16 @@ public class ConnectionSupport {
          */
         private int hwm = 2;
 
+        /**
+         * Selector shared by all socket connections of the context, created lazily.
+         */
+        private SocketConnections.SocketSelector socketSelector;
+
+        /**
+         * Asynchronous streams whose worker threads have not finished yet.
+         */
+        private final Set<AsyncStreams.StreamReference> asyncStreams = ConcurrentHashMap.newKeySet();
+
         private ContextStateImpl() {
             for (int i = 0; i < MAX_CONNECTIONS; i++) {
                 allConnections.add(i, null);
@@ -175,6 +187,18 @@ public class ConnectionSupport {
                     ref.clear();
                 }
             }
+            if (socketSelector != null) {
+                socketSelector.close();
+                socketSelector = null;
+            }
+            AsyncStreams.closeAll(asyncStreams);
+        }
+
+        SocketConnections.SocketSelector getSocketSelector() throws IOException {
+            if (socketSelector == null) {
+                socketSelector = new SocketConnections.SocketSelector();
+            }
+            return socketSelector;
         }
 
         private static void closeAndDestroy(BaseRConnection con) {
@@ -196,6 +220,14 @@ public class ConnectionSupport {
         return RContext.getInstance().stateRConnection;
     }
 
+    static SocketConnections.SocketSelector getSocketSelector() throws IOException {
+        return getContextStateImpl().getSocketSelector();
+    }
+
+    static Set<AsyncStreams.StreamReference> getAsyncStreams() {
+        return getContextStateImpl().asyncStreams;
+    }
+
     private static final class ModeException extends IOException {
         private static final long serialVersionUID = 1L;
 
@@ -915,6 +947,14 @@ public class ConnectionSupport {
             return false;
         }
 
+        /**
+         * Determines if the connection reads a regular file, whose data are all available, unlike
+         * those of, e.g., a FIFO, on which reading more than needed could block.
+         */
+        public boolean readsRegularFile() {
+            return false;
+        }
+
         public OpenMode getOpenMode() {
             return openMode;
         }
@@ -1147,6 +1187,16 @@ public class ConnectionSupport {
             // Use 'description' and not 'path' since this may be different, e.g., on temp files.
             return description;
         }
+
+        @Override
+        @TruffleBoundary
+        public boolean readsRegularFile() {
+            try {
+                return path != null && path.isRegularFile();
+            } catch (SecurityException e) {
+                return false;
+            }
+        }
     }
 
     public static ByteChannel newChannel(InputStream in) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.channels.ByteChannel;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
@@ -35,7 +36,9 @@ import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.Objects;
@@ -51,6 +54,11 @@ import com.oracle.truffle.r.runtime.data.RStringVector;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+import org.tukaani.xz.LZMA2Options;
+import org.tukaani.xz.XZ;
+import org.tukaani.xz.XZInputStream;
+import org.tukaani.xz.XZOutputStream;
+
 /**
  * Actually performs the I/O operations for a connections.<br>
  * <p>
@@ -63,6 +71,7 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
     protected final BaseRConnection base;
     private final ByteBuffer cache;
     private final boolean readCache;
+    private OutputEncoder outputEncoder;
 
     DelegateRConnection(BaseRConnection base) {
         this(base, DEFAULT_CACHE_SIZE, true);
@@ -239,68 +248,47 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
     }
 
     /**
-     * Writes a string to a channel.
+     * Writes a string to this connection.
      *
-     * @param out the channel
      * @param s The actual string to write.
      * @param nl Indicates if a line separator should be appended.
-     * @param encoding The encoding to use for writing.
      * @return {@code true} if an incomplete line was written; {@code false} otherwise
      * @throws IOException
      */
     @TruffleBoundary
-    public static boolean writeStringHelper(WritableByteChannel out, String s, boolean nl, Charset encoding) throws IOException {
-        boolean incomplete;
-        final byte[] bytes = s.getBytes(encoding);
-        final byte[] lineSepBytes = nl ? System.lineSeparator().getBytes(encoding) : null;
-
-        ByteBuffer buf = ByteBuffer.allocate(bytes.length + (nl ? lineSepBytes.length : 0));
-        buf.put(bytes);
+    private boolean writeStringHelper(String s, boolean nl) throws IOException {
+        OutputEncoder encoder = getOutputEncoder();
+        encoder.put(this, s);
         if (nl) {
-            buf.put(lineSepBytes);
-            incomplete = false;
-        } else {
-            incomplete = !s.contains("\n");
+            encoder.put(this, System.lineSeparator());
         }
-
-        buf.rewind();
-        out.write(buf);
-        return incomplete;
+        encoder.flush(this);
+        return !nl && !s.contains("\n");
     }
 
     /**
-     * Writes characters in binary mode (without any re-encoding) to the provided channel.
+     * Writes characters in binary mode (without any re-encoding) to this connection.
      *
-     * @param channel The writable byte channel to write to (must not be {@code null}).
      * @param s The character string to write (must not be {@code null}).
      * @param pad The number of null characters to append to the characters.
      * @param eos The end-of-string terminator (may be {@code null}).
      * @throws IOException
      */
     @TruffleBoundary
-    public static void writeCharHelper(WritableByteChannel channel, String s, int pad, String eos) throws IOException {
-
-        final byte[] bytes = s.getBytes();
-        final byte[] eosBytes = eos != null ? eos.getBytes() : null;
-
-        final int bufLen = bytes.length + (pad > 0 ? pad : 0) + (eos != null ? eosBytes.length + 1 : 0);
-        assert bufLen >= s.length();
-        ByteBuffer buf = ByteBuffer.allocate(bufLen);
-        buf.put(bytes);
-        if (pad > 0) {
-            for (int i = 0; i < pad; i++) {
-                buf.put((byte) 0);
-            }
+    private void writeCharHelper(String s, int pad, String eos) throws IOException {
+        OutputEncoder encoder = getOutputEncoder();
+        encoder.putBytes(this, s.getBytes());
+        for (int i = 0; i < pad; i++) {
+            encoder.putByte(this, (byte) 0);
         }
         if (eos != null) {
             if (eos.length() > 0) {
-                buf.put(eos.getBytes());
+                encoder.putBytes(this, eos.getBytes());
             }
             // function writeChar is defined to append the null character if eos != null
-            buf.put((byte) 0);
+            encoder.putByte(this, (byte) 0);
         }
-        buf.rewind();
-        channel.write(buf);
+        encoder.flush(this);
     }
 
     /**
@@ -390,28 +378,23 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
     }
 
     @TruffleBoundary
-    public static boolean writeLinesHelper(WritableByteChannel out, RStringVector lines, String sep, Charset encoding) throws IOException {
-        if (sep != null && sep.contains("\n")) {
-            // fast path: we know that the line is complete
-            final ByteBuffer nlBuf = ByteBuffer.wrap(sep.getBytes(encoding));
-            for (int i = 0; i < lines.getLength(); i++) {
-                final String line = lines.getDataAt(i);
-                final ByteBuffer buf = ByteBuffer.wrap(line.getBytes(encoding));
-                out.write(buf);
-                nlBuf.rewind();
-                out.write(nlBuf);
-            }
-            return false;
-        } else {
-            // slow path: we have to scan every string if it contains a newline
-            boolean incomplete = false;
-            for (int i = 0; i < lines.getLength(); i++) {
-                final String line = lines.getDataAt(i);
-                incomplete = DelegateRConnection.writeStringHelper(out, line, false, encoding);
-                incomplete = DelegateRConnection.writeStringHelper(out, sep, false, encoding) || incomplete;
-            }
-            return incomplete;
+    private boolean writeLinesHelper(RStringVector lines, String sep) throws IOException {
+        OutputEncoder encoder = getOutputEncoder();
+        for (int i = 0; i < lines.getLength(); i++) {
+            encoder.put(this, lines.getDataAt(i));
+            encoder.put(this, sep);
         }
+        encoder.flush(this);
+        // the output ends with a complete line iff the separator contains a newline
+        return lines.getLength() > 0 && !sep.contains("\n");
+    }
+
+    private OutputEncoder getOutputEncoder() {
+        Charset encoding = base.getEncoding();
+        if (outputEncoder == null || !outputEncoder.charset.equals(encoding)) {
+            outputEncoder = new OutputEncoder(encoding);
+        }
+        return outputEncoder;
     }
 
     @Override
@@ -442,18 +425,18 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
 
     @Override
     public void writeChar(String s, int pad, String eos, boolean useBytes) throws IOException {
-        DelegateRConnection.writeCharHelper(this, s, pad, eos);
+        writeCharHelper(s, pad, eos);
     }
 
     @Override
     public void writeLines(RStringVector lines, String sep, boolean useBytes) throws IOException {
-        boolean incomplete = DelegateRConnection.writeLinesHelper(this, lines, sep, base.getEncoding());
+        boolean incomplete = writeLinesHelper(lines, sep);
         base.setIncomplete(incomplete);
     }
 
     @Override
     public void writeString(String s, boolean nl) throws IOException {
-        DelegateRConnection.writeStringHelper(this, s, nl, base.getEncoding());
+        writeStringHelper(s, nl);
     }
 
     @Override
@@ -481,6 +464,15 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
     @TruffleBoundary
     public int write(ByteBuffer src) throws IOException {
         if (!readCache && cache != null) {
+            if (src.remaining() >= cache.capacity()) {
+                // large writes (e.g. writeBin of a long vector) bypass the cache
+                flush();
+                int total = 0;
+                while (src.hasRemaining()) {
+                    total += getChannel().write(src);
+                }
+                return total;
+            }
             int total = 0;
             while (src.hasRemaining()) {
                 total += transfer(src, cache);
@@ -559,6 +551,18 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
 
     @Override
     public int readBin(ByteBuffer buffer) throws IOException {
+        if (readCache && cache != null && buffer.remaining() >= cache.capacity()) {
+            // large reads (e.g. readBin of a long vector) bypass the cache once it is drained
+            int total = transfer(cache, buffer);
+            while (buffer.hasRemaining()) {
+                int read = getChannel().read(buffer);
+                if (read <= 0) {
+                    break;
+                }
+                total += read;
+            }
+            return total;
+        }
         int read = read(buffer);
         return read < 0 ? 0 : read;
     }
@@ -602,7 +606,9 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
     public void flush() throws IOException {
         if (!readCache && cache != null) {
             cache.flip();
-            getChannel().write(cache);
+            while (cache.hasRemaining()) {
+                getChannel().write(cache);
+            }
             cache.clear();
         }
     }
@@ -637,29 +643,153 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
         return RType.Connection;
     }
 
+    /**
+     * Encodes the strings written in text mode into a buffer that is reused by all the write
+     * operations on a connection, so that writing many short strings (e.g. lines in
+     * {@code writeLines} or rows in {@code write.table}) results in a few large writes to the
+     * connection instead of an array allocation and a write per string. The buffer is always
+     * flushed at the end of an operation, so no data is kept here between operations.
+     */
+    private static final class OutputEncoder {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final Charset charset;
+        private final CharsetEncoder encoder;
+        private final boolean asciiCompatible;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        OutputEncoder(Charset charset) {
+            this.charset = charset;
+            this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.asciiCompatible = charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII);
+        }
+
+        void put(WritableByteChannel out, String s) throws IOException {
+            int length = s.length();
+            if (asciiCompatible && length <= buffer.capacity()) {
+                if (buffer.remaining() < length) {
+                    flush(out);
+                }
+                // fast path: ASCII characters are copied directly
+                byte[] array = buffer.array();
+                int pos = buffer.position();
+                int i = 0;
+                while (i < length && s.charAt(i) < 0x80) {
+                    array[pos + i] = (byte) s.charAt(i);
+                    i++;
+                }
+                if (i == length) {
+                    buffer.position(pos + length);
+                    return;
+                }
+                // the string is not ASCII, the bytes copied so far are overwritten below
+            }
+            CharBuffer chars = CharBuffer.wrap(s);
+            encoder.reset();
+            while (encoder.encode(chars, buffer, true).isOverflow()) {
+                flush(out);
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                flush(out);
+            }
+        }
+
+        void putBytes(WritableByteChannel out, byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    flush(out);
+                }
+                int n = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, n);
+                offset += n;
+            }
+        }
+
+        void putByte(WritableByteChannel out, byte b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush(out);
+            }
+            buffer.put(b);
+        }
+
+        void flush(WritableByteChannel out) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
     private static final int GZIP_BUFFER_SIZE = (2 << 20);
 
     static DelegateRConnection createGZIPDelegateOutputConnection(BaseRConnection base, OutputStream os) throws IOException {
+        return createGZIPDelegateOutputConnection(base, os, false);
+    }
+
+    /**
+     * @param async whether the compression may run on a worker thread, see {@link AsyncStreams}
+     */
+    static DelegateRConnection createGZIPDelegateOutputConnection(BaseRConnection base, OutputStream os, boolean async) throws IOException {
         assert base.getOpenMode().canWrite();
-        return new CompressedOutputRConnection(base, new GZIPOutputStream(os, GZIP_BUFFER_SIZE), true);
+        OutputStream gzos = new GZIPOutputStream(os, GZIP_BUFFER_SIZE);
+        return new CompressedOutputRConnection(base, async ? AsyncStreams.writeBehind(gzos) : gzos, true);
     }
 
     static DelegateRConnection createGZIPDelegateInputConnection(BaseRConnection base, InputStream is) throws IOException {
+        return createGZIPDelegateInputConnection(base, is, false);
+    }
+
+    /**
+     * @param async whether the decompression may run on a worker thread, see {@link AsyncStreams}
+     */
+    static DelegateRConnection createGZIPDelegateInputConnection(BaseRConnection base, InputStream is, boolean async) throws IOException {
+        assert base.getOpenMode().canRead();
+        InputStream gzis = new GZIPInputStream(is, GZIP_BUFFER_SIZE);
+        return new CompressedInputRConnection(base, async ? AsyncStreams.readAhead(gzis) : gzis);
+    }
+
+    /**
+     * @param async whether the compression may run on a worker thread, see {@link AsyncStreams}
+     */
+    static DelegateRConnection createXZDelegateOutputConnection(BaseRConnection base, OutputStream os, boolean async) throws IOException {
+        assert base.getOpenMode().canWrite();
+        OutputStream xzos = new XZOutputStream(os, new LZMA2Options(), XZ.CHECK_CRC32);
+        return new CompressedOutputRConnection(base, async ? AsyncStreams.writeBehind(xzos) : xzos, false);
+    }
+
+    /**
+     * @param async whether the decompression may run on a worker thread, see {@link AsyncStreams}
+     */
+    static DelegateRConnection createXZDelegateInputConnection(BaseRConnection base, InputStream is, boolean async) throws IOException {
         assert base.getOpenMode().canRead();
-        return new CompressedInputRConnection(base, new GZIPInputStream(is, GZIP_BUFFER_SIZE));
+        InputStream xzis = new XZInputStream(is);
+        return new CompressedInputRConnection(base, async ? AsyncStreams.readAhead(xzis) : xzis);
     }
 
     static class CompressedOutputRConnection extends DelegateWriteRConnection {
         protected ByteChannel channel;
+        private final OutputStream stream;
         private final boolean seekable;
         private long seekPosition = 0L;
 
         protected CompressedOutputRConnection(BaseRConnection base, OutputStream os, boolean seekable) {
             super(base);
             this.seekable = seekable;
+            this.stream = os;
             this.channel = ConnectionSupport.newChannel(os);
         }
 
+        @Override
+        public void flush() throws IOException {
+            super.flush();
+            if (stream instanceof AsyncStreams.WriteBehindOutputStream) {
+                // wait until the data have been handed over to the compressor
+                stream.flush();
+            }
+        }
+
         @Override
         public void closeAndDestroy() throws IOException {
             base.closed = true;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,15 +28,11 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
 import java.util.EnumSet;
 
-import org.tukaani.xz.LZMA2Options;
-import org.tukaani.xz.XZ;
-import org.tukaani.xz.XZInputStream;
-import org.tukaani.xz.XZOutputStream;
-
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.r.runtime.RCompression;
@@ -57,6 +53,12 @@ import java.util.Set;
 
 public class FileConnections {
 
+    /**
+     * Regular files of at least this size opened for reading only are read from a memory mapping,
+     * see {@link MappedFileReadRConnection}.
+     */
+    static final long MAPPED_READ_THRESHOLD = 1024 * 1024;
+
     /**
      * Base class for all modes of file connections.
      */
@@ -176,10 +178,10 @@ public class FileConnections {
         DelegateRConnection delegate = null;
         switch (base.getOpenMode().abstractOpenMode) {
             case Read:
-                delegate = new FileReadTextRConnection(base);
+                delegate = createFileReadDelegateConnection(base, true);
                 break;
             case ReadBinary:
-                delegate = new FileReadBinaryRConnection(base);
+                delegate = createFileReadDelegateConnection(base, false);
                 break;
             case Write:
                 delegate = new FileWriteTextRConnection(base, false);
@@ -208,23 +210,12 @@ public class FileConnections {
         return delegate;
     }
 
-    private static DelegateRConnection createXZDelegateConnection(BasePathRConnection base) throws IOException {
-
-        switch (base.getOpenMode().abstractOpenMode) {
-            case Read:
-            case ReadBinary:
-                return new CompressedInputRConnection(base, new XZInputStream(base.path.newInputStream()));
-            case Append:
-            case AppendBinary:
-                TruffleFile afile = base.path;
-                return new CompressedOutputRConnection(base, new XZOutputStream(afile.newOutputStream(StandardOpenOption.APPEND), new LZMA2Options(), XZ.CHECK_CRC32), false);
-            case Write:
-            case WriteBinary:
-                TruffleFile wfile = base.path;
-                return new CompressedOutputRConnection(base, new XZOutputStream(wfile.newOutputStream(), new LZMA2Options(), XZ.CHECK_CRC32), false);
-            default:
-                throw RError.nyi(RError.SHOW_CALLER2, "open mode: " + base.getOpenMode());
+    private static DelegateRConnection createFileReadDelegateConnection(BasePathRConnection base, boolean text) throws IOException {
+        SeekableByteChannel channel = base.path.newByteChannel(Collections.singleton(StandardOpenOption.READ));
+        if (channel instanceof FileChannel && base.path.isRegularFile() && channel.size() >= MAPPED_READ_THRESHOLD) {
+            return new MappedFileReadRConnection(base, (FileChannel) channel, text);
         }
+        return text ? new FileReadTextRConnection(base, channel) : new FileReadBinaryRConnection(base, channel);
     }
 
     private static DelegateRConnection createBZIP2DelegateConnection(BasePathRConnection base) throws IOException {
@@ -275,18 +266,30 @@ public class FileConnections {
                 switch (base.getOpenMode().abstractOpenMode) {
                     case Read:
                     case ReadBinary:
-                        return DelegateRConnection.createGZIPDelegateInputConnection(base, base.path.newInputStream());
+                        return DelegateRConnection.createGZIPDelegateInputConnection(base, base.path.newInputStream(), true);
                     case Append:
                     case AppendBinary:
-                        return DelegateRConnection.createGZIPDelegateOutputConnection(base, base.path.newOutputStream(StandardOpenOption.APPEND));
+                        return DelegateRConnection.createGZIPDelegateOutputConnection(base, base.path.newOutputStream(StandardOpenOption.APPEND), true);
                     case Write:
                     case WriteBinary:
-                        return DelegateRConnection.createGZIPDelegateOutputConnection(base, base.path.newOutputStream());
+                        return DelegateRConnection.createGZIPDelegateOutputConnection(base, base.path.newOutputStream(), true);
                     default:
                         throw RError.nyi(RError.SHOW_CALLER2, "open mode: " + base.getOpenMode());
                 }
             case XZ:
-                return createXZDelegateConnection(base);
+                switch (base.getOpenMode().abstractOpenMode) {
+                    case Read:
+                    case ReadBinary:
+                        return DelegateRConnection.createXZDelegateInputConnection(base, base.path.newInputStream(), true);
+                    case Append:
+                    case AppendBinary:
+                        return DelegateRConnection.createXZDelegateOutputConnection(base, base.path.newOutputStream(StandardOpenOption.APPEND), true);
+                    case Write:
+                    case WriteBinary:
+                        return DelegateRConnection.createXZDelegateOutputConnection(base, base.path.newOutputStream(), true);
+                    default:
+                        throw RError.nyi(RError.SHOW_CALLER2, "open mode: " + base.getOpenMode());
+                }
             case BZIP2:
                 return createBZIP2DelegateConnection(base);
         }
@@ -312,9 +315,9 @@ public class FileConnections {
 
         private final SeekableByteChannel channel;
 
-        FileReadBinaryRConnection(BasePathRConnection base) throws IOException {
+        FileReadBinaryRConnection(BasePathRConnection base, SeekableByteChannel channel) {
             super(base);
-            channel = base.path.newByteChannel(Collections.singleton(StandardOpenOption.READ));
+            this.channel = channel;
         }
 
         @Override
@@ -335,8 +338,8 @@ public class FileConnections {
 
     static class FileReadTextRConnection extends FileReadBinaryRConnection {
 
-        FileReadTextRConnection(BasePathRConnection base) throws IOException {
-            super(base);
+        FileReadTextRConnection(BasePathRConnection base, SeekableByteChannel channel) {
+            super(base, channel);
         }
 
         @Override
@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.conn;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.conn.ConnectionSupport.BasePathRConnection;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+
+/**
+ * Read-only file connection that reads from a memory mapping of the file instead of copying the
+ * data through the connection cache. Used for large regular files, see
+ * {@link FileConnections#MAPPED_READ_THRESHOLD}.
+ *
+ * The file is mapped in windows of at most {@link #WINDOW_SIZE} bytes, a window is remapped when
+ * the read position leaves it or when a line does not fit into it. {@link #readLines} scans the
+ * mapping for line terminators eight bytes at a time and decodes every line with a single
+ * {@link String} constructor call, the other read operations go through {@link #getChannel()},
+ * which copies from the mapping.
+ */
+class MappedFileReadRConnection extends DelegateReadRConnection {
+
+    private static final int WINDOW_SIZE = 1 << 30;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final long LFS = ONES * '\n';
+    private static final long CRS = ONES * '\r';
+
+    private final FileChannel channel;
+    private final ByteChannel mappedChannel = new MappedChannel();
+    private final boolean text;
+
+    /**
+     * The file size as of the last check, the file may grow while it is read.
+     */
+    private long size;
+    private long position;
+    private ByteBuffer window;
+    private long windowStart;
+    private byte[] lineBuffer = new byte[256];
+
+    MappedFileReadRConnection(BasePathRConnection base, FileChannel channel, boolean text) throws IOException {
+        super(base, 0);
+        this.channel = channel;
+        this.text = text;
+        this.size = channel.size();
+    }
+
+    /**
+     * Returns the mapping that contains the byte at {@code pos} and, as far as the file is long
+     * enough, the following {@code minLength - 1} bytes, or {@code null} if {@code pos} is at or
+     * beyond the end of the file.
+     */
+    private ByteBuffer window(long pos, int minLength) throws IOException {
+        long windowEnd = window == null ? 0 : windowStart + window.limit();
+        boolean inWindow = window != null && pos >= windowStart && pos < windowEnd;
+        if (inWindow && pos + minLength <= windowEnd) {
+            return window;
+        }
+        if (pos + minLength > size) {
+            size = channel.size();
+        }
+        if (pos >= size) {
+            return null;
+        }
+        if (inWindow && windowEnd >= Math.min(size, pos + minLength)) {
+            // there is nothing more to map
+            return window;
+        }
+        long length = Math.min(size - pos, Math.max(WINDOW_SIZE, minLength));
+        window = channel.map(FileChannel.MapMode.READ_ONLY, pos, length).order(ByteOrder.LITTLE_ENDIAN);
+        windowStart = pos;
+        return window;
+    }
+
+    private static long zeroBytes(long v) {
+        return (v - ONES) & ~v & HIGHS;
+    }
+
+    /**
+     * Returns the index of the first line feed, carriage return or NUL in {@code buf} between
+     * {@code from} and {@code to}, or {@code to} if there is none. In the little-endian word, the
+     * lowest flagged byte is always a true match, so a single trailing zero count finds it.
+     */
+    private static int findLineEnd(ByteBuffer buf, int from, int to) {
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long v = buf.getLong(i);
+            long found = zeroBytes(v ^ LFS) | zeroBytes(v ^ CRS) | zeroBytes(v);
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            byte b = buf.get(i);
+            if (b == '\n' || b == '\r' || b == 0) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private String decode(ByteBuffer buf, int offset, int length, Charset encoding) {
+        if (length > lineBuffer.length) {
+            lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+        }
+        buf.position(offset);
+        buf.get(lineBuffer, 0, length);
+        return new String(lineBuffer, 0, length, encoding);
+    }
+
+    @Override
+    @TruffleBoundary
+    public String[] readLines(int n, EnumSet<ReadLineWarning> warn, boolean skipNul) throws IOException {
+        base.setIncomplete(false);
+        Charset encoding = base.getEncoding();
+        ArrayList<String> lines = new ArrayList<>();
+        while (n <= 0 || lines.size() < n) {
+            ByteBuffer buf = window(position, 1);
+            if (buf == null) {
+                break;
+            }
+            int start = (int) (position - windowStart);
+            int end = findLineEnd(buf, start, buf.limit());
+            if (end == buf.limit()) {
+                if (window(position, (int) Math.min(Integer.MAX_VALUE, 2L * (end - start) + 1)) != buf) {
+                    // the line continues beyond the window, which has been remapped
+                    continue;
+                }
+                position = windowStart + end;
+                addIncompleteLine(lines, decode(buf, start, end - start, encoding), warn);
+                break;
+            }
+            byte terminator = buf.get(end);
+            if (terminator == 0) {
+                if (!readLineWithNul(lines, warn, skipNul, encoding)) {
+                    break;
+                }
+            } else {
+                lines.add(decode(buf, start, end - start, encoding));
+                position = windowStart + end + 1;
+                if (terminator == '\r') {
+                    skipLineFeed();
+                }
+            }
+        }
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    /**
+     * Handles a line that is not terminated at the end of the file like
+     * {@link DelegateRConnection#readLines}.
+     */
+    private void addIncompleteLine(ArrayList<String> lines, String line, EnumSet<ReadLineWarning> warn) {
+        if (!base.isBlocking() && base.isTextMode()) {
+            base.pushBack(RDataFactory.createStringVector(line), false);
+            base.setIncomplete(true);
+        } else {
+            lines.add(line);
+            if (warn.contains(ReadLineWarning.INCOMPLETE_LAST_LINE)) {
+                RError.warning(RError.SHOW_CALLER, RError.Message.INCOMPLETE_FINAL_LINE, base.getSummaryDescription());
+            }
+        }
+    }
+
+    /**
+     * Reads a line that contains NUL bytes byte by byte, with the semantics of
+     * {@link DelegateRConnection#readLines}. Returns {@code false} if the end of the file has been
+     * reached.
+     */
+    private boolean readLineWithNul(ArrayList<String> lines, EnumSet<ReadLineWarning> warn, boolean skipNul, Charset encoding) throws IOException {
+        int length = 0;
+        boolean nullRead = false;
+        while (true) {
+            int ch = readInternal();
+            if (ch < 0) {
+                if (length > 0) {
+                    addIncompleteLine(lines, new String(lineBuffer, 0, length, encoding), warn);
+                }
+                return false;
+            }
+            if (ch == '\n' || ch == '\r') {
+                if (ch == '\r') {
+                    skipLineFeed();
+                }
+                lines.add(new String(lineBuffer, 0, length, encoding));
+                return true;
+            } else if (ch == 0) {
+                nullRead = true;
+                if (warn.contains(ReadLineWarning.EMBEDDED_NUL) && !skipNul) {
+                    RError.warning(RError.SHOW_CALLER, RError.Message.LINE_CONTAINS_EMBEDDED_NULLS, lines.size() + 1);
+                }
+            }
+            if (!nullRead) {
+                if (length == lineBuffer.length) {
+                    lineBuffer = Arrays.copyOf(lineBuffer, length * 2);
+                }
+                lineBuffer[length++] = (byte) ch;
+            }
+            if (skipNul) {
+                nullRead = false;
+            }
+        }
+    }
+
+    private void skipLineFeed() throws IOException {
+        ByteBuffer buf = window(position, 1);
+        if (buf != null && buf.get((int) (position - windowStart)) == '\n') {
+            position++;
+        }
+    }
+
+    @Override
+    protected int readInternal() throws IOException {
+        ByteBuffer buf = window(position, 1);
+        if (buf == null) {
+            return -1;
+        }
+        int b = buf.get((int) (position - windowStart)) & 0xFF;
+        position++;
+        return b;
+    }
+
+    @Override
+    public int readBin(ByteBuffer buffer) throws IOException {
+        if (text) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.ONLY_READ_BINARY_CONNECTION);
+        }
+        return super.readBin(buffer);
+    }
+
+    @Override
+    public byte[] readBinChars() throws IOException {
+        if (text) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.ONLY_READ_BINARY_CONNECTION);
+        }
+        return super.readBinChars();
+    }
+
+    @Override
+    public boolean isSeekable() {
+        return true;
+    }
+
+    @Override
+    protected long seekInternal(long offset, SeekMode seekMode, SeekRWMode seekRWMode) throws IOException {
+        long result = position;
+        switch (seekMode) {
+            case ENQUIRE:
+                break;
+            case CURRENT:
+                position += offset;
+                break;
+            case START:
+                position = offset;
+                break;
+            case END:
+                position = channel.size();
+                break;
+        }
+        return result;
+    }
+
+    @Override
+    public ByteChannel getChannel() {
+        return mappedChannel;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Channel view of the mapped file at the current read position.
+     */
+    private final class MappedChannel implements ByteChannel {
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int total = 0;
+            while (dst.hasRemaining()) {
+                ByteBuffer buf = window(position, 1);
+                if (buf == null) {
+                    return total == 0 ? -1 : total;
+                }
+                int offset = (int) (position - windowStart);
+                int count = Math.min(dst.remaining(), buf.limit() - offset);
+                ByteBuffer src = buf.duplicate();
+                src.position(offset);
+                src.limit(offset + count);
+                dst.put(src);
+                position += count;
+                total += count;
+            }
+            return total;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            throw new IOException(RError.Message.CANNOT_WRITE_CONNECTION.message);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            MappedFileReadRConnection.this.close();
+        }
+    }
+}
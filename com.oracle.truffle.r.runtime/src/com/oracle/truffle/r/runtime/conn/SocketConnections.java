@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,30 +22,33 @@
  */
 package com.oracle.truffle.r.runtime.conn;
 
+import static com.oracle.truffle.r.runtime.conn.ConnectionSupport.AbstractOpenMode.Lazy;
+
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
+import java.nio.channels.Channels;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
-import java.util.HashMap;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.r.runtime.RCompression;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.conn.ConnectionSupport.AbstractOpenMode;
-import static com.oracle.truffle.r.runtime.conn.ConnectionSupport.AbstractOpenMode.Lazy;
 import com.oracle.truffle.r.runtime.conn.ConnectionSupport.BaseRConnection;
 import com.oracle.truffle.r.runtime.conn.ConnectionSupport.ConnectionClass;
 import com.oracle.truffle.r.runtime.conn.ConnectionSupport.OpenMode;
-import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.WritableByteChannel;
-import java.util.zip.GZIPOutputStream;
 
 public class SocketConnections {
     /**
@@ -104,11 +107,7 @@ public class SocketConnections {
             } else if (server) {
                 delegate = new RServerSocketConnection(this);
             } else {
-                if (isBlocking()) {
-                    delegate = new RClientSocketConnection(this);
-                } else {
-                    delegate = new RClientSocketNonBlockConnection(this);
-                }
+                delegate = new RClientSocketConnection(this);
             }
             return delegate;
         }
@@ -157,34 +156,195 @@ public class SocketConnections {
 
         }
 
+        /**
+         * Waits until at least one of the given connections is ready for reading or writing,
+         * respectively, or until the timeout (in milliseconds, negative means no timeout) expires.
+         * Data pushed back to a connection count as readable and make the call return immediately.
+         * A gzcon-ed socket has no channel to wait on and is rejected with an error.
+         */
         @TruffleBoundary
         public static byte[] select(RSocketConnection[] socketConnections, boolean write, long timeout) throws IOException {
-            int op = write ? SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+            SocketChannel[] channels = new SocketChannel[socketConnections.length];
+            boolean[] ready = new boolean[socketConnections.length];
+            boolean anyReady = false;
+            for (int i = 0; i < socketConnections.length; i++) {
+                RSocketConnection con = socketConnections[i];
+                con.checkOpen();
+                if (!(con.theConnection instanceof RSocketDelegateConection)) {
+                    // e.g. a gzcon-ed socket, which reads and writes through a blocking stream
+                    throw RError.error(RError.SHOW_CALLER, RError.Message.GENERIC, "socketSelect() is not supported for connection '" + con.getSummaryDescription() + "'");
+                }
+                channels[i] = ((RSocketDelegateConection) con.theConnection).getSocketChannel();
+                if (!write && con.pushBackLength() > 0) {
+                    ready[i] = true;
+                    anyReady = true;
+                }
+            }
+            ConnectionSupport.getSocketSelector().select(channels, write ? SelectionKey.OP_WRITE : SelectionKey.OP_READ, anyReady ? 0 : timeout, ready);
 
-            HashMap<RSocketConnection, SelectionKey> table = new HashMap<>();
+            byte[] result = new byte[socketConnections.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = RRuntime.asLogical(ready[i]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The {@link Selector}s shared by all socket connections of a context. The socket channels stay
+     * in non-blocking mode and are registered with a selector when they are first waited on, with no
+     * interest set while they are not being waited on. Blocking reads and writes, as well as
+     * {@code socketSelect}, wait for readiness here instead of blocking a thread per socket.
+     *
+     * A selector cannot be waited on by two threads at once, so every wait takes a selector from a
+     * pool of idle ones (opening a new one if there is none). The lock is held only while the pool
+     * and the registrations are updated, not during the wait itself.
+     */
+    static final class SocketSelector {
+        private final ArrayDeque<Selector> idle = new ArrayDeque<>();
+        private final ArrayList<Selector> all = new ArrayList<>();
+        private boolean closed;
+
+        SocketSelector() throws IOException {
             Selector selector = Selector.open();
-            for (RSocketConnection con : socketConnections) {
-                con.checkOpen();
+            idle.push(selector);
+            all.add(selector);
+        }
 
-                SocketChannel sc = (SocketChannel) con.theConnection.getChannel();
-                sc.configureBlocking(false);
-                table.put(con, sc.register(selector, op));
+        private synchronized Selector acquire() throws IOException {
+            if (closed) {
+                throw new IOException("the socket selector is closed");
             }
-            int select;
-            if (timeout >= 0) {
-                select = selector.select(timeout);
+            Selector selector = idle.poll();
+            if (selector == null) {
+                selector = Selector.open();
+                all.add(selector);
+            }
+            return selector;
+        }
+
+        private synchronized void release(Selector selector) {
+            if (closed) {
+                closeSelector(selector);
             } else {
-                select = selector.select();
+                idle.push(selector);
             }
+        }
 
-            byte[] result = new byte[socketConnections.length];
-            if (select > 0) {
+        private static SelectionKey register(SocketChannel channel, Selector selector) throws IOException {
+            SelectionKey key = channel.keyFor(selector);
+            if (key == null || !key.isValid()) {
+                if (key != null) {
+                    // flush the cancelled key
+                    selector.selectNow();
+                }
+                key = channel.register(selector, 0);
+            }
+            return key;
+        }
+
+        /**
+         * Removes the channel from the selectors so that it can be put into blocking mode. The
+         * cancelled keys of a selector that is currently being waited on are flushed by that wait,
+         * which is woken up for it.
+         */
+        synchronized void deregister(SocketChannel channel) throws IOException {
+            for (Selector selector : all) {
+                SelectionKey key = channel.keyFor(selector);
+                if (key != null) {
+                    key.cancel();
+                    if (idle.contains(selector)) {
+                        selector.selectNow();
+                    } else {
+                        selector.wakeup();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Waits for the operation on a single channel, returns {@code false} on timeout.
+         */
+        boolean await(SocketChannel channel, int op, long timeout) throws IOException {
+            boolean[] ready = new boolean[1];
+            select(new SocketChannel[]{channel}, op, timeout, ready);
+            return ready[0];
+        }
+
+        /**
+         * Waits until at least one of the channels is ready for the operation or the timeout (in
+         * milliseconds, negative means no timeout) expires and sets the corresponding elements of
+         * {@code ready}. The {@code null} channels are ignored.
+         */
+        void select(SocketChannel[] channels, int op, long timeout, boolean[] ready) throws IOException {
+            SelectionKey[] keys = new SelectionKey[channels.length];
+            Selector selector = acquire();
+            try {
+                boolean registered = false;
+                synchronized (this) {
+                    for (int i = 0; i < channels.length; i++) {
+                        if (channels[i] != null && channels[i].isOpen()) {
+                            keys[i] = register(channels[i], selector);
+                            keys[i].interestOps(op);
+                            registered = true;
+                        }
+                    }
+                }
+                if (!registered) {
+                    return;
+                }
                 Set<SelectionKey> selectedKeys = selector.selectedKeys();
-                for (int i = 0; i < result.length; i++) {
-                    result[i] = RRuntime.asLogical(selectedKeys.contains(table.get(socketConnections[i])));
+                selectedKeys.clear();
+                long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+                while (true) {
+                    int selected;
+                    if (timeout == 0) {
+                        selected = selector.selectNow();
+                    } else if (timeout < 0) {
+                        selected = selector.select();
+                    } else {
+                        long remaining = deadline - System.currentTimeMillis();
+                        selected = remaining > 0 ? selector.select(remaining) : selector.selectNow();
+                    }
+                    // select may return early without any key being selected, e.g., on wakeup
+                    if (selected > 0 || timeout == 0 || (timeout > 0 && System.currentTimeMillis() >= deadline)) {
+                        break;
+                    }
+                }
+                synchronized (this) {
+                    for (int i = 0; i < keys.length; i++) {
+                        if (keys[i] != null && selectedKeys.contains(keys[i]) && keys[i].isValid() && (keys[i].readyOps() & op) != 0) {
+                            ready[i] = true;
+                        }
+                    }
+                    selectedKeys.clear();
+                }
+            } finally {
+                synchronized (this) {
+                    for (SelectionKey key : keys) {
+                        if (key != null && key.isValid()) {
+                            key.interestOps(0);
+                        }
+                    }
                 }
+                release(selector);
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            for (Selector selector : idle) {
+                closeSelector(selector);
+            }
+            idle.clear();
+        }
+
+        private static void closeSelector(Selector selector) {
+            try {
+                selector.close();
+            } catch (IOException ex) {
+                // ignore
             }
-            return result;
         }
     }
 
@@ -192,9 +352,16 @@ public class SocketConnections {
         SocketChannel getSocketChannel();
     }
 
+    /**
+     * Socket connection whose channel is always in non-blocking mode. A read returns the data that
+     * are available; for a blocking connection, a read that finds no data waits on the
+     * {@link SocketSelector} until the socket is readable, i.e., it blocks like a read from a
+     * blocking channel. A write that cannot proceed waits until the socket is writable or the
+     * connection's timeout expires.
+     */
     private abstract static class RSocketReadWriteConnection extends DelegateReadWriteRConnection implements RSocketDelegateConection {
-        private Socket socket;
         private SocketChannel channel;
+        private ByteChannel selectingChannel;
         protected final RSocketConnection thisBase;
 
         protected RSocketReadWriteConnection(RSocketConnection base) {
@@ -204,23 +371,58 @@ public class SocketConnections {
 
         protected void openStreams(SocketChannel socketArg) throws IOException {
             channel = socketArg;
-            socket = socketArg.socket();
-            if (thisBase.isBlocking()) {
-                channel.configureBlocking(true);
-                // Java (int) timeouts do not meet the POSIX standard of 31 days
-                long millisTimeout = ((long) thisBase.timeout) * 1000;
-                if (millisTimeout > Integer.MAX_VALUE) {
-                    millisTimeout = Integer.MAX_VALUE;
-                }
-                socket.setSoTimeout((int) millisTimeout);
-            } else {
-                channel.configureBlocking(false);
+            channel.configureBlocking(false);
+            // Java (int) timeouts do not meet the POSIX standard of 31 days
+            long millisTimeout = ((long) thisBase.timeout) * 1000;
+            if (millisTimeout > Integer.MAX_VALUE) {
+                millisTimeout = Integer.MAX_VALUE;
             }
+            // like SO_TIMEOUT, zero means no timeout
+            long timeout = millisTimeout > 0 ? millisTimeout : -1;
+            boolean blocking = thisBase.isBlocking();
+            selectingChannel = new ByteChannel() {
+                @Override
+                public int read(ByteBuffer dst) throws IOException {
+                    int n = channel.read(dst);
+                    // as with a channel in blocking mode, the read does not return before some
+                    // data are available or the peer closed the connection
+                    while (n == 0 && blocking && dst.hasRemaining()) {
+                        ConnectionSupport.getSocketSelector().await(channel, SelectionKey.OP_READ, -1);
+                        n = channel.read(dst);
+                    }
+                    return n;
+                }
+
+                @Override
+                public int write(ByteBuffer src) throws IOException {
+                    // like GNU R, writes do not return until all data are sent, regardless of the
+                    // blocking mode of the connection
+                    int total = 0;
+                    while (src.hasRemaining()) {
+                        int n = channel.write(src);
+                        if (n == 0 && !ConnectionSupport.getSocketSelector().await(channel, SelectionKey.OP_WRITE, timeout)) {
+                            throw new SocketTimeoutException("timeout writing to socket");
+                        }
+                        total += n;
+                    }
+                    return total;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return channel.isOpen();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    channel.close();
+                }
+            };
         }
 
         @Override
         public ByteChannel getChannel() {
-            return channel;
+            return selectingChannel;
         }
 
         @Override
@@ -246,6 +448,7 @@ public class SocketConnections {
             socket = socketArg.socket();
             if (!socketArg.isBlocking()) {
                 // have to block with GZIPOutputStream
+                ConnectionSupport.getSocketSelector().deregister(socketArg);
                 socketArg.configureBlocking(true);
             }
             GZIPOutputStream gzipOS = new GZIPOutputStream(socket.getOutputStream());
@@ -286,43 +489,7 @@ public class SocketConnections {
         }
     }
 
-    private abstract static class RSocketReadWriteNonBlockConnection extends DelegateReadWriteRConnection implements RSocketDelegateConection {
-        private Socket socket;
-        private SocketChannel socketChannel;
-
-        protected RSocketReadWriteNonBlockConnection(RSocketConnection base) {
-            super(base, 0);
-        }
-
-        protected void openStreams(Socket socketArg) throws IOException {
-            this.socket = socketArg;
-            this.socketChannel = socket.getChannel();
-            socketChannel.configureBlocking(false);
-        }
-
-        @Override
-        public void close() throws IOException {
-            socketChannel.close();
-            socket.close();
-        }
-
-        @Override
-        public ByteChannel getChannel() {
-            return socketChannel;
-        }
-
-        @Override
-        public SocketChannel getSocketChannel() {
-            return socketChannel;
-        }
-
-        @Override
-        public boolean isSeekable() {
-            return false;
-        }
-    }
-
-    private static class RServerSocketConnection extends RSocketReadWriteConnection implements RSocketDelegateConection {
+    private static class RServerSocketConnection extends RSocketReadWriteConnection {
         private final SocketChannel connectionSocket;
 
         RServerSocketConnection(RSocketConnection base) throws IOException {
@@ -346,17 +513,6 @@ public class SocketConnections {
             super.close();
             connectionSocket.close();
         }
-
-        @Override
-        public ByteChannel getChannel() {
-            return connectionSocket;
-        }
-
-        @Override
-        public SocketChannel getSocketChannel() {
-            return connectionSocket;
-        }
-
     }
 
     private static class RClientSocketConnection extends RSocketReadWriteConnection {
@@ -368,15 +524,6 @@ public class SocketConnections {
         }
     }
 
-    private static class RClientSocketNonBlockConnection extends RSocketReadWriteNonBlockConnection {
-
-        RClientSocketNonBlockConnection(RSocketConnection base) throws IOException {
-            super(base);
-            SocketChannel socketChannel = SocketChannel.open(new InetSocketAddress(base.host, base.port));
-            openStreams(socketChannel.socket());
-        }
-    }
-
     private static class RClientSocketGZipConnection extends RSocketGZipConnection {
         RClientSocketGZipConnection(RSocketConnection base) throws IOException {
             super(base);
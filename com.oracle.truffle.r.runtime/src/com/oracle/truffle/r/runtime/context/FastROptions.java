@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -47,6 +47,7 @@ import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RLogger;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.data.NativeDataAccess.NativeDataInspector;
+import com.oracle.truffle.r.runtime.ffi.RFFIBackendSelector;
 
 /**
  * Options to control the behavior of the FastR system, that relate to the implementation, i.e., are
@@ -67,12 +68,16 @@ public class FastROptions {
     public static final OptionKey<Boolean> PrintErrorStacktraces = new OptionKey<>(false);
     @Option(category = OptionCategory.USER, stability = OptionStability.STABLE, help = "Dumps Java and R stack traces to 'fastr_errors-{context ID}_{PID}.log' for all internal errors") //
     public static final OptionKey<Boolean> PrintErrorStacktracesToFile = new OptionKey<>(false);
-    @Option(category = OptionCategory.USER, stability = OptionStability.STABLE, usageSyntax = "native|llvm", help = "Specifies the RFFI backend.") //
+    @Option(category = OptionCategory.USER, stability = OptionStability.STABLE, usageSyntax = "native|llvm|auto", help = "Specifies the RFFI backend. With 'auto', packages are loaded natively unless their native calls were found to be up-call heavy in a previous run.") //
     public static final OptionKey<String> BackEnd = new OptionKey<>("native");
     @Option(category = OptionCategory.USER, stability = OptionStability.STABLE, usageSyntax = "<package1>,<package2>,...", help = "Native code of specified packages will be executed by LLVM backend.") //
     public static final OptionKey<String> BackEndLLVM = new OptionKey<>("");
     @Option(category = OptionCategory.USER, stability = OptionStability.STABLE, usageSyntax = "<package1>,<package2>,...", help = "Native code of specified packages will be executed by native (NFI) backend.") //
     public static final OptionKey<String> BackEndNative = new OptionKey<>("");
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, usageSyntax = "<path>", help = "Directory where the 'auto' backend stores the backend chosen for each package. Defaults to 'fastr/backends' in the user cache directory.") //
+    public static final OptionKey<String> BackEndCacheDir = new OptionKey<>("");
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, usageSyntax = "<package1>,<package2>,...", help = "Native code of specified packages is reentrant, the native (NFI) backend may run it in several contexts at the same time.") //
+    public static final OptionKey<String> ConcurrentNativePackages = new OptionKey<>("");
 
     @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Enable or disable cache of AST instances specialized for given R environment.") //
     public static final OptionKey<Boolean> EnableClosureCallTargetsCache = new OptionKey<>(true);
@@ -93,6 +98,14 @@ public class FastROptions {
     public static final OptionKey<Boolean> RefCountIncrementOnly = new OptionKey<>(false);
     @Option(category = OptionCategory.INTERNAL, help = "Whether the fast-path special call nodes should be created for simple enough arguments.") //
     public static final OptionKey<Boolean> UseSpecials = new OptionKey<>(true);
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, usageSyntax = "<path>", help = "Directory used to cache parse results of R sources loaded from files (e.g. the base package) across FastR processes.") //
+    public static final OptionKey<String> ParseCacheDir = new OptionKey<>("");
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Read ahead and write behind gzip and xz file connections on a worker thread.") //
+    public static final OptionKey<Boolean> AsyncConnectionIO = new OptionKey<>(false);
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Allocate large vectors directly in native memory at allocation sites whose vectors are usually passed to native code.") //
+    public static final OptionKey<Boolean> NativeFirstAllocation = new OptionKey<>(false);
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Use the pure Java implementation of dgesv, dgetrf, dgecon, dpotrf, dgeqp3, dormqr, dtrtrs, dsyevr, dgesdd and dqrls instead of native LAPACK and LINPACK. This is always the case in the managed mode.") //
+    public static final OptionKey<Boolean> JavaLapack = new OptionKey<>(false);
     @Option(category = OptionCategory.EXPERT, help = "Generate source sections for unserialized code.") //
     public static final OptionKey<Boolean> ForceSources = new OptionKey<>(false);
     @Option(category = OptionCategory.INTERNAL, help = "Whether all child contexts are to be shared contexts.") //
@@ -144,6 +157,8 @@ public class FastROptions {
     public static final OptionKey<Boolean> TraceCallsToFile = new OptionKey<>(false);
     @Option(category = OptionCategory.INTERNAL, deprecated = true, deprecationMessage = "Deprecated since rc12", help = "Trace all native function calls (performed via .Call, .External, etc.)") //
     public static final OptionKey<Boolean> TraceNativeCalls = new OptionKey<>(false);
+    @Option(category = OptionCategory.EXPERT, help = "Profile native calls and up-calls from the start, the results are available via .fastr.ffi.profile()") //
+    public static final OptionKey<Boolean> FFIProfile = new OptionKey<>(false);
 
     /**
      * The presence of the <code>NATIVE_DATA_INSPECTOR</code> variable in the environment activates
@@ -227,8 +242,8 @@ public class FastROptions {
         if (context.getOption(EnableExplicitGC)) {
             sb.append("--R.EnableExplicitGC=true ");
         }
-        if ("llvm".equals(context.getOption(BackEnd))) {
-            sb.append("--R.BackEnd=llvm ");
+        if ("llvm".equals(context.getOption(BackEnd)) || "auto".equals(context.getOption(BackEnd))) {
+            sb.append("--R.BackEnd=").append(context.getOption(BackEnd)).append(" ");
         }
         if (context.getOption(BackEndLLVM) != null) {
             sb.append("--R.BackEndLLVM=").append(context.getOption(BackEndLLVM)).append(" ");
@@ -236,6 +251,9 @@ public class FastROptions {
         if (context.getOption(BackEndNative) != null) {
             sb.append("--R.BackEndNative=").append(context.getOption(BackEndNative)).append(" ");
         }
+        if (!context.getOption(BackEndCacheDir).isEmpty()) {
+            sb.append("--R.BackEndCacheDir=").append(context.getOption(BackEndCacheDir)).append(" ");
+        }
         return sb.toString();
     }
 
@@ -299,19 +317,21 @@ public class FastROptions {
 
     private Set<String> explicitPackages = null;
     private boolean isLLVMDefault;
+    private boolean isAutoBackEnd;
+    private Set<String> autoNativePackages;
 
     boolean isLLVMPackage(TruffleFile libPath) {
         if (explicitPackages == null) {
             initLLVMPackages();
         }
-        if (explicitPackages.isEmpty()) {
+        if (explicitPackages.isEmpty() && !isAutoBackEnd) {
             return isLLVMDefault;
         }
 
         assert libPath != null;
         String libName = libPath.getName();
         libName = libName.substring(0, libName.lastIndexOf('.'));
-        return isLLVMPackage(libName);
+        return isLLVMPackage(libName) || isAutoBackEnd && !autoNativePackages.contains(libName) && RFFIBackendSelector.isLLVMDecision(libPath);
     }
 
     boolean isLLVMPackage(String libName) {
@@ -333,7 +353,14 @@ public class FastROptions {
         } else {
             String backendOpt = getValue(FastROptions.BackEnd);
             String explicitPkgsOpt;
-            if ("native".equals(backendOpt)) {
+            if ("auto".equals(backendOpt)) {
+                // the packages listed as LLVM or native packages are always loaded by that backend,
+                // the others as decided by RFFIBackendSelector
+                isAutoBackEnd = true;
+                isLLVMDefault = false;
+                explicitPkgsOpt = getValue(FastROptions.BackEndLLVM);
+                autoNativePackages = splitPackages(getValue(FastROptions.BackEndNative));
+            } else if ("native".equals(backendOpt)) {
                 isLLVMDefault = false;
                 explicitPkgsOpt = getValue(FastROptions.BackEndLLVM);
             } else {
@@ -342,16 +369,29 @@ public class FastROptions {
                 explicitPkgsOpt = getValue(FastROptions.BackEndNative);
             }
 
-            String[] explicitPkgsOptSplit = explicitPkgsOpt == null ? null : explicitPkgsOpt.split(",");
-            if (explicitPkgsOptSplit == null || explicitPkgsOptSplit.length == 0) {
-                explicitPackages = java.util.Collections.emptySet();
-            } else {
-                explicitPackages = new HashSet<>();
-                for (String pkg : explicitPkgsOptSplit) {
-                    explicitPackages.add(pkg);
-                }
-            }
+            explicitPackages = splitPackages(explicitPkgsOpt);
+        }
+    }
+
+    private Set<String> concurrentNativePackages;
+
+    boolean isConcurrentNativePackage(String libName) {
+        if (concurrentNativePackages == null) {
+            concurrentNativePackages = splitPackages(getValue(FastROptions.ConcurrentNativePackages));
+        }
+        return concurrentNativePackages.contains(libName);
+    }
+
+    private static Set<String> splitPackages(String pkgsOpt) {
+        String[] pkgsOptSplit = pkgsOpt == null ? null : pkgsOpt.split(",");
+        if (pkgsOptSplit == null || pkgsOptSplit.length == 0) {
+            return java.util.Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>();
+        for (String pkg : pkgsOptSplit) {
+            result.add(pkg);
         }
+        return result;
     }
 }
 // @formatter:on
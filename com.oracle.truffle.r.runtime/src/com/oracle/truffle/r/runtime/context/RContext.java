@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -805,6 +805,10 @@ public final class RContext {
         return fastrOptions.isLLVMPackage(libName);
     }
 
+    public boolean isConcurrentNativePackage(String libName) {
+        return fastrOptions.isConcurrentNativePackage(libName);
+    }
+
     public InstrumentationState getInstrumentationState() {
         return stateInstrumentation;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -35,6 +35,7 @@ import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.SuppressFBWarnings;
 import com.oracle.truffle.r.runtime.Utils;
 import java.nio.charset.StandardCharsets;
 
@@ -48,11 +49,16 @@ import java.nio.charset.StandardCharsets;
  * As opposed to Strings on the Java side, the native side "Strings" should be treated as array of
  * bytes. {@link CharSXPWrapper} wraps the byte array, but does not add the '\0' at the end of it.
  *
+ * Like the global {@code CHARSXP} table of GNU R, {@link #instances} holds one wrapper per distinct
+ * string for as long as the wrapper is reachable, so all vectors and up-calls share the wrapper and
+ * its native buffer allocated by {@code R_CHAR}. The table is keyed by the {@link #contents} of the
+ * wrapper, which keeps the key alive as long as the wrapper.
+ *
  * N.B. Use limited to RFFI implementations.
  */
 @ExportLibrary(InteropLibrary.class)
 public final class CharSXPWrapper extends RBaseObject {
-    private static final Map<CharSXPWrapper, WeakReference<CharSXPWrapper>> instances = new WeakHashMap<>(2048);
+    private static final Map<String, WeakReference<CharSXPWrapper>> instances = new WeakHashMap<>(2048);
     private static final CharSXPWrapper NA = new CharSXPWrapper(RRuntime.STRING_NA);
     private String contents;
     private byte[] bytes;
@@ -168,27 +174,32 @@ public final class CharSXPWrapper extends RBaseObject {
     }
 
     @TruffleBoundary
+    @SuppressFBWarnings(value = "ES_COMPARING_PARAMETER_STRING_WITH_EQ", justification = "the identity of the key matters")
     private static CharSXPWrapper createNonNA(String contents, boolean intern) {
         assert !RRuntime.isNA(contents);
-        CharSXPWrapper cachedWrapper;
-        CharSXPWrapper newWrapper = new CharSXPWrapper(contents);
         synchronized (instances) {
-            WeakReference<CharSXPWrapper> wr = instances.get(newWrapper);
-            if (wr != null) {
-                cachedWrapper = wr.get();
-                if (cachedWrapper != null) {
-                    if (intern) {
-                        cachedWrapper.contents = contents;
-                    }
-                    return cachedWrapper;
+            WeakReference<CharSXPWrapper> wr = instances.get(contents);
+            CharSXPWrapper cachedWrapper = wr != null ? wr.get() : null;
+            if (cachedWrapper != null) {
+                if (intern && cachedWrapper.contents != contents) {
+                    // the key must be the contents of the wrapper, see the class comment
+                    instances.remove(cachedWrapper.contents);
+                    cachedWrapper.contents = contents;
+                    instances.put(contents, wr);
                 }
+                return cachedWrapper;
             }
-            instances.put(newWrapper, new WeakReference<>(newWrapper));
+            CharSXPWrapper newWrapper = new CharSXPWrapper(contents);
+            instances.put(contents, new WeakReference<>(newWrapper));
+            return newWrapper;
         }
-        return newWrapper;
     }
 
     public long allocateNativeContents() {
+        return NativeDataAccess.allocateAndPublish(this, CharSXPWrapper::doAllocateNativeContents);
+    }
+
+    private long doAllocateNativeContents() {
         try {
             return NativeDataAccess.allocateNativeContents(this, getBytes());
         } finally {
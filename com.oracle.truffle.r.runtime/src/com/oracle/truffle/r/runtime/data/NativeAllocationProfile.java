@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
+import com.oracle.truffle.r.runtime.gnur.SEXPTYPE;
+
+/**
+ * Profile of a vector allocation node that learns whether the vectors allocated there end up in
+ * native memory, i.e., whether native code asks for their data pointer. Once this is the case for
+ * most of the sampled vectors, the node allocates its vectors directly in native memory, which
+ * saves allocating and filling the managed array that would otherwise be copied to native memory
+ * on the first {@code INTEGER}, {@code REAL}, etc. call. The decision is never reverted.
+ *
+ * The granularity is that of the node holding the profile. For the {@code vector} builtin this is
+ * the R call site. The {@code Rf_allocVector} up-call, on the other hand, is a single node shared
+ * by all native code and specialized only by the vector type, so there the profile learns the
+ * behavior of all native allocations of a type taken together, not that of an individual C call
+ * site. Such a profile is also shared by the threads of concurrently running contexts.
+ *
+ * Only vectors of at least {@link #MIN_LENGTH} elements are considered. Every
+ * {@link #SAMPLE_INTERVAL}-th such vector is sampled and checked when the next one is sampled. The
+ * native allocation itself is enabled by {@link FastROptions#NativeFirstAllocation}.
+ */
+public final class NativeAllocationProfile {
+
+    static final int MIN_LENGTH = 1024;
+    private static final int SAMPLE_INTERVAL = 16;
+    private static final int DECISION_SAMPLES = 8;
+    private static final int ESCAPED_THRESHOLD = 6;
+
+    private static final NativeAllocationProfile DISABLED = new NativeAllocationProfile(true);
+
+    private volatile boolean decided;
+    private volatile boolean nativeFirst;
+    private final AtomicInteger allocations = new AtomicInteger();
+    // guarded by this
+    private int samples;
+    private int escaped;
+    private WeakReference<RAbstractVector> sample;
+
+    private NativeAllocationProfile(boolean decided) {
+        this.decided = decided;
+    }
+
+    public static NativeAllocationProfile create() {
+        return new NativeAllocationProfile(false);
+    }
+
+    /**
+     * The profile used by uncached nodes, which never allocates in native memory.
+     */
+    public static NativeAllocationProfile getUncached() {
+        return DISABLED;
+    }
+
+    /**
+     * Allocates a zero-filled vector of the given type, in native memory if this site has been
+     * found to produce vectors that escape to native code.
+     */
+    public Object createEmptyVector(SEXPTYPE type, int length) {
+        if (nativeFirst && length >= MIN_LENGTH && isEnabled()) {
+            RAbstractVector result = RDataFactory.createEmptyNativeVector(type, length);
+            if (result != null) {
+                return result;
+            }
+        }
+        return record(RDataFactory.createEmptyVectorFromSEXPType(type, length), length);
+    }
+
+    /**
+     * Variant of {@link #createEmptyVector(SEXPTYPE, int)} for {@link RType}.
+     */
+    public Object createEmptyVector(RType type, int length) {
+        if (nativeFirst && length >= MIN_LENGTH && isEnabled()) {
+            RAbstractVector result = RDataFactory.createEmptyNativeVector(type, length);
+            if (result != null) {
+                return result;
+            }
+        }
+        return record(type.create(length, false), length);
+    }
+
+    /**
+     * Returns whether the profile has decided to allocate in native memory.
+     */
+    public boolean isNativeFirst() {
+        return nativeFirst;
+    }
+
+    private static boolean isEnabled() {
+        // the profile may be shared by contexts with different options
+        return RContext.getInstance().getOption(FastROptions.NativeFirstAllocation);
+    }
+
+    private Object record(Object vector, int length) {
+        if (!decided && length >= MIN_LENGTH && vector instanceof RAbstractVector && allocations.incrementAndGet() % SAMPLE_INTERVAL == 0) {
+            sample((RAbstractVector) vector);
+        }
+        return vector;
+    }
+
+    @TruffleBoundary
+    private synchronized void sample(RAbstractVector vector) {
+        if (decided) {
+            return;
+        }
+        RAbstractVector previous = sample == null ? null : sample.get();
+        if (previous != null) {
+            samples++;
+            if (previous.hasNativeMemoryData()) {
+                escaped++;
+            }
+            if (samples == DECISION_SAMPLES) {
+                nativeFirst = escaped >= ESCAPED_THRESHOLD;
+                decided = true;
+                sample = null;
+                return;
+            }
+        }
+        sample = new WeakReference<>(vector);
+    }
+}
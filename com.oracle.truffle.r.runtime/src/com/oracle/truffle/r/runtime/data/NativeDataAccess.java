@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -30,6 +30,7 @@ import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
 import java.util.logging.Level;
 
 import javax.management.MBeanServer;
@@ -57,6 +58,7 @@ import com.oracle.truffle.llvm.spi.NativeTypeLibrary;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RLogger;
 import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.runtime.context.RContext;
@@ -65,6 +67,7 @@ import com.oracle.truffle.r.runtime.data.model.RAbstractContainer;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.data.nodes.ShareObjectNode;
 import com.oracle.truffle.r.runtime.ffi.FFIMaterializeNode;
+import com.oracle.truffle.r.runtime.ffi.RFFIProfiler;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.ElementType;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.NativeMemoryWrapper;
@@ -119,8 +122,9 @@ public final class NativeDataAccess {
     }
 
     /**
-     * Wraps a handle (number) reserved for a {@link NativeMirror} that escaped to native memory.
-     * Takes care of putting and removing the mapping for that handle from {@link #nativeMirrors}.
+     * Wraps a handle of a {@link NativeMirror} that escaped to native memory if the handle is the
+     * address of the native data of the mirror rather than an entry in {@link #handles}. Takes care
+     * of putting and removing the mapping for that handle from {@link #addressHandles}.
      */
     private static final class NativeHandleWrapper extends ReleasableWeakReference<RBaseObject> {
         private final long id;
@@ -133,21 +137,33 @@ public final class NativeDataAccess {
 
         @TruffleBoundary
         private void addToMirrors(long thisId) {
-            nativeMirrors.put(thisId, this);
+            addressHandles.put(thisId, this);
         }
 
-        public long getId() {
-            return id;
+        @Override
+        public void release() {
+            addressHandles.remove(id, this);
+        }
+    }
+
+    /**
+     * The site at which a native mirror got its handle, see {@link #TRACE_MIRROR_ALLOCATION_SITES}.
+     * The entry is removed from {@link #nativeMirrorInfo} once the object is collected, whether its
+     * handle is in {@link #handles} or in {@link #addressHandles}.
+     */
+    private static final class AllocationSite extends ReleasableWeakReference<RBaseObject> {
+        private final long id;
+        private final RuntimeException location;
+
+        private AllocationSite(long id, RBaseObject referent, RuntimeException location) {
+            super(referent);
+            this.id = id;
+            this.location = location;
         }
 
         @Override
         public void release() {
-            if (nativeMirrorInfo != null) {
-                // Possible id(address)-clashing entries not handled, this is for debugging purposes
-                // anyway
-                nativeMirrorInfo.remove(id);
-            }
-            nativeMirrors.remove(id, this);
+            nativeMirrorInfo.remove(id, this);
         }
     }
 
@@ -179,9 +195,12 @@ public final class NativeDataAccess {
         private final RBaseObject delegate;
         /**
          * ID of the mirror, this will be used as the value for SEXP. When native up-calls to Java,
-         * we get this value and find the corresponding object for it.
+         * we get this value and find the corresponding object for it. Zero until the mirror escapes
+         * to native code. Volatile, because it is set under the lock of the mirror when native
+         * code may run concurrently, see {@link NativeDataAccess#isConcurrentNative()}, but read
+         * without it.
          */
-        private NativeHandleWrapper nativeHandle;
+        private volatile long nativeHandle;
         /**
          * Address of the start of the native memory array. Zero if not allocated yet.
          */
@@ -225,7 +244,8 @@ public final class NativeDataAccess {
         NativeMirror(RBaseObject ownerVec, long address) {
             delegate = ownerVec;
             if (address != 0) {
-                this.nativeHandle = new NativeHandleWrapper(address, ownerVec);
+                new NativeHandleWrapper(address, ownerVec);
+                this.nativeHandle = address;
                 setDataAddress(address);
             }
         }
@@ -240,17 +260,37 @@ public final class NativeDataAccess {
 
         @TruffleBoundary
         private void initMirror() {
-            assert nativeHandle == null;
-            long id = counter.addAndGet(2);
-            nativeHandle = new NativeHandleWrapper(id, delegate);
+            if (isConcurrentNative()) {
+                synchronized (this) {
+                    if (nativeHandle == 0) {
+                        nativeHandle = handles.allocate(delegate).id;
+                    }
+                }
+            } else {
+                assert nativeHandle == 0;
+                nativeHandle = handles.allocate(delegate).id;
+            }
         }
 
         @TruffleBoundary
         private void initMirror(long address) {
-            assert nativeHandle == null;
             assert address != 0;
-            this.nativeHandle = new NativeHandleWrapper(address, delegate);
+            if (isConcurrentNative()) {
+                synchronized (this) {
+                    if (nativeHandle == 0) {
+                        initMirrorUnlocked(address);
+                    }
+                }
+            } else {
+                assert nativeHandle == 0;
+                initMirrorUnlocked(address);
+            }
+        }
+
+        private void initMirrorUnlocked(long address) {
+            new NativeHandleWrapper(address, delegate);
             setDataAddress(address);
+            this.nativeHandle = address;
         }
 
         @SuppressWarnings("static-method")
@@ -281,13 +321,13 @@ public final class NativeDataAccess {
 
         @ExportMessage
         public boolean isPointer() {
-            return nativeHandle != null;
+            return nativeHandle != 0;
         }
 
         @ExportMessage
         public long asPointer(@Cached("createBinaryProfile()") ConditionProfile isPointer) throws UnsupportedMessageException {
             if (isPointer.profile(isPointer())) {
-                return nativeHandle.getId();
+                return nativeHandle;
             }
             throw UnsupportedMessageException.create();
         }
@@ -344,6 +384,7 @@ public final class NativeDataAccess {
             if (vectorLength != 0) {
                 setDataAddress(NativeMemory.allocate(type, elementsCount, source));
                 NativeMemory.copyMemory(source, dataAddress, type, elementsCount);
+                profileNativeMemory(elementsCount * type.getBytes());
             } else {
                 setExternalDataAddress(getEmptyDataAddress());
             }
@@ -353,6 +394,27 @@ public final class NativeDataAccess {
             assert this.length == 0 || dataAddress.getAddress() != getEmptyDataAddress();
         }
 
+        @TruffleBoundary
+        void allocateNative(int vectorLength, long elementsCount, ElementType type, boolean zeroed) {
+            assert getDataAddress() == 0;
+            if (vectorLength != 0) {
+                setDataAddress(NativeMemory.allocate(type, elementsCount, delegate));
+                profileNativeMemory(elementsCount * type.getBytes());
+                if (zeroed) {
+                    NativeMemory.setMemory(dataAddress, type, elementsCount, (byte) 0);
+                }
+            } else {
+                setExternalDataAddress(getEmptyDataAddress());
+            }
+            this.length = vectorLength;
+        }
+
+        private void profileNativeMemory(long bytes) {
+            if (RFFIProfiler.isEnabled()) {
+                RFFIProfiler.nativeMemoryAllocated(bytes);
+            }
+        }
+
         @TruffleBoundary
         void initializeAltrep(RBaseObject altrepVec, long address, int altrepLength) {
             assert altrepVec.isAltRep();
@@ -370,6 +432,7 @@ public final class NativeDataAccess {
             // append C strings termination
             NativeMemory.putByte(dataAddress, bytes.length, (byte) 0);
             this.length = bytes.length + 1;
+            profileNativeMemory(bytes.length + 1L);
 
             // ensure that marker address is not used
             assert dataAddress.getAddress() != getEmptyDataAddress();
@@ -381,6 +444,7 @@ public final class NativeDataAccess {
                 setExternalDataAddress(getEmptyDataAddress());
             } else {
                 NativeMemoryWrapper addr = setDataAddress(NativeMemory.allocate(wrappers.length * (long) Long.BYTES, "CharSXPWrapper"));
+                profileNativeMemory(wrappers.length * (long) Long.BYTES);
                 for (int i = 0; i < wrappers.length; i++) {
                     NativeMemory.putLong(addr, i, getPointer(wrappers[i]));
                 }
@@ -393,6 +457,7 @@ public final class NativeDataAccess {
                 setExternalDataAddress(getEmptyDataAddress());
             } else {
                 NativeMemoryWrapper addr = setDataAddress(NativeMemory.allocate(elements.length * (long) Long.BYTES, "SEXP array"));
+                profileNativeMemory(elements.length * (long) Long.BYTES);
                 for (int i = 0; i < elements.length; i++) {
                     Object element = elements[i];
                     Object materialized = FFIMaterializeNode.uncachedMaterialize(element);
@@ -410,28 +475,93 @@ public final class NativeDataAccess {
 
         @Override
         public String toString() {
-            long id = nativeHandle == null ? 0 : nativeHandle.getId();
+            long id = nativeHandle;
             return "mirror: address=" + Long.toHexString(getDataAddress()) + ", id=" + Long.toHexString(id);
         }
     }
 
-    // The map from handles sent to the native code to the RBaseObjects they represent
-    // The counter is initialized to invalid address and incremented by 2 to always get invalid
-    // address value
-    private static final AtomicLong counter = new AtomicLong(0xdef000000000001L);
-    private static final ConcurrentHashMap<Long, NativeHandleWrapper> nativeMirrors = new ConcurrentHashMap<>(512);
+    // The handles sent to the native code and the RBaseObjects they represent. The handles that
+    // are addresses of native data are rare and kept in a map.
+    private static final NativeHandleTable handles = new NativeHandleTable();
+    private static final ConcurrentHashMap<Long, NativeHandleWrapper> addressHandles = new ConcurrentHashMap<>();
 
     // For debugging purposes:
     private static final ConcurrentHashMap<Long, NativeMirror> dataAddressToNativeMirrors = System.getenv(FastROptions.NATIVE_DATA_INSPECTOR) != null ? new ConcurrentHashMap<>(512) : null;
-    private static final ConcurrentHashMap<Long, RuntimeException> nativeMirrorInfo = TRACE_MIRROR_ALLOCATION_SITES ? new ConcurrentHashMap<>() : null;
+    private static final ConcurrentHashMap<Long, AllocationSite> nativeMirrorInfo = TRACE_MIRROR_ALLOCATION_SITES ? new ConcurrentHashMap<>() : null;
+
+    /**
+     * Valid until a library whose native code may run in several contexts at the same time is
+     * loaded, see {@link com.oracle.truffle.r.runtime.ffi.DLL.DLLInfo#isConcurrentNative()}.
+     */
+    private static final Assumption noConcurrentNative = Truffle.getRuntime().createAssumption("noConcurrentNative");
+
+    /**
+     * Whether objects shared by several contexts may be passed to native code running concurrently.
+     * If so, the native mirror of an object is created under the lock of the object, its handle
+     * under the lock of the mirror, and the vectors allocate and publish their native data under
+     * their own lock. Otherwise, none of these locks is taken.
+     */
+    public static boolean isConcurrentNative() {
+        return !noConcurrentNative.isValid();
+    }
+
+    /**
+     * Called before the first down-call to a library whose native code may run concurrently.
+     */
+    public static void enableConcurrentNative() {
+        noConcurrentNative.invalidate();
+    }
+
+    /**
+     * Allocates the native contents of the object by {@code allocate}, which also publishes them,
+     * e.g., by setting the native vector data, and returns their address. The caller checks that
+     * the contents have not been published yet. While native code may run concurrently, another
+     * thread may be doing the same, so the contents are allocated under the lock of the object, and
+     * the contents allocated by the other thread are used if it was first.
+     */
+    static <T extends RBaseObject> long allocateAndPublish(T obj, ToLongFunction<T> allocate) {
+        if (isConcurrentNative()) {
+            return allocateAndPublishSynchronized(obj, allocate);
+        }
+        return allocate.applyAsLong(obj);
+    }
+
+    @TruffleBoundary
+    private static <T extends RBaseObject> long allocateAndPublishSynchronized(T obj, ToLongFunction<T> allocate) {
+        synchronized (obj) {
+            NativeMirror mirror = obj.getNativeMirror();
+            if (mirror != null && mirror.dataAddress != null) {
+                return mirror.getDataAddress();
+            }
+            return allocate.applyAsLong(obj);
+        }
+    }
 
     public static NativeMirror createNativeMirror(RBaseObject obj) {
+        if (isConcurrentNative()) {
+            return createNativeMirrorSynchronized(obj);
+        }
         assert obj.getNativeMirror() == null;
         NativeMirror mirror = new NativeMirror(obj, 0);
         obj.setNativeMirror(mirror);
         return mirror;
     }
 
+    /**
+     * Creates the native mirror of the given object, unless another thread has just created it.
+     */
+    @TruffleBoundary
+    private static NativeMirror createNativeMirrorSynchronized(RBaseObject obj) {
+        synchronized (obj) {
+            NativeMirror mirror = obj.getNativeMirror();
+            if (mirror == null) {
+                mirror = new NativeMirror(obj, 0);
+                obj.setNativeMirror(mirror);
+            }
+            return mirror;
+        }
+    }
+
     /**
      * Assigns a native mirror object ID to the given RBaseObject object.
      */
@@ -456,7 +586,7 @@ public final class NativeDataAccess {
                         @Cached("createBinaryProfile()") ConditionProfile isInNative,
                         @Cached("createBinaryProfile()") ConditionProfile registerNativeRefNopProfile,
                         @Cached BranchProfile refRegProfile) {
-            if (hasID.profile(mirror.nativeHandle == null)) {
+            if (hasID.profile(mirror.nativeHandle == 0)) {
                 RBaseObject obj = mirror.delegate;
                 if (isCustomNativeMirror.profile(obj instanceof CustomNativeMirror)) {
                     mirror.initMirror(((CustomNativeMirror) obj).getCustomMirrorAddress());
@@ -467,7 +597,10 @@ public final class NativeDataAccess {
                 if (isInNative.profile(rContext.getStateRFFI().getCallDepth() > 0)) {
                     rContext.getStateRFFI().registerReferenceUsedInNative(obj, registerNativeRefNopProfile, refRegProfile);
                 }
-                assert mirror.nativeHandle != null && mirror.nativeHandle.getId() != 0;
+                assert mirror.nativeHandle != 0;
+                if (RFFIProfiler.isEnabled()) {
+                    RFFIProfiler.nativeMirrorCreated();
+                }
                 logAndTrace(mirror.delegate, mirror);
             }
         }
@@ -476,7 +609,7 @@ public final class NativeDataAccess {
 
     private static long getPointer(RBaseObject obj) {
         toNative(obj);
-        return obj.getNativeMirror().nativeHandle.getId();
+        return obj.getNativeMirror().nativeHandle;
     }
 
     @TruffleBoundary
@@ -485,13 +618,13 @@ public final class NativeDataAccess {
             registerAllocationSite(obj, mirror);
         }
         if (LOGGER.isLoggable(Level.FINE)) {
-            long id = mirror.nativeHandle == null ? 0 : mirror.nativeHandle.getId();
+            long id = mirror.nativeHandle;
             LOGGER.log(Level.FINE, "NativeMirror: {0}->{1} ({2})", new Object[]{Long.toHexString(id), obj.getClass().getSimpleName(), Utils.getDebugInfo(obj)});
         }
     }
 
     @TruffleBoundary
-    private static void registerAllocationSite(Object arg, NativeMirror mirror) {
+    private static void registerAllocationSite(RBaseObject arg, NativeMirror mirror) {
         String argInfo;
         if (RRuntime.isMaterializedVector(arg) && ((RAbstractVector) arg).hasNativeMemoryData()) {
             // this must be vector created by fromNative factory method, it has data == null, but
@@ -500,17 +633,23 @@ public final class NativeDataAccess {
         } else {
             argInfo = arg.toString();
         }
-        nativeMirrorInfo.put(mirror.nativeHandle.getId(), new RuntimeException(arg.getClass().getSimpleName() + " " + argInfo));
+        long id = mirror.nativeHandle;
+        nativeMirrorInfo.put(id, new AllocationSite(id, arg, new RuntimeException(arg.getClass().getSimpleName() + " " + argInfo)));
     }
 
     /**
      * For given native mirror ID returns the Java side object (vector). TruffleBoundary because it
-     * calls into HashMap.
+     * may call into HashMap.
      */
     @TruffleBoundary
     public static Object lookup(long address) {
-        NativeHandleWrapper nativeMirror = nativeMirrors.get(address);
-        RBaseObject result = nativeMirror != null ? nativeMirror.get() : null;
+        RBaseObject result;
+        if (NativeHandleTable.isHandle(address)) {
+            result = handles.lookup(address);
+        } else {
+            NativeHandleWrapper nativeMirror = addressHandles.get(address);
+            result = nativeMirror != null ? nativeMirror.get() : null;
+        }
         if (result == null) {
             CompilerDirectives.transferToInterpreter();
             throw reportDataAccessError(address);
@@ -522,16 +661,16 @@ public final class NativeDataAccess {
         if (TRACE_MIRROR_ALLOCATION_SITES) {
             printDataAccessErrorLocation(address);
         }
-        throw RInternalError.shouldNotReachHere("unknown native reference " + address + "L / 0x" + Long.toHexString(address) + " (current id count: " + Long.toHexString(counter.get()) + ")");
+        throw RInternalError.shouldNotReachHere("unknown native reference " + address + "L / 0x" + Long.toHexString(address) + " (" + handles + ")");
     }
 
     private static void printDataAccessErrorLocation(long address) {
-        RuntimeException location = nativeMirrorInfo.get(address);
-        if (location != null) {
+        AllocationSite site = nativeMirrorInfo.get(address);
+        if (site != null) {
             System.out.println("Location at which the native mirror was allocated:");
-            location.printStackTrace();
+            site.location.printStackTrace();
         } else {
-            System.out.println("Location at which the native mirror was allocated was not recorded.");
+            System.out.println("Location at which the native mirror was allocated was not recorded, or its object has been collected.");
         }
     }
 
@@ -697,6 +836,19 @@ public final class NativeDataAccess {
         return data;
     }
 
+    /**
+     * Like {@link #copyStringNativeData(NativeMirror)}, but keeps the {@link CharSXPWrapper}s, so
+     * that the copy shares them and their native buffers with the original vector.
+     */
+    public static CharSXPWrapper[] copyCharSXPNativeData(NativeMirror mirror) {
+        assert mirror.getDataAddress() != 0;
+        CharSXPWrapper[] data = new CharSXPWrapper[(int) mirror.length];
+        for (int i = 0; i < mirror.length; i++) {
+            data[i] = getStringNativeMirrorData(mirror, i);
+        }
+        return data;
+    }
+
     public static Object[] copyListNativeData(NativeMirror mirror, boolean deep) {
         assert mirror.getDataAddress() != 0;
         Object[] data = new Object[(int) mirror.length];
@@ -1353,6 +1505,140 @@ public final class NativeDataAccess {
 
     public static void setNativeContents(RBaseObject obj, long address, int length) {
         assert obj.getNativeMirror() != null;
+        invalidateNoNative(obj);
+        NativeMirror mirror = obj.getNativeMirror();
+        mirror.setExternalDataAddress(address);
+        mirror.length = length;
+    }
+
+    /**
+     * Allocates native memory owned by the given vector that is not backed by any managed data yet,
+     * i.e., the vector is created directly in native memory. This is used instead of allocating a
+     * managed array that would only be copied to native memory later. Unless {@code zeroed} is
+     * set, the caller must initialize the memory.
+     */
+    static long allocateNativeContents(RBaseObject vector, int length, long elementsCount, ElementType type, boolean zeroed) {
+        NativeMirror mirror = vector.getNativeMirror();
+        assert mirror != null && mirror.dataAddress == null : mirror;
+        invalidateNoNative(vector);
+        mirror.allocateNative(length, elementsCount, type, zeroed);
+        return mirror.dataAddress.getAddress();
+    }
+
+    /**
+     * Creates a vector whose data live in native memory from the start, see
+     * {@link #allocateNativeContents(RBaseObject, int, long, ElementType, boolean)}. Returns
+     * {@code null} if vectors of the given type cannot be created this way.
+     */
+    static RAbstractVector createNativeVector(RType type, int length, boolean zeroed) {
+        switch (type) {
+            case Integer: {
+                RIntVector result = initNativeVector(new RIntVector(), length, length, ElementType.INT, zeroed);
+                result.setData(new RIntNativeVectorData(result), length);
+                return result;
+            }
+            case Double: {
+                RDoubleVector result = initNativeVector(new RDoubleVector(), length, length, ElementType.DOUBLE, zeroed);
+                result.setData(new RDoubleNativeVectorData(result), length);
+                return result;
+            }
+            case Logical: {
+                RLogicalVector result = initNativeVector(new RLogicalVector(), length, length, ElementType.INT, zeroed);
+                result.setData(new RLogicalNativeVectorData(result), length);
+                return result;
+            }
+            case Complex: {
+                RComplexVector result = initNativeVector(new RComplexVector(), length, length * 2L, ElementType.DOUBLE, zeroed);
+                result.setData(new RComplexNativeVectorData(result), length);
+                return result;
+            }
+            case Raw: {
+                RRawVector result = initNativeVector(new RRawVector(), length, length, ElementType.BYTE, zeroed);
+                result.setData(new RRawNativeVectorData(result), length);
+                return result;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static <T extends RAbstractVector> T initNativeVector(T vector, int length, long elementsCount, ElementType type, boolean zeroed) {
+        createNativeMirror(vector);
+        allocateNativeContents(vector, length, elementsCount, type, zeroed);
+        return vector;
+    }
+
+    /**
+     * Materializes a compact integer sequence directly in native memory, which saves the managed
+     * array that would otherwise be allocated, filled and copied to native memory.
+     */
+    static long allocateNativeContents(RIntVector vector, RIntSeqVectorData seq, int length) {
+        long address = allocateNativeContents(vector, length, length, ElementType.INT, false);
+        int start = seq.getStart();
+        int stride = seq.getStride();
+        for (int i = 0; i < length; i++) {
+            NativeMemory.putInt(address, i, start + stride * i);
+        }
+        return address;
+    }
+
+    /**
+     * Variant of {@link #allocateNativeContents(RIntVector, RIntSeqVectorData, int)} for double
+     * sequences.
+     */
+    static long allocateNativeContents(RDoubleVector vector, RDoubleSeqVectorData seq, int length) {
+        long address = allocateNativeContents(vector, length, length, ElementType.DOUBLE, false);
+        double start = seq.getStart();
+        double stride = seq.getStride();
+        for (int i = 0; i < length; i++) {
+            NativeMemory.putDouble(address, i, start + stride * i);
+        }
+        return address;
+    }
+
+    /**
+     * Copies the given vector including its attributes like {@link RAbstractVector#copy()}, but
+     * copies the data directly into native memory of the new vector. This saves the intermediate
+     * managed copy when the copy is going to be passed to native code anyway. Returns {@code null}
+     * if the vector cannot be copied this way, e.g., if it is an ALTREP or a logical vector, whose
+     * native representation differs from the managed one.
+     */
+    @TruffleBoundary
+    public static RAbstractVector copyToNative(RAbstractVector vector) {
+        if (vector.isAltRep() || !vector.isMaterialized()) {
+            return null;
+        }
+        int length = vector.getLength();
+        ElementType type;
+        long elementsCount = length;
+        if (vector instanceof RIntVector) {
+            type = ElementType.INT;
+        } else if (vector instanceof RDoubleVector) {
+            type = ElementType.DOUBLE;
+        } else if (vector instanceof RComplexVector) {
+            type = ElementType.DOUBLE;
+            elementsCount = length * 2L;
+        } else if (vector instanceof RRawVector) {
+            type = ElementType.BYTE;
+        } else {
+            return null;
+        }
+        RAbstractVector result = createNativeVector(vector.getRType(), length, false);
+        if (length != 0) {
+            long address = getNativeDataAddress(result);
+            Object data = vector.getInternalManagedData();
+            if (data != null) {
+                NativeMemory.copyMemory(data, address, type, elementsCount);
+            } else {
+                NativeMemory.copyMemory(getNativeDataAddress(vector), address, type, elementsCount);
+            }
+        }
+        result.copyAttributesFrom(vector);
+        result.setTypedValueInfo(vector.getTypedValueInfo());
+        return result;
+    }
+
+    private static void invalidateNoNative(RBaseObject obj) {
         if (noDoubleNative.isValid() && obj instanceof RDoubleVector) {
             noDoubleNative.invalidate();
         } else if (noComplexNative.isValid() && obj instanceof RComplexVector) {
@@ -1366,16 +1652,12 @@ public final class NativeDataAccess {
         } else if (noStringNative.isValid() && obj instanceof RStringVector) {
             noStringNative.invalidate();
         }
-        NativeMirror mirror = obj.getNativeMirror();
-        mirror.setExternalDataAddress(address);
-        mirror.length = length;
     }
 
     public static void setNativeWrapper(RBaseObject obj, Object wrapper) {
         NativeMirror mirror = obj.getNativeMirror();
         if (mirror == null) {
-            mirror = new NativeMirror(obj, 0);
-            obj.setNativeMirror(mirror);
+            mirror = createNativeMirror(obj);
         }
         mirror.nativeWrapperRef = new NativeWrapperReference(wrapper);
     }
@@ -1428,7 +1710,7 @@ public final class NativeDataAccess {
 
         @Override
         public int getNativeMirrorsSize() {
-            return NativeDataAccess.nativeMirrors.size();
+            return NativeDataAccess.handles.size() + NativeDataAccess.addressHandles.size();
         }
 
         @Override
@@ -1438,7 +1720,7 @@ public final class NativeDataAccess {
             if (nativeMirror == null) {
                 return "";
             }
-            long id = nativeMirror.nativeHandle == null ? 0 : nativeMirror.nativeHandle.getId();
+            long id = nativeMirror.nativeHandle;
             return String.format("%16x", id);
         }
 
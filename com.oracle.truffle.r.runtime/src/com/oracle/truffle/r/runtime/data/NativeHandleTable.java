@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RInternalError;
+
+/**
+ * Table of the handles that represent R objects in native code, see
+ * {@link NativeDataAccess.NativeMirror}. A handle encodes the index of its slot in the table and the
+ * generation of the slot, so that looking it up is an array access and a stale handle of a collected
+ * object is not mistaken for the handle of the object that reuses the slot. All handles have the
+ * bits of {@link #TAG} set, which makes them odd values that are not valid addresses.
+ *
+ * The slots are weak references that are not registered with a reference queue; a slot is free once
+ * its referent has been collected. The table consists of segments of {@link #SEGMENT_SIZE} slots,
+ * each thread allocates handles from a segment that it owns and that no other thread writes to.
+ * When a thread reaches the end of its segment, it claims another segment that has enough free
+ * slots, or a new one. This way, creating a handle needs no synchronization in the common case and
+ * the slots of collected objects are released in bulk when a segment is reused.
+ *
+ * The generation of a slot has 20 bits. A slot whose generation would wrap around is retired, i.e.,
+ * never used again, so that a handle can never be mistaken for an older handle of the same slot.
+ * This costs one slot per million objects referenced from native code through it.
+ *
+ * The class is public only for testing.
+ */
+public final class NativeHandleTable {
+
+    private static final long TAG_MASK = 0xffff000000000001L;
+    private static final long TAG = 0x0def000000000001L;
+    private static final int SLOT_BITS = 27;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int GENERATION_SHIFT = SLOT_BITS + 1;
+    private static final int GENERATION_MASK = (1 << 20) - 1;
+
+    private static final int SEGMENT_BITS = 10;
+    public static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int MAX_SEGMENTS = 1 << (SLOT_BITS - SEGMENT_BITS);
+    /**
+     * A segment is only reused if at least this many of its slots are free.
+     */
+    private static final int MIN_FREE_SLOTS = SEGMENT_SIZE / 8;
+    private static final int CLAIM_ATTEMPTS = 4;
+
+    public static final class Handle extends WeakReference<RBaseObject> {
+        final long id;
+
+        private Handle(long id, RBaseObject referent) {
+            super(referent);
+            this.id = id;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+
+    private static final class Segment {
+        final int base;
+        final AtomicReferenceArray<Handle> slots = new AtomicReferenceArray<>(SEGMENT_SIZE);
+        /**
+         * Generations of the slots, only accessed by the owner.
+         */
+        final int[] generations = new int[SEGMENT_SIZE];
+        final AtomicReference<Thread> owner;
+        /**
+         * The next slot to be considered for allocation, only accessed by the owner.
+         */
+        int cursor;
+
+        Segment(int base, Thread owner) {
+            this.base = base;
+            this.owner = new AtomicReference<>(owner);
+        }
+
+        boolean tryClaim(Thread thread) {
+            Thread current = owner.get();
+            // the segment of a thread that has terminated can be taken over
+            return (current == null || !current.isAlive()) && owner.compareAndSet(current, thread);
+        }
+
+        /**
+         * Counts the slots that can be used again, only called by the owner.
+         */
+        int countFree(int maxGeneration) {
+            int free = 0;
+            for (int i = 0; i < SEGMENT_SIZE; i++) {
+                Handle handle = slots.get(i);
+                if (handle == null || (handle.get() == null && generations[i] != maxGeneration)) {
+                    free++;
+                }
+            }
+            return free;
+        }
+
+        int countLive() {
+            int live = 0;
+            for (int i = 0; i < SEGMENT_SIZE; i++) {
+                Handle handle = slots.get(i);
+                if (handle != null && handle.get() != null) {
+                    live++;
+                }
+            }
+            return live;
+        }
+    }
+
+    /**
+     * The last generation of a slot, after which the slot is retired.
+     */
+    private final int maxGeneration;
+    private volatile Segment[] segments = new Segment[0];
+    private final AtomicInteger claimHint = new AtomicInteger();
+    private final ThreadLocal<Segment> allocationSegment = new ThreadLocal<>();
+
+    public NativeHandleTable() {
+        this(GENERATION_MASK);
+    }
+
+    /**
+     * Creates a table whose slots are retired after the given number of generations, which allows
+     * testing the retirement.
+     */
+    public NativeHandleTable(int maxGeneration) {
+        assert maxGeneration >= 0 && maxGeneration <= GENERATION_MASK;
+        this.maxGeneration = maxGeneration;
+    }
+
+    public static boolean isHandle(long id) {
+        return (id & TAG_MASK) == TAG;
+    }
+
+    private static long makeId(int slot, int generation) {
+        return TAG | ((long) generation << GENERATION_SHIFT) | ((long) slot << 1);
+    }
+
+    /**
+     * Creates a handle for the given object.
+     */
+    @TruffleBoundary
+    public Handle allocate(RBaseObject referent) {
+        Segment segment = allocationSegment.get();
+        while (true) {
+            if (segment != null) {
+                while (segment.cursor < SEGMENT_SIZE) {
+                    int i = segment.cursor++;
+                    Handle old = segment.slots.get(i);
+                    if (old == null || old.get() == null) {
+                        int generation = 0;
+                        if (old != null) {
+                            if (segment.generations[i] == maxGeneration) {
+                                // retired
+                                continue;
+                            }
+                            generation = segment.generations[i] + 1;
+                        }
+                        segment.generations[i] = generation;
+                        Handle handle = new Handle(makeId(segment.base + i, generation), referent);
+                        segment.slots.set(i, handle);
+                        return handle;
+                    }
+                }
+                segment.owner.set(null);
+            }
+            segment = claimSegment();
+            allocationSegment.set(segment);
+        }
+    }
+
+    private Segment claimSegment() {
+        Thread thread = Thread.currentThread();
+        Segment[] current = segments;
+        int attempts = Math.min(CLAIM_ATTEMPTS, current.length);
+        for (int i = 0; i < attempts; i++) {
+            Segment candidate = current[Math.floorMod(claimHint.getAndIncrement(), current.length)];
+            if (candidate.tryClaim(thread)) {
+                if (candidate.countFree(maxGeneration) >= MIN_FREE_SLOTS) {
+                    candidate.cursor = 0;
+                    return candidate;
+                }
+                candidate.owner.set(null);
+            }
+        }
+        return addSegment(thread);
+    }
+
+    private synchronized Segment addSegment(Thread thread) {
+        Segment[] current = segments;
+        if (current.length == MAX_SEGMENTS) {
+            throw RInternalError.shouldNotReachHere("too many R objects referenced from native code");
+        }
+        Segment segment = new Segment(current.length * SEGMENT_SIZE, thread);
+        Segment[] newSegments = Arrays.copyOf(current, current.length + 1);
+        newSegments[current.length] = segment;
+        segments = newSegments;
+        return segment;
+    }
+
+    /**
+     * Returns the object for the given handle, or {@code null} if the handle is not (or no longer)
+     * valid.
+     */
+    public RBaseObject lookup(long id) {
+        if (!isHandle(id)) {
+            return null;
+        }
+        int slot = (int) (id >>> 1) & SLOT_MASK;
+        Segment[] current = segments;
+        int segmentIndex = slot >>> SEGMENT_BITS;
+        if (segmentIndex >= current.length) {
+            return null;
+        }
+        Handle handle = current[segmentIndex].slots.get(slot & (SEGMENT_SIZE - 1));
+        return handle != null && handle.id == id ? handle.get() : null;
+    }
+
+    /**
+     * Counts the handles of objects that are still alive, for debugging purposes.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.countLive();
+        }
+        return size;
+    }
+
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    @Override
+    public String toString() {
+        return "native handle table with " + segments.length + " segments";
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -791,6 +791,35 @@ public final class RDataFactory {
         }
     }
 
+    /**
+     * Creates a zero-filled vector whose data are allocated in native memory, or returns
+     * {@code null} if vectors of the given type cannot be allocated this way.
+     */
+    public static RAbstractVector createEmptyNativeVector(RType type, int length) {
+        RAbstractVector result = NativeDataAccess.createNativeVector(type, length, true);
+        return result == null ? null : traceDataCreated(result);
+    }
+
+    /**
+     * Variant of {@link #createEmptyNativeVector(RType, int)} for {@link SEXPTYPE}.
+     */
+    public static RAbstractVector createEmptyNativeVector(SEXPTYPE type, int length) {
+        switch (type) {
+            case INTSXP:
+                return createEmptyNativeVector(RType.Integer, length);
+            case REALSXP:
+                return createEmptyNativeVector(RType.Double, length);
+            case LGLSXP:
+                return createEmptyNativeVector(RType.Logical, length);
+            case CPLXSXP:
+                return createEmptyNativeVector(RType.Complex, length);
+            case RAWSXP:
+                return createEmptyNativeVector(RType.Raw, length);
+            default:
+                return null;
+        }
+    }
+
     public static RIntVector createIntVectorFromNative(long address, int length) {
         return traceDataCreated(RIntVector.fromNative(address, length));
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -69,10 +69,10 @@ public final class RDoubleVector extends RAbstractNumericVector implements RMate
         assert RAbstractVector.verifyVector(this);
     }
 
-    private RDoubleVector() {
+    RDoubleVector() {
     }
 
-    private void setData(Object data, int newLen) {
+    void setData(Object data, int newLen) {
         // Temporary solution to keep getLength() fast
         // The assumption is that length of vectors can only change in infrequently used setLength
         // operation where we update the field accordingly
@@ -288,12 +288,21 @@ public final class RDoubleVector extends RAbstractNumericVector implements RMate
     @ExportMessage(name = "toNative", library = AbstractContainerLibrary.class)
     public void containerLibToNative(
                     @Cached("createBinaryProfile()") ConditionProfile alreadyNativeProfile,
+                    @Cached("createBinaryProfile()") ConditionProfile sequenceProfile,
                     @CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib) {
         if (alreadyNativeProfile.profile(data instanceof RDoubleNativeVectorData)) {
             return;
         }
-        double[] arr = dataLib.getReadonlyDoubleData(this.data);
-        NativeDataAccess.allocateNativeContents(this, arr, getLength());
+        if (NativeDataAccess.isConcurrentNative()) {
+            allocateNativeContents();
+            return;
+        }
+        if (sequenceProfile.profile(data instanceof RDoubleSeqVectorData)) {
+            NativeDataAccess.allocateNativeContents(this, (RDoubleSeqVectorData) data, getLength());
+        } else {
+            double[] arr = dataLib.getReadonlyDoubleData(this.data);
+            NativeDataAccess.allocateNativeContents(this, arr, getLength());
+        }
         setData(new RDoubleNativeVectorData(this), getLength());
     }
 
@@ -368,8 +377,18 @@ public final class RDoubleVector extends RAbstractNumericVector implements RMate
     }
 
     public long allocateNativeContents() {
-        data = VectorDataLibrary.getFactory().getUncached().materialize(data);
-        long result = NativeDataAccess.allocateNativeContents(this, getArrayForNativeDataAccess(), getLength());
+        return NativeDataAccess.allocateAndPublish(this, RDoubleVector::doAllocateNativeContents);
+    }
+
+    private long doAllocateNativeContents() {
+        long result;
+        if (data instanceof RDoubleSeqVectorData) {
+            // written to native memory directly, without materializing the sequence
+            result = NativeDataAccess.allocateNativeContents(this, (RDoubleSeqVectorData) data, getLength());
+        } else {
+            data = VectorDataLibrary.getFactory().getUncached().materialize(data);
+            result = NativeDataAccess.allocateNativeContents(this, getArrayForNativeDataAccess(), getLength());
+        }
         setData(new RDoubleNativeVectorData(this), getLength());
         return result;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -72,10 +72,10 @@ public final class RIntVector extends RAbstractNumericVector {
         assert RAbstractVector.verifyVector(this);
     }
 
-    private RIntVector() {
+    RIntVector() {
     }
 
-    private void setData(Object data, int newLen) {
+    void setData(Object data, int newLen) {
         // Temporary solution to keep getLength() fast
         // The assumption is that length of vectors can only change in infrequently used setLength
         // operation where we update the field accordingly
@@ -305,12 +305,21 @@ public final class RIntVector extends RAbstractNumericVector {
         @Specialization(guards = "!isAltrep(vector)")
         protected static void nativizeVector(RIntVector vector,
                         @Cached ConditionProfile alreadyNativeProfile,
+                        @Cached ConditionProfile sequenceProfile,
                         @CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib) {
             if (alreadyNativeProfile.profile(vector.data instanceof RIntNativeVectorData)) {
                 return;
             }
-            int[] arr = dataLib.getReadonlyIntData(vector.data);
-            NativeDataAccess.allocateNativeContents(vector, arr, vector.getLength());
+            if (NativeDataAccess.isConcurrentNative()) {
+                vector.allocateNativeContents();
+                return;
+            }
+            if (sequenceProfile.profile(vector.data instanceof RIntSeqVectorData)) {
+                NativeDataAccess.allocateNativeContents(vector, (RIntSeqVectorData) vector.data, vector.getLength());
+            } else {
+                int[] arr = dataLib.getReadonlyIntData(vector.data);
+                NativeDataAccess.allocateNativeContents(vector, arr, vector.getLength());
+            }
             vector.setData(new RIntNativeVectorData(vector), vector.getLength());
         }
 
@@ -411,8 +420,18 @@ public final class RIntVector extends RAbstractNumericVector {
     }
 
     public long allocateNativeContents() {
-        setData(VectorDataLibrary.getFactory().getUncached().materialize(data), getLength());
-        long result = NativeDataAccess.allocateNativeContents(this, getArrayForNativeDataAccess(), getLength());
+        return NativeDataAccess.allocateAndPublish(this, RIntVector::doAllocateNativeContents);
+    }
+
+    private long doAllocateNativeContents() {
+        long result;
+        if (data instanceof RIntSeqVectorData) {
+            // written to native memory directly, without materializing the sequence
+            result = NativeDataAccess.allocateNativeContents(this, (RIntSeqVectorData) data, getLength());
+        } else {
+            setData(VectorDataLibrary.getFactory().getUncached().materialize(data), getLength());
+            result = NativeDataAccess.allocateNativeContents(this, getArrayForNativeDataAccess(), getLength());
+        }
         setData(new RIntNativeVectorData(this), getLength());
         return result;
     }
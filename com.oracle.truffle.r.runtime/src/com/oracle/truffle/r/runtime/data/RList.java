@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -216,6 +216,10 @@ public final class RList extends RAbstractListVector implements RMaterializedVec
     }
 
     public long allocateNativeContents() {
+        return NativeDataAccess.allocateAndPublish(this, RList::doAllocateNativeContents);
+    }
+
+    private long doAllocateNativeContents() {
         if (!NativeDataAccess.isAllocated(this)) {
             assert data instanceof Object[]; // this assumes only two impls. list data: array and
                                              // native memory
@@ -273,6 +277,12 @@ public final class RList extends RAbstractListVector implements RMaterializedVec
     @ExportMessage(name = "toNative", library = AbstractContainerLibrary.class)
     public void containerLibToNative(
                     @Cached("createBinaryProfile()") ConditionProfile isAllocatedProfile) {
+        if (NativeDataAccess.isConcurrentNative()) {
+            if (!(data instanceof RListNativeData)) {
+                allocateNativeContents();
+            }
+            return;
+        }
         if (isAllocatedProfile.profile(!NativeDataAccess.isAllocated(this))) {
             // this assumes only two impls. list data: array and native memory
             assert data instanceof Object[];
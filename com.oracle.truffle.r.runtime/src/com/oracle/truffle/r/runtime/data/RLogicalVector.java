@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -72,10 +72,10 @@ public final class RLogicalVector extends RAbstractAtomicVector implements RMate
         assert RAbstractVector.verifyVector(this);
     }
 
-    private RLogicalVector() {
+    RLogicalVector() {
     }
 
-    private void setData(Object data, int newLen) {
+    void setData(Object data, int newLen) {
         // Temporary solution to keep getLength() fast
         // The assumption is that length of vectors can only change in infrequently used setLength
         // operation where we update the field accordingly
@@ -304,6 +304,10 @@ public final class RLogicalVector extends RAbstractAtomicVector implements RMate
         if (alreadyNativeProfile.profile(data instanceof RLogicalNativeVectorData)) {
             return;
         }
+        if (NativeDataAccess.isConcurrentNative()) {
+            allocateNativeContents();
+            return;
+        }
         byte[] arr = dataLib.getReadonlyLogicalData(this.data);
         NativeDataAccess.allocateNativeContents(this, arr, getLength());
         setData(new RLogicalNativeVectorData(this), getLength());
@@ -384,6 +388,10 @@ public final class RLogicalVector extends RAbstractAtomicVector implements RMate
     }
 
     public long allocateNativeContents() {
+        return NativeDataAccess.allocateAndPublish(this, RLogicalVector::doAllocateNativeContents);
+    }
+
+    private long doAllocateNativeContents() {
         data = VectorDataLibrary.getFactory().getUncached().materialize(data);
         long result = NativeDataAccess.allocateNativeContents(this, getArrayForNativeDataAccess(), getLength());
         setData(new RLogicalNativeVectorData(this), getLength());
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -67,10 +67,10 @@ public final class RRawVector extends RAbstractNumericVector implements RMateria
         assert RAbstractVector.verifyVector(this);
     }
 
-    private RRawVector() {
+    RRawVector() {
     }
 
-    private void setData(Object data, int newLen) {
+    void setData(Object data, int newLen) {
         // Temporary solution to keep getLength() fast
         // The assumption is that length of vectors can only change in infrequently used setLength
         // operation where we update the field accordingly
@@ -257,6 +257,10 @@ public final class RRawVector extends RAbstractNumericVector implements RMateria
         if (alreadyNativeProfile.profile(data instanceof RRawNativeVectorData)) {
             return;
         }
+        if (NativeDataAccess.isConcurrentNative()) {
+            allocateNativeContents();
+            return;
+        }
         byte[] arr = dataLib.getReadonlyRawData(this.data);
         NativeDataAccess.allocateNativeContents(this, arr, getLength());
         setData(new RRawNativeVectorData(this), getLength());
@@ -307,6 +311,10 @@ public final class RRawVector extends RAbstractNumericVector implements RMateria
     }
 
     public long allocateNativeContents() {
+        return NativeDataAccess.allocateAndPublish(this, RRawVector::doAllocateNativeContents);
+    }
+
+    private long doAllocateNativeContents() {
         setData(VectorDataLibrary.getFactory().getUncached().materialize(data));
         long result = NativeDataAccess.allocateNativeContents(this, getArrayForNativeDataAccess(), getLength());
         setData(new RRawNativeVectorData(this), getLength());
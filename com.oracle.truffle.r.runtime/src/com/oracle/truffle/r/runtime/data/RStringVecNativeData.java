@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -96,10 +96,13 @@ public class RStringVecNativeData implements TruffleObject, ShareableVectorData
         return true;
     }
 
+    /**
+     * The copy keeps the {@link CharSXPWrapper}s, so that it does not have to wrap the strings
+     * again when it is passed to native code.
+     */
     @ExportMessage
-    public RStringArrayVectorData copy(@SuppressWarnings("unused") boolean deep) {
-        String[] dataCopy = NativeDataAccess.copyStringNativeData(vec.getNativeMirror());
-        return new RStringArrayVectorData(dataCopy, RDataFactory.INCOMPLETE_VECTOR);
+    public RStringCharSXPData copy(@SuppressWarnings("unused") boolean deep) {
+        return new RStringCharSXPData(NativeDataAccess.copyCharSXPNativeData(vec.getNativeMirror()));
     }
 
     @ExportMessage
@@ -112,6 +115,11 @@ public class RStringVecNativeData implements TruffleObject, ShareableVectorData
         return NativeDataAccess.copyStringNativeData(vec.getNativeMirror());
     }
 
+    @ExportMessage
+    public CharSXPWrapper[] getCharSXPDataCopy() {
+        return NativeDataAccess.copyCharSXPNativeData(vec.getNativeMirror());
+    }
+
     // Access to the elements:
 
     @ExportMessage
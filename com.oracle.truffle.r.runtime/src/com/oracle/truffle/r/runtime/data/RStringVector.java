@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -358,6 +358,10 @@ public final class RStringVector extends RAbstractAtomicVector implements RMater
         if (alreadyNativeProfile.profile(data instanceof RStringVecNativeData)) {
             return;
         }
+        if (NativeDataAccess.isConcurrentNative()) {
+            allocateNativeContents();
+            return;
+        }
         wrapStrings();
         CharSXPWrapper[] arr = ((RStringCharSXPData) this.data).getData();
         int len = getLength();
@@ -398,6 +402,10 @@ public final class RStringVector extends RAbstractAtomicVector implements RMater
      * vector contains plain Strings, they will be first wrapped to {@link CharSXPWrapper}s.
      */
     public long allocateNativeContents() {
+        return NativeDataAccess.allocateAndPublish(this, RStringVector::doAllocateNativeContents);
+    }
+
+    private long doAllocateNativeContents() {
         wrapStrings();
         assert data instanceof RStringCharSXPData || data instanceof RStringVecNativeData;
         CharSXPWrapper[] dataForNativeAccess = data instanceof RStringCharSXPData ? ((RStringCharSXPData) data).getData() : null;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -148,6 +148,22 @@ public final class RFrameSlot {
      */
     public static final RFrameSlot RestartStack = new RFrameSlot("RestartStack", false);
 
+    /**
+     * Used by the {@code lapply} loop to keep the result array in the frame of the calling closure,
+     * so that the loop body can be executed by a {@code RepeatingNode}.
+     */
+    public static final RFrameSlot LapplyResult = new RFrameSlot("LapplyResult", false);
+    /**
+     * Used by the {@code lapply} loop to keep the applied function in the frame of the calling
+     * closure, see {@link #LapplyResult}.
+     */
+    public static final RFrameSlot LapplyFunction = new RFrameSlot("LapplyFunction", false);
+    /**
+     * Used by the cached {@code mapply} loop to keep its state in the frame of the calling closure,
+     * see {@link #LapplyResult}.
+     */
+    public static final RFrameSlot MapplyState = new RFrameSlot("MapplyState", false);
+
     public static final RFrameSlot ExplicitCallArgs = new RFrameSlot("RExplicitCall-argsIdentifier", true);
 
     public static final RFrameSlot FunctionEvalNodeArgsIdentifier = RFrameSlot.createTemp("FunctionEvalCallNode-argsIdentifier", true);
@@ -155,6 +171,6 @@ public final class RFrameSlot {
     public static final RFrameSlot FunctionEvalNodeFunIdentifier = RFrameSlot.createTemp("FunctionEvalCallNode-funIdentifier", true);
 
     public static RFrameSlot[] values() {
-        return new RFrameSlot[]{OnExit, Visibility, HandlerStack, RestartStack};
+        return new RFrameSlot[]{OnExit, Visibility, HandlerStack, RestartStack, LapplyResult, LapplyFunction, MapplyState};
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -31,6 +31,7 @@ import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.NativeDataAccess;
 import com.oracle.truffle.r.runtime.data.RBaseObject;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
@@ -40,10 +41,17 @@ public abstract class CRFFIWrapVectorNode extends Node {
 
     @Child protected FFIMaterializeNode materializeNode = FFIMaterializeNode.create();
 
-    protected abstract Object execute(Object vector);
-
-    public final Object dispatch(Object vector) {
-        return execute(materializeNode.materialize(vector));
+    protected abstract Object execute(Object vector, boolean dup);
+
+    /**
+     * Converts the argument to the value passed to native code. With {@code dup == false}, i.e.,
+     * {@code DUP = FALSE} in the call to {@code .C}/{@code .Fortran}, a vector that is not shared
+     * is passed by reference like a temporary vector: it is turned into a native memory backed
+     * vector only once and the native code then modifies it in place, so repeated calls on the same
+     * vector do not copy its data.
+     */
+    public final Object dispatch(Object vector, boolean dup) {
+        return execute(materializeNode.materialize(vector), dup);
     }
 
     protected boolean isTemporary(Object vector) {
@@ -52,35 +60,42 @@ public abstract class CRFFIWrapVectorNode extends Node {
         return RRuntime.isMaterializedVector(vector) && ((RAbstractVector) vector).isTemporary();
     }
 
+    protected boolean isPassedByReference(Object vector, boolean dup) {
+        return isTemporary(vector) || !dup && RRuntime.isMaterializedVector(vector) && !((RAbstractVector) vector).isShared();
+    }
+
     protected static boolean isStringVector(Object vector) {
         return vector instanceof RStringVector;
     }
 
     @Specialization
-    protected Object temporaryToNative(RStringVector vector) {
+    protected Object temporaryToNative(RStringVector vector, @SuppressWarnings("unused") boolean dup) {
         return new StringArrayWrapper(vector);
     }
 
-    @Specialization(guards = {"isTemporary(vector)", "!isStringVector(vector)"})
-    protected Object temporaryToNative(RAbstractVector vector,
+    @Specialization(guards = {"isPassedByReference(vector, dup)", "!isStringVector(vector)"})
+    protected Object temporaryToNative(RAbstractVector vector, @SuppressWarnings("unused") boolean dup,
                     @Shared("getObjectDataPtrNode") @Cached RObjectDataPtr.GetObjectDataPtrNode getObjectDataPtrNode) {
         return getObjectDataPtrNode.execute(vector);
     }
 
-    @Specialization(guards = {"!isTemporary(vector)", "!isStringVector(vector)"})
-    protected Object nonTemporaryToNative(RAbstractVector vector,
+    @Specialization(guards = {"!isPassedByReference(vector, dup)", "!isStringVector(vector)"})
+    protected Object nonTemporaryToNative(RAbstractVector vector, @SuppressWarnings("unused") boolean dup,
                     @Shared("getObjectDataPtrNode") @Cached RObjectDataPtr.GetObjectDataPtrNode getObjectDataPtrNode) {
-        return getObjectDataPtrNode.execute(vector.copy());
+        // the native code may modify the copy, which is then returned as the result; copying
+        // directly into native memory saves the intermediate managed copy
+        RAbstractVector copy = NativeDataAccess.copyToNative(vector);
+        return getObjectDataPtrNode.execute(copy != null ? copy : vector.copy());
     }
 
     @Specialization
-    protected Object toNativeMirror(RBaseObject obj,
+    protected Object toNativeMirror(RBaseObject obj, @SuppressWarnings("unused") boolean dup,
                     @Cached() FFIToNativeMirrorNode ffiToNativeMirrorNode) {
         return ffiToNativeMirrorNode.execute(obj);
     }
 
     @Fallback
-    protected Object fallback(Object obj) {
+    protected Object fallback(Object obj, @SuppressWarnings("unused") boolean dup) {
         return fallbackError(obj);
     }
 
@@ -92,7 +107,7 @@ public abstract class CRFFIWrapVectorNode extends Node {
 
     public abstract static class CRFFIWrapVectorsNode extends Node {
 
-        public abstract Object[] execute(Object[] vectors);
+        public abstract Object[] execute(Object[] vectors, boolean dup);
 
         protected CRFFIWrapVectorNode[] createWrapNodes(int length) {
             CRFFIWrapVectorNode[] nodes = new CRFFIWrapVectorNode[length];
@@ -104,12 +119,12 @@ public abstract class CRFFIWrapVectorNode extends Node {
 
         @Specialization(limit = "99", guards = "vectors.length == cachedLength")
         @ExplodeLoop
-        protected Object[] wrapArray(Object[] vectors,
+        protected Object[] wrapArray(Object[] vectors, boolean dup,
                         @SuppressWarnings("unused") @Cached("vectors.length") int cachedLength,
                         @Cached("createWrapNodes(vectors.length)") CRFFIWrapVectorNode[] wrapNodes) {
             Object[] results = new Object[wrapNodes.length];
             for (int i = 0; i < wrapNodes.length; i++) {
-                results[i] = wrapNodes[i].dispatch(vectors[i]);
+                results[i] = wrapNodes[i].dispatch(vectors[i], dup);
             }
             return results;
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -23,6 +23,7 @@
 package com.oracle.truffle.r.runtime.ffi;
 
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeInterface;
@@ -45,11 +46,22 @@ public interface CallRFFI {
             DLLInfo dllInfo = nativeCallInfo.dllInfo;
             LibHandle handle = dllInfo == null ? null : dllInfo.handle;
             Type rffiType = handle == null ? stateRFFI.getDefaultRFFIType() : handle.getRFFIType();
-            Object before = stateRFFI.beforeDowncall(frame == null ? null : frame.materialize(), rffiType);
+            Object profile = RFFIProfiler.isEnabled() ? RFFIProfiler.downCallStart(nativeCallInfo.name) : null;
+            long backendStart = RFFIBackendSelector.downCallStart();
+            long upCallsBefore = stateRFFI.getUpCallCount();
+            MaterializedFrame materializedFrame = frame == null ? null : frame.materialize();
+            Object before = dllInfo != null && dllInfo.isConcurrentNative() ? stateRFFI.beforeConcurrentDowncall(materializedFrame, rffiType)
+                            : stateRFFI.beforeDowncall(materializedFrame, rffiType);
             try {
                 return execute(nativeCallInfo, args);
             } finally {
                 stateRFFI.afterDowncall(before, rffiType, AfterDownCallProfiles.getUncached());
+                if (profile != null) {
+                    RFFIProfiler.downCallEnd(profile);
+                }
+                if (backendStart != 0) {
+                    RFFIBackendSelector.downCallEnd(dllInfo, nativeCallInfo.name, backendStart, stateRFFI.getUpCallCount() - upCallsBefore);
+                }
             }
         }
 
@@ -64,11 +76,15 @@ public interface CallRFFI {
     interface InvokeVoidCallNode extends NodeInterface {
         default void dispatch(VirtualFrame frame, NativeCallInfo nativeCallInfo, RContext context, Object[] args) {
             RFFIContext stateRFFI = context.getStateRFFI();
+            Object profile = RFFIProfiler.isEnabled() ? RFFIProfiler.downCallStart(nativeCallInfo.name) : null;
             Object before = stateRFFI.beforeDowncall(frame == null ? null : frame.materialize(), nativeCallInfo.dllInfo.handle.getRFFIType());
             try {
                 execute(frame, nativeCallInfo, args);
             } finally {
                 stateRFFI.afterDowncall(before, nativeCallInfo.dllInfo.handle.getRFFIType(), AfterDownCallProfiles.getUncached());
+                if (profile != null) {
+                    RFFIProfiler.downCallEnd(profile);
+                }
             }
         }
 
@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1995-2012, The R Core Team
  * Copyright (c) 2003, The R Foundation
- * Copyright (c) 2015, 2022, Oracle and/or its affiliates
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -19,10 +19,14 @@
  */
 package com.oracle.truffle.r.runtime.ffi;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -45,6 +49,8 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.r.runtime.DCF;
+import com.oracle.truffle.r.runtime.FileSystemUtils;
 import com.oracle.truffle.r.runtime.REnvVars;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RError.Message;
@@ -129,6 +135,9 @@ public class DLL {
         public void beforeDispose(RContext contextArg) {
             // Note: the first entry should be RLib
             if (!isShareDLLKind(context.getKind()) && list.size() > 1) {
+                if (RFFIBackendSelector.isEnabled()) {
+                    RFFIBackendSelector.storeDecisions(contextArg, list);
+                }
                 RootCallTarget closeCallTarget = DLCloseRootNode.create(contextArg);
                 for (int i = 1; i < list.size(); i++) {
                     DLLInfo dllInfo = list.get(i);
@@ -239,12 +248,16 @@ public class DLL {
         private boolean forceSymbols;
         private final DotSymbol[][] nativeSymbols = new DotSymbol[NativeSymbolType.values().length][];
         private static Map<String, ArrayList<CEntry>> cEntryTable = new HashMap<>();
-        private final HashSet<String> unsuccessfulLookups = new HashSet<>();
+        private final Set<String> unsuccessfulLookups = ConcurrentHashMap.newKeySet();
         /**
          * A synthetic DLLInfo faking {@link RFunction}-s as if they were real native symbols to
          * .Call etc.
          */
         private final boolean syntheticHandle;
+        /**
+         * @see #isConcurrentNative()
+         */
+        private boolean concurrentNative;
 
         private DLLInfo(String name, String path, boolean dynamicLookup, LibHandle handle, boolean syntheticHandle) {
             this.id = ID.getAndIncrement();
@@ -311,7 +324,19 @@ public class DLL {
         }
 
         public DLLInfo replaceHandle(LibHandle newHandle) {
-            return new DLLInfo(name, path, dynamicLookup, newHandle, syntheticHandle);
+            DLLInfo result = new DLLInfo(name, path, dynamicLookup, newHandle, syntheticHandle);
+            result.concurrentNative = concurrentNative;
+            return result;
+        }
+
+        /**
+         * Whether the native code of this library is reentrant, so that the backends that
+         * serialize down-calls may run {@code .Call} and {@code .External} calls of it in several
+         * contexts at the same time. A package declares this by {@value #CONCURRENT_NATIVE_FIELD}
+         * in its {@code DESCRIPTION} file, the user by {@code --R.ConcurrentNativePackages}.
+         */
+        public boolean isConcurrentNative() {
+            return concurrentNative;
         }
 
         /**
@@ -628,6 +653,42 @@ public class DLL {
 
     public static final String R_INIT_PREFIX = "R_init_";
 
+    /**
+     * The field of the {@code DESCRIPTION} file by which a package declares that its native code
+     * is reentrant, see {@link DLLInfo#isConcurrentNative()}.
+     */
+    public static final String CONCURRENT_NATIVE_FIELD = "FastRConcurrentNative";
+
+    @TruffleBoundary
+    private static boolean isConcurrentNative(RContext context, String libName, String absPath) {
+        if (context.isConcurrentNativePackage(libName)) {
+            return true;
+        }
+        // the library is expected in the "libs" directory of the package
+        TruffleFile libsDir = context.getSafeTruffleFile(absPath).getParent();
+        TruffleFile pkgDir = libsDir == null ? null : libsDir.getParent();
+        if (pkgDir == null) {
+            return false;
+        }
+        try {
+            TruffleFile description = pkgDir.resolve("DESCRIPTION");
+            if (!description.exists()) {
+                return false;
+            }
+            List<String> lines = FileSystemUtils.readAllLines(description);
+            for (DCF.Fields record : DCF.read(lines.toArray(new String[lines.size()]), null).getRecords()) {
+                String value = record.getFields().get(CONCURRENT_NATIVE_FIELD);
+                if (value != null) {
+                    String flag = value.trim().toLowerCase();
+                    return flag.equals("yes") || flag.equals("true");
+                }
+            }
+        } catch (IOException | SecurityException e) {
+            // no declaration
+        }
+        return false;
+    }
+
     public abstract static class LoadPackageDLLNode extends Node {
         @Child private InvokeVoidCallNode invokeVoidCallNode;
         @Child private DLLRFFI.DLSymNode dlSymNode = RFFIFactory.getDLLRFFI().createDLSymNode();
@@ -690,7 +751,12 @@ public class DLL {
         private synchronized DLLInfo doLoad(RContext context, String absPath, boolean local, boolean now, boolean addToList) throws DLLException {
             try {
                 LibHandle handle = dlOpenNode.execute(absPath, local, now);
-                return DLLInfo.create(libName(context, absPath), absPath, true, handle, addToList);
+                DLLInfo dllInfo = DLLInfo.create(libName(context, absPath), absPath, true, handle, addToList);
+                dllInfo.concurrentNative = isConcurrentNative(context, dllInfo.name, absPath);
+                if (dllInfo.concurrentNative) {
+                    NativeDataAccess.enableConcurrentNative();
+                }
+                return dllInfo;
             } catch (UnsatisfiedLinkError ex) {
                 String dlError = ex.getMessage();
                 if (RContext.isInitialContextInitialized()) {
@@ -711,6 +777,9 @@ public class DLL {
             ContextStateImpl contextState = getContextState();
             for (DLLInfo info : contextState.list) {
                 if (info.path.equals(absPath)) {
+                    if (RFFIBackendSelector.isEnabled()) {
+                        RFFIBackendSelector.storeDecisions(RContext.getInstance(this), Collections.singletonList(info));
+                    }
                     int rc = dlCloseNode.execute(info.handle);
                     if (rc != 0) {
                         throw new DLLException(null, RError.Message.DLL_LOAD_ERROR, path, "");
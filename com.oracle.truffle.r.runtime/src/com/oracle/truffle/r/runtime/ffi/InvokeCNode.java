@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -58,7 +58,10 @@ import com.oracle.truffle.r.runtime.nodes.RBaseNode;
  * non-temporary vectors must not be passed to the native code, instead they must be copied and data
  * field of the copy is passed to the native code. The calling R code wants to "read back" the
  * results and that is why this function returns {@link RList} with vectors corresponding to the
- * arguments (or their copies if they were non-temporary).
+ * arguments (or their copies if they were non-temporary). With {@code DUP = FALSE}, vectors that
+ * are not shared are not copied either, the native code modifies them in place, which is what
+ * {@code DUP = FALSE} meant in older versions of GNU R. Since such vectors stay backed by native
+ * memory, repeated calls on the same vector do not copy any data.
  *
  * This class works as follows: it materializes all the arguments and retrieves the corresponding
  * {@link RObjectDataPtr} instances that represent the "data" array of those vectors. Any other
@@ -84,22 +87,29 @@ public abstract class InvokeCNode extends RBaseNode {
     protected abstract void execute(NativeCallInfo nativeCallInfo, Object[] args);
 
     public final RList dispatch(VirtualFrame frame, NativeCallInfo nativeCallInfo, byte naok, byte dup, RArgsValuesAndNames args) {
-        @SuppressWarnings("unused")
         boolean dupArgs = RRuntime.fromLogical(dup);
         @SuppressWarnings("unused")
         boolean checkNA = RRuntime.fromLogical(naok);
 
-        Object[] preparedArgs = argsWrapperNode.execute(args.getArguments());
-
-        RFFIContext stateRFFI = stateRFFIProfile.profile(getRContext().getStateRFFI());
-        LibHandle handle = nativeCallInfo.dllInfo == null ? null : nativeCallInfo.dllInfo.handle;
-        Type rffiType = handle == null ? stateRFFI.getDefaultRFFIType() : handle.getRFFIType();
-        Object before = stateRFFI.beforeDowncall(frame.materialize(), rffiType);
+        // the profiled time includes the copying of the arguments to and from native memory
+        Object profile = RFFIProfiler.isEnabled() ? RFFIProfiler.downCallStart(nativeCallInfo.name) : null;
         try {
-            execute(nativeCallInfo, preparedArgs);
-            return RDataFactory.createList(argsUnwrapperNode.execute(preparedArgs), validateArgNames(preparedArgs.length, args.getSignature()));
+            Object[] preparedArgs = argsWrapperNode.execute(args.getArguments(), dupArgs);
+
+            RFFIContext stateRFFI = stateRFFIProfile.profile(getRContext().getStateRFFI());
+            LibHandle handle = nativeCallInfo.dllInfo == null ? null : nativeCallInfo.dllInfo.handle;
+            Type rffiType = handle == null ? stateRFFI.getDefaultRFFIType() : handle.getRFFIType();
+            Object before = stateRFFI.beforeDowncall(frame.materialize(), rffiType);
+            try {
+                execute(nativeCallInfo, preparedArgs);
+                return RDataFactory.createList(argsUnwrapperNode.execute(preparedArgs), validateArgNames(preparedArgs.length, args.getSignature()));
+            } finally {
+                stateRFFI.afterDowncall(before, rffiType, AfterDownCallProfiles.getUncached());
+            }
         } finally {
-            stateRFFI.afterDowncall(before, rffiType, AfterDownCallProfiles.getUncached());
+            if (profile != null) {
+                RFFIProfiler.downCallEnd(profile);
+            }
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,6 +22,11 @@
  */
 package com.oracle.truffle.r.runtime.ffi;
 
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.ffi.lapack.JavaLapack;
+
 /**
  * Collection of statically typed Lapack methods that are used in the {@code base} package. The
  * signatures match the Fortran definition with the exception that the "info" value is returned as
@@ -29,6 +34,9 @@ package com.oracle.truffle.r.runtime.ffi;
  *
  * The documentation for individual functions can be found in the
  * <a href="http://www.netlib.org/lapack/explore-html">spec</a>.
+ *
+ * The nodes of the routines implemented by {@link JavaLapack} call the Java implementation instead
+ * of the native one in the managed mode and with {@link FastROptions#JavaLapack}.
  */
 public final class LapackRFFI {
     private final DownCallNodeFactory downCallNodeFactory;
@@ -37,6 +45,14 @@ public final class LapackRFFI {
         this.downCallNodeFactory = downCallNodeFactory;
     }
 
+    /**
+     * The option is read on every call from the context of the caller, since the nodes are shared
+     * by contexts that can set it differently.
+     */
+    static boolean useJavaLapack(Node node) {
+        return RFFIFactory.getFactoryType() == RFFIFactory.Type.MANAGED || RContext.getInstance(node).getOption(FastROptions.JavaLapack);
+    }
+
     public static final class IlaverNode extends NativeCallNode {
         public static IlaverNode create() {
             return RFFIFactory.getLapackRFFI().createIlaverNode();
@@ -78,6 +94,9 @@ public final class LapackRFFI {
         }
 
         public int execute(int m, int n, double[] a, int lda, int[] jpvt, double[] tau, double[] work, int lwork) {
+            if (useJavaLapack(this)) {
+                return JavaLapack.dgeqp3(m, n, a, lda, jpvt, tau, work, lwork);
+            }
             return (int) call(NativeFunction.dgeqp3, m, n, a, lda, jpvt, tau, work, lwork);
         }
     }
@@ -93,6 +112,9 @@ public final class LapackRFFI {
         }
 
         public int execute(char side, char trans, int m, int n, int k, double[] a, int lda, double[] tau, double[] c, int ldc, double[] work, int lwork) {
+            if (useJavaLapack(this)) {
+                return JavaLapack.dormqr(side, trans, m, n, k, a, lda, tau, c, ldc, work, lwork);
+            }
             return (int) call(NativeFunction.dormq, side, trans, m, n, k, a, lda, tau, c, ldc, work, lwork);
         }
     }
@@ -108,6 +130,9 @@ public final class LapackRFFI {
         }
 
         public int execute(char uplo, char trans, char diag, int n, int nrhs, double[] a, int lda, double[] b, int ldb) {
+            if (useJavaLapack(this)) {
+                return JavaLapack.dtrtrs(uplo, trans, diag, n, nrhs, a, lda, b, ldb);
+            }
             return (int) call(NativeFunction.dtrtrs, uplo, trans, diag, n, nrhs, a, lda, b, ldb);
         }
     }
@@ -123,6 +148,9 @@ public final class LapackRFFI {
         }
 
         public int execute(int m, int n, double[] a, int lda, int[] ipiv) {
+            if (useJavaLapack(this)) {
+                return JavaLapack.dgetrf(m, n, a, lda, ipiv);
+            }
             return (int) call(NativeFunction.dgetrf, m, n, a, lda, ipiv);
         }
     }
@@ -138,6 +166,9 @@ public final class LapackRFFI {
         }
 
         public int execute(char uplo, int n, double[] a, int lda) {
+            if (useJavaLapack(this)) {
+                return JavaLapack.dpotrf(uplo, n, a, lda);
+            }
             return (int) call(NativeFunction.dpotrf, uplo, n, a, lda);
         }
     }
@@ -183,6 +214,9 @@ public final class LapackRFFI {
         }
 
         public int execute(int n, int nrhs, double[] a, int lda, int[] ipiv, double[] b, int ldb) {
+            if (useJavaLapack(this)) {
+                return JavaLapack.dgesv(n, nrhs, a, lda, ipiv, b, ldb);
+            }
             return (int) call(NativeFunction.dgesv, n, nrhs, a, lda, ipiv, b, ldb);
         }
     }
@@ -198,6 +232,9 @@ public final class LapackRFFI {
         }
 
         public int execute(char jobz, int m, int n, double[] a, int lda, double[] s, double[] u, int ldu, double[] vt, int ldtv, double[] work, int lwork, int[] iwork) {
+            if (useJavaLapack(this)) {
+                return JavaLapack.dgesdd(jobz, m, n, a, lda, s, u, ldu, vt, ldtv, work, lwork, iwork);
+            }
             return (int) call(NativeFunction.dgesdd, jobz, m, n, a, lda, s, u, ldu, vt, ldtv, work, lwork, iwork);
         }
     }
@@ -213,6 +250,9 @@ public final class LapackRFFI {
         }
 
         public double execute(char norm, int m, int n, double[] a, int lda, double[] work) {
+            if (useJavaLapack(this)) {
+                return JavaLapack.dlange(norm, m, n, a, lda, work);
+            }
             return (double) call(NativeFunction.dlange, norm, m, n, a, lda, work);
         }
     }
@@ -228,6 +268,9 @@ public final class LapackRFFI {
         }
 
         public int execute(char norm, int n, double[] a, int lda, double anorm, double[] rcond, double[] work, int[] iwork) {
+            if (useJavaLapack(this)) {
+                return JavaLapack.dgecon(norm, n, a, lda, anorm, rcond, work, iwork);
+            }
             return (int) call(NativeFunction.dgecon, norm, n, a, lda, anorm, rcond, work, iwork);
         }
     }
@@ -244,6 +287,9 @@ public final class LapackRFFI {
 
         public int execute(char jobz, char range, char uplo, int n, double[] a, int lda, double vl, double vu, int il, int iu, double abstol, int[] m, double[] w, double[] z, int ldz, int[] isuppz,
                         double[] work, int lwork, int[] iwork, int liwork) {
+            if (useJavaLapack(this)) {
+                return JavaLapack.dsyevr(jobz, range, uplo, n, a, lda, vl, vu, il, iu, abstol, m, w, z, ldz, isuppz, work, lwork, iwork, liwork);
+            }
             return (int) call(NativeFunction.dsyevr, jobz, range, uplo, n, a, lda, vl, vu, il, iu, abstol, m, w, z, ldz, isuppz, work, lwork, iwork, liwork);
         }
     }
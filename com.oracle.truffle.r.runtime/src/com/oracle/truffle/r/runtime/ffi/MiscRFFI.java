@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -24,6 +24,7 @@ package com.oracle.truffle.r.runtime.ffi;
 
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.ffi.lapack.JavaDqrls;
 
 /**
  * Miscellaneous methods implemented in native code.
@@ -56,6 +57,10 @@ public final class MiscRFFI {
         }
 
         public void execute(double[] x, int n, int p, double[] y, int ny, double tol, double[] b, double[] rsd, double[] qty, int[] k, int[] jpvt, double[] qraux, double[] work) {
+            if (LapackRFFI.useJavaLapack(this)) {
+                JavaDqrls.dqrls(x, n, p, y, ny, tol, b, rsd, qty, k, jpvt, qraux, work);
+                return;
+            }
             call(NativeFunction.dqrls, x, n, p, y, ny, tol, b, rsd, qty, k, jpvt, qraux, work);
         }
 
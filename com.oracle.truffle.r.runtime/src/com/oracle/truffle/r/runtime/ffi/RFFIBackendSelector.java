@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.ffi;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.ffi.DLL.DLLInfo;
+
+/**
+ * Chooses the backend of the packages in the {@code auto} mode of {@link FastROptions#BackEnd}.
+ * For every native symbol of a package called via {@code .Call} or {@code .External}, it records
+ * the number of calls, the time spent in them and the number of up-calls they make. Packages whose
+ * hot symbols make many up-calls relative to the time they run gain from the LLVM backend, which
+ * can inline the up-calls, whereas long running numeric code with few up-calls runs faster
+ * natively.
+ *
+ * The backend of a package cannot be changed once it is loaded, and the symbols of one package
+ * cannot be split between the backends, because each backend has its own copy of the global
+ * variables of the library. Therefore, the decision is made per package and stored when the
+ * package is unloaded or the context exits. The next time the package is loaded, it is loaded by
+ * the chosen backend. The decisions are stored in the directory given by
+ * {@link FastROptions#BackEndCacheDir}, not in the package library, which may be shared or
+ * read-only. A decision file is named after the library and a hash of its path, size and time of
+ * modification, so that reinstalling the package discards the decision. The data are collected per library and backend, so that the data of a package loaded
+ * by another backend after it was reloaded, possibly in another context, are kept apart. The
+ * decisions and the data they are based on are available via {@code .fastr.ffi.backends()}.
+ *
+ * The methods that take the backend as a string are public only for testing.
+ */
+public final class RFFIBackendSelector {
+
+    public static final String DECISION_SUFFIX = ".fastr-backend";
+
+    public static final String LLVM = "llvm";
+    public static final String NATIVE = "native";
+    /**
+     * Stored instead of a decision for libraries that failed to load by the LLVM backend.
+     */
+    public static final String UNAVAILABLE = "llvm-unavailable";
+
+    /**
+     * Only symbols called at least this many times are considered.
+     */
+    public static final long HOT_CALLS = 1000;
+    /**
+     * Up-calls per microsecond of the time spent in the hot symbols, above which the LLVM backend
+     * is chosen and below which the native backend is chosen. The values in between keep the
+     * current backend, so that the decision does not flip between runs.
+     */
+    public static final double LLVM_DENSITY = 0.1;
+    public static final double NATIVE_DENSITY = 0.02;
+
+    private static final Assumption neverEnabled = Truffle.getRuntime().createAssumption("RFFIBackendSelector never enabled");
+    private static volatile boolean enabled;
+
+    private static final ConcurrentHashMap<String, Package> packages = new ConcurrentHashMap<>();
+
+    private RFFIBackendSelector() {
+        // no instances
+    }
+
+    public static boolean isEnabled() {
+        return !neverEnabled.isValid() && enabled;
+    }
+
+    @TruffleBoundary
+    public static void setEnabled(boolean value) {
+        if (value) {
+            neverEnabled.invalidate();
+        }
+        enabled = value;
+    }
+
+    private static final class Symbol {
+        long count;
+        long totalNanos;
+        long upCalls;
+
+        synchronized void record(long nanos, long calls) {
+            count++;
+            totalNanos += nanos;
+            upCalls += calls;
+        }
+    }
+
+    private static final class Package {
+        final String name;
+        final String path;
+        final String backend;
+        final ConcurrentHashMap<String, Symbol> symbols = new ConcurrentHashMap<>();
+
+        Package(String name, String path, String backend) {
+            this.name = name;
+            this.path = path;
+            this.backend = backend;
+        }
+
+        /**
+         * Returns the up-call density of the hot symbols, or {@code NaN} if there are none.
+         */
+        double density() {
+            long nanos = 0;
+            long upCalls = 0;
+            for (Symbol symbol : symbols.values()) {
+                synchronized (symbol) {
+                    if (symbol.count >= HOT_CALLS) {
+                        nanos += symbol.totalNanos;
+                        upCalls += symbol.upCalls;
+                    }
+                }
+            }
+            return nanos == 0 ? Double.NaN : upCalls / (nanos / 1000.0);
+        }
+    }
+
+    private static String getBackend(DLLInfo dllInfo) {
+        return dllInfo.handle.getRFFIType() == RFFIFactory.Type.LLVM ? LLVM : NATIVE;
+    }
+
+    private static String getKey(String path, String backend) {
+        return backend + ':' + path;
+    }
+
+    /**
+     * Returns the start time of a down-call to be passed to
+     * {@link #downCallEnd(DLLInfo, String, long, long)}, or {@code 0} if the selector is disabled.
+     */
+    public static long downCallStart() {
+        return isEnabled() ? nanoTime() : 0;
+    }
+
+    @TruffleBoundary
+    private static long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @TruffleBoundary
+    public static void downCallEnd(DLLInfo dllInfo, String symbol, long start, long upCalls) {
+        if (dllInfo == null || dllInfo.isSynthetic() || dllInfo.handle == null) {
+            return;
+        }
+        record(dllInfo.name, dllInfo.path, getBackend(dllInfo), symbol, System.nanoTime() - start, upCalls);
+    }
+
+    /**
+     * Records a call of the given symbol of the library loaded by the given backend.
+     */
+    @TruffleBoundary
+    public static void record(String name, String path, String backend, String symbol, long nanos, long upCalls) {
+        Package pkg = packages.computeIfAbsent(getKey(path, backend), k -> new Package(name, path, backend));
+        pkg.symbols.computeIfAbsent(symbol, s -> new Symbol()).record(nanos, upCalls);
+    }
+
+    private static String decide(RContext context, Package pkg) {
+        return decide(pkg.density(), pkg.backend, context.getSafeTruffleFile(pkg.path));
+    }
+
+    /**
+     * Returns the backend that the given up-call density suggests for the library currently loaded
+     * by the given backend, which is that backend if there are not enough data, i.e., the density
+     * is {@code NaN}.
+     */
+    @TruffleBoundary
+    public static String decide(double density, String backend, TruffleFile lib) {
+        if (density >= LLVM_DENSITY && !UNAVAILABLE.equals(readDecision(lib)) && hasBitcode(lib)) {
+            return LLVM;
+        } else if (density < NATIVE_DENSITY) {
+            return NATIVE;
+        }
+        return backend;
+    }
+
+    /**
+     * The shared libraries built by the LLVM toolchain embed the bitcode in a section whose name,
+     * {@code .llvmbc} or {@code __llvmbc}, appears in the section header string table.
+     */
+    @TruffleBoundary
+    public static boolean hasBitcode(TruffleFile lib) {
+        byte[] pattern = "llvmbc".getBytes(StandardCharsets.US_ASCII);
+        try (InputStream in = lib.newInputStream()) {
+            byte[] buffer = new byte[64 * 1024];
+            int kept = 0;
+            int read;
+            while ((read = in.read(buffer, kept, buffer.length - kept)) > 0) {
+                int length = kept + read;
+                if (contains(buffer, length, pattern)) {
+                    return true;
+                }
+                // keep the end of the buffer in case the name crosses the boundary
+                kept = Math.min(length, pattern.length - 1);
+                System.arraycopy(buffer, length - kept, buffer, 0, kept);
+            }
+        } catch (IOException | SecurityException e) {
+            // treat as no bitcode
+        }
+        return false;
+    }
+
+    private static boolean contains(byte[] data, int length, byte[] pattern) {
+        for (int i = 0; i <= length - pattern.length; i++) {
+            int j = 0;
+            while (j < pattern.length && data[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the directory of the decisions, {@code fastr/backends} in the user cache directory
+     * unless {@link FastROptions#BackEndCacheDir} is set.
+     */
+    private static TruffleFile getCacheDir(RContext context) {
+        String dir = context.getOption(FastROptions.BackEndCacheDir);
+        if (dir.isEmpty()) {
+            String cacheHome = System.getenv("XDG_CACHE_HOME");
+            if (cacheHome == null || cacheHome.isEmpty()) {
+                String userHome = System.getProperty("user.home");
+                if (userHome == null) {
+                    return null;
+                }
+                cacheHome = userHome + "/.cache";
+            }
+            dir = cacheHome + "/fastr/backends";
+        }
+        return context.getSafeTruffleFile(dir);
+    }
+
+    /**
+     * Returns the file that holds the decision for the given library, or {@code null} if the
+     * library or the cache directory are not accessible.
+     */
+    @TruffleBoundary
+    public static TruffleFile getDecisionFile(TruffleFile lib) {
+        try {
+            TruffleFile dir = getCacheDir(RContext.getInstance());
+            if (dir == null) {
+                return null;
+            }
+            TruffleFile absLib = lib.getAbsoluteFile();
+            String key = absLib.getPath() + ':' + absLib.size() + ':' + absLib.getLastModifiedTime().toMillis();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(lib.getName()).append('-');
+            for (int i = 0; i < 8; i++) {
+                sb.append(String.format("%02x", hash[i] & 0xff));
+            }
+            return dir.resolve(sb.append(DECISION_SUFFIX).toString());
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
+    /**
+     * Returns the decision stored for the given library, or {@code null}.
+     */
+    @TruffleBoundary
+    public static String readDecision(TruffleFile lib) {
+        TruffleFile file = getDecisionFile(lib);
+        try {
+            if (file != null && file.exists()) {
+                return new String(file.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+        } catch (IOException | SecurityException e) {
+            // no decision
+        }
+        return null;
+    }
+
+    /**
+     * Returns {@code true} if the package with the given library should be loaded by the LLVM
+     * backend according to the stored decision.
+     */
+    @TruffleBoundary
+    public static boolean isLLVMDecision(TruffleFile lib) {
+        return LLVM.equals(readDecision(lib));
+    }
+
+    /**
+     * Records that the given library cannot be loaded by the LLVM backend, so that it is never
+     * chosen for it again, until the package is reinstalled.
+     */
+    @TruffleBoundary
+    public static void setLLVMUnavailable(TruffleFile lib) {
+        writeDecision(getDecisionFile(lib), UNAVAILABLE);
+    }
+
+    private static void writeDecision(TruffleFile file, String decision) {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.getParent().createDirectories();
+        } catch (IOException | SecurityException e) {
+            return;
+        }
+        try (BufferedWriter writer = file.newBufferedWriter()) {
+            writer.append(decision).append('\n');
+        } catch (IOException | SecurityException e) {
+            // the decision is not persisted
+        }
+    }
+
+    /**
+     * Stores the decisions for the given libraries that have been called enough to decide. The
+     * native backend, which is the default, is only stored to replace a stored LLVM decision.
+     * Errors are ignored, e.g., when the cache directory is not writable.
+     */
+    @TruffleBoundary
+    public static void storeDecisions(RContext context, List<DLLInfo> libs) {
+        for (DLLInfo dllInfo : libs) {
+            if (dllInfo.handle != null) {
+                storeDecision(context, dllInfo.path, getBackend(dllInfo));
+            }
+        }
+    }
+
+    /**
+     * Stores the decision for the given library loaded by the given backend, see
+     * {@link #storeDecisions(RContext, List)}.
+     */
+    @TruffleBoundary
+    public static void storeDecision(RContext context, String path, String backend) {
+        Package pkg = packages.get(getKey(path, backend));
+        if (pkg == null || Double.isNaN(pkg.density())) {
+            return;
+        }
+        String decision = decide(context, pkg);
+        TruffleFile lib = context.getSafeTruffleFile(pkg.path);
+        String stored = readDecision(lib);
+        if (decision.equals(stored) || UNAVAILABLE.equals(stored) || stored == null && decision.equals(NATIVE)) {
+            return;
+        }
+        writeDecision(getDecisionFile(lib), decision);
+    }
+
+    /**
+     * Returns the packages called since the selector was enabled as a data frame with the backend
+     * the package was loaded by, the backend that would be stored for it, the number of calls of
+     * its native symbols, the time spent in them in microseconds, the number of up-calls they made
+     * and the up-call density of the hot symbols. A package loaded by both backends, one after the
+     * other, has a row for each.
+     */
+    @TruffleBoundary
+    public static RList getReport(RContext context) {
+        ArrayList<Package> entries = new ArrayList<>(packages.values());
+        entries.sort((a, b) -> a.name.equals(b.name) ? a.backend.compareTo(b.backend) : a.name.compareTo(b.name));
+        int n = entries.size();
+        String[] names = new String[n];
+        String[] backends = new String[n];
+        String[] decisions = new String[n];
+        double[] calls = new double[n];
+        double[] total = new double[n];
+        double[] upCalls = new double[n];
+        double[] density = new double[n];
+        for (int i = 0; i < n; i++) {
+            Package pkg = entries.get(i);
+            names[i] = pkg.name;
+            backends[i] = pkg.backend;
+            decisions[i] = decide(context, pkg);
+            for (Symbol symbol : pkg.symbols.values()) {
+                synchronized (symbol) {
+                    calls[i] += symbol.count;
+                    total[i] += symbol.totalNanos / 1000.0;
+                    upCalls[i] += symbol.upCalls;
+                }
+            }
+            double d = pkg.density();
+            density[i] = Double.isNaN(d) ? RRuntime.DOUBLE_NA : d;
+        }
+        Object[] columns = new Object[]{
+                        RDataFactory.createStringVector(names, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createStringVector(backends, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createStringVector(decisions, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(calls, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(total, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(upCalls, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(density, RDataFactory.INCOMPLETE_VECTOR)};
+        String[] columnNames = new String[]{"package", "backend", "decision", "calls", "total_us", "upcalls", "upcalls_per_us"};
+        RList result = RDataFactory.createList(columns, RDataFactory.createStringVector(columnNames, RDataFactory.COMPLETE_VECTOR));
+        result.setRowNames(RDataFactory.createIntVector(new int[]{RRuntime.INT_NA, -n}, RDataFactory.INCOMPLETE_VECTOR));
+        result.setClassAttr(RDataFactory.createStringVector(RRuntime.CLASS_DATA_FRAME));
+        return result;
+    }
+}
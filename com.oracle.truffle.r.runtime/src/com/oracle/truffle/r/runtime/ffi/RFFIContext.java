@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,6 +27,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.graalvm.collections.EconomicMap;
+import org.graalvm.collections.Equivalence;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.Frame;
@@ -80,6 +81,11 @@ public abstract class RFFIContext extends RFFI {
 
         private int callDepth = 0;
 
+        /**
+         * The number of up-calls made so far, see {@link RFFIBackendSelector}.
+         */
+        private long upCalls;
+
         /**
          * @see #registerReferenceUsedInNative(Object)
          */
@@ -87,9 +93,10 @@ public abstract class RFFIContext extends RFFI {
 
         /**
          * FastR equivalent of GNUR's special dedicated global list that is GC root and so any
-         * vectors added to it will be guaranteed to be preserved.
+         * vectors added to it will be guaranteed to be preserved. The objects are compared by
+         * identity, so that neither preserving nor releasing an object depends on its size.
          */
-        public final EconomicMap<RBaseObject, AtomicInteger> preserveList = EconomicMap.create();
+        public final EconomicMap<RBaseObject, AtomicInteger> preserveList = EconomicMap.create(Equivalence.IDENTITY);
 
         public final WeakHashMap<RScalar, RAbstractVector> protectedMaterializedScalarVectors = new WeakHashMap<>();
 
@@ -103,7 +110,9 @@ public abstract class RFFIContext extends RFFI {
          * Stack used by RFFI to implement the PROTECT/UNPROTECT functions. Objects registered on
          * this stack do necessarily not have to be {@link #registerReferenceUsedInNative}, but once
          * popped off, they must be put into that list. The initial size should "reasonably" big.
-         * (Should a special FastR configuration property be introduced to control the size?)
+         * (Should a special FastR configuration property be introduced to control the size?) The
+         * NFI backend keeps its protect stack in native memory instead, see
+         * {@link RFFIContext#beforeCooperativeGc()}.
          */
         public final Collections.ArrayListObj<RBaseObject> protectStack = new Collections.ArrayListObj<>(1000);
 
@@ -175,7 +184,7 @@ public abstract class RFFIContext extends RFFI {
      * @param canRunGc {@code true} if this upcall can cause a gc on GNU R, and therefore can clear
      */
     public void beforeUpcall(RContext context, boolean canRunGc, @SuppressWarnings("unused") RFFIFactory.Type rffiType) {
-        // empty by default
+        rffiContextState.upCalls++;
     }
 
     /**
@@ -219,6 +228,17 @@ public abstract class RFFIContext extends RFFI {
         return savedDowncallFrame;
     }
 
+    /**
+     * Like {@link #beforeDowncall(MaterializedFrame, RFFIFactory.Type)}, for a down-call to native
+     * code that may run in several contexts at the same time, see
+     * {@link DLL.DLLInfo#isConcurrentNative()}. Backends that serialize down-calls do not do so for
+     * these. The result must be passed to
+     * {@link #afterDowncall(Object, RFFIFactory.Type, AfterDownCallProfiles)} as usual.
+     */
+    public Object beforeConcurrentDowncall(MaterializedFrame frame, RFFIFactory.Type rffiType) {
+        return beforeDowncall(frame, rffiType);
+    }
+
     /**
      * @param before the value returned by the corresponding call to
      *            {@link #beforeDowncall(MaterializedFrame, RFFIFactory.Type)} .
@@ -236,11 +256,25 @@ public abstract class RFFIContext extends RFFI {
         return rffiContextState.callDepth;
     }
 
+    public final long getUpCallCount() {
+        return rffiContextState.upCalls;
+    }
+
     // this emulates GNUR's cooperative GC
     private void cooperativeGc(AfterDownCallProfiles profiles) {
+        beforeCooperativeGc();
         rffiContextState.protectedNativeReferences.clear(profiles);
     }
 
+    /**
+     * Invoked before the objects registered by {@link #registerReferenceUsedInNative(Object)} are
+     * released. A backend that protects objects without up-calls must make sure here that the
+     * objects protected by native code stay alive.
+     */
+    protected void beforeCooperativeGc() {
+        // empty by default
+    }
+
     /**
      * Maintains a weak-reference 1:1 relationship between the foreign object and its wrapper.
      */
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.ffi;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RList;
+
+/**
+ * Profiler of the R FFI, enabled by {@link FastROptions#FFIProfile} or by
+ * {@code .fastr.ffi.profile(TRUE)}. For every native symbol called via {@code .Call},
+ * {@code .External} or {@code .C}/{@code .Fortran} (down-calls) and for every up-call it records the
+ * number of calls and a histogram of their latencies. The native memory allocated for the data of R
+ * objects and the native mirrors created are attributed to the innermost down-call that is running
+ * on the current thread, or to {@link #OUTSIDE_DOWNCALL}.
+ *
+ * Unlike {@link RFFILog}, the profiler does not log anything, {@link #getReport()} summarizes the
+ * collected data. As long as the profiler has never been enabled, the checks compile to nothing.
+ */
+public final class RFFIProfiler {
+
+    static final String OUTSIDE_DOWNCALL = "<outside native code>";
+
+    private static final String KIND_DOWNCALL = "down";
+    private static final String KIND_UPCALL = "up";
+
+    private static final Assumption neverEnabled = Truffle.getRuntime().createAssumption("RFFIProfiler never enabled");
+    private static volatile boolean enabled;
+
+    private static final ConcurrentHashMap<String, Entry> downCalls = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Entry> upCalls = new ConcurrentHashMap<>();
+    private static final ThreadLocal<DownCall> currentDownCall = new ThreadLocal<>();
+
+    private RFFIProfiler() {
+        // no instances
+    }
+
+    public static boolean isEnabled() {
+        return !neverEnabled.isValid() && enabled;
+    }
+
+    @TruffleBoundary
+    public static void setEnabled(boolean value) {
+        if (value) {
+            neverEnabled.invalidate();
+        }
+        enabled = value;
+    }
+
+    @TruffleBoundary
+    public static void reset() {
+        downCalls.clear();
+        upCalls.clear();
+    }
+
+    /**
+     * Latencies of one symbol or up-call. The histogram has {@link #SUB_BUCKETS} linear buckets per
+     * power of two of nanoseconds, so the reported percentiles are accurate to about 6%.
+     */
+    private static final class Entry {
+        private static final int SUB_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+        final String name;
+        final String kind;
+        final long[] histogram = new long[(64 - SUB_BITS) * SUB_BUCKETS];
+        long count;
+        long totalNanos;
+        long maxNanos;
+        long nativeBytes;
+        long nativeMirrors;
+
+        Entry(String name, String kind) {
+            this.name = name;
+            this.kind = kind;
+        }
+
+        static int bucket(long nanos) {
+            if (nanos < SUB_BUCKETS) {
+                return (int) Math.max(nanos, 0);
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+            int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        /**
+         * The smallest value that falls into the bucket after {@code bucket}.
+         */
+        static long bucketLimit(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket + 1;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+            long sub = bucket % SUB_BUCKETS + SUB_BUCKETS + 1;
+            return sub << (exponent - SUB_BITS);
+        }
+
+        synchronized void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            histogram[bucket(nanos)]++;
+        }
+
+        synchronized void recordNativeMemory(long bytes) {
+            nativeBytes += bytes;
+        }
+
+        synchronized void recordNativeMirror() {
+            nativeMirrors++;
+        }
+
+        /**
+         * Returns a consistent copy of the entry, which can be read without holding its lock.
+         */
+        synchronized Entry snapshot() {
+            Entry copy = new Entry(name, kind);
+            System.arraycopy(histogram, 0, copy.histogram, 0, histogram.length);
+            copy.count = count;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            copy.nativeBytes = nativeBytes;
+            copy.nativeMirrors = nativeMirrors;
+            return copy;
+        }
+
+        synchronized long percentile(double p) {
+            long rank = (long) Math.ceil(count * p);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(bucketLimit(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+
+    private static final class DownCall {
+        final Entry entry;
+        final DownCall previous;
+        final long start;
+
+        DownCall(Entry entry, DownCall previous) {
+            this.entry = entry;
+            this.previous = previous;
+            this.start = System.nanoTime();
+        }
+    }
+
+    private static Entry getEntry(ConcurrentHashMap<String, Entry> entries, String name, String kind) {
+        return entries.computeIfAbsent(name, n -> new Entry(n, kind));
+    }
+
+    /**
+     * Marks the start of a down-call to the given native symbol. The result must be passed to
+     * {@link #downCallEnd(Object)}.
+     */
+    @TruffleBoundary
+    public static Object downCallStart(String name) {
+        DownCall call = new DownCall(getEntry(downCalls, name, KIND_DOWNCALL), currentDownCall.get());
+        currentDownCall.set(call);
+        return call;
+    }
+
+    @TruffleBoundary
+    public static void downCallEnd(Object token) {
+        DownCall call = (DownCall) token;
+        call.entry.record(System.nanoTime() - call.start);
+        currentDownCall.set(call.previous);
+    }
+
+    /**
+     * Returns the start time of an up-call to be passed to {@link #upCallEnd(String, long)}, or
+     * {@code 0} if the profiler is disabled.
+     */
+    public static long upCallStart() {
+        return isEnabled() ? nanoTime() : 0;
+    }
+
+    @TruffleBoundary
+    public static void upCallEnd(String name, long start) {
+        getEntry(upCalls, name, KIND_UPCALL).record(System.nanoTime() - start);
+    }
+
+    @TruffleBoundary
+    private static long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private static Entry currentEntry() {
+        DownCall call = currentDownCall.get();
+        return call != null ? call.entry : getEntry(downCalls, OUTSIDE_DOWNCALL, KIND_DOWNCALL);
+    }
+
+    /**
+     * Records that the data of an R object have been materialized in native memory.
+     */
+    @TruffleBoundary
+    public static void nativeMemoryAllocated(long bytes) {
+        currentEntry().recordNativeMemory(bytes);
+    }
+
+    /**
+     * Records that a native mirror, i.e., a handle that represents an R object in native code, has
+     * been created.
+     */
+    @TruffleBoundary
+    public static void nativeMirrorCreated() {
+        currentEntry().recordNativeMirror();
+    }
+
+    /**
+     * Returns the collected data as a data frame with one row per native symbol and up-call, ordered
+     * by the total time spent. The times are in microseconds. The time of a down-call includes the
+     * up-calls made from it.
+     */
+    @TruffleBoundary
+    public static RList getReport() {
+        ArrayList<Entry> entries = new ArrayList<>(downCalls.size() + upCalls.size());
+        for (Entry e : downCalls.values()) {
+            entries.add(e.snapshot());
+        }
+        for (Entry e : upCalls.values()) {
+            entries.add(e.snapshot());
+        }
+        entries.sort((a, b) -> Long.compare(b.totalNanos, a.totalNanos));
+        int n = entries.size();
+        String[] names = new String[n];
+        String[] kinds = new String[n];
+        double[] calls = new double[n];
+        double[] total = new double[n];
+        double[] mean = new double[n];
+        double[] p50 = new double[n];
+        double[] p90 = new double[n];
+        double[] p99 = new double[n];
+        double[] max = new double[n];
+        double[] bytes = new double[n];
+        double[] mirrors = new double[n];
+        for (int i = 0; i < n; i++) {
+            Entry e = entries.get(i);
+            names[i] = e.name;
+            kinds[i] = e.kind;
+            calls[i] = e.count;
+            total[i] = e.totalNanos / 1000.0;
+            mean[i] = e.count == 0 ? RRuntime.DOUBLE_NA : e.totalNanos / 1000.0 / e.count;
+            p50[i] = e.count == 0 ? RRuntime.DOUBLE_NA : e.percentile(0.5) / 1000.0;
+            p90[i] = e.count == 0 ? RRuntime.DOUBLE_NA : e.percentile(0.9) / 1000.0;
+            p99[i] = e.count == 0 ? RRuntime.DOUBLE_NA : e.percentile(0.99) / 1000.0;
+            max[i] = e.count == 0 ? RRuntime.DOUBLE_NA : e.maxNanos / 1000.0;
+            bytes[i] = e.nativeBytes;
+            mirrors[i] = e.nativeMirrors;
+        }
+        Object[] columns = new Object[]{
+                        RDataFactory.createStringVector(names, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createStringVector(kinds, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(calls, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(total, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(mean, RDataFactory.INCOMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(p50, RDataFactory.INCOMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(p90, RDataFactory.INCOMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(p99, RDataFactory.INCOMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(max, RDataFactory.INCOMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(bytes, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(mirrors, RDataFactory.COMPLETE_VECTOR)};
+        String[] columnNames = new String[]{"name", "call", "count", "total_us", "mean_us", "p50_us", "p90_us", "p99_us", "max_us", "native_bytes", "native_mirrors"};
+        RList result = RDataFactory.createList(columns, RDataFactory.createStringVector(columnNames, RDataFactory.COMPLETE_VECTOR));
+        result.setRowNames(RDataFactory.createIntVector(new int[]{RRuntime.INT_NA, -n}, RDataFactory.INCOMPLETE_VECTOR));
+        result.setClassAttr(RDataFactory.createStringVector(RRuntime.CLASS_DATA_FRAME));
+        return result;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 1995 Ross Ihaka
+ * Copyright (c) 1995-2007, The R Core Team
+ * Copyright (c) 2026, Oracle and/or its affiliates
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, a copy is available at
+ * https://www.R-project.org/Licenses/
+ */
+package com.oracle.truffle.r.runtime.ffi.lapack;
+
+import static com.oracle.truffle.r.runtime.ffi.lapack.JavaLapack.axpy;
+import static com.oracle.truffle.r.runtime.ffi.lapack.JavaLapack.dot;
+import static com.oracle.truffle.r.runtime.ffi.lapack.JavaLapack.nrm2;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.ffi.MiscRFFI;
+
+/**
+ * Java port of the {@code dqrls} least squares solver from {@code src/appl} used by
+ * {@link MiscRFFI.DqrlsNode} together with {@link JavaLapack}. The QR decomposition is R's
+ * modification {@code dqrdc2} of LINPACK's {@code dqrdc}, which moves columns with near-zero norm
+ * to the right instead of pivoting on the largest norm, so that the results, including the order of
+ * the columns, are the same as those of GNU R.
+ */
+public final class JavaDqrls {
+
+    private JavaDqrls() {
+        // no instances
+    }
+
+    @TruffleBoundary
+    public static void dqrls(double[] x, int n, int p, double[] y, int ny, double tol, double[] b, double[] rsd, double[] qty, int[] k, int[] jpvt, double[] qraux, double[] work) {
+        k[0] = dqrdc2(x, n, n, p, tol, qraux, jpvt, work);
+        int rank = k[0];
+        if (rank > 0) {
+            for (int jj = 0; jj < ny; jj++) {
+                dqrsl(x, n, n, rank, qraux, y, jj * n, qty, b, jj * p, rsd);
+            }
+        } else {
+            System.arraycopy(y, 0, rsd, 0, n * ny);
+        }
+        for (int j = rank; j < p; j++) {
+            for (int jj = 0; jj < ny; jj++) {
+                b[j + jj * p] = 0;
+            }
+        }
+    }
+
+    /**
+     * Householder QR decomposition with the limited column pivoting of {@code dqrdc2}: a column
+     * whose reduced norm drops below {@code tol} times its original norm is moved to the right end.
+     * Returns the computed rank.
+     */
+    private static int dqrdc2(double[] x, int ldx, int n, int p, double tol, double[] qraux, int[] jpvt, double[] work) {
+        // work(p, 2): the original norms in the first, the norms used for the tolerance in the
+        // second column
+        if (n > 0) {
+            for (int j = 0; j < p; j++) {
+                qraux[j] = nrm2(n, x, j * ldx);
+                work[j] = qraux[j];
+                work[j + p] = qraux[j] == 0 ? 1 : qraux[j];
+            }
+        }
+        int lup = Math.min(n, p);
+        int k = p + 1;
+        for (int l = 0; l < lup; l++) {
+            while (l + 1 < k && qraux[l] < work[l + p] * tol) {
+                // move column l to the end
+                for (int i = 0; i < n; i++) {
+                    double t = x[i + l * ldx];
+                    for (int j = l + 1; j < p; j++) {
+                        x[i + (j - 1) * ldx] = x[i + j * ldx];
+                    }
+                    x[i + (p - 1) * ldx] = t;
+                }
+                int i = jpvt[l];
+                double t = qraux[l];
+                double tt = work[l];
+                double ttt = work[l + p];
+                for (int j = l + 1; j < p; j++) {
+                    jpvt[j - 1] = jpvt[j];
+                    qraux[j - 1] = qraux[j];
+                    work[j - 1] = work[j];
+                    work[j - 1 + p] = work[j + p];
+                }
+                jpvt[p - 1] = i;
+                qraux[p - 1] = t;
+                work[p - 1] = tt;
+                work[p - 1 + p] = ttt;
+                k--;
+            }
+            if (l == n - 1) {
+                break;
+            }
+            int ll = l + l * ldx;
+            double nrmxl = nrm2(n - l, x, ll);
+            if (nrmxl == 0) {
+                continue;
+            }
+            if (x[ll] != 0) {
+                nrmxl = Math.copySign(nrmxl, x[ll]);
+            }
+            double scale = 1 / nrmxl;
+            for (int i = 0; i < n - l; i++) {
+                x[ll + i] *= scale;
+            }
+            x[ll] = 1 + x[ll];
+            for (int j = l + 1; j < p; j++) {
+                int lj = l + j * ldx;
+                double t = -dot(n - l, x, ll, x, lj) / x[ll];
+                axpy(n - l, t, x, ll, x, lj);
+                if (qraux[j] != 0) {
+                    double tt = 1 - Math.pow(Math.abs(x[lj]) / qraux[j], 2);
+                    tt = Math.max(tt, 0);
+                    if (Math.abs(tt) < 1e-6) {
+                        // modified 9/99 by Ross Ihaka: recompute the norm instead of downdating it
+                        qraux[j] = nrm2(n - l - 1, x, lj + 1);
+                        work[j] = qraux[j];
+                    } else {
+                        qraux[j] = qraux[j] * Math.sqrt(tt);
+                    }
+                }
+            }
+            qraux[l] = x[ll];
+            x[ll] = -nrmxl;
+        }
+        return Math.min(k - 1, n);
+    }
+
+    /**
+     * LINPACK's {@code dqrsl} with {@code job = 1110}: computes {@code qty}, the coefficients
+     * {@code b} and the residuals {@code rsd} for the column of y at {@code yo}. The results for
+     * qty and rsd are stored at {@code yo}, too, those for b at {@code bo}.
+     */
+    private static void dqrsl(double[] x, int ldx, int n, int k, double[] qraux, double[] y, int yo, double[] qty, double[] b, int bo, double[] rsd) {
+        int ju = Math.min(k, n - 1);
+        if (ju == 0) {
+            qty[yo] = y[yo];
+            if (x[0] != 0) {
+                b[bo] = y[yo] / x[0];
+            }
+            rsd[yo] = 0;
+            return;
+        }
+        System.arraycopy(y, yo, qty, yo, n);
+        for (int j = 0; j < ju; j++) {
+            applyReflector(x, ldx, n, j, qraux, qty, yo);
+        }
+        System.arraycopy(qty, yo, b, bo, k);
+        if (k < n) {
+            System.arraycopy(qty, yo + k, rsd, yo + k, n - k);
+        }
+        for (int i = 0; i < k; i++) {
+            rsd[yo + i] = 0;
+        }
+        for (int j = k - 1; j >= 0; j--) {
+            double xjj = x[j + j * ldx];
+            if (xjj == 0) {
+                break;
+            }
+            b[bo + j] /= xjj;
+            if (j > 0) {
+                axpy(j, -b[bo + j], x, j * ldx, b, bo);
+            }
+        }
+        for (int j = ju - 1; j >= 0; j--) {
+            applyReflector(x, ldx, n, j, qraux, rsd, yo);
+        }
+    }
+
+    /**
+     * Applies the j-th Householder transformation, whose vector is stored below the diagonal of x
+     * with its leading element in {@code qraux[j]}, to the vector at {@code vo}.
+     */
+    private static void applyReflector(double[] x, int ldx, int n, int j, double[] qraux, double[] v, int vo) {
+        if (qraux[j] == 0) {
+            return;
+        }
+        int jj = j + j * ldx;
+        double temp = x[jj];
+        x[jj] = qraux[j];
+        double t = -dot(n - j, x, jj, v, vo + j) / x[jj];
+        axpy(n - j, t, x, jj, v, vo + j);
+        x[jj] = temp;
+    }
+}
@@ -0,0 +1,1331 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.ffi.lapack;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.ffi.LapackRFFI;
+
+/**
+ * Pure Java implementation of the LAPACK routines used by the {@code base} package that is used
+ * by {@link LapackRFFI} in the managed mode, where no native code can be run, and with
+ * {@link FastROptions#JavaLapack}. The methods have the signatures of the {@link LapackRFFI} nodes:
+ * the matrices are stored in column-major order, the indices in {@code ipiv} and {@code jpvt} are
+ * 1-based and the "info" value is returned. The workspace arguments are only used to answer
+ * workspace queries, the routines allocate the memory they need themselves.
+ *
+ * The LU and Cholesky factorizations work on blocks of {@link #NB} columns, so that the update of
+ * the trailing matrix, where most of the time is spent, reuses the cached blocks. The updates of
+ * large matrices, the application of Householder reflectors and the rotations of the Jacobi SVD are
+ * split among the threads of the common fork-join pool. The eigenvalues of symmetric matrices are
+ * computed by tridiagonalization and the implicit QL method instead of the MRRR algorithm of
+ * {@code dsyevr}, and the singular values by the one-sided Jacobi method instead of the divide and
+ * conquer algorithm of {@code dgesdd}. The results agree with LAPACK up to rounding, except that
+ * eigenvectors and singular vectors may have the opposite sign.
+ */
+public final class JavaLapack {
+
+    /**
+     * The number of columns of the blocks of the blocked factorizations.
+     */
+    private static final int NB = 64;
+    /**
+     * The number of rows of the blocks of the matrix multiplication.
+     */
+    private static final int MB = 256;
+    /**
+     * Operations with fewer floating point operations are not split among threads.
+     */
+    private static final long PARALLEL_FLOPS = 1L << 20;
+    private static final int MAX_JACOBI_SWEEPS = 75;
+    private static final int MAX_QL_ITERATIONS = 30;
+    private static final double EPS = Math.ulp(1.0) / 2;
+
+    private JavaLapack() {
+        // no instances
+    }
+
+    @FunctionalInterface
+    private interface RangeTask {
+        void run(int from, int to);
+    }
+
+    /**
+     * Runs the task on the range {@code [0, n)}, split into chunks that run in parallel if the
+     * whole range takes at least {@link #PARALLEL_FLOPS}.
+     */
+    private static void forRange(int n, long flopsPerElement, RangeTask task) {
+        int threads = ForkJoinPool.getCommonPoolParallelism();
+        if (threads <= 1 || n < 2 || flopsPerElement * n < PARALLEL_FLOPS) {
+            task.run(0, n);
+            return;
+        }
+        int chunks = Math.min(n, threads * 4);
+        IntStream.range(0, chunks).parallel().forEach(c -> task.run((int) ((long) n * c / chunks), (int) ((long) n * (c + 1) / chunks)));
+    }
+
+    private static boolean is(char c, char expected) {
+        return Character.toUpperCase(c) == expected;
+    }
+
+    // BLAS-like kernels
+
+    static double dot(int n, double[] x, int xo, double[] y, int yo) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += x[xo + i] * y[yo + i];
+        }
+        return sum;
+    }
+
+    static void axpy(int n, double alpha, double[] x, int xo, double[] y, int yo) {
+        for (int i = 0; i < n; i++) {
+            y[yo + i] += alpha * x[xo + i];
+        }
+    }
+
+    /**
+     * The euclidean norm, computed with scaling to avoid overflow like {@code dnrm2}.
+     */
+    static double nrm2(int n, double[] x, int xo) {
+        double scale = 0;
+        double ssq = 1;
+        for (int i = 0; i < n; i++) {
+            double v = x[xo + i];
+            if (v != 0) {
+                double abs = Math.abs(v);
+                if (scale < abs) {
+                    double r = scale / abs;
+                    ssq = 1 + ssq * r * r;
+                    scale = abs;
+                } else {
+                    double r = abs / scale;
+                    ssq += r * r;
+                }
+            } else if (Double.isNaN(v)) {
+                return v;
+            }
+        }
+        return scale * Math.sqrt(ssq);
+    }
+
+    /**
+     * The index of the first element with the largest absolute value, relative to {@code xo}.
+     */
+    private static int iamax(int n, double[] x, int xo) {
+        int index = 0;
+        double max = -1;
+        for (int i = 0; i < n; i++) {
+            double abs = Math.abs(x[xo + i]);
+            if (abs > max) {
+                max = abs;
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    private static void swapRows(double[] a, int ao, int lda, int r1, int r2, int fromCol, int toCol) {
+        for (int j = fromCol; j < toCol; j++) {
+            int col = ao + j * lda;
+            double t = a[col + r1];
+            a[col + r1] = a[col + r2];
+            a[col + r2] = t;
+        }
+    }
+
+    private static void swapColumns(int m, double[] a, int ao, int lda, int c1, int c2) {
+        int o1 = ao + c1 * lda;
+        int o2 = ao + c2 * lda;
+        for (int i = 0; i < m; i++) {
+            double t = a[o1 + i];
+            a[o1 + i] = a[o2 + i];
+            a[o2 + i] = t;
+        }
+    }
+
+    /**
+     * {@code C := C - A * B} for the {@code m x k} matrix A and the {@code k x n} matrix B. The
+     * columns of C are split among threads, each of them goes through blocks of {@link #MB} rows
+     * and {@link #NB} columns of A.
+     */
+    private static void gemmMinus(int m, int n, int k, double[] a, int ao, int lda, double[] b, int bo, int ldb, double[] c, int co, int ldc) {
+        if (m == 0 || n == 0 || k == 0) {
+            return;
+        }
+        forRange(n, 2L * m * k, (from, to) -> {
+            for (int i0 = 0; i0 < m; i0 += MB) {
+                int i1 = Math.min(m, i0 + MB);
+                for (int p0 = 0; p0 < k; p0 += NB) {
+                    int p1 = Math.min(k, p0 + NB);
+                    for (int j = from; j < to; j++) {
+                        int cj = co + j * ldc;
+                        for (int p = p0; p < p1; p++) {
+                            double bpj = b[bo + p + j * ldb];
+                            if (bpj != 0) {
+                                int ap = ao + p * lda;
+                                for (int i = i0; i < i1; i++) {
+                                    c[cj + i] -= a[ap + i] * bpj;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * {@code C := C - A^T * A} for the {@code k x n} matrix A, only the upper triangle of C is
+     * updated.
+     */
+    private static void syrkUpperMinus(int n, int k, double[] a, int ao, int lda, double[] c, int co, int ldc) {
+        if (n == 0 || k == 0) {
+            return;
+        }
+        forRange(n, (long) k * n, (from, to) -> {
+            for (int i0 = 0; i0 < to; i0 += MB) {
+                int i1 = Math.min(to, i0 + MB);
+                for (int j = Math.max(from, i0); j < to; j++) {
+                    int aj = ao + j * lda;
+                    int cj = co + j * ldc;
+                    int last = Math.min(i1, j + 1);
+                    for (int i = i0; i < last; i++) {
+                        c[cj + i] -= dot(k, a, ao + i * lda, a, aj);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Solves {@code op(A) * X = B} for the triangular {@code n x n} matrix A, overwriting the
+     * {@code n x nrhs} matrix B. The columns of B are solved in parallel.
+     */
+    private static void trsm(boolean upper, boolean transpose, boolean unit, int n, int nrhs, double[] a, int ao, int lda, double[] b, int bo, int ldb) {
+        if (n == 0 || nrhs == 0) {
+            return;
+        }
+        forRange(nrhs, (long) n * n, (from, to) -> {
+            for (int j = from; j < to; j++) {
+                int bj = bo + j * ldb;
+                if (!transpose) {
+                    if (upper) {
+                        for (int i = n - 1; i >= 0; i--) {
+                            int ai = ao + i * lda;
+                            if (!unit) {
+                                b[bj + i] /= a[ai + i];
+                            }
+                            double t = b[bj + i];
+                            if (t != 0) {
+                                axpy(i, -t, a, ai, b, bj);
+                            }
+                        }
+                    } else {
+                        for (int i = 0; i < n; i++) {
+                            int ai = ao + i * lda;
+                            if (!unit) {
+                                b[bj + i] /= a[ai + i];
+                            }
+                            double t = b[bj + i];
+                            if (t != 0) {
+                                axpy(n - i - 1, -t, a, ai + i + 1, b, bj + i + 1);
+                            }
+                        }
+                    }
+                } else {
+                    if (upper) {
+                        for (int i = 0; i < n; i++) {
+                            int ai = ao + i * lda;
+                            double t = b[bj + i] - dot(i, a, ai, b, bj);
+                            b[bj + i] = unit ? t : t / a[ai + i];
+                        }
+                    } else {
+                        for (int i = n - 1; i >= 0; i--) {
+                            int ai = ao + i * lda;
+                            double t = b[bj + i] - dot(n - i - 1, a, ai + i + 1, b, bj + i + 1);
+                            b[bj + i] = unit ? t : t / a[ai + i];
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    // Householder reflectors
+
+    /**
+     * Generates the elementary reflector {@code H = I - tau * v * v^T} such that {@code H * (alpha,
+     * x) = (beta, 0)} like {@code dlarfg}. Overwrites alpha with beta and x with {@code v(2:n)},
+     * {@code v(1) = 1}, and returns tau.
+     */
+    private static double larfg(int n, double[] a, int alphaIndex, int xo) {
+        if (n <= 1) {
+            return 0;
+        }
+        double xnorm = nrm2(n - 1, a, xo);
+        if (xnorm == 0) {
+            return 0;
+        }
+        double alpha = a[alphaIndex];
+        double beta = -Math.copySign(Math.hypot(alpha, xnorm), alpha);
+        double scale = 1 / (alpha - beta);
+        for (int i = 0; i < n - 1; i++) {
+            a[xo + i] *= scale;
+        }
+        a[alphaIndex] = beta;
+        return (beta - alpha) / beta;
+    }
+
+    /**
+     * Applies {@code H = I - tau * v * v^T} to the {@code m x n} matrix C from the left. The first
+     * element of v is taken as 1 regardless of its value.
+     */
+    private static void applyReflectorLeft(int m, int n, double[] v, int vo, double tau, double[] c, int co, int ldc) {
+        if (tau == 0 || m == 0 || n == 0) {
+            return;
+        }
+        forRange(n, 4L * m, (from, to) -> {
+            for (int j = from; j < to; j++) {
+                int cj = co + j * ldc;
+                double w = c[cj] + dot(m - 1, v, vo + 1, c, cj + 1);
+                if (w != 0) {
+                    double t = -tau * w;
+                    c[cj] += t;
+                    axpy(m - 1, t, v, vo + 1, c, cj + 1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies {@code H = I - tau * v * v^T} to the {@code m x n} matrix C from the right. The first
+     * element of v is taken as 1 regardless of its value.
+     */
+    private static void applyReflectorRight(int m, int n, double[] v, int vo, double tau, double[] c, int co, int ldc) {
+        if (tau == 0 || m == 0 || n == 0) {
+            return;
+        }
+        double[] w = new double[m];
+        System.arraycopy(c, co, w, 0, m);
+        for (int j = 1; j < n; j++) {
+            axpy(m, v[vo + j], c, co + j * ldc, w, 0);
+        }
+        axpy(m, -tau, w, 0, c, co);
+        for (int j = 1; j < n; j++) {
+            axpy(m, -tau * v[vo + j], w, 0, c, co + j * ldc);
+        }
+    }
+
+    // LU decomposition
+
+    /**
+     * Unblocked LU decomposition with partial pivoting of the {@code m x n} panel at {@code ao}
+     * like {@code dgetf2}. The pivots are stored to {@code ipiv} from {@code pivotOffset} on and are
+     * relative to the panel plus {@code pivotOffset}.
+     */
+    private static int getf2(int m, int n, double[] a, int ao, int lda, int[] ipiv, int pivotOffset) {
+        int info = 0;
+        for (int j = 0; j < Math.min(m, n); j++) {
+            int col = ao + j * lda;
+            int jp = j + iamax(m - j, a, col + j);
+            ipiv[pivotOffset + j] = pivotOffset + jp + 1;
+            double pivot = a[col + jp];
+            if (pivot != 0) {
+                if (jp != j) {
+                    swapRows(a, ao, lda, j, jp, 0, n);
+                }
+                if (Math.abs(pivot) >= Double.MIN_NORMAL) {
+                    double r = 1 / pivot;
+                    for (int i = j + 1; i < m; i++) {
+                        a[col + i] *= r;
+                    }
+                } else {
+                    for (int i = j + 1; i < m; i++) {
+                        a[col + i] /= pivot;
+                    }
+                }
+            } else if (info == 0) {
+                info = j + 1;
+            }
+            for (int k = j + 1; k < n; k++) {
+                int ck = ao + k * lda;
+                double t = a[ck + j];
+                if (t != 0) {
+                    axpy(m - j - 1, -t, a, col + j + 1, a, ck + j + 1);
+                }
+            }
+        }
+        return info;
+    }
+
+    @TruffleBoundary
+    public static int dgetrf(int m, int n, double[] a, int lda, int[] ipiv) {
+        if (m < 0) {
+            return -1;
+        } else if (n < 0) {
+            return -2;
+        } else if (lda < Math.max(1, m)) {
+            return -4;
+        }
+        int mn = Math.min(m, n);
+        int info = 0;
+        for (int j0 = 0; j0 < mn; j0 += NB) {
+            int jb = Math.min(NB, mn - j0);
+            int diag = j0 + j0 * lda;
+            int panelInfo = getf2(m - j0, jb, a, diag, lda, ipiv, j0);
+            if (info == 0 && panelInfo > 0) {
+                info = panelInfo + j0;
+            }
+            for (int i = j0; i < j0 + jb; i++) {
+                int ip = ipiv[i] - 1;
+                if (ip != i) {
+                    swapRows(a, 0, lda, i, ip, 0, j0);
+                    swapRows(a, 0, lda, i, ip, j0 + jb, n);
+                }
+            }
+            int rest = n - j0 - jb;
+            if (rest > 0) {
+                int right = j0 + (j0 + jb) * lda;
+                trsm(false, false, true, jb, rest, a, diag, lda, a, right, lda);
+                gemmMinus(m - j0 - jb, rest, jb, a, diag + jb, lda, a, right, lda, a, right + jb, lda);
+            }
+        }
+        return info;
+    }
+
+    /**
+     * Solves {@code op(A) * X = B} using the LU decomposition computed by {@link #dgetrf}.
+     */
+    private static void getrs(boolean transpose, int n, int nrhs, double[] a, int lda, int[] ipiv, double[] b, int ldb) {
+        if (!transpose) {
+            for (int i = 0; i < n; i++) {
+                int ip = ipiv[i] - 1;
+                if (ip != i) {
+                    swapRows(b, 0, ldb, i, ip, 0, nrhs);
+                }
+            }
+            trsm(false, false, true, n, nrhs, a, 0, lda, b, 0, ldb);
+            trsm(true, false, false, n, nrhs, a, 0, lda, b, 0, ldb);
+        } else {
+            trsm(true, true, false, n, nrhs, a, 0, lda, b, 0, ldb);
+            trsm(false, true, true, n, nrhs, a, 0, lda, b, 0, ldb);
+            for (int i = n - 1; i >= 0; i--) {
+                int ip = ipiv[i] - 1;
+                if (ip != i) {
+                    swapRows(b, 0, ldb, i, ip, 0, nrhs);
+                }
+            }
+        }
+    }
+
+    @TruffleBoundary
+    public static int dgesv(int n, int nrhs, double[] a, int lda, int[] ipiv, double[] b, int ldb) {
+        if (n < 0) {
+            return -1;
+        } else if (nrhs < 0) {
+            return -2;
+        } else if (lda < Math.max(1, n)) {
+            return -4;
+        } else if (ldb < Math.max(1, n)) {
+            return -7;
+        }
+        int info = dgetrf(n, n, a, lda, ipiv);
+        if (info == 0) {
+            getrs(false, n, nrhs, a, lda, ipiv, b, ldb);
+        }
+        return info;
+    }
+
+    @TruffleBoundary
+    public static double dlange(char norm, int m, int n, double[] a, int lda, @SuppressWarnings("unused") double[] work) {
+        if (Math.min(m, n) == 0) {
+            return 0;
+        }
+        double value = 0;
+        if (is(norm, 'M')) {
+            for (int j = 0; j < n; j++) {
+                for (int i = 0; i < m; i++) {
+                    double v = Math.abs(a[i + j * lda]);
+                    if (v > value || Double.isNaN(v)) {
+                        value = v;
+                    }
+                }
+            }
+        } else if (is(norm, 'O') || norm == '1') {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int i = 0; i < m; i++) {
+                    sum += Math.abs(a[i + j * lda]);
+                }
+                if (sum > value || Double.isNaN(sum)) {
+                    value = sum;
+                }
+            }
+        } else if (is(norm, 'I')) {
+            double[] sums = new double[m];
+            for (int j = 0; j < n; j++) {
+                for (int i = 0; i < m; i++) {
+                    sums[i] += Math.abs(a[i + j * lda]);
+                }
+            }
+            for (int i = 0; i < m; i++) {
+                if (sums[i] > value || Double.isNaN(sums[i])) {
+                    value = sums[i];
+                }
+            }
+        } else if (is(norm, 'F') || is(norm, 'E')) {
+            double scale = 0;
+            double ssq = 1;
+            for (int j = 0; j < n; j++) {
+                double colNorm = nrm2(m, a, j * lda);
+                if (Double.isNaN(colNorm)) {
+                    return colNorm;
+                }
+                if (colNorm != 0) {
+                    if (scale < colNorm) {
+                        double r = scale / colNorm;
+                        ssq = 1 + ssq * r * r;
+                        scale = colNorm;
+                    } else {
+                        double r = colNorm / scale;
+                        ssq += r * r;
+                    }
+                }
+            }
+            value = scale * Math.sqrt(ssq);
+        }
+        return value;
+    }
+
+
+    /**
+     * Estimates the reciprocal condition number of A from its LU decomposition like
+     * {@code dgecon}.
+     */
+    @TruffleBoundary
+    public static int dgecon(char norm, int n, double[] a, int lda, double anorm, double[] rcond, @SuppressWarnings("unused") double[] work, @SuppressWarnings("unused") int[] iwork) {
+        boolean oneNorm = norm == '1' || is(norm, 'O');
+        if (!oneNorm && !is(norm, 'I')) {
+            return -1;
+        } else if (n < 0) {
+            return -2;
+        } else if (lda < Math.max(1, n)) {
+            return -4;
+        } else if (anorm < 0) {
+            return -5;
+        }
+        rcond[0] = 0;
+        if (n == 0) {
+            rcond[0] = 1;
+            return 0;
+        } else if (Double.isNaN(anorm)) {
+            rcond[0] = anorm;
+            return -5;
+        } else if (anorm == 0 || Double.isInfinite(anorm)) {
+            return 0;
+        }
+        double ainvnm = estimateInverseNorm(n, a, lda, !oneNorm);
+        if (ainvnm != 0) {
+            rcond[0] = (1 / ainvnm) / anorm;
+        }
+        return 0;
+    }
+
+    /**
+     * Computes {@code x := U^-1 * L^-1 * x} or, if {@code transpose} is set,
+     * {@code x := L^-T * U^-T * x} for the LU factors stored in a.
+     */
+    private static void solveLU(boolean transpose, int n, double[] a, int lda, double[] x) {
+        if (!transpose) {
+            trsm(false, false, true, n, 1, a, 0, lda, x, 0, n);
+            trsm(true, false, false, n, 1, a, 0, lda, x, 0, n);
+        } else {
+            trsm(true, true, false, n, 1, a, 0, lda, x, 0, n);
+            trsm(false, true, true, n, 1, a, 0, lda, x, 0, n);
+        }
+    }
+
+    /**
+     * Estimates the 1-norm of {@code B = U^-1 * L^-1} (or of {@code B = L^-T * U^-T} if
+     * {@code transpose} is set) by Hager's method with Higham's modifications, on which
+     * {@code dlacn2} is based, too. The row interchanges of the LU decomposition do not change the
+     * norm, so this is the 1-norm (or the infinity norm) of {@code A^-1}.
+     */
+    private static double estimateInverseNorm(int n, double[] a, int lda, boolean transpose) {
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] z = new double[n];
+        Arrays.fill(x, 1.0 / n);
+        double est = 0;
+        for (int iter = 0; iter < 5; iter++) {
+            System.arraycopy(x, 0, y, 0, n);
+            solveLU(transpose, n, a, lda, y);
+            double newEst = 0;
+            for (int i = 0; i < n; i++) {
+                newEst += Math.abs(y[i]);
+            }
+            if (iter > 0 && newEst <= est) {
+                break;
+            }
+            est = newEst;
+            if (n == 1 || !Double.isFinite(est)) {
+                return est;
+            }
+            for (int i = 0; i < n; i++) {
+                z[i] = y[i] >= 0 ? 1 : -1;
+            }
+            solveLU(!transpose, n, a, lda, z);
+            int j = iamax(n, z, 0);
+            if (Math.abs(z[j]) <= dot(n, z, 0, x, 0)) {
+                break;
+            }
+            Arrays.fill(x, 0);
+            x[j] = 1;
+        }
+        for (int i = 0; i < n; i++) {
+            x[i] = (i % 2 == 0 ? 1 : -1) * (1 + (double) i / (n - 1));
+        }
+        solveLU(transpose, n, a, lda, x);
+        double altEst = 0;
+        for (int i = 0; i < n; i++) {
+            altEst += Math.abs(x[i]);
+        }
+        return Math.max(est, 2 * altEst / (3 * n));
+    }
+
+    // Cholesky decomposition
+
+    /**
+     * Unblocked Cholesky decomposition {@code A = U^T * U} of the {@code n x n} block at
+     * {@code ao}, whose upper triangle has already been updated by the preceding blocks.
+     */
+    private static int potf2Upper(int n, double[] a, int ao, int lda) {
+        for (int j = 0; j < n; j++) {
+            int cj = ao + j * lda;
+            double ajj = a[cj + j] - dot(j, a, cj, a, cj);
+            if (ajj <= 0 || Double.isNaN(ajj)) {
+                a[cj + j] = ajj;
+                return j + 1;
+            }
+            ajj = Math.sqrt(ajj);
+            a[cj + j] = ajj;
+            for (int k = j + 1; k < n; k++) {
+                int ck = ao + k * lda;
+                a[ck + j] = (a[ck + j] - dot(j, a, cj, a, ck)) / ajj;
+            }
+        }
+        return 0;
+    }
+
+    private static int potrfUpper(int n, double[] a, int lda) {
+        for (int j0 = 0; j0 < n; j0 += NB) {
+            int jb = Math.min(NB, n - j0);
+            int diag = j0 + j0 * lda;
+            int info = potf2Upper(jb, a, diag, lda);
+            if (info != 0) {
+                return info + j0;
+            }
+            int rest = n - j0 - jb;
+            if (rest > 0) {
+                int right = j0 + (j0 + jb) * lda;
+                trsm(true, true, false, jb, rest, a, diag, lda, a, right, lda);
+                syrkUpperMinus(rest, jb, a, right, lda, a, right + jb, lda);
+            }
+        }
+        return 0;
+    }
+
+    @TruffleBoundary
+    public static int dpotrf(char uplo, int n, double[] a, int lda) {
+        boolean upper = is(uplo, 'U');
+        if (!upper && !is(uplo, 'L')) {
+            return -1;
+        } else if (n < 0) {
+            return -2;
+        } else if (lda < Math.max(1, n)) {
+            return -4;
+        }
+        if (upper) {
+            return potrfUpper(n, a, lda);
+        }
+        // A = L * L^T is computed as U^T * U for U = L^T
+        double[] u = new double[n * n];
+        for (int j = 0; j < n; j++) {
+            for (int i = j; i < n; i++) {
+                u[j + i * n] = a[i + j * lda];
+            }
+        }
+        int info = potrfUpper(n, u, n);
+        for (int j = 0; j < n; j++) {
+            for (int i = j; i < n; i++) {
+                a[i + j * lda] = u[j + i * n];
+            }
+        }
+        return info;
+    }
+
+    // QR decomposition
+
+    @TruffleBoundary
+    public static int dgeqp3(int m, int n, double[] a, int lda, int[] jpvt, double[] tau, double[] work, int lwork) {
+        if (m < 0) {
+            return -1;
+        } else if (n < 0) {
+            return -2;
+        } else if (lda < Math.max(1, m)) {
+            return -4;
+        }
+        int minmn = Math.min(m, n);
+        int minWork = minmn == 0 ? 1 : 3 * n + 1;
+        if (lwork == -1) {
+            work[0] = minWork;
+            return 0;
+        } else if (lwork < minWork) {
+            return -8;
+        }
+        // move the initial columns, marked by non-zero jpvt, to the front
+        int fixed = 0;
+        for (int j = 0; j < n; j++) {
+            if (jpvt[j] != 0) {
+                if (j != fixed) {
+                    swapColumns(m, a, 0, lda, j, fixed);
+                    jpvt[j] = jpvt[fixed];
+                    jpvt[fixed] = j + 1;
+                } else {
+                    jpvt[j] = j + 1;
+                }
+                fixed++;
+            } else {
+                jpvt[j] = j + 1;
+            }
+        }
+        int na = Math.min(m, fixed);
+        for (int i = 0; i < na; i++) {
+            int diag = i + i * lda;
+            tau[i] = larfg(m - i, a, diag, diag + 1);
+            applyReflectorLeft(m - i, n - i - 1, a, diag, tau[i], a, diag + lda, lda);
+        }
+        if (na < minmn) {
+            laqp2(m, n, na, a, lda, jpvt, tau);
+        }
+        work[0] = minWork;
+        return 0;
+    }
+
+    /**
+     * QR decomposition with column pivoting of the columns from {@code offset} on like
+     * {@code dlaqp2}. The partial column norms are downdated after each step and recomputed when
+     * the downdating would lose too much accuracy.
+     */
+    private static void laqp2(int m, int n, int offset, double[] a, int lda, int[] jpvt, double[] tau) {
+        int minmn = Math.min(m, n);
+        double tol3z = Math.sqrt(EPS);
+        double[] vn1 = new double[n];
+        double[] vn2 = new double[n];
+        for (int j = offset; j < n; j++) {
+            vn1[j] = nrm2(m - offset, a, offset + j * lda);
+            vn2[j] = vn1[j];
+        }
+        for (int i = offset; i < minmn; i++) {
+            int pvt = i + iamax(n - i, vn1, i);
+            if (pvt != i) {
+                swapColumns(m, a, 0, lda, pvt, i);
+                int t = jpvt[pvt];
+                jpvt[pvt] = jpvt[i];
+                jpvt[i] = t;
+                vn1[pvt] = vn1[i];
+                vn2[pvt] = vn2[i];
+            }
+            int diag = i + i * lda;
+            tau[i] = larfg(m - i, a, diag, diag + 1);
+            applyReflectorLeft(m - i, n - i - 1, a, diag, tau[i], a, diag + lda, lda);
+            for (int j = i + 1; j < n; j++) {
+                if (vn1[j] != 0) {
+                    double r = Math.abs(a[i + j * lda]) / vn1[j];
+                    double temp = Math.max(1 - r * r, 0);
+                    double ratio = vn1[j] / vn2[j];
+                    if (temp * ratio * ratio <= tol3z) {
+                        if (i < m - 1) {
+                            vn1[j] = nrm2(m - i - 1, a, i + 1 + j * lda);
+                            vn2[j] = vn1[j];
+                        } else {
+                            vn1[j] = 0;
+                            vn2[j] = 0;
+                        }
+                    } else {
+                        vn1[j] *= Math.sqrt(temp);
+                    }
+                }
+            }
+        }
+    }
+
+    @TruffleBoundary
+    public static int dormqr(char side, char trans, int m, int n, int k, double[] a, int lda, double[] tau, double[] c, int ldc, double[] work, int lwork) {
+        boolean left = is(side, 'L');
+        boolean notrans = is(trans, 'N');
+        int nq = left ? m : n;
+        int nw = left ? n : m;
+        if (!left && !is(side, 'R')) {
+            return -1;
+        } else if (!notrans && !is(trans, 'T')) {
+            return -2;
+        } else if (m < 0) {
+            return -3;
+        } else if (n < 0) {
+            return -4;
+        } else if (k < 0 || k > nq) {
+            return -5;
+        } else if (lda < Math.max(1, nq)) {
+            return -7;
+        } else if (ldc < Math.max(1, m)) {
+            return -10;
+        }
+        if (lwork == -1) {
+            work[0] = Math.max(1, nw);
+            return 0;
+        }
+        if (m == 0 || n == 0 || k == 0) {
+            return 0;
+        }
+        // Q = H(1) * ... * H(k), Q^T * C and C * Q apply H(1) first
+        boolean forward = left != notrans;
+        for (int ii = 0; ii < k; ii++) {
+            int i = forward ? ii : k - 1 - ii;
+            int diag = i + i * lda;
+            if (left) {
+                applyReflectorLeft(m - i, n, a, diag, tau[i], c, i, ldc);
+            } else {
+                applyReflectorRight(m, n - i, a, diag, tau[i], c, i * ldc, ldc);
+            }
+        }
+        return 0;
+    }
+
+    @TruffleBoundary
+    public static int dtrtrs(char uplo, char trans, char diag, int n, int nrhs, double[] a, int lda, double[] b, int ldb) {
+        boolean upper = is(uplo, 'U');
+        boolean notrans = is(trans, 'N');
+        boolean unit = is(diag, 'U');
+        if (!upper && !is(uplo, 'L')) {
+            return -1;
+        } else if (!notrans && !is(trans, 'T') && !is(trans, 'C')) {
+            return -2;
+        } else if (!unit && !is(diag, 'N')) {
+            return -3;
+        } else if (n < 0) {
+            return -4;
+        } else if (nrhs < 0) {
+            return -5;
+        } else if (lda < Math.max(1, n)) {
+            return -7;
+        } else if (ldb < Math.max(1, n)) {
+            return -9;
+        }
+        if (!unit) {
+            for (int i = 0; i < n; i++) {
+                if (a[i + i * lda] == 0) {
+                    return i + 1;
+                }
+            }
+        }
+        trsm(upper, !notrans, unit, n, nrhs, a, 0, lda, b, 0, ldb);
+        return 0;
+    }
+
+    // symmetric eigenproblem
+
+    @TruffleBoundary
+    public static int dsyevr(char jobz, char range, char uplo, int n, double[] a, int lda, double vl, double vu, int il, int iu, @SuppressWarnings("unused") double abstol, int[] m, double[] w,
+                    double[] z, int ldz, int[] isuppz, double[] work, int lwork, int[] iwork, int liwork) {
+        boolean wantz = is(jobz, 'V');
+        boolean all = is(range, 'A');
+        boolean valeig = is(range, 'V');
+        boolean indeig = is(range, 'I');
+        boolean lower = is(uplo, 'L');
+        if (!wantz && !is(jobz, 'N')) {
+            return -1;
+        } else if (!all && !valeig && !indeig) {
+            return -2;
+        } else if (!lower && !is(uplo, 'U')) {
+            return -3;
+        } else if (n < 0) {
+            return -4;
+        } else if (lda < Math.max(1, n)) {
+            return -6;
+        } else if (valeig && n > 0 && vu <= vl) {
+            return -8;
+        } else if (indeig && (il < 1 || il > Math.max(1, n))) {
+            return -9;
+        } else if (indeig && (iu < Math.min(n, il) || iu > n)) {
+            return -10;
+        } else if (ldz < 1 || (wantz && ldz < n)) {
+            return -15;
+        }
+        if (lwork == -1 || liwork == -1) {
+            work[0] = Math.max(1, 26 * n);
+            iwork[0] = Math.max(1, 10 * n);
+            return 0;
+        }
+        m[0] = 0;
+        if (n == 0) {
+            return 0;
+        }
+        double[] v = new double[n * n];
+        for (int j = 0; j < n; j++) {
+            for (int i = lower ? j : 0; i < (lower ? n : j + 1); i++) {
+                double value = a[i + j * lda];
+                v[i + j * n] = value;
+                v[j + i * n] = value;
+            }
+        }
+        double[] d = new double[n];
+        double[] e = new double[n];
+        tred2(n, v, d, e);
+        int info = tql2(n, v, d, e, wantz);
+        if (info != 0) {
+            return info;
+        }
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            boolean selected = all || (valeig && d[i] > vl && d[i] <= vu) || (indeig && i >= il - 1 && i < iu);
+            if (selected) {
+                w[count] = d[i];
+                if (wantz) {
+                    System.arraycopy(v, i * n, z, count * ldz, n);
+                    isuppz[2 * count] = 1;
+                    isuppz[2 * count + 1] = n;
+                }
+                count++;
+            }
+        }
+        m[0] = count;
+        return 0;
+    }
+
+    /**
+     * Reduces the symmetric matrix v to tridiagonal form by Householder transformations, which are
+     * accumulated in v, like the EISPACK routine {@code tred2}. On exit, d holds the diagonal and e
+     * the subdiagonal in its elements {@code 1..n-1}.
+     */
+    private static void tred2(int n, double[] v, double[] d, double[] e) {
+        for (int j = 0; j < n; j++) {
+            d[j] = v[n - 1 + j * n];
+        }
+        for (int i = n - 1; i > 0; i--) {
+            double scale = 0;
+            double h = 0;
+            for (int k = 0; k < i; k++) {
+                scale += Math.abs(d[k]);
+            }
+            if (scale == 0) {
+                e[i] = d[i - 1];
+                for (int j = 0; j < i; j++) {
+                    d[j] = v[i - 1 + j * n];
+                    v[i + j * n] = 0;
+                    v[j + i * n] = 0;
+                }
+            } else {
+                for (int k = 0; k < i; k++) {
+                    d[k] /= scale;
+                    h += d[k] * d[k];
+                }
+                double f = d[i - 1];
+                double g = Math.sqrt(h);
+                if (f > 0) {
+                    g = -g;
+                }
+                e[i] = scale * g;
+                h = h - f * g;
+                d[i - 1] = f - g;
+                for (int j = 0; j < i; j++) {
+                    e[j] = 0;
+                }
+                for (int j = 0; j < i; j++) {
+                    f = d[j];
+                    v[j + i * n] = f;
+                    int vj = j * n;
+                    g = e[j] + v[j + vj] * f;
+                    for (int k = j + 1; k <= i - 1; k++) {
+                        g += v[k + vj] * d[k];
+                        e[k] += v[k + vj] * f;
+                    }
+                    e[j] = g;
+                }
+                f = 0;
+                for (int j = 0; j < i; j++) {
+                    e[j] /= h;
+                    f += e[j] * d[j];
+                }
+                double hh = f / (h + h);
+                for (int j = 0; j < i; j++) {
+                    e[j] -= hh * d[j];
+                }
+                for (int j = 0; j < i; j++) {
+                    f = d[j];
+                    g = e[j];
+                    int vj = j * n;
+                    for (int k = j; k <= i - 1; k++) {
+                        v[k + vj] -= f * e[k] + g * d[k];
+                    }
+                    d[j] = v[i - 1 + vj];
+                    v[i + vj] = 0;
+                }
+            }
+            d[i] = h;
+        }
+        // accumulate the transformations
+        for (int i = 0; i < n - 1; i++) {
+            v[n - 1 + i * n] = v[i + i * n];
+            v[i + i * n] = 1;
+            double h = d[i + 1];
+            int next = (i + 1) * n;
+            if (h != 0) {
+                for (int k = 0; k <= i; k++) {
+                    d[k] = v[k + next] / h;
+                }
+                for (int j = 0; j <= i; j++) {
+                    int vj = j * n;
+                    double g = dot(i + 1, v, next, v, vj);
+                    axpy(i + 1, -g, d, 0, v, vj);
+                }
+            }
+            for (int k = 0; k <= i; k++) {
+                v[k + next] = 0;
+            }
+        }
+        for (int j = 0; j < n; j++) {
+            d[j] = v[n - 1 + j * n];
+            v[n - 1 + j * n] = 0;
+        }
+        v[n - 1 + (n - 1) * n] = 1;
+        e[0] = 0;
+    }
+
+    /**
+     * Computes the eigenvalues and, if {@code wantz} is set, the eigenvectors of the tridiagonal
+     * matrix produced by {@link #tred2} by the implicit QL method like the EISPACK routine
+     * {@code tql2}. The eigenvalues are sorted in ascending order. Returns the index of the
+     * eigenvalue for which the iteration did not converge, or 0.
+     */
+    private static int tql2(int n, double[] v, double[] d, double[] e, boolean wantz) {
+        for (int i = 1; i < n; i++) {
+            e[i - 1] = e[i];
+        }
+        e[n - 1] = 0;
+        double f = 0;
+        double tst1 = 0;
+        for (int l = 0; l < n; l++) {
+            tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+            int m = l;
+            while (m < n - 1 && !(Math.abs(e[m]) <= EPS * tst1)) {
+                m++;
+            }
+            if (m > l) {
+                int iter = 0;
+                do {
+                    if (++iter > MAX_QL_ITERATIONS) {
+                        return l + 1;
+                    }
+                    double g = d[l];
+                    double p = (d[l + 1] - g) / (2 * e[l]);
+                    double r = Math.hypot(p, 1);
+                    if (p < 0) {
+                        r = -r;
+                    }
+                    d[l] = e[l] / (p + r);
+                    d[l + 1] = e[l] * (p + r);
+                    double dl1 = d[l + 1];
+                    double h = g - d[l];
+                    for (int i = l + 2; i < n; i++) {
+                        d[i] -= h;
+                    }
+                    f += h;
+                    p = d[m];
+                    double c = 1;
+                    double c2 = c;
+                    double c3 = c;
+                    double el1 = e[l + 1];
+                    double s = 0;
+                    double s2 = 0;
+                    for (int i = m - 1; i >= l; i--) {
+                        c3 = c2;
+                        c2 = c;
+                        s2 = s;
+                        g = c * e[i];
+                        h = c * p;
+                        r = Math.hypot(p, e[i]);
+                        e[i + 1] = s * r;
+                        s = e[i] / r;
+                        c = p / r;
+                        p = c * d[i] - s * g;
+                        d[i + 1] = h + s * (c * g + s * d[i]);
+                        if (wantz) {
+                            int vi = i * n;
+                            int vi1 = vi + n;
+                            for (int k = 0; k < n; k++) {
+                                h = v[k + vi1];
+                                v[k + vi1] = s * v[k + vi] + c * h;
+                                v[k + vi] = c * v[k + vi] - s * h;
+                            }
+                        }
+                    }
+                    p = -s * s2 * c3 * el1 * e[l] / dl1;
+                    e[l] = s * p;
+                    d[l] = c * p;
+                } while (!(Math.abs(e[l]) <= EPS * tst1));
+            }
+            d[l] = d[l] + f;
+            e[l] = 0;
+        }
+        for (int i = 0; i < n - 1; i++) {
+            int k = i;
+            double p = d[i];
+            for (int j = i + 1; j < n; j++) {
+                if (d[j] < p) {
+                    k = j;
+                    p = d[j];
+                }
+            }
+            if (k != i) {
+                d[k] = d[i];
+                d[i] = p;
+                if (wantz) {
+                    swapColumns(n, v, 0, n, i, k);
+                }
+            }
+        }
+        return 0;
+    }
+
+    // singular value decomposition
+
+    @TruffleBoundary
+    public static int dgesdd(char jobz, int m, int n, double[] a, int lda, double[] s, double[] u, int ldu, double[] vt, int ldvt, double[] work, int lwork, @SuppressWarnings("unused") int[] iwork) {
+        boolean wantA = is(jobz, 'A');
+        boolean wantS = is(jobz, 'S');
+        boolean wantVectors = wantA || wantS;
+        int minmn = Math.min(m, n);
+        if (!wantVectors && !is(jobz, 'N')) {
+            return -1;
+        } else if (m < 0) {
+            return -2;
+        } else if (n < 0) {
+            return -3;
+        } else if (lda < Math.max(1, m)) {
+            return -5;
+        } else if (ldu < 1 || (wantVectors && ldu < m)) {
+            return -8;
+        } else if (ldvt < 1 || (wantA && ldvt < n) || (wantS && ldvt < minmn)) {
+            return -10;
+        }
+        if (lwork == -1) {
+            work[0] = 1;
+            return 0;
+        }
+        if (minmn == 0) {
+            return 0;
+        }
+        // the SVD of A^T = V * S * U^T is computed for wide matrices, so that b has more rows than
+        // columns
+        boolean wide = m < n;
+        int rows = Math.max(m, n);
+        int cols = minmn;
+        double[] b = new double[rows * cols];
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < m; i++) {
+                if (wide) {
+                    b[j + i * rows] = a[i + j * lda];
+                } else {
+                    b[i + j * rows] = a[i + j * lda];
+                }
+            }
+        }
+        double[] v = null;
+        if (wantVectors) {
+            v = new double[cols * cols];
+            for (int i = 0; i < cols; i++) {
+                v[i + i * cols] = 1;
+            }
+        }
+        int info = jacobi(rows, cols, b, v);
+        double[] sigma = new double[cols];
+        Integer[] order = new Integer[cols];
+        for (int j = 0; j < cols; j++) {
+            sigma[j] = nrm2(rows, b, j * rows);
+            order[j] = j;
+        }
+        Arrays.sort(order, (x, y) -> Double.compare(sigma[y], sigma[x]));
+        for (int k = 0; k < cols; k++) {
+            s[k] = sigma[order[k]];
+        }
+        if (!wantVectors) {
+            return info;
+        }
+        // the left singular vectors of b, completed to an orthonormal basis if necessary
+        int leftCols = wantA ? rows : cols;
+        double[] left = new double[rows * leftCols];
+        int valid = 0;
+        for (int k = 0; k < cols; k++) {
+            double sk = s[k];
+            if (sk == 0 || !Double.isFinite(sk)) {
+                break;
+            }
+            int from = order[k] * rows;
+            for (int i = 0; i < rows; i++) {
+                left[i + k * rows] = b[from + i] / sk;
+            }
+            valid++;
+        }
+        completeBasis(rows, valid, leftCols, left);
+        double[] right = new double[cols * cols];
+        for (int k = 0; k < cols; k++) {
+            System.arraycopy(v, order[k] * cols, right, k * cols, cols);
+        }
+        if (!wide) {
+            copyMatrix(m, leftCols, left, rows, u, ldu);
+            transposeMatrix(cols, cols, right, cols, vt, ldvt);
+        } else {
+            copyMatrix(m, m, right, cols, u, ldu);
+            transposeMatrix(rows, leftCols, left, rows, vt, ldvt);
+        }
+        return info;
+    }
+
+    /**
+     * One-sided Jacobi method: rotates pairs of columns of the {@code rows x cols} matrix b until
+     * they are mutually orthogonal, accumulating the rotations in v if it is not {@code null}. The
+     * pairs are processed in rounds of a round-robin tournament, the rotations of each round touch
+     * different columns and run in parallel. Returns 0 or 1 if the method did not converge.
+     */
+    private static int jacobi(int rows, int cols, double[] b, double[] v) {
+        int players = cols + (cols & 1);
+        int[] schedule = new int[players];
+        for (int i = 0; i < players; i++) {
+            schedule[i] = i;
+        }
+        int pairs = players / 2;
+        boolean[] rotated = new boolean[pairs];
+        for (int sweep = 0; sweep < MAX_JACOBI_SWEEPS; sweep++) {
+            boolean any = false;
+            for (int round = 0; round < players - 1; round++) {
+                Arrays.fill(rotated, false);
+                forRange(pairs, 12L * rows, (from, to) -> {
+                    for (int k = from; k < to; k++) {
+                        int p = schedule[k];
+                        int q = schedule[players - 1 - k];
+                        if (p < cols && q < cols) {
+                            rotated[k] = rotate(rows, cols, b, v, Math.min(p, q), Math.max(p, q));
+                        }
+                    }
+                });
+                for (boolean r : rotated) {
+                    any |= r;
+                }
+                // circle method: the first player stays, the others move by one position
+                int last = schedule[players - 1];
+                System.arraycopy(schedule, 1, schedule, 2, players - 2);
+                schedule[1] = last;
+            }
+            if (!any) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+
+    private static boolean rotate(int rows, int cols, double[] b, double[] v, int p, int q) {
+        int bp = p * rows;
+        int bq = q * rows;
+        double alpha = dot(rows, b, bp, b, bp);
+        double beta = dot(rows, b, bq, b, bq);
+        double gamma = dot(rows, b, bp, b, bq);
+        if (alpha == 0 || beta == 0 || !(Math.abs(gamma) > EPS * Math.sqrt(alpha * beta))) {
+            return false;
+        }
+        double zeta = (beta - alpha) / (2 * gamma);
+        double t = Math.copySign(1, zeta) / (Math.abs(zeta) + Math.sqrt(1 + zeta * zeta));
+        double c = 1 / Math.sqrt(1 + t * t);
+        double sn = c * t;
+        rotateColumns(rows, b, bp, bq, c, sn);
+        if (v != null) {
+            rotateColumns(cols, v, p * cols, q * cols, c, sn);
+        }
+        return true;
+    }
+
+    private static void rotateColumns(int n, double[] x, int po, int qo, double c, double s) {
+        for (int i = 0; i < n; i++) {
+            double xp = x[po + i];
+            double xq = x[qo + i];
+            x[po + i] = c * xp - s * xq;
+            x[qo + i] = s * xp + c * xq;
+        }
+    }
+
+    /**
+     * Replaces the columns {@code valid..cols-1} of the {@code rows x cols} matrix q, whose first
+     * {@code valid} columns are orthonormal, with an orthonormal basis of the complement of their
+     * span. The complement is given by the trailing columns of the Q factor of the QR decomposition
+     * of the valid columns.
+     */
+    private static void completeBasis(int rows, int valid, int cols, double[] q) {
+        if (valid == cols) {
+            return;
+        }
+        double[] h = Arrays.copyOf(q, rows * valid);
+        double[] tau = new double[valid];
+        for (int i = 0; i < valid; i++) {
+            int diag = i + i * rows;
+            tau[i] = larfg(rows - i, h, diag, diag + 1);
+            applyReflectorLeft(rows - i, valid - i - 1, h, diag, tau[i], h, diag + rows, rows);
+        }
+        for (int j = valid; j < cols; j++) {
+            int qj = j * rows;
+            Arrays.fill(q, qj, qj + rows, 0);
+            q[qj + j] = 1;
+            for (int i = valid - 1; i >= 0; i--) {
+                applyReflectorLeft(rows - i, 1, h, i + i * rows, tau[i], q, qj + i, rows);
+            }
+        }
+    }
+
+    private static void copyMatrix(int m, int n, double[] from, int ldFrom, double[] to, int ldTo) {
+        for (int j = 0; j < n; j++) {
+            System.arraycopy(from, j * ldFrom, to, j * ldTo, m);
+        }
+    }
+
+    private static void transposeMatrix(int m, int n, double[] from, int ldFrom, double[] to, int ldTo) {
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < m; i++) {
+                to[j + i * ldTo] = from[i + j * ldFrom];
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -68,6 +68,10 @@ public abstract class NativeMemory {
             this.bytes = bytes;
             this.offset = offset;
         }
+
+        public int getBytes() {
+            return bytes;
+        }
     }
 
     private static final Unsafe UNSAFE = initUnsafe();
@@ -151,6 +155,21 @@ public abstract class NativeMemory {
         UNSAFE.copyMemory(null, source, destination, elementBase, (long) elementSize * (long) elementsCount);
     }
 
+    /**
+     * Copies between two native memory blocks, which must not overlap.
+     */
+    public static void copyMemory(long source, long destination, ElementType type, long elementsCount) {
+        UNSAFE.copyMemory(source, destination, type.bytes * elementsCount);
+    }
+
+    public static void setMemory(NativeMemoryWrapper address, ElementType type, long elementsCount, byte value) {
+        setMemory(address.getAddress(), type, elementsCount, value);
+    }
+
+    public static void setMemory(long address, ElementType type, long elementsCount, byte value) {
+        UNSAFE.setMemory(address, type.bytes * elementsCount, value);
+    }
+
     public static String copyCString(long address, Charset encoding) {
         return copyCString(address, Integer.MAX_VALUE, encoding);
     }
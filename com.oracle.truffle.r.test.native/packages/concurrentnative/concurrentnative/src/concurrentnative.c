@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+#include <R.h>
+#include <Rinternals.h>
+#include <R_ext/Rdynload.h>
+
+// only reads the vectors, so it can run in several contexts at the same time
+static SEXP sum_elements(SEXP list) {
+    R_xlen_t n = XLENGTH(list);
+    SEXP result = PROTECT(allocVector(REALSXP, n));
+    for (R_xlen_t i = 0; i < n; i++) {
+        SEXP v = VECTOR_ELT(list, i);
+        R_xlen_t len = XLENGTH(v);
+        double sum = 0;
+        if (TYPEOF(v) == INTSXP) {
+            int *data = INTEGER(v);
+            for (R_xlen_t j = 0; j < len; j++) {
+                sum += data[j];
+            }
+        } else {
+            double *data = REAL(v);
+            for (R_xlen_t j = 0; j < len; j++) {
+                sum += data[j];
+            }
+        }
+        REAL(result)[i] = sum;
+    }
+    UNPROTECT(1);
+    return result;
+}
+
+#define CALLDEF(name, n)  {#name, (DL_FUNC) &name, n}
+
+static const R_CallMethodDef CallEntries[] = {
+    CALLDEF(sum_elements, 1),
+    {NULL, NULL, 0}
+};
+
+void R_init_concurrentnative(DllInfo *dll) {
+    R_registerRoutines(dll, NULL, CallEntries, NULL, NULL);
+    R_useDynamicSymbols(dll, FALSE);
+}
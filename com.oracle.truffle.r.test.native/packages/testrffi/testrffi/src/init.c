@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -35,6 +35,7 @@ static const R_CMethodDef CEntries[]  = {
     {"rapi_dotC", (DL_FUNC) &rapi_dotC, 3},
     {"dotCModifiedArguments", (DL_FUNC) &dotCModifiedArguments, 5},
     {"benchRf_isNull", (DL_FUNC) &benchRf_isNull, 1},
+    {"dotCScale", (DL_FUNC) &dotCScale, 3},
     {NULL, NULL, 0}
 };
 
@@ -83,6 +84,9 @@ static const R_CallMethodDef CallEntries[] = {
         CALLDEF(iterate_iptr, 1),
         CALLDEF(preserve_object, 1),
         CALLDEF(release_object, 1),
+        CALLDEF(protect_stack, 1),
+        CALLDEF(unprotect_too_many, 1),
+        CALLDEF(char_lengths, 2),
         CALLDEF(findvar, 2),
 		CALLDEF(shareIntElement, 4),
 		CALLDEF(shareDoubleElement, 4),
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -408,6 +408,49 @@ SEXP release_object(SEXP x) {
     return R_NilValue;
 }
 
+SEXP protect_stack(SEXP n) {
+    int len = asInteger(n);
+    PROTECT_INDEX ipx;
+    SEXP last;
+    PROTECT_WITH_INDEX(last = allocVector(INTSXP, 0), &ipx);
+    SEXP list = PROTECT(allocVector(VECSXP, len));
+    for (int i = 0; i < len; i++) {
+        SEXP tmp = PROTECT(ScalarInteger(i));
+        SEXP elem = PROTECT(allocVector(INTSXP, 1));
+        INTEGER(elem)[0] = INTEGER(tmp)[0] * 2;
+        UNPROTECT_PTR(tmp);
+        SET_VECTOR_ELT(list, i, elem);
+        UNPROTECT(1);
+        REPROTECT(last = ScalarInteger(i), ipx);
+    }
+    SEXP result = PROTECT(allocVector(VECSXP, 2));
+    SET_VECTOR_ELT(result, 0, list);
+    SET_VECTOR_ELT(result, 1, last);
+    UNPROTECT(3);
+    return result;
+}
+
+SEXP unprotect_too_many(SEXP n) {
+    PROTECT(ScalarInteger(1));
+    UNPROTECT(asInteger(n));
+    return R_NilValue;
+}
+
+SEXP char_lengths(SEXP x, SEXP y) {
+    R_xlen_t len = XLENGTH(x);
+    SEXP result = PROTECT(allocVector(INTSXP, len));
+    for (R_xlen_t i = 0; i < len; i++) {
+        const char *cx = CHAR(STRING_ELT(x, i));
+        // equal strings share their CHARSXP and so the native buffer
+        if (cx != CHAR(STRING_ELT(y, i))) {
+            error("different CHAR pointers for equal strings at %ld", (long) i);
+        }
+        INTEGER(result)[i] = (int) strlen(cx);
+    }
+    UNPROTECT(1);
+    return result;
+}
+
 SEXP findvar(SEXP x, SEXP env) {
 	SEXP v = Rf_findVar(x, env);
 	if (v == R_UnboundValue) {
@@ -1104,6 +1147,12 @@ void benchRf_isNull(int* n) {
 	}
 }
 
+void dotCScale(double* x, int* n, double* factor) {
+	for (int i = 0; i < *n; i++) {
+		x[i] *= *factor;
+	}
+}
+
 SEXP benchMultipleUpcalls(SEXP x) {
   SEXP result;
   PROTECT(result = Rf_allocVector(VECSXP, Rf_length(x)));
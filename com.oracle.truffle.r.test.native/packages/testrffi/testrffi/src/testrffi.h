@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -83,6 +83,12 @@ extern SEXP preserve_object(SEXP val);
 
 extern SEXP release_object(SEXP x);
 
+extern SEXP protect_stack(SEXP n);
+
+extern SEXP unprotect_too_many(SEXP n);
+
+extern SEXP char_lengths(SEXP x, SEXP y);
+
 extern SEXP findvar(SEXP x, SEXP env);
 
 extern SEXP test_asReal(SEXP x);
@@ -165,6 +171,8 @@ extern SEXP get_dataptr(SEXP vec);
 
 extern void benchRf_isNull(int* n);
 
+extern void dotCScale(double* x, int* n, double* factor);
+
 extern SEXP benchMultipleUpcalls(SEXP x);
 
 extern SEXP test_lapplyWithForceAndCall(SEXP list, SEXP fn, SEXP fa, SEXP rho);
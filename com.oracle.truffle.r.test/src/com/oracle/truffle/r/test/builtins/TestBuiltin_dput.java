@@ -70,5 +70,7 @@ public class TestBuiltin_dput extends TestBase {
     @Test
     public void testdput() {
         assertEval("x <- structure(list(A = c(1L, 1L), B = structure(c(1L, 1L), .Label = c('G', 'D'), class = 'factor'), C = structure(c(1L, 1L), .Label = c('G', 'D'), class = 'factor')), .Names = c('A', 'B', 'C'), row.names = 1:2, class = 'data.frame'); dput(x)");
+        assertEval("x <- list(a = seq(0.5, 2000, by = 0.5), b = as.character(1:3000)); tc <- textConnection('out', 'w'); dput(x, tc); close(tc); identical(eval(parse(text = out)), x)");
+        assertEval("x <- c(1.5, 2.5); tc <- textConnection('out', 'w'); dput(x, tc); dput(x, tc); close(tc); out");
     }
 }
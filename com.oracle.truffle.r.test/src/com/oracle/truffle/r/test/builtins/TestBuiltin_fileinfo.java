@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2014, Purdue University
- * Copyright (c) 2014, 2018, Oracle and/or its affiliates
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -36,4 +36,11 @@ public class TestBuiltin_fileinfo extends TestBase {
     public void testfileinfo2() {
         assertEval("argv <- list(character(0)); .Internal(file.info(argv[[1]]))");
     }
+
+    @Test
+    public void testfileinfoMany() {
+        // enough paths to be examined in parallel, the order of the result must be kept
+        assertEval("{ d <- tempfile(); dir.create(d); f <- file.path(d, sprintf('f%04d', 1:600)); for (i in seq(1, 600, by=2)) writeLines(strrep('x', i), f[i]); fi <- file.info(f[c(600:1, 1)]); unlink(d, recursive=TRUE); list(fi$size[1:6], sum(is.na(fi$size)), fi$isdir[599:601], file.exists(f[1:3])) }");
+        assertEval("{ d <- tempfile(); dir.create(file.path(d, 'a', 'b'), recursive=TRUE); dir.create(file.path(d, 'c')); for (p in c('x', 'a/y', 'a/b/z', 'c/.h')) writeLines(p, file.path(d, p)); r <- list(list.files(d, recursive=TRUE), list.files(d, recursive=TRUE, all.files=TRUE, include.dirs=TRUE), list.dirs(d, full.names=FALSE)); unlink(d, recursive=TRUE); r }");
+    }
 }
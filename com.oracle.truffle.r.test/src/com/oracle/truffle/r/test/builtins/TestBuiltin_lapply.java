@@ -70,6 +70,13 @@ public class TestBuiltin_lapply extends TestBase {
         // with a builtin that does not evaluate its arg
         // TODO: the full result is expression(X[[i]], ...) in GNU-R vs expression(X[[i]]) in FastR
         assertEval("lapply(list(2), expression)[[1]][[1]]");
+
+        // recursive and nested lapply keep their own loop state
+        assertEval("{ f <- function(x) if (is.list(x)) lapply(x, f) else x * 10; f(list(1, list(2, 3), list(list(4)), 5)) }");
+        assertEval("{ lapply(1:3, function(i) lapply(1:i, function(j) i * j)) }");
+        assertEval("{ r <- tryCatch(lapply(1:5, function(i) if (i == 3) stop('three') else i), error = function(e) conditionMessage(e)); r }");
+        assertEval("{ x <- list(a = list(v = 1), b = list(v = 2), c = list(v = 3)); lapply(x, function(e) e$v + 1) }");
+        assertEval("{ lapply(1:1000, function(i) i)[[1000]] }");
     }
 
     @Test
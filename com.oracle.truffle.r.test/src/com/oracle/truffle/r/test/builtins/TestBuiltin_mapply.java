@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2014, Purdue University
- * Copyright (c) 2014, 2018, Oracle and/or its affiliates
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -36,6 +36,11 @@ public class TestBuiltin_mapply extends TestBase {
     public void testmapply() {
         assertEval("mapply(rep, 1:4, 4:1)");
         assertEval("mapply(function(x, y) seq_len(x) + y, c(a =  1, b = 2, c = 3),  c(A = 10, B = 0, C = -10))");
+        // the cached loop keeps its state in the frame of the caller
+        assertEval("{ f <- function(n) if (n == 0) 0 else mapply(function(x, y) x + y + f(n - 1), 1:2, 3:4); f(3) }");
+        assertEval("{ mapply(function(x, y) mapply(function(a, b) a * b, x, y), list(1:2, 3:4), list(5:6, 7:8), SIMPLIFY = FALSE) }");
+        assertEval("{ r <- tryCatch(mapply(function(x, y) if (x == 3) stop('three') else x + y, 1:5, 5:1), error = function(e) conditionMessage(e)); r }");
+        assertEval("{ mapply(function(x, y, z) x + y + z, 1:1000, 1:2, MoreArgs = list(z = 1))[c(1, 2, 999, 1000)] }");
         assertEval("mapply(rep, times = 1:4, MoreArgs = list(x = 42))");
         assertEval("word <- function(C, k) paste(rep.int(C, k), collapse = \"\"); utils::str(mapply(word, LETTERS[1:6], 6:1, SIMPLIFY = FALSE))");
         assertEval("{ mapply(rep.int, 42, MoreArgs = list(4)) }");
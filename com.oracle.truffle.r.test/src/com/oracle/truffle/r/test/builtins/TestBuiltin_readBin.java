@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -49,4 +49,13 @@ public class TestBuiltin_readBin extends TestBase {
 
         assertEval("readBin(as.raw(as.raw(c(1, 2, 3))), 'tralala', 5)");
     }
+
+    @Test
+    public void testReadBinFile() {
+        // vectors larger than the connection buffers, in both byte orders
+        assertEval("{ tf <- tempfile(); x <- c(seq(0.5, 50000, by=0.5), NA, -Inf); writeBin(x, tf); y <- readBin(tf, 'double', length(x) + 10); unlink(tf); identical(x, y) }");
+        assertEval("{ tf <- tempfile(); x <- c(1:70000, NA); writeBin(x, tf, endian='swap'); y <- readBin(tf, 'integer', length(x), endian='swap'); z <- readBin(tf, 'integer', 2); unlink(tf); list(identical(x, y), z) }");
+        assertEval("{ tf <- tempfile(); con <- file(tf, 'wb'); writeBin(1:3, con); writeBin(as.double(1:5000), con); writeBin(4:6, con); close(con); con <- file(tf, 'rb'); a <- readBin(con, 'integer', 3); b <- readBin(con, 'double', 5000); c <- readBin(con, 'integer', 10); close(con); unlink(tf); list(a, sum(b), c) }");
+        assertEval("{ x <- complex(real=1:3000, imaginary=-(1:3000)); identical(readBin(writeBin(x, raw()), 'complex', 3000), x) }");
+    }
 }
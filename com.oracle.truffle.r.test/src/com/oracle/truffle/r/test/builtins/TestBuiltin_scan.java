@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2019, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -105,6 +105,18 @@ public class TestBuiltin_scan extends TestBase {
         assertEval("{ con<-textConnection(c(\"1.5 2.89 3\", \"4 5 6\")); .Internal(scan(con, 1.2, 2, ' ', NULL, '\"', 0, 3, \"NA\", F, F, F, T, T, '', '#', T, 'utf8', F)) }");
     }
 
+    @Test
+    public void testUnreadLines() {
+        // lines and parts of lines not consumed by scan remain readable from the connection
+        assertEval("{ con<-textConnection(as.character(1:3000)); x <- scan(con, nlines=1500, quiet=TRUE); y <- readLines(con); close(con); list(length(x), sum(x), length(y), y[1], y[1500]) }");
+        assertEval("{ con<-textConnection(c(\"1 2 3\", \"4 5 6\", \"7 8 9\")); x <- scan(con, nmax=2, quiet=TRUE); y <- readLines(con); close(con); list(x, y) }");
+        assertEval("{ con<-textConnection(c(\"a,b,c\", \"d,e,f\", \"g,h,i\")); x <- scan(con, what='', nlines=2, sep=',', quiet=TRUE); y <- scan(con, what='', sep=',', quiet=TRUE); close(con); list(x, y) }");
+        assertEval("{ tf <- tempfile(); writeLines(paste(1:2500, 'x', sep=','), tf); con <- file(tf, 'r'); x <- scan(con, what=list(0, ''), sep=',', nmax=1200, quiet=TRUE); y <- readLines(con); close(con); unlink(tf); list(length(x[[1]]), x[[1]][1200], length(y), y[1]) }");
+        // a connection opened only for the scan starts at the beginning again, without stale lines
+        assertEval("{ tf <- tempfile(); writeLines(as.character(1:5), tf); con <- file(tf); x <- scan(con, nmax=1, quiet=TRUE); y <- readLines(con); z <- scan(con, nmax=2, quiet=TRUE); close(con); unlink(tf); list(x, y, z) }");
+        assertEval("{ tf <- tempfile(); writeLines(as.character(1:3000), tf); con <- file(tf); x <- scan(con, nlines=10, quiet=TRUE); y <- readLines(con); close(con); unlink(tf); list(length(x), length(y), y[1]) }");
+    }
+
     @Test
     public void testPooling() {
         assertEvalFastR("s <- scan(textConnection(paste0(rep('asdf\\n', 1000))), character(0), quiet=T); all(sapply(s, function(x) .fastr.identity(x) == .fastr.identity(s[[1]])))", "TRUE");
@@ -57,4 +57,16 @@ public class TestBuiltin_str2lang extends TestBase {
         assertEval("{ num <- str2lang('1.375'); typeof(num) }");
         assertEval("{ qa <- str2lang('log(y)'); is.call(qa) }");
     }
+
+    @Test
+    public void testData() {
+        assertEval("{ str2lang('c(1, 2.5, -3e-2, 4L, NA, TRUE, Inf, NaN)') }");
+        assertEval("{ str2lang('structure(list(a = 1:3, \\'b c\\' = c(\\'x\\', \"y\\\\n\")), row.names = c(NA, -3L), class = \\'data.frame\\')') }");
+        assertEval("{ x <- str2lang('-1:-3'); list(x[[1]], x[[2]], x[[3]]) }");
+        assertEval("{ str2lang('c(a = NA_integer_, b = NA_real_, c = NA_character_, NULL)') }");
+        assertEval("{ str2lang('c(\\n1,\\n2)') }");
+        assertEval("{ str2lang('c(1, 2) + 1') }");
+        assertEval("{ str2lang('f(x)(1)') }");
+        assertEval(Output.IgnoreErrorMessage, "{ str2lang('c(1, 2') }");
+    }
 }
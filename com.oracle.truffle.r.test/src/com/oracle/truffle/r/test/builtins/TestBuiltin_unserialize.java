@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -127,6 +127,16 @@ public class TestBuiltin_unserialize extends TestBase {
         assertEval("e <- unserialize(file('" + WRAPPER_PATH + "', open='rb')); e$iv; e$rv; e$iva; e$rva");
     }
 
+    @Test
+    public void testunserializeLargeVectors() {
+        // vectors spanning several serialization buffers
+        assertEval("{ x <- c(seq(0.25, 30000, by=0.25), NA, NaN, -Inf); identical(unserialize(serialize(x, NULL)), x) }");
+        assertEval("{ x <- c(1:50000, NA); identical(unserialize(serialize(x, NULL)), x) }");
+        assertEval("{ x <- complex(real=c(1:20000, NA), imaginary=c(NA, 1:20000)); identical(unserialize(serialize(x, NULL)), x) }");
+        assertEval("{ x <- as.raw(rep(0:255, 200)); identical(unserialize(serialize(x, NULL)), x) }");
+        assertEval("{ tf <- tempfile(); x <- list(a=as.double(1:100000), b=1:3, c=c(TRUE, NA)); saveRDS(x, tf); y <- readRDS(tf); unlink(tf); identical(x, y) }");
+    }
+
     @Test
     public void testunserialize() {
         assertEval(template("options(keep.source=FALSE); unserialize(serialize(quote(x), connection=NULL, version=%0))", VERSIONS));
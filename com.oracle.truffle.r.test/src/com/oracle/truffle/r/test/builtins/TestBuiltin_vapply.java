@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2018, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -60,6 +60,14 @@ public class TestBuiltin_vapply extends TestBase {
         assertEval(Output.IgnoreErrorContext, "{ vapply(1:3, function(x) rep(1, x), 1); }");
         assertEval(Output.IgnoreErrorContext, "{ vapply(1:3, function(x) rep(1, x), 1:3); }");
         assertEval(Output.IgnoreErrorContext, "{ vapply(1:3, function(x) rep(1, x), 1L:3L); }");
+
+        // scalar results are stored into the typed result directly, other results are cast
+        assertEval("{ vapply(1:5, function(x) x * 2, 0) }");
+        assertEval("{ vapply(1:5, function(x) if (x == 3) NA_integer_ else x, 1L) }");
+        assertEval("{ vapply(1:5, function(x) if (x == 3) 3L else x / 2, 0) }");
+        assertEval("{ vapply(c(a = 1, b = 2), function(x) x > 1, NA) }");
+        assertEval("{ vapply(c('x', 'y'), function(x) paste0(x, '!'), '') }");
+        assertEval(Output.IgnoreErrorContext, "{ vapply(1:3, function(x) 'a', 0) }");
     }
 
     @Test
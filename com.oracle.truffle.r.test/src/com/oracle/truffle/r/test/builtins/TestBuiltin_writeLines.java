@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2014, Purdue University
- * Copyright (c) 2014, 2018, Oracle and/or its affiliates
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -34,4 +34,12 @@ public class TestBuiltin_writeLines extends TestBase {
         assertEval(Ignored.SideEffects,
                         "argv <- structure(list(text = ' \\'  A  \\'; \\'B\\' ;\\'C\\';\\' D \\';\\'E \\';  F  ;G  ',     con = 'foo'), .Names = c('text', 'con'));do.call('writeLines', argv)");
     }
+
+    @Test
+    public void testwriteLinesFile() {
+        // output larger than the connection's buffers, with non-ASCII and long lines
+        assertEval("{ tf <- tempfile(); x <- c(paste0('line', 1:20000), '\\u00e4\\u00f6\\u00fc', strrep('ab', 50000), ''); writeLines(x, tf); y <- readLines(tf); unlink(tf); identical(x, y) }");
+        assertEval("{ tf <- tempfile(); con <- file(tf, 'w'); writeLines(c('a', 'b'), con, sep=''); writeLines('\\u00e4', con, sep='|'); close(con); y <- readLines(tf, warn=FALSE); unlink(tf); y }");
+        assertEval("{ tf <- tempfile(); con <- file(tf, 'w'); for (i in 1:3) cat(i, 'x\\n', file=con); close(con); y <- readLines(tf); unlink(tf); y }");
+    }
 }
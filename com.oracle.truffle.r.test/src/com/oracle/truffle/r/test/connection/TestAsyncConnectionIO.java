@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.connection;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.graalvm.polyglot.Context;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+/**
+ * Writes and reads compressed file connections with {@link FastROptions#AsyncConnectionIO}
+ * enabled, i.e., with the (de)compression running on worker threads. The data are larger than the
+ * blocks exchanged with the workers.
+ */
+public class TestAsyncConnectionIO extends TestBase {
+
+    private Context context;
+    private Path dir;
+
+    @Before
+    public void before() throws IOException {
+        context = FastRSession.getContextBuilder("R").option(FastROptions.getName(FastROptions.AsyncConnectionIO), "true").build();
+        dir = Files.createTempDirectory("fastr-async-io");
+        context.eval("R", "dir <- '" + dir + "'; lines <- paste('line', 1:100000, sample(letters, 100000, replace = TRUE)); " +
+                        "bytes <- as.raw(sample(0:255, 3e6, replace = TRUE))");
+    }
+
+    @After
+    public void dispose() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(p -> p.toFile().delete());
+        }
+        Files.delete(dir);
+    }
+
+    private boolean roundTrip(String open, String ext) {
+        String code = "{ f <- file.path(dir, 'lines." + ext + "'); con <- " + open + "(f, 'w'); writeLines(lines, con); close(con); " +
+                        "con <- " + open + "(f, 'r'); r <- readLines(con); close(con); " +
+                        "g <- file.path(dir, 'bytes." + ext + "'); con <- " + open + "(g, 'wb'); writeBin(bytes, con); close(con); " +
+                        "con <- " + open + "(g, 'rb'); b <- readBin(con, 'raw', 4e6); close(con); " +
+                        "identical(r, lines) && identical(b, bytes) }";
+        return context.eval("R", code).asBoolean();
+    }
+
+    @Test
+    public void testGzRoundTrip() {
+        Assert.assertTrue(roundTrip("gzfile", "gz"));
+    }
+
+    @Test
+    public void testXzRoundTrip() {
+        Assert.assertTrue(roundTrip("xzfile", "xz"));
+    }
+
+    @Test
+    public void testPartialRead() {
+        // closing a connection that has not been read to the end stops the read-ahead
+        Assert.assertTrue(context.eval("R", "{ f <- file.path(dir, 'lines.gz'); con <- gzfile(f, 'w'); writeLines(lines, con); close(con); " +
+                        "con <- gzfile(f, 'r'); r <- readLines(con, 10); close(con); identical(r, lines[1:10]) }").asBoolean());
+    }
+
+    @Test
+    public void testUnclosedConnections() throws IOException {
+        // connections left open are closed, and their workers stopped, with the context
+        context.eval("R", "{ f <- file.path(dir, 'lines.gz'); con <- gzfile(f, 'w'); writeLines(lines, con); close(con); " +
+                        "rcon <- gzfile(f, 'r'); readLines(rcon, 1); " +
+                        "wcon <- gzfile(file.path(dir, 'unclosed.gz'), 'w'); writeLines(lines[1:1000], wcon) }");
+        context.close();
+        context = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(dir.resolve("unclosed.gz"))), StandardCharsets.UTF_8))) {
+            Assert.assertEquals(1000, reader.lines().count());
+        }
+    }
+}
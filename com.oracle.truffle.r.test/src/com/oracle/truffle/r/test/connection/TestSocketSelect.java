@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.connection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import org.graalvm.polyglot.Value;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRContext;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+/**
+ * Tests {@code socketSelect} and blocking reads of socket connections against the
+ * {@link SocketServerMockup}, which forwards whatever one client writes to the other clients.
+ */
+public class TestSocketSelect extends TestBase {
+
+    private static FastRContext context;
+
+    private int port;
+
+    @BeforeClass
+    public static void setupClass() {
+        context = FastRSession.create().createContext(ContextKind.SHARE_PARENT_RW);
+    }
+
+    @AfterClass
+    public static void finishClass() {
+        context.close();
+    }
+
+    @Before
+    public void startServer() throws IOException {
+        port = freePort();
+        SocketServerMockup.startServerSocket(port);
+    }
+
+    @After
+    public void closeServer() throws IOException {
+        eval("for (con in c('a', 'b')) if (exists(con)) { try(close(get(con)), silent = TRUE); rm(list = con) }");
+        SocketServerMockup.closeServerSocket(port);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket s = new ServerSocket(0)) {
+            return s.getLocalPort();
+        }
+    }
+
+    private static Value eval(String code) {
+        return context.eval("R", code);
+    }
+
+    private void connect(String... names) {
+        for (String name : names) {
+            eval(name + " <- socketConnection('localhost', port = " + port + ", open = 'r+b')");
+        }
+        // give the mockup time to accept the clients before anything is forwarded
+        eval("Sys.sleep(0.3)");
+    }
+
+    @Test
+    public void testReadReadiness() {
+        connect("a", "b");
+        Assert.assertFalse(eval("socketSelect(list(b), timeout = 0)").asBoolean());
+        Assert.assertTrue(eval("identical(socketSelect(list(a, b), timeout = 0), c(FALSE, FALSE))").asBoolean());
+
+        eval("writeBin(as.raw(1:3), a)");
+        Assert.assertTrue(eval("identical(socketSelect(list(a, b), timeout = 10), c(FALSE, TRUE))").asBoolean());
+        Assert.assertTrue(eval("identical(readBin(b, 'raw', 3), as.raw(1:3))").asBoolean());
+        Assert.assertFalse(eval("socketSelect(list(b), timeout = 0)").asBoolean());
+
+        // the other direction
+        eval("writeBin(as.raw(4:5), b)");
+        Assert.assertTrue(eval("socketSelect(list(a), timeout = 10)").asBoolean());
+        Assert.assertTrue(eval("identical(readBin(a, 'raw', 2), as.raw(4:5))").asBoolean());
+    }
+
+    @Test
+    public void testWriteReadiness() {
+        connect("a", "b");
+        Assert.assertTrue(eval("identical(socketSelect(list(a, b), write = TRUE, timeout = 0), c(TRUE, TRUE))").asBoolean());
+    }
+
+    @Test
+    public void testTimeout() {
+        connect("b");
+        // nothing is written, the select returns after the (fractional) timeout
+        Assert.assertTrue(eval("{ t <- system.time(r <- socketSelect(list(b), timeout = 0.5))[['elapsed']]; !r && t >= 0.4 }").asBoolean());
+        Assert.assertTrue(eval("{ t <- system.time(r <- socketSelect(list(b), timeout = 0))[['elapsed']]; !r && t < 0.4 }").asBoolean());
+    }
+
+    @Test
+    public void testBlockingRead() throws Exception {
+        // a blocking read waits for data that arrive only after a while
+        try (ServerSocket server = new ServerSocket(freePort())) {
+            Thread writer = new Thread(() -> {
+                try (Socket socket = server.accept()) {
+                    Thread.sleep(500);
+                    OutputStream out = socket.getOutputStream();
+                    out.write("hello\n".getBytes());
+                    out.flush();
+                    // keep the socket open until the client closes it
+                    socket.getInputStream().read();
+                } catch (IOException | InterruptedException e) {
+                    e.printStackTrace();
+                }
+            });
+            writer.start();
+            eval("a <- socketConnection('localhost', port = " + server.getLocalPort() + ", open = 'r+b', blocking = TRUE)");
+            Assert.assertEquals("hello\n", eval("rawToChar(readBin(a, 'raw', 6))").asString());
+            eval("close(a); rm(a)");
+            writer.join(10000);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.engine;
+
+import static com.oracle.truffle.r.test.generate.FastRSession.GET_CONTEXT;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.r.engine.ParseCache;
+import com.oracle.truffle.r.nodes.RASTUtils;
+import com.oracle.truffle.r.runtime.RDeparse;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RExpression;
+import com.oracle.truffle.r.runtime.env.REnvironment;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRContext;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+public class TestParseCache extends TestBase {
+
+    private static final String CODE = "x <- c(a = 1L, b = 2L)\nf <- function(v, n = 2, ...) { if (n > 0) v * n else -v }\nfor (i in seq_along(x)) x[[i]] <- f(x[[i]])\n'str\\n'";
+
+    private static FastRContext context;
+    private static RContext rContext;
+
+    private Path dir;
+
+    @BeforeClass
+    public static void setupClass() {
+        FastRSession session = FastRSession.create();
+        context = session.createContext(ContextKind.SHARE_PARENT_RW);
+        rContext = context.eval(GET_CONTEXT).asHostObject();
+    }
+
+    @AfterClass
+    public static void finishClass() {
+        context.close();
+    }
+
+    @Before
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("fastr-parse-cache");
+    }
+
+    @After
+    public void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static Source createSource(String code) {
+        return Source.newBuilder("R", code, "cached.R").build();
+    }
+
+    private static List<String> deparse(RExpression expr) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < expr.getLength(); i++) {
+            result.add(RDeparse.deparse(expr.getDataAt(i)));
+        }
+        return result;
+    }
+
+    private static List<String> deparse(List<RSyntaxNode> statements) {
+        List<String> result = new ArrayList<>();
+        for (RSyntaxNode node : statements) {
+            result.add(RDeparse.deparse(RASTUtils.createLanguageElement(node)));
+        }
+        return result;
+    }
+
+    /**
+     * Parses the source and stores the statements into the cache, returns the deparsed statements.
+     */
+    private static List<String> parseAndWrite(TruffleFile cacheFile, Source source) throws Exception {
+        return parseAndWrite(rContext, cacheFile, source);
+    }
+
+    private static List<String> parseAndWrite(RContext ctx, TruffleFile cacheFile, Source source) throws Exception {
+        RExpression expr = RContext.getEngine().parse(source, false).getExpression();
+        List<RSyntaxNode> statements = new ArrayList<>();
+        for (int i = 0; i < expr.getLength(); i++) {
+            statements.add(RASTUtils.createSyntaxNodeForRValue(expr.getDataAt(i)));
+        }
+        ParseCache.write(ctx, cacheFile, statements);
+        return deparse(expr);
+    }
+
+    private static double evalFile(Source source) throws Exception {
+        MaterializedFrame globalFrame = REnvironment.globalEnv().getFrame();
+        Object result = RContext.getEngine().parseAndEval(source, globalFrame, false);
+        return result instanceof RDoubleVector ? ((RDoubleVector) result).getDataAt(0) : (Double) result;
+    }
+
+    private TruffleFile cacheDir() {
+        return rContext.getSafeTruffleFile(dir.toString());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        FastRSession.execInContext(context, () -> {
+            Source source = createSource(CODE);
+            TruffleFile cacheFile = ParseCache.getCacheFile(cacheDir(), source);
+            Assert.assertNull(ParseCache.read(cacheFile));
+            List<String> expected = parseAndWrite(cacheFile, source);
+            Assert.assertTrue(cacheFile.isRegularFile());
+            List<RSyntaxNode> cached = ParseCache.read(cacheFile);
+            Assert.assertNotNull(cached);
+            Assert.assertEquals(expected, deparse(cached));
+            // no temporary files are left behind
+            try (Stream<Path> files = Files.list(dir)) {
+                Assert.assertEquals(1, files.count());
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        FastRSession.execInContext(context, () -> {
+            Source source = createSource(CODE);
+            parseAndWrite(ParseCache.getCacheFile(cacheDir(), source), source);
+
+            // the same text from a different source object hits the entry
+            TruffleFile same = ParseCache.getCacheFile(cacheDir(), Source.newBuilder("R", CODE, "other.R").build());
+            Assert.assertNotNull(ParseCache.read(same));
+
+            // a changed source maps to a different entry, which does not exist yet
+            Source changed = createSource(CODE + "\ny <- 42");
+            TruffleFile changedFile = ParseCache.getCacheFile(cacheDir(), changed);
+            Assert.assertNotEquals(same.getName(), changedFile.getName());
+            Assert.assertNull(ParseCache.read(changedFile));
+            List<String> expected = parseAndWrite(changedFile, changed);
+            Assert.assertEquals(expected, deparse(ParseCache.read(changedFile)));
+            Assert.assertEquals(5, expected.size());
+            return null;
+        });
+    }
+
+    @Test
+    public void testCorruptEntry() {
+        FastRSession.execInContext(context, () -> {
+            Source source = createSource(CODE);
+            TruffleFile cacheFile = ParseCache.getCacheFile(cacheDir(), source);
+            List<String> expected = parseAndWrite(cacheFile, source);
+            Path path = Paths.get(cacheFile.getPath());
+            byte[] content = Files.readAllBytes(path);
+
+            // truncated entries, an empty one and garbage are treated as a miss
+            for (byte[] corrupt : new byte[][]{Arrays.copyOf(content, content.length / 2), Arrays.copyOf(content, 10), new byte[0], "not a cache entry".getBytes()}) {
+                Files.write(path, corrupt);
+                Assert.assertNull(ParseCache.read(cacheFile));
+            }
+
+            // restoring the original content makes the entry valid again
+            Files.write(path, content);
+            Assert.assertNotNull(ParseCache.read(cacheFile));
+
+            // the source is parsed again and the entry is replaced
+            Files.write(path, Arrays.copyOf(content, content.length - 1));
+            Assert.assertNull(ParseCache.read(cacheFile));
+            parseAndWrite(cacheFile, source);
+            Assert.assertEquals(expected, deparse(ParseCache.read(cacheFile)));
+            return null;
+        });
+    }
+
+    /**
+     * Evaluates a file in a context that has the cache enabled. The second evaluation takes the
+     * statements from the cache, which is checked by replacing the entry with different code.
+     */
+    @Test
+    public void testEvalFromCache() throws Exception {
+        Path cache = Files.createDirectory(dir.resolve("cache"));
+        Path script = dir.resolve("script.R");
+        Files.write(script, (CODE + "\nsum(x)").getBytes());
+        try (Context ctx = FastRSession.getContextBuilder("R").option(FastROptions.getName(FastROptions.ParseCacheDir), cache.toString()).build()) {
+            ctx.eval("R", "1");
+            ctx.enter();
+            try {
+                RContext rc = RContext.getInstance();
+                Source source = Source.newBuilder("R", rc.getSafeTruffleFile(script.toString())).build();
+                Assume.assumeNotNull(ParseCache.getBuildId());
+                TruffleFile cacheFile = ParseCache.getCacheFile(rc.getSafeTruffleFile(cache.toString()), source);
+                Assert.assertFalse(cacheFile.exists());
+
+                // parsed and stored
+                Assert.assertEquals(6, evalFile(source), 0);
+                Assert.assertTrue(cacheFile.isRegularFile());
+                // evaluated from the cache
+                Assert.assertEquals(6, evalFile(source), 0);
+
+                parseAndWrite(rc, cacheFile, Source.newBuilder("R", "x <- c(1, 2)\nsum(x) * 10", "other.R").build());
+                Assert.assertEquals(30, evalFile(source), 0);
+                Assert.assertEquals(2, ((RDoubleVector) REnvironment.globalEnv().get("x")).getLength());
+            } finally {
+                ctx.leave();
+            }
+        }
+    }
+}
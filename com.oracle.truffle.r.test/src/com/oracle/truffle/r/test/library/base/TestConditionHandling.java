@@ -86,5 +86,16 @@ public class TestConditionHandling extends TestRBase {
     public void testWarning() {
         assertEval("tryCatch(warning('some warning text'), warning = function(w) {print('WARNING')})");
         assertEval("my.warning <- function(war) cat('my.warning:', war$message, '\\n'); f <- function()  warning('from f'); tryCatch({f()}, warning=my.warning)");
+        assertEval("{ f <- function() { warning('from f'); 42 }; tryCatch(f(), error = function(e) 'error') }");
+        assertEval("{ f <- function() { as.integer('a') }; tryCatch(f(), error = function(e) 'error') }");
+        assertEval("{ f <- function() { as.integer('a') }; tryCatch(f(), condition = function(e) class(e)) }");
+    }
+
+    @Test
+    public void testTryCatchNoCondition() {
+        assertEval("{ f <- function(x) tryCatch(x + 1, error = function(e) NA); sapply(1:5, f) }");
+        assertEval("{ f <- function(x) tryCatch(if (x > 3) stop('too big') else x, error = function(e) -1); sapply(1:5, f) }");
+        assertEval("{ r <- tryCatch(tryCatch(stop('inner'), warning = function(w) 'warning'), error = function(e) conditionMessage(e)); r }");
+        assertEval("{ r <- tryCatch(stop('first'), error = function(e) tryCatch(stop('second'), error = function(e2) conditionMessage(e2))); r }");
     }
 }
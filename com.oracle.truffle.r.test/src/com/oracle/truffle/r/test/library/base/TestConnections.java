@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -219,6 +219,15 @@ public class TestConnections extends TestRBase {
         assertEval(template("readLines(textConnection(\"foo%0%1\"))", endings, text));
     }
 
+    @Test
+    public void testReadLinesLargeFile() {
+        // large enough to be read from a memory mapping
+        assertEval("{ tf <- tempfile(); x <- paste0('line', 1:200000); writeLines(x, tf); y <- readLines(tf); unlink(tf); identical(x, y) }");
+        assertEval("{ tf <- tempfile(); x <- paste0('line', 1:200000); writeLines(x, tf); con <- file(tf, 'r'); a <- readLines(con, 3); b <- readLines(con, 2); p <- seek(con, 0); c <- readLines(con, 1); close(con); unlink(tf); list(a, b, p, c) }");
+        assertEval("{ tf <- tempfile(); x <- c(strrep('x', 2e6), 'b\\r', 'c'); con <- file(tf, 'wb'); writeBin(charToRaw(paste(x, collapse='\\r\\n')), con); close(con); y <- readLines(tf); unlink(tf); list(nchar(y), y[-1]) }");
+        assertEval("{ tf <- tempfile(); writeLines(rep('abc', 300000), tf); con <- file(tf, 'rb'); seek(con, 4 * 299999); r <- readBin(con, 'raw', 10); close(con); unlink(tf); r }");
+    }
+
     @Test
     public void testRawReadAppendText() {
 
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.test.TestBase;
+
+public class TestCompile extends TestBase {
+
+    @Test
+    public void testFastRCompile() {
+        assertEvalFastR("{ n <- 0; f <- function(x, y) { n <<- n + 1; x + y }; g <- .fastr.compile(f, list(1, y = 2), 10L); c(identical(f, g), n) }", "c(1, 10)");
+        assertEvalFastR("{ n <- 0; f <- function(x) { n <<- n + 1; x }; .fastr.compile(f); n }", "0");
+        assertEvalFastR("{ identical(.fastr.compile(sum, list(1, 2)), sum) }", "TRUE");
+    }
+
+    @Test
+    public void testCmpfun() {
+        assertEval("{ f <- function(x) x + 1; g <- compiler::cmpfun(f); g(2) }");
+        assertEval("{ f <- function(x) x * 2; g <- compiler::cmpfun(f, list(fastr.args = list(1:3))); g(4) }");
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.test.TestBase;
+
+public class TestFFIProfile extends TestBase {
+
+    @Test
+    public void testFFIProfile() {
+        assertEvalFastR("{ .fastr.ffi.profile(TRUE, reset=TRUE); p <- .fastr.ffi.profile(FALSE, reset=TRUE); list(is.data.frame(p), names(p)) }",
+                        "list(TRUE, c('name', 'call', 'count', 'total_us', 'mean_us', 'p50_us', 'p90_us', 'p99_us', 'max_us', 'native_bytes', 'native_mirrors'))");
+        assertEvalFastR("{ .fastr.ffi.profile(reset=TRUE); nrow(.fastr.ffi.profile()) }", "0L");
+    }
+}
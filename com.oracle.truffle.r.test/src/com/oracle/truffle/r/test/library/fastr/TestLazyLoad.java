@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.test.TestBase;
+
+public class TestLazyLoad extends TestBase {
+
+    @Test
+    public void testLazyLoad() {
+        assertEvalFastR("{ tf <- tempfile(); a <- as.double(1:100000); b <- list(x=letters, y=quote(f(x))); save(a, b, file=tf, compress=FALSE); e <- new.env(); n <- .fastr.lazyLoad(tf, e); r <- list(n, identical(e$b, b), identical(e$a, a)); unlink(tf); r }",
+                        "list(c('a', 'b'), TRUE, TRUE)");
+        assertEvalFastR("{ tf <- tempfile(); f <- local({ k <- 42; function() k }); g <- environment(f); save(f, g, file=tf, compress=FALSE); e <- new.env(); .fastr.lazyLoad(tf, e); r <- list(identical(e$g, environment(e$f)), e$f()); unlink(tf); r }",
+                        "list(TRUE, 42)");
+    }
+
+    @Test
+    public void testLazyLoadCompressed() {
+        assertEvalFastR("{ tf <- tempfile(); x <- 1:3; y <- 'a'; save(x, y, file=tf); e <- new.env(); n <- .fastr.lazyLoad(tf, e); unlink(tf); list(n, e$x, e$y) }", "list(c('x', 'y'), 1:3, 'a')");
+    }
+}
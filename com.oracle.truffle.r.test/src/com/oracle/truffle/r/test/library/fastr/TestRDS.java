@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.test.TestBase;
+
+public class TestRDS extends TestBase {
+
+    @Test
+    public void testSaveReadRDS() {
+        assertEvalFastR("{ tf <- tempfile(); x <- list(a=as.double(1:300000), b=letters, c=list(1L, NULL), d=structure(1:4, class='foo')); .fastr.saveRDS(x, tf); y <- .fastr.readRDS(tf); unlink(tf); identical(x, y) }",
+                        "TRUE");
+        assertEvalFastR("{ tf <- tempfile(); x <- data.frame(x=1:3, y=c('a', 'b', 'c')); .fastr.saveRDS(x, tf, compress=1L); y <- .fastr.readRDS(tf); unlink(tf); identical(x, y) }", "TRUE");
+        assertEvalFastR("{ tf <- tempfile(); .fastr.saveRDS(quote(f(x)), tf); y <- .fastr.readRDS(tf); unlink(tf); y }", "quote(f(x))");
+        assertEvalFastR("{ tf <- tempfile(); .fastr.saveRDS(list(), tf); y <- .fastr.readRDS(tf); unlink(tf); y }", "list()");
+    }
+
+    @Test
+    public void testReadRDSSelected() {
+        assertEvalFastR("{ tf <- tempfile(); .fastr.saveRDS(list(a=1, b=2:3, c='x'), tf); y <- .fastr.readRDS(tf, c(3, 1)); unlink(tf); y }", "list(c='x', a=1)");
+        assertEvalFastR("{ tf <- tempfile(); .fastr.saveRDS(list(1, 2), tf); y <- .fastr.readRDS(tf, 2L); unlink(tf); y }", "list(2)");
+        assertEvalFastR("{ tf <- tempfile(); .fastr.saveRDS(list(1, 2), tf); y <- tryCatch(.fastr.readRDS(tf, 3L), error=function(e) 'error'); unlink(tf); y }", "'error'");
+    }
+
+    @Test
+    public void testReadStandardRDS() {
+        assertEvalFastR("{ tf <- tempfile(); x <- list(a=1:3, b='x'); saveRDS(x, tf); y <- .fastr.readRDS(tf); unlink(tf); identical(x, y) }", "TRUE");
+        assertEvalFastR("{ tf <- tempfile(); x <- list(a=1:3, b='x'); saveRDS(x, tf, compress='xz'); y <- .fastr.readRDS(tf, 2L); unlink(tf); y }", "list(b='x')");
+        assertEvalFastR("{ tf <- tempfile(); saveRDS(1:5, tf, compress=FALSE); y <- .fastr.readRDS(tf); unlink(tf); y }", "1:5");
+    }
+}
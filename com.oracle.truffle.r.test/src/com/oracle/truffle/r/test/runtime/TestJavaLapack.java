@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.RSource;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
+import com.oracle.truffle.r.runtime.ffi.lapack.JavaDqrls;
+import com.oracle.truffle.r.runtime.ffi.lapack.JavaLapack;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRSession;
+import com.oracle.truffle.r.test.generate.TestOutputManager;
+
+// Checkstyle: stop line length check
+
+/**
+ * Checks the accuracy of {@link JavaLapack} and {@link JavaDqrls}. The matrices are large enough
+ * that the blocked and parallel code paths are used.
+ *
+ * The R tests run in a context with {@link FastROptions#JavaLapack} and are compared to the
+ * expected output of GNU R. Most of them are copies of the solve, chol, det, qr, eigen and lm
+ * builtin tests and share their expected output. The signs of singular vectors and eigenvectors
+ * are normalized first, since they may differ between implementations.
+ */
+public class TestJavaLapack extends TestBase {
+
+    private static final double TOL = 1e-10;
+
+    private static final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private static Context context;
+
+    @BeforeClass
+    public static void setupClass() {
+        context = FastRSession.getContextBuilder("R").option(FastROptions.getName(FastROptions.JavaLapack), "true").out(output).err(output).build();
+    }
+
+    @AfterClass
+    public static void finishClass() {
+        context.close();
+    }
+
+    @Override
+    protected String fastREval(String input, ContextKind contextKind, long timeout, boolean allowHostAccess, boolean useREPL) {
+        output.reset();
+        try {
+            context.eval(FastRSession.createSource(input, RSource.Internal.UNIT_TEST.string));
+        } catch (PolyglotException e) {
+            return e.toString();
+        }
+        return TestOutputManager.prepareResult(new String(output.toByteArray(), StandardCharsets.UTF_8), false);
+    }
+
+    private static double[] random(int m, int n, long seed) {
+        Random random = new Random(seed);
+        double[] a = new double[m * n];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextDouble() * 2 - 1;
+        }
+        return a;
+    }
+
+    /**
+     * {@code A * B} for the {@code m x k} matrix A and the {@code k x n} matrix B.
+     */
+    private static double[] multiply(int m, int n, int k, double[] a, double[] b) {
+        double[] c = new double[m * n];
+        for (int j = 0; j < n; j++) {
+            for (int p = 0; p < k; p++) {
+                for (int i = 0; i < m; i++) {
+                    c[i + j * m] += a[i + p * m] * b[p + j * k];
+                }
+            }
+        }
+        return c;
+    }
+
+    private static double[] transpose(int m, int n, double[] a) {
+        double[] t = new double[m * n];
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < m; i++) {
+                t[j + i * n] = a[i + j * m];
+            }
+        }
+        return t;
+    }
+
+    private static void assertClose(double[] expected, double[] actual, int length, double tol) {
+        double scale = 1;
+        for (int i = 0; i < length; i++) {
+            scale = Math.max(scale, Math.abs(expected[i]));
+        }
+        for (int i = 0; i < length; i++) {
+            Assert.assertEquals("element " + i, expected[i], actual[i], tol * scale);
+        }
+    }
+
+    private static void assertOrthonormalColumns(int m, int n, double[] q) {
+        double[] qtq = multiply(n, n, m, transpose(m, n, q), q);
+        double[] identity = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            identity[i + i * n] = 1;
+        }
+        assertClose(identity, qtq, n * n, TOL);
+    }
+
+    @Test
+    public void testDgesv() {
+        int n = 200;
+        double[] a = random(n, n, 1);
+        double[] x = random(n, 2, 2);
+        double[] b = multiply(n, 2, n, a, x);
+        int[] ipiv = new int[n];
+        Assert.assertEquals(0, JavaLapack.dgesv(n, 2, a.clone(), n, ipiv, b, n));
+        assertClose(x, b, 2 * n, 1e-8);
+
+        double[] singular = {1, 2, 2, 4};
+        Assert.assertEquals(2, JavaLapack.dgesv(2, 1, singular, 2, new int[2], new double[]{1, 1}, 2));
+    }
+
+    @Test
+    public void testDgetrf() {
+        int m = 150;
+        int n = 100;
+        double[] a = random(m, n, 3);
+        double[] lu = a.clone();
+        int[] ipiv = new int[n];
+        Assert.assertEquals(0, JavaLapack.dgetrf(m, n, lu, m, ipiv));
+        double[] l = new double[m * n];
+        double[] u = new double[n * n];
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < m; i++) {
+                if (i > j) {
+                    l[i + j * m] = lu[i + j * m];
+                } else {
+                    u[i + j * n] = lu[i + j * m];
+                    if (i == j) {
+                        l[i + j * m] = 1;
+                    }
+                }
+            }
+        }
+        double[] pa = a.clone();
+        for (int i = 0; i < n; i++) {
+            int ip = ipiv[i] - 1;
+            for (int j = 0; j < n; j++) {
+                double t = pa[i + j * m];
+                pa[i + j * m] = pa[ip + j * m];
+                pa[ip + j * m] = t;
+            }
+        }
+        assertClose(pa, multiply(m, n, n, l, u), m * n, TOL);
+    }
+
+    @Test
+    public void testDgecon() {
+        int n = 4;
+        double[] hilbert = new double[n * n];
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < n; i++) {
+                hilbert[i + j * n] = 1.0 / (i + j + 1);
+            }
+        }
+        double anorm = JavaLapack.dlange('O', n, n, hilbert, n, null);
+        Assert.assertEquals(25.0 / 12, anorm, 1e-15);
+        Assert.assertEquals(0, JavaLapack.dgetrf(n, n, hilbert, n, new int[n]));
+        double[] rcond = new double[1];
+        Assert.assertEquals(0, JavaLapack.dgecon('1', n, hilbert, n, anorm, rcond, null, null));
+        // the 1-norm condition number of the 4 x 4 Hilbert matrix is 28375
+        Assert.assertEquals(1.0 / 28375, rcond[0], 1e-12);
+    }
+
+    @Test
+    public void testDpotrf() {
+        int n = 150;
+        double[] m = random(n, n, 4);
+        double[] a = multiply(n, n, n, transpose(n, n, m), m);
+        for (int i = 0; i < n; i++) {
+            a[i + i * n] += n;
+        }
+        double[] u = a.clone();
+        Assert.assertEquals(0, JavaLapack.dpotrf('U', n, u, n));
+        double[] l = a.clone();
+        Assert.assertEquals(0, JavaLapack.dpotrf('L', n, l, n));
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < n; i++) {
+                if (i > j) {
+                    u[i + j * n] = 0;
+                } else if (i < j) {
+                    l[i + j * n] = 0;
+                }
+            }
+        }
+        assertClose(a, multiply(n, n, n, transpose(n, n, u), u), n * n, TOL);
+        assertClose(u, transpose(n, n, l), n * n, TOL);
+
+        double[] indefinite = {1, 2, 2, 1};
+        Assert.assertEquals(2, JavaLapack.dpotrf('U', 2, indefinite, 2));
+    }
+
+    @Test
+    public void testLeastSquares() {
+        int m = 200;
+        int n = 50;
+        double[] a = random(m, n, 5);
+        double[] b = random(m, 1, 6);
+        double[] qr = a.clone();
+        int[] jpvt = new int[n];
+        double[] tau = new double[n];
+        double[] work = new double[1];
+        Assert.assertEquals(0, JavaLapack.dgeqp3(m, n, qr, m, jpvt, tau, work, -1));
+        work = new double[(int) work[0]];
+        Assert.assertEquals(0, JavaLapack.dgeqp3(m, n, qr, m, jpvt, tau, work, work.length));
+        for (int i = 1; i < n; i++) {
+            // the pivoting orders the diagonal of R by decreasing absolute value
+            Assert.assertTrue(Math.abs(qr[i + i * m]) <= Math.abs(qr[i - 1 + (i - 1) * m]) * (1 + TOL));
+        }
+        double[] qtb = b.clone();
+        Assert.assertEquals(0, JavaLapack.dormqr('L', 'T', m, 1, n, qr, m, tau, qtb, m, new double[m], m));
+        double[] back = qtb.clone();
+        Assert.assertEquals(0, JavaLapack.dormqr('L', 'N', m, 1, n, qr, m, tau, back, m, new double[m], m));
+        assertClose(b, back, m, TOL);
+
+        Assert.assertEquals(0, JavaLapack.dtrtrs('U', 'N', 'N', n, 1, qr, m, qtb, m));
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[jpvt[i] - 1] = qtb[i];
+        }
+        // the residual of the least squares solution is orthogonal to the columns of A
+        double[] r = multiply(m, 1, n, a, x);
+        for (int i = 0; i < m; i++) {
+            r[i] -= b[i];
+        }
+        double[] atr = multiply(n, 1, m, transpose(m, n, a), r);
+        assertClose(new double[n], atr, n, TOL);
+    }
+
+    @Test
+    public void testDsyevr() {
+        double[] w = new double[2];
+        double[] z = new double[4];
+        int[] m = new int[1];
+        Assert.assertEquals(0, JavaLapack.dsyevr('V', 'A', 'L', 2, new double[]{2, 1, 1, 2}, 2, 0, 0, 0, 0, 0, m, w, z, 2, new int[4], new double[52], 52, new int[20], 20));
+        Assert.assertEquals(2, m[0]);
+        Assert.assertEquals(1, w[0], TOL);
+        Assert.assertEquals(3, w[1], TOL);
+        Assert.assertEquals(Math.sqrt(0.5), Math.abs(z[0]), TOL);
+        Assert.assertEquals(-z[0], z[1], TOL);
+
+        int n = 100;
+        double[] r = random(n, n, 7);
+        double[] a = new double[n * n];
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < n; i++) {
+                a[i + j * n] = r[i + j * n] + r[j + i * n];
+            }
+        }
+        w = new double[n];
+        z = new double[n * n];
+        Assert.assertEquals(0, JavaLapack.dsyevr('V', 'A', 'U', n, a.clone(), n, 0, 0, 0, 0, 0, m, w, z, n, new int[2 * n], null, 0, null, 0));
+        Assert.assertEquals(n, m[0]);
+        assertOrthonormalColumns(n, n, z);
+        double[] az = multiply(n, n, n, a, z);
+        double[] zw = new double[n * n];
+        for (int j = 0; j < n; j++) {
+            if (j > 0) {
+                Assert.assertTrue(w[j - 1] <= w[j]);
+            }
+            for (int i = 0; i < n; i++) {
+                zw[i + j * n] = z[i + j * n] * w[j];
+            }
+        }
+        assertClose(az, zw, n * n, TOL);
+
+        double[] values = new double[n];
+        Assert.assertEquals(0, JavaLapack.dsyevr('N', 'I', 'L', n, a.clone(), n, 0, 0, n - 2, n, 0, m, values, null, 1, null, null, 0, null, 0));
+        Assert.assertEquals(3, m[0]);
+        assertClose(new double[]{w[n - 3], w[n - 2], w[n - 1]}, values, 3, TOL);
+    }
+
+    private static void checkSvd(char jobz, int m, int n, long seed) {
+        int minmn = Math.min(m, n);
+        int ucol = jobz == 'A' ? m : minmn;
+        int vtrow = jobz == 'A' ? n : minmn;
+        double[] a = random(m, n, seed);
+        double[] s = new double[minmn];
+        double[] u = new double[m * ucol];
+        double[] vt = new double[vtrow * n];
+        Assert.assertEquals(0, JavaLapack.dgesdd(jobz, m, n, a.clone(), m, s, u, m, vt, vtrow, new double[1], 1, new int[8 * minmn]));
+        for (int i = 1; i < minmn; i++) {
+            Assert.assertTrue(s[i] <= s[i - 1]);
+        }
+        assertOrthonormalColumns(m, ucol, u);
+        assertOrthonormalColumns(n, vtrow, transpose(vtrow, n, vt));
+        double[] us = new double[m * minmn];
+        for (int j = 0; j < minmn; j++) {
+            for (int i = 0; i < m; i++) {
+                us[i + j * m] = u[i + j * m] * s[j];
+            }
+        }
+        double[] v = new double[minmn * n];
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < minmn; i++) {
+                v[i + j * minmn] = vt[i + j * vtrow];
+            }
+        }
+        assertClose(a, multiply(m, n, minmn, us, v), m * n, TOL);
+
+        double[] values = new double[minmn];
+        Assert.assertEquals(0, JavaLapack.dgesdd('N', m, n, a.clone(), m, values, null, 1, null, 1, new double[1], 1, null));
+        assertClose(s, values, minmn, TOL);
+    }
+
+    @Test
+    public void testDgesdd() {
+        checkSvd('S', 120, 70, 8);
+        checkSvd('S', 70, 120, 9);
+        checkSvd('A', 60, 25, 10);
+        checkSvd('A', 25, 60, 11);
+
+        // rank deficient: the singular vectors of the zero singular values are completed
+        double[] a = {1, 2, 3, 2, 4, 6, 0, 0, 0};
+        double[] s = new double[3];
+        double[] u = new double[9];
+        double[] vt = new double[9];
+        Assert.assertEquals(0, JavaLapack.dgesdd('A', 3, 3, a, 3, s, u, 3, vt, 3, new double[1], 1, new int[24]));
+        Assert.assertEquals(Math.sqrt(70), s[0], TOL);
+        Assert.assertEquals(0, s[1], TOL);
+        Assert.assertEquals(0, s[2], TOL);
+        assertOrthonormalColumns(3, 3, u);
+        assertOrthonormalColumns(3, 3, transpose(3, 3, vt));
+    }
+
+    @Test
+    public void testDqrls() {
+        int n = 5;
+        int p = 3;
+        // the third column is a multiple of the second one and is moved to the end
+        double[] x = {1, 1, 1, 1, 1, 1, 2, 3, 4, 5, 2, 4, 6, 8, 10};
+        double[] y = {3, 5, 7, 9, 11};
+        double[] b = new double[p];
+        double[] rsd = new double[n];
+        double[] qty = new double[n];
+        int[] k = new int[1];
+        int[] jpvt = {1, 2, 3};
+        JavaDqrls.dqrls(x, n, p, y, 1, 1e-7, b, rsd, qty, k, jpvt, new double[p], new double[2 * p]);
+        Assert.assertEquals(2, k[0]);
+        Assert.assertArrayEquals(new int[]{1, 2, 3}, jpvt);
+        assertClose(new double[]{1, 2, 0}, b, p, TOL);
+        assertClose(new double[n], rsd, n, TOL);
+
+        double[] x2 = {1, 1, 1, 1, 1, 2, 4, 6, 8, 10, 1, 2, 3, 4, 5};
+        jpvt = new int[]{1, 2, 3};
+        JavaDqrls.dqrls(x2, n, p, new double[]{3, 5, 7, 9, 12}, 1, 1e-7, b, rsd, qty, k, jpvt, new double[p], new double[2 * p]);
+        Assert.assertEquals(2, k[0]);
+        Assert.assertArrayEquals(new int[]{1, 2, 3}, jpvt);
+        // lm(c(3, 5, 7, 9, 12) ~ I(2 * (1:5)))
+        assertClose(new double[]{0.6, 1.1, 0}, b, p, TOL);
+        double residualSum = 0;
+        for (int i = 0; i < n; i++) {
+            residualSum += rsd[i];
+        }
+        Assert.assertEquals(0, residualSum, TOL);
+    }
+
+    @Test
+    public void testSolve() {
+        assertEval("argv <- structure(list(a = structure(c(1, 0.5, 0, 0, 0, 0.5,     1, 0.5, 0, 0, 0, 0.5, 1, 0.5, 0, 0, 0, 0.5, 1, 0.5, 0, 0,     0, 0.5, 1), .Dim = c(5L, 5L))), .Names = 'a');" +
+                        "do.call('solve', argv)");
+    }
+
+    @Test
+    public void testChol() {
+        assertEval("argv <- structure(list(x = structure(c(1.66666666666667, -1.33333333333333,     1, -0.666666666666667, 0.333333333333333, -1.33333333333333,     2.66666666666667, -2, 1.33333333333333, -0.666666666666667,     1, -2, 3, -2, 1, -0.666666666666667, 1.33333333333333, -2,     2.66666666666667, -1.33333333333333, 0.333333333333333, -0.666666666666667,     1, -1.33333333333333, 1.66666666666667), .Dim = c(5L, 5L))),     .Names = 'x');" +
+                        "do.call('chol', argv)");
+        assertEval("{ chol(1) }");
+        assertEval("{ round( chol(10), digits=5) }");
+        assertEval("{ m <- matrix(c(5,1,1,3),2) ; round( chol(m), digits=5 ) }");
+    }
+
+    @Test
+    public void testDet() {
+        assertEval("argv <- list(structure(c(2, 1, 1, 2), .Dim = c(2L, 2L), .Dimnames = list(c('A', 'B'), c('A', 'B'))), TRUE); .Internal(det_ge_real(argv[[1]], argv[[2]]))");
+        assertEval("{ det(matrix(c(1,2,4,5),nrow=2)) }");
+        assertEval("{ det(matrix(c(1,-3,4,-5),nrow=2)) }");
+    }
+
+    @Test
+    public void testQr() {
+        assertEval("{ qr(10, LAPACK=TRUE) }");
+    }
+
+    @Test
+    public void testSvd() {
+        assertEval("{ hilbert <- function(n) { i <- 1:n; 1 / outer(i - 1, i, '+') }; X <- hilbert(9)[, 1:6]; s <- svd(X); sgn <- sign(s$u[1, ]); list(d = round(s$d, digits=8), u = round(s$u %*% diag(sgn), digits=8), v = round(s$v %*% diag(sgn), digits=8)) }");
+    }
+
+    @Test
+    public void testEigen() {
+        assertEval("{ eigen(10, only.values=FALSE) }");
+        assertEval("{ r <- eigen(matrix(rep(1,4), nrow=2), only.values=FALSE) ; round( r$values, digits=5 ) }");
+        assertEval("{ r <- eigen(matrix(c(1,2,2,3), nrow=2), only.values=FALSE); round( r$values, digits=5 ) }");
+        assertEval("{ m <- matrix(c(4,1,2,0,1,3,0,1,2,0,5,1,0,1,1,6), 4); r <- eigen(m, symmetric=TRUE); list(values = round(r$values, digits=8), vectors = round(r$vectors %*% diag(sign(r$vectors[1, ])), digits=8)) }");
+    }
+
+    @Test
+    public void testLm() {
+        assertEval("require(stats); ctl <- c(4.17,5.58,5.18,6.11,4.50,4.61,5.17,4.53,5.33,5.14); trt <- c(4.81,4.17,4.41,3.59,5.87,3.83,6.03,4.89,4.32,4.69); " +
+                        "group <- gl(2,10,20, labels=c(\"Ctl\",\"Trt\")); weight <- c(ctl, trt); lm(formula = weight ~ group)");
+        assertEval("require(stats);" + "lm(data = LifeCycleSavings, formula = sr ~ pop15 + pop75 + dpi + ddpi)");
+        assertEval("require(stats); lm(data = mtcars, formula = 100/mpg ~ disp + hp + wt + am)");
+        assertEval("require(stats); lm(data = npk, formula = yield ~ block + N * P * K, singular.ok = TRUE)");
+    }
+}
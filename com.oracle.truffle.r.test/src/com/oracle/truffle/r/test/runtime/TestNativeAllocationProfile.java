@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.data.NativeAllocationProfile;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.gnur.SEXPTYPE;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+/**
+ * Checks that a {@link NativeAllocationProfile} whose vectors escape to native code switches to
+ * native allocation with {@link FastROptions#NativeFirstAllocation}, and only then.
+ */
+public class TestNativeAllocationProfile extends TestBase {
+
+    private static final int LENGTH = 2048;
+    private static final int ALLOCATIONS = 1000;
+
+    private static void inContext(boolean nativeFirstAllocation, Runnable test) {
+        try (Context context = FastRSession.getContextBuilder("R").option(FastROptions.getName(FastROptions.NativeFirstAllocation), Boolean.toString(nativeFirstAllocation)).build()) {
+            context.eval("R", "1");
+            context.enter();
+            try {
+                test.run();
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    /**
+     * Allocates vectors through the profile, asks for the native data of each of them, as
+     * {@code INTEGER} would, if {@code escape} is set, and returns the next allocated vector.
+     */
+    private static RIntVector allocate(NativeAllocationProfile profile, boolean escape) {
+        // the vectors are kept alive so that the samples can be checked
+        List<RIntVector> vectors = new ArrayList<>();
+        for (int i = 0; i < ALLOCATIONS; i++) {
+            RIntVector v = (RIntVector) profile.createEmptyVector(SEXPTYPE.INTSXP, LENGTH);
+            if (escape) {
+                v.allocateNativeContents();
+            }
+            vectors.add(v);
+        }
+        return (RIntVector) profile.createEmptyVector(SEXPTYPE.INTSXP, LENGTH);
+    }
+
+    @Test
+    public void testEscapingVectors() {
+        inContext(true, () -> {
+            NativeAllocationProfile profile = NativeAllocationProfile.create();
+            RIntVector v = allocate(profile, true);
+            Assert.assertTrue(profile.isNativeFirst());
+            Assert.assertTrue(v.hasNativeMemoryData());
+            Assert.assertEquals(LENGTH, v.getLength());
+            for (int i = 0; i < LENGTH; i++) {
+                Assert.assertEquals(0, v.getDataAt(i));
+            }
+            // short vectors and the other allocation entry point
+            Assert.assertFalse(((RIntVector) profile.createEmptyVector(SEXPTYPE.INTSXP, 10)).hasNativeMemoryData());
+            RDoubleVector d = (RDoubleVector) profile.createEmptyVector(RType.Double, LENGTH);
+            Assert.assertTrue(d.hasNativeMemoryData());
+            Assert.assertEquals(0d, d.getDataAt(LENGTH - 1), 0d);
+        });
+    }
+
+    @Test
+    public void testManagedVectors() {
+        inContext(true, () -> {
+            NativeAllocationProfile profile = NativeAllocationProfile.create();
+            RIntVector v = allocate(profile, false);
+            Assert.assertFalse(profile.isNativeFirst());
+            Assert.assertFalse(v.hasNativeMemoryData());
+        });
+    }
+
+    @Test
+    public void testDisabled() {
+        inContext(false, () -> {
+            NativeAllocationProfile profile = NativeAllocationProfile.create();
+            RIntVector v = allocate(profile, true);
+            // the profile learns the behavior, but the option keeps the vectors managed
+            Assert.assertTrue(profile.isNativeFirst());
+            Assert.assertFalse(v.hasNativeMemoryData());
+            Assert.assertFalse(NativeAllocationProfile.getUncached().isNativeFirst());
+        });
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime;
+
+import static com.oracle.truffle.r.runtime.ffi.RFFIBackendSelector.HOT_CALLS;
+import static com.oracle.truffle.r.runtime.ffi.RFFIBackendSelector.LLVM;
+import static com.oracle.truffle.r.runtime.ffi.RFFIBackendSelector.LLVM_DENSITY;
+import static com.oracle.truffle.r.runtime.ffi.RFFIBackendSelector.NATIVE;
+import static com.oracle.truffle.r.runtime.ffi.RFFIBackendSelector.NATIVE_DENSITY;
+import static com.oracle.truffle.r.runtime.ffi.RFFIBackendSelector.UNAVAILABLE;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+import com.oracle.truffle.r.runtime.ffi.RFFIBackendSelector;
+import com.oracle.truffle.r.runtime.ffi.RFFIFactory;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+/**
+ * Tests the decisions of the {@link RFFIBackendSelector}, their persistence in the cache directory
+ * and the fallback to the native backend when a library chosen for LLVM cannot be loaded by it. The
+ * libraries are fake files in a temporary directory, only the bitcode section name matters.
+ */
+public class TestRFFIBackendSelector extends TestBase {
+
+    private static final int LIB_SIZE = 100000;
+    /**
+     * The time of one recorded call, 100 microseconds.
+     */
+    private static final long CALL_NANOS = 100000;
+
+    private static Path cacheDir;
+    private static Context context;
+    private static RContext rContext;
+
+    private Path dir;
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    @BeforeClass
+    public static void setupClass() throws Exception {
+        cacheDir = Files.createTempDirectory("fastr-backends-cache");
+        context = FastRSession.getContextBuilder("R").option(FastROptions.getName(FastROptions.BackEndCacheDir), cacheDir.toString()).build();
+        context.eval("R", "1");
+        inContext(() -> rContext = RContext.getInstance());
+    }
+
+    @AfterClass
+    public static void finishClass() throws IOException {
+        context.close();
+        delete(cacheDir);
+    }
+
+    private static void inContext(Action action) throws Exception {
+        context.enter();
+        try {
+            action.run();
+        } finally {
+            context.leave();
+        }
+    }
+
+    private static void delete(Path path) throws IOException {
+        try (Stream<Path> files = Files.walk(path)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Before
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("fastr-backends");
+    }
+
+    @After
+    public void deleteDir() throws IOException {
+        delete(dir);
+    }
+
+    /**
+     * Creates a fake library with the section name at the given offset, or without it if the
+     * offset is negative.
+     */
+    private String createLib(String name, int bitcodeOffset) throws IOException {
+        byte[] content = new byte[LIB_SIZE];
+        if (bitcodeOffset >= 0) {
+            byte[] section = "__llvmbc".getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(section, 0, content, bitcodeOffset, section.length);
+        }
+        Path lib = dir.resolve(name + ".so");
+        Files.write(lib, content);
+        return lib.toString();
+    }
+
+    private String createLib(String name) throws IOException {
+        return createLib(name, LIB_SIZE / 2);
+    }
+
+    private static TruffleFile file(String path) {
+        return rContext.getSafeTruffleFile(path);
+    }
+
+    private static String readDecisionFile(String lib) throws IOException {
+        // nothing is written to the library directory
+        Assert.assertFalse(Files.exists(Paths.get(lib + RFFIBackendSelector.DECISION_SUFFIX)));
+        TruffleFile file = RFFIBackendSelector.getDecisionFile(file(lib));
+        return file != null && file.exists() ? new String(file.readAllBytes(), StandardCharsets.UTF_8).trim() : null;
+    }
+
+    /**
+     * Records the given number of calls of a symbol whose up-call density is {@code upCalls} per
+     * {@link #CALL_NANOS}.
+     */
+    private static void record(String lib, String backend, long calls, long upCalls) {
+        String name = Paths.get(lib).getFileName().toString();
+        for (long i = 0; i < calls; i++) {
+            RFFIBackendSelector.record(name, lib, backend, "sym", CALL_NANOS, upCalls);
+        }
+    }
+
+    private static long upCallsFor(double density) {
+        return Math.round(density * CALL_NANOS / 1000);
+    }
+
+    @Test
+    public void testDecide() throws Exception {
+        inContext(() -> {
+            TruffleFile withBitcode = file(createLib("withBitcode"));
+            TruffleFile withoutBitcode = file(createLib("withoutBitcode", -1));
+
+            // not enough data
+            Assert.assertEquals(NATIVE, RFFIBackendSelector.decide(Double.NaN, NATIVE, withBitcode));
+            Assert.assertEquals(LLVM, RFFIBackendSelector.decide(Double.NaN, LLVM, withBitcode));
+
+            Assert.assertEquals(LLVM, RFFIBackendSelector.decide(LLVM_DENSITY, NATIVE, withBitcode));
+            Assert.assertEquals(LLVM, RFFIBackendSelector.decide(LLVM_DENSITY * 10, LLVM, withBitcode));
+            // only libraries with bitcode can go to LLVM
+            Assert.assertEquals(NATIVE, RFFIBackendSelector.decide(LLVM_DENSITY * 10, NATIVE, withoutBitcode));
+
+            // in between, the current backend is kept
+            double between = (LLVM_DENSITY + NATIVE_DENSITY) / 2;
+            Assert.assertEquals(LLVM, RFFIBackendSelector.decide(between, LLVM, withBitcode));
+            Assert.assertEquals(NATIVE, RFFIBackendSelector.decide(between, NATIVE, withBitcode));
+            Assert.assertEquals(LLVM, RFFIBackendSelector.decide(NATIVE_DENSITY, LLVM, withBitcode));
+
+            Assert.assertEquals(NATIVE, RFFIBackendSelector.decide(NATIVE_DENSITY / 2, LLVM, withBitcode));
+            Assert.assertEquals(NATIVE, RFFIBackendSelector.decide(0, LLVM, withBitcode));
+
+            // a library that failed to load by LLVM is never chosen again
+            RFFIBackendSelector.setLLVMUnavailable(withBitcode);
+            Assert.assertEquals(NATIVE, RFFIBackendSelector.decide(LLVM_DENSITY * 10, NATIVE, withBitcode));
+        });
+    }
+
+    @Test
+    public void testHasBitcode() throws Exception {
+        inContext(() -> {
+            Assert.assertTrue(RFFIBackendSelector.hasBitcode(file(createLib("middle"))));
+            Assert.assertTrue(RFFIBackendSelector.hasBitcode(file(createLib("start", 0))));
+            Assert.assertTrue(RFFIBackendSelector.hasBitcode(file(createLib("end", LIB_SIZE - 8))));
+            // the name crosses the boundary of the blocks read
+            Assert.assertTrue(RFFIBackendSelector.hasBitcode(file(createLib("boundary", 64 * 1024 - 4))));
+            Assert.assertFalse(RFFIBackendSelector.hasBitcode(file(createLib("none", -1))));
+            Path empty = Files.createFile(dir.resolve("empty.so"));
+            Assert.assertFalse(RFFIBackendSelector.hasBitcode(file(empty.toString())));
+            Assert.assertFalse(RFFIBackendSelector.hasBitcode(file(dir.resolve("missing.so").toString())));
+        });
+    }
+
+    @Test
+    public void testStoreAndReload() throws Exception {
+        inContext(() -> {
+            String lib = createLib("storeAndReload");
+            // not enough calls to decide
+            record(lib, NATIVE, HOT_CALLS - 1, upCallsFor(LLVM_DENSITY * 5));
+            RFFIBackendSelector.storeDecision(rContext, lib, NATIVE);
+            Assert.assertNull(readDecisionFile(lib));
+
+            record(lib, NATIVE, 1, upCallsFor(LLVM_DENSITY * 5));
+            RFFIBackendSelector.storeDecision(rContext, lib, NATIVE);
+            Assert.assertEquals(LLVM, readDecisionFile(lib));
+            // the next load goes to LLVM
+            Assert.assertTrue(RFFIBackendSelector.isLLVMDecision(file(lib)));
+
+            // loaded by LLVM, the package turns out to make few up-calls, the data of the previous
+            // load by the native backend do not count
+            record(lib, LLVM, HOT_CALLS, upCallsFor(NATIVE_DENSITY / 4));
+            RFFIBackendSelector.storeDecision(rContext, lib, LLVM);
+            Assert.assertEquals(NATIVE, readDecisionFile(lib));
+            Assert.assertFalse(RFFIBackendSelector.isLLVMDecision(file(lib)));
+        });
+    }
+
+    /**
+     * A decision belongs to the library it was made for, reinstalling the package discards it.
+     */
+    @Test
+    public void testReinstallDiscardsDecision() throws Exception {
+        inContext(() -> {
+            String lib = createLib("reinstall");
+            record(lib, NATIVE, HOT_CALLS, upCallsFor(LLVM_DENSITY * 5));
+            RFFIBackendSelector.storeDecision(rContext, lib, NATIVE);
+            Assert.assertTrue(RFFIBackendSelector.isLLVMDecision(file(lib)));
+            Files.setLastModifiedTime(Paths.get(lib), FileTime.fromMillis(Files.getLastModifiedTime(Paths.get(lib)).toMillis() + 60000));
+            Assert.assertNull(readDecisionFile(lib));
+            Assert.assertFalse(RFFIBackendSelector.isLLVMDecision(file(lib)));
+        });
+    }
+
+    @Test
+    public void testNativeNotStored() throws Exception {
+        inContext(() -> {
+            // the native backend is the default, it is not stored unless it replaces LLVM
+            String lib = createLib("nativeNotStored");
+            record(lib, NATIVE, HOT_CALLS, upCallsFor(NATIVE_DENSITY / 4));
+            RFFIBackendSelector.storeDecision(rContext, lib, NATIVE);
+            Assert.assertNull(readDecisionFile(lib));
+        });
+    }
+
+    @Test
+    public void testUnavailableKept() throws Exception {
+        inContext(() -> {
+            String lib = createLib("unavailableKept");
+            RFFIBackendSelector.setLLVMUnavailable(file(lib));
+            Assert.assertEquals(UNAVAILABLE, RFFIBackendSelector.readDecision(file(lib)));
+            Assert.assertFalse(RFFIBackendSelector.isLLVMDecision(file(lib)));
+            record(lib, NATIVE, HOT_CALLS, upCallsFor(LLVM_DENSITY * 5));
+            RFFIBackendSelector.storeDecision(rContext, lib, NATIVE);
+            Assert.assertEquals(UNAVAILABLE, readDecisionFile(lib));
+        });
+    }
+
+    @Test
+    public void testReportPerBackend() throws Exception {
+        inContext(() -> {
+            String lib = createLib("reportPerBackend");
+            double between = (LLVM_DENSITY + NATIVE_DENSITY) / 2;
+            record(lib, NATIVE, HOT_CALLS, upCallsFor(between));
+            record(lib, LLVM, HOT_CALLS, upCallsFor(between));
+            RList report = RFFIBackendSelector.getReport(rContext);
+            RStringVector names = (RStringVector) report.getDataAt(0);
+            RStringVector backends = (RStringVector) report.getDataAt(1);
+            RStringVector decisions = (RStringVector) report.getDataAt(2);
+            Map<String, String> rows = new HashMap<>();
+            for (int i = 0; i < names.getLength(); i++) {
+                if (names.getDataAt(i).equals("reportPerBackend.so")) {
+                    rows.put(backends.getDataAt(i), decisions.getDataAt(i));
+                }
+            }
+            // each load keeps its backend
+            Assert.assertEquals(2, rows.size());
+            Assert.assertEquals(NATIVE, rows.get(NATIVE));
+            Assert.assertEquals(LLVM, rows.get(LLVM));
+        });
+    }
+
+    /**
+     * A library without bitcode, for which the LLVM backend is stored, is loaded by the native
+     * backend and marked as unavailable for LLVM. Needs the mixed RFFI and a shared library of the
+     * system that can be copied.
+     */
+    @Test
+    public void testLLVMUnavailableFallback() throws Exception {
+        Assume.assumeTrue(RFFIFactory.getFactoryType() == RFFIFactory.Type.LLVM && !"llvm".equals(System.getenv("FASTR_RFFI")));
+        Path systemLib = null;
+        for (String candidate : new String[]{"/lib/x86_64-linux-gnu/libm.so.6", "/lib/aarch64-linux-gnu/libm.so.6", "/lib64/libm.so.6", "/usr/lib64/libm.so.6"}) {
+            if (Files.isRegularFile(Paths.get(candidate))) {
+                systemLib = Paths.get(candidate);
+                break;
+            }
+        }
+        Assume.assumeTrue(systemLib != null);
+        Path lib = Files.copy(systemLib, dir.resolve("fallback.so"));
+        inContext(() -> {
+            TruffleFile decisionFile = RFFIBackendSelector.getDecisionFile(file(lib.toString()));
+            decisionFile.getParent().createDirectories();
+            Files.write(Paths.get(decisionFile.getPath()), (LLVM + "\n").getBytes(StandardCharsets.UTF_8));
+        });
+        try (Context auto = FastRSession.getContextBuilder("R").option(FastROptions.getName(FastROptions.BackEnd), "auto").option(FastROptions.getName(FastROptions.BackEndCacheDir),
+                        cacheDir.toString()).build()) {
+            Assert.assertTrue(auto.eval("R", "{ info <- dyn.load('" + lib + "'); dyn.unload('" + lib + "'); inherits(info, 'DLLInfo') }").asBoolean());
+        }
+        inContext(() -> Assert.assertEquals(UNAVAILABLE, readDecisionFile(lib.toString())));
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime.data;
+
+import static com.oracle.truffle.r.runtime.data.NativeHandleTable.SEGMENT_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.data.NativeHandleTable;
+import com.oracle.truffle.r.runtime.data.NativeHandleTable.Handle;
+import com.oracle.truffle.r.runtime.data.RBaseObject;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+
+/**
+ * The referents of the handles are kept alive by the test and released with
+ * {@link Handle#clear()}, which is what the garbage collector does to an object that is no longer
+ * referenced. This way, the garbage collector cannot interfere with the tests.
+ */
+public class NativeHandleTableTests {
+
+    private final List<RBaseObject> alive = Collections.synchronizedList(new ArrayList<>());
+
+    private RBaseObject obj(int i) {
+        RBaseObject result = RDataFactory.createIntVectorFromScalar(i);
+        alive.add(result);
+        return result;
+    }
+
+    /**
+     * Allocates the given number of handles from the segments of the current thread.
+     */
+    private List<Handle> fill(NativeHandleTable table, int count) {
+        List<Handle> handles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            handles.add(table.allocate(obj(i)));
+        }
+        return handles;
+    }
+
+    private static void release(List<Handle> handles) {
+        for (Handle h : handles) {
+            h.clear();
+        }
+    }
+
+    @Test
+    public void testLookup() {
+        NativeHandleTable table = new NativeHandleTable();
+        RBaseObject a = obj(1);
+        RBaseObject b = obj(2);
+        Handle ha = table.allocate(a);
+        Handle hb = table.allocate(b);
+        assertTrue(NativeHandleTable.isHandle(ha.getId()));
+        // handles are odd, i.e., never valid addresses
+        assertEquals(1, ha.getId() & 1);
+        assertNotEquals(ha.getId(), hb.getId());
+        assertSame(a, table.lookup(ha.getId()));
+        assertSame(b, table.lookup(hb.getId()));
+        assertEquals(2, table.size());
+        assertFalse(NativeHandleTable.isHandle(0x7f0012345670L));
+        assertNull(table.lookup(0x7f0012345670L));
+        // a well-formed handle of a slot that was never allocated
+        assertNull(table.lookup(hb.getId() + (1L << 20)));
+    }
+
+    @Test
+    public void testStaleHandle() {
+        NativeHandleTable table = new NativeHandleTable();
+        List<Handle> first = fill(table, SEGMENT_SIZE);
+        release(first);
+        assertEquals(0, table.size());
+        // the exhausted segment is claimed again and its slots are reused with a new generation
+        List<Handle> second = fill(table, SEGMENT_SIZE);
+        assertEquals(1, table.getSegmentCount());
+        Set<Long> firstIds = new HashSet<>();
+        for (Handle h : first) {
+            firstIds.add(h.getId());
+            assertNull(table.lookup(h.getId()));
+        }
+        for (Handle h : second) {
+            assertFalse(firstIds.contains(h.getId()));
+            assertSame(h.get(), table.lookup(h.getId()));
+        }
+    }
+
+    @Test
+    public void testSegmentPerThread() throws InterruptedException {
+        NativeHandleTable table = new NativeHandleTable();
+        RBaseObject a = obj(1);
+        Handle ha = table.allocate(a);
+        Handle[] other = new Handle[1];
+        RBaseObject b = obj(2);
+        Thread thread = new Thread(() -> other[0] = table.allocate(b));
+        thread.start();
+        thread.join();
+        // each thread allocates from its own segment
+        assertEquals(2, table.getSegmentCount());
+        assertSame(a, table.lookup(ha.getId()));
+        assertSame(b, table.lookup(other[0].getId()));
+    }
+
+    @Test
+    public void testSegmentReuseAcrossThreads() throws InterruptedException {
+        NativeHandleTable table = new NativeHandleTable();
+        List<Handle> handles = new ArrayList<>();
+        Thread thread = new Thread(() -> handles.addAll(fill(table, SEGMENT_SIZE + 1)));
+        thread.start();
+        thread.join();
+        assertEquals(2, table.getSegmentCount());
+        release(handles);
+        // the segments of the terminated thread are taken over rather than new ones added
+        List<Handle> reused = fill(table, 2 * SEGMENT_SIZE);
+        assertEquals(2, table.getSegmentCount());
+        for (Handle h : handles) {
+            assertNull(table.lookup(h.getId()));
+        }
+        for (Handle h : reused) {
+            assertSame(h.get(), table.lookup(h.getId()));
+        }
+    }
+
+    @Test
+    public void testConcurrentAllocation() throws InterruptedException {
+        NativeHandleTable table = new NativeHandleTable();
+        int threads = 4;
+        int perThread = 3 * SEGMENT_SIZE;
+        List<List<Handle>> results = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<Handle> result = new ArrayList<>();
+            results.add(result);
+            workers.add(new Thread(() -> {
+                List<Handle> live = fill(table, perThread);
+                // release half of them to make the segments reusable by the others
+                for (int i = 0; i < live.size(); i += 2) {
+                    live.get(i).clear();
+                }
+                live.addAll(fill(table, perThread));
+                result.addAll(live);
+            }));
+        }
+        for (Thread w : workers) {
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        Set<Long> ids = new HashSet<>();
+        for (List<Handle> result : results) {
+            for (Handle h : result) {
+                if (h.get() != null) {
+                    assertTrue(ids.add(h.getId()));
+                    assertSame(h.get(), table.lookup(h.getId()));
+                } else {
+                    assertNull(table.lookup(h.getId()));
+                }
+            }
+        }
+        assertEquals(ids.size(), table.size());
+    }
+
+    @Test
+    public void testGenerationRetirement() {
+        int maxGeneration = 3;
+        NativeHandleTable table = new NativeHandleTable(maxGeneration);
+        Set<Long> ids = new HashSet<>();
+        // generations 0 to maxGeneration of the slots of the first segment
+        for (int generation = 0; generation <= maxGeneration; generation++) {
+            List<Handle> handles = fill(table, SEGMENT_SIZE);
+            assertEquals(1, table.getSegmentCount());
+            for (Handle h : handles) {
+                // no id is ever handed out twice
+                assertTrue(ids.add(h.getId()));
+            }
+            release(handles);
+        }
+        // the slots are retired now, the table grows instead of wrapping the generation around
+        List<Handle> handles = fill(table, SEGMENT_SIZE);
+        assertEquals(2, table.getSegmentCount());
+        for (Handle h : handles) {
+            assertTrue(ids.add(h.getId()));
+            assertSame(h.get(), table.lookup(h.getId()));
+        }
+    }
+}